@@ -1,4 +1,4 @@
-// Generated from U:/Compilerbau/SemantischeAnalyse/Semantische Analyse/src/MiniC.g4 by ANTLR 4.13.2
+// Generated from MiniC.g4 by ANTLR 4.13.1
 import org.antlr.v4.runtime.Lexer;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.Token;
@@ -10,7 +10,7 @@ import org.antlr.v4.runtime.misc.*;
 
 @SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast", "CheckReturnValue", "this-escape"})
 public class MiniCLexer extends Lexer {
-	static { RuntimeMetaData.checkVersion("4.13.2", RuntimeMetaData.VERSION); }
+	static { RuntimeMetaData.checkVersion("4.13.1", RuntimeMetaData.VERSION); }
 
 	protected static final DFA[] _decisionToDFA;
 	protected static final PredictionContextCache _sharedContextCache =
@@ -19,7 +19,8 @@ public class MiniCLexer extends Lexer {
 		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
 		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
-		ID=25, NUMBER=26, STRING=27, COMMENT=28, WS=29;
+		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, ID=30, NUMBER=31, STRING=32, 
+		COMMENT=33, WS=34;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -32,17 +33,19 @@ public class MiniCLexer extends Lexer {
 		return new String[] {
 			"T__0", "T__1", "T__2", "T__3", "T__4", "T__5", "T__6", "T__7", "T__8", 
 			"T__9", "T__10", "T__11", "T__12", "T__13", "T__14", "T__15", "T__16", 
-			"T__17", "T__18", "T__19", "T__20", "T__21", "T__22", "T__23", "ID", 
-			"NUMBER", "STRING", "COMMENT", "WS"
+			"T__17", "T__18", "T__19", "T__20", "T__21", "T__22", "T__23", "T__24", 
+			"T__25", "T__26", "T__27", "T__28", "ID", "NUMBER", "STRING", "COMMENT", 
+			"WS"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
 
 	private static String[] makeLiteralNames() {
 		return new String[] {
-			null, "';'", "'='", "'('", "')'", "','", "'return'", "'{'", "'}'", "'while'", 
-			"'if'", "'else'", "'*'", "'/'", "'+'", "'-'", "'>'", "'<'", "'=='", "'!='", 
-			"'T'", "'F'", "'int'", "'string'", "'bool'"
+			null, "';'", "'='", "'['", "']'", "'('", "')'", "','", "'return'", "'{'", 
+			"'}'", "'while'", "'if'", "'else'", "'spawn'", "'join'", "'new'", "'int'", 
+			"'*'", "'/'", "'+'", "'-'", "'>'", "'<'", "'=='", "'!='", "'T'", "'F'", 
+			"'string'", "'bool'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
@@ -50,7 +53,8 @@ public class MiniCLexer extends Lexer {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, "ID", "NUMBER", "STRING", "COMMENT", "WS"
+			null, null, null, null, null, null, "ID", "NUMBER", "STRING", "COMMENT", 
+			"WS"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -112,110 +116,128 @@ public class MiniCLexer extends Lexer {
 	public ATN getATN() { return _ATN; }
 
 	public static final String _serializedATN =
-		"\u0004\u0000\u001d\u00a9\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002"+
-		"\u0001\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002"+
-		"\u0004\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002"+
-		"\u0007\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002"+
-		"\u000b\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e"+
-		"\u0002\u000f\u0007\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011"+
-		"\u0002\u0012\u0007\u0012\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014"+
-		"\u0002\u0015\u0007\u0015\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017"+
-		"\u0002\u0018\u0007\u0018\u0002\u0019\u0007\u0019\u0002\u001a\u0007\u001a"+
-		"\u0002\u001b\u0007\u001b\u0002\u001c\u0007\u001c\u0001\u0000\u0001\u0000"+
-		"\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002\u0001\u0003\u0001\u0003"+
-		"\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0006\u0001\u0006\u0001\u0007"+
-		"\u0001\u0007\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001\t\u0001"+
-		"\t\u0001\t\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b"+
-		"\u0001\f\u0001\f\u0001\r\u0001\r\u0001\u000e\u0001\u000e\u0001\u000f\u0001"+
-		"\u000f\u0001\u0010\u0001\u0010\u0001\u0011\u0001\u0011\u0001\u0011\u0001"+
-		"\u0012\u0001\u0012\u0001\u0012\u0001\u0013\u0001\u0013\u0001\u0014\u0001"+
-		"\u0014\u0001\u0015\u0001\u0015\u0001\u0015\u0001\u0015\u0001\u0016\u0001"+
-		"\u0016\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0016\u0001"+
-		"\u0017\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0018\u0001"+
-		"\u0018\u0005\u0018\u0087\b\u0018\n\u0018\f\u0018\u008a\t\u0018\u0001\u0019"+
-		"\u0004\u0019\u008d\b\u0019\u000b\u0019\f\u0019\u008e\u0001\u001a\u0001"+
-		"\u001a\u0005\u001a\u0093\b\u001a\n\u001a\f\u001a\u0096\t\u001a\u0001\u001a"+
-		"\u0001\u001a\u0001\u001b\u0001\u001b\u0005\u001b\u009c\b\u001b\n\u001b"+
-		"\f\u001b\u009f\t\u001b\u0001\u001b\u0001\u001b\u0001\u001c\u0004\u001c"+
-		"\u00a4\b\u001c\u000b\u001c\f\u001c\u00a5\u0001\u001c\u0001\u001c\u0000"+
-		"\u0000\u001d\u0001\u0001\u0003\u0002\u0005\u0003\u0007\u0004\t\u0005\u000b"+
-		"\u0006\r\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b\u0017\f\u0019\r\u001b"+
-		"\u000e\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013\'\u0014)\u0015+\u0016"+
-		"-\u0017/\u00181\u00193\u001a5\u001b7\u001c9\u001d\u0001\u0000\u0006\u0002"+
-		"\u0000AZaz\u0003\u000009AZaz\u0001\u000009\u0003\u0000\n\n\r\r\"\"\u0002"+
-		"\u0000\n\n\r\r\u0003\u0000\t\n\r\r  \u00ad\u0000\u0001\u0001\u0000\u0000"+
-		"\u0000\u0000\u0003\u0001\u0000\u0000\u0000\u0000\u0005\u0001\u0000\u0000"+
-		"\u0000\u0000\u0007\u0001\u0000\u0000\u0000\u0000\t\u0001\u0000\u0000\u0000"+
-		"\u0000\u000b\u0001\u0000\u0000\u0000\u0000\r\u0001\u0000\u0000\u0000\u0000"+
-		"\u000f\u0001\u0000\u0000\u0000\u0000\u0011\u0001\u0000\u0000\u0000\u0000"+
-		"\u0013\u0001\u0000\u0000\u0000\u0000\u0015\u0001\u0000\u0000\u0000\u0000"+
-		"\u0017\u0001\u0000\u0000\u0000\u0000\u0019\u0001\u0000\u0000\u0000\u0000"+
-		"\u001b\u0001\u0000\u0000\u0000\u0000\u001d\u0001\u0000\u0000\u0000\u0000"+
-		"\u001f\u0001\u0000\u0000\u0000\u0000!\u0001\u0000\u0000\u0000\u0000#\u0001"+
-		"\u0000\u0000\u0000\u0000%\u0001\u0000\u0000\u0000\u0000\'\u0001\u0000"+
-		"\u0000\u0000\u0000)\u0001\u0000\u0000\u0000\u0000+\u0001\u0000\u0000\u0000"+
-		"\u0000-\u0001\u0000\u0000\u0000\u0000/\u0001\u0000\u0000\u0000\u00001"+
-		"\u0001\u0000\u0000\u0000\u00003\u0001\u0000\u0000\u0000\u00005\u0001\u0000"+
-		"\u0000\u0000\u00007\u0001\u0000\u0000\u0000\u00009\u0001\u0000\u0000\u0000"+
-		"\u0001;\u0001\u0000\u0000\u0000\u0003=\u0001\u0000\u0000\u0000\u0005?"+
-		"\u0001\u0000\u0000\u0000\u0007A\u0001\u0000\u0000\u0000\tC\u0001\u0000"+
-		"\u0000\u0000\u000bE\u0001\u0000\u0000\u0000\rL\u0001\u0000\u0000\u0000"+
-		"\u000fN\u0001\u0000\u0000\u0000\u0011P\u0001\u0000\u0000\u0000\u0013V"+
-		"\u0001\u0000\u0000\u0000\u0015Y\u0001\u0000\u0000\u0000\u0017^\u0001\u0000"+
-		"\u0000\u0000\u0019`\u0001\u0000\u0000\u0000\u001bb\u0001\u0000\u0000\u0000"+
-		"\u001dd\u0001\u0000\u0000\u0000\u001ff\u0001\u0000\u0000\u0000!h\u0001"+
-		"\u0000\u0000\u0000#j\u0001\u0000\u0000\u0000%m\u0001\u0000\u0000\u0000"+
-		"\'p\u0001\u0000\u0000\u0000)r\u0001\u0000\u0000\u0000+t\u0001\u0000\u0000"+
-		"\u0000-x\u0001\u0000\u0000\u0000/\u007f\u0001\u0000\u0000\u00001\u0084"+
-		"\u0001\u0000\u0000\u00003\u008c\u0001\u0000\u0000\u00005\u0090\u0001\u0000"+
-		"\u0000\u00007\u0099\u0001\u0000\u0000\u00009\u00a3\u0001\u0000\u0000\u0000"+
-		";<\u0005;\u0000\u0000<\u0002\u0001\u0000\u0000\u0000=>\u0005=\u0000\u0000"+
-		">\u0004\u0001\u0000\u0000\u0000?@\u0005(\u0000\u0000@\u0006\u0001\u0000"+
-		"\u0000\u0000AB\u0005)\u0000\u0000B\b\u0001\u0000\u0000\u0000CD\u0005,"+
-		"\u0000\u0000D\n\u0001\u0000\u0000\u0000EF\u0005r\u0000\u0000FG\u0005e"+
-		"\u0000\u0000GH\u0005t\u0000\u0000HI\u0005u\u0000\u0000IJ\u0005r\u0000"+
-		"\u0000JK\u0005n\u0000\u0000K\f\u0001\u0000\u0000\u0000LM\u0005{\u0000"+
-		"\u0000M\u000e\u0001\u0000\u0000\u0000NO\u0005}\u0000\u0000O\u0010\u0001"+
-		"\u0000\u0000\u0000PQ\u0005w\u0000\u0000QR\u0005h\u0000\u0000RS\u0005i"+
-		"\u0000\u0000ST\u0005l\u0000\u0000TU\u0005e\u0000\u0000U\u0012\u0001\u0000"+
-		"\u0000\u0000VW\u0005i\u0000\u0000WX\u0005f\u0000\u0000X\u0014\u0001\u0000"+
-		"\u0000\u0000YZ\u0005e\u0000\u0000Z[\u0005l\u0000\u0000[\\\u0005s\u0000"+
-		"\u0000\\]\u0005e\u0000\u0000]\u0016\u0001\u0000\u0000\u0000^_\u0005*\u0000"+
-		"\u0000_\u0018\u0001\u0000\u0000\u0000`a\u0005/\u0000\u0000a\u001a\u0001"+
-		"\u0000\u0000\u0000bc\u0005+\u0000\u0000c\u001c\u0001\u0000\u0000\u0000"+
-		"de\u0005-\u0000\u0000e\u001e\u0001\u0000\u0000\u0000fg\u0005>\u0000\u0000"+
-		"g \u0001\u0000\u0000\u0000hi\u0005<\u0000\u0000i\"\u0001\u0000\u0000\u0000"+
-		"jk\u0005=\u0000\u0000kl\u0005=\u0000\u0000l$\u0001\u0000\u0000\u0000m"+
-		"n\u0005!\u0000\u0000no\u0005=\u0000\u0000o&\u0001\u0000\u0000\u0000pq"+
-		"\u0005T\u0000\u0000q(\u0001\u0000\u0000\u0000rs\u0005F\u0000\u0000s*\u0001"+
-		"\u0000\u0000\u0000tu\u0005i\u0000\u0000uv\u0005n\u0000\u0000vw\u0005t"+
-		"\u0000\u0000w,\u0001\u0000\u0000\u0000xy\u0005s\u0000\u0000yz\u0005t\u0000"+
-		"\u0000z{\u0005r\u0000\u0000{|\u0005i\u0000\u0000|}\u0005n\u0000\u0000"+
-		"}~\u0005g\u0000\u0000~.\u0001\u0000\u0000\u0000\u007f\u0080\u0005b\u0000"+
-		"\u0000\u0080\u0081\u0005o\u0000\u0000\u0081\u0082\u0005o\u0000\u0000\u0082"+
-		"\u0083\u0005l\u0000\u0000\u00830\u0001\u0000\u0000\u0000\u0084\u0088\u0007"+
-		"\u0000\u0000\u0000\u0085\u0087\u0007\u0001\u0000\u0000\u0086\u0085\u0001"+
-		"\u0000\u0000\u0000\u0087\u008a\u0001\u0000\u0000\u0000\u0088\u0086\u0001"+
-		"\u0000\u0000\u0000\u0088\u0089\u0001\u0000\u0000\u0000\u00892\u0001\u0000"+
-		"\u0000\u0000\u008a\u0088\u0001\u0000\u0000\u0000\u008b\u008d\u0007\u0002"+
-		"\u0000\u0000\u008c\u008b\u0001\u0000\u0000\u0000\u008d\u008e\u0001\u0000"+
-		"\u0000\u0000\u008e\u008c\u0001\u0000\u0000\u0000\u008e\u008f\u0001\u0000"+
-		"\u0000\u0000\u008f4\u0001\u0000\u0000\u0000\u0090\u0094\u0005\"\u0000"+
-		"\u0000\u0091\u0093\b\u0003\u0000\u0000\u0092\u0091\u0001\u0000\u0000\u0000"+
-		"\u0093\u0096\u0001\u0000\u0000\u0000\u0094\u0092\u0001\u0000\u0000\u0000"+
-		"\u0094\u0095\u0001\u0000\u0000\u0000\u0095\u0097\u0001\u0000\u0000\u0000"+
-		"\u0096\u0094\u0001\u0000\u0000\u0000\u0097\u0098\u0005\"\u0000\u0000\u0098"+
-		"6\u0001\u0000\u0000\u0000\u0099\u009d\u0005#\u0000\u0000\u009a\u009c\b"+
-		"\u0004\u0000\u0000\u009b\u009a\u0001\u0000\u0000\u0000\u009c\u009f\u0001"+
-		"\u0000\u0000\u0000\u009d\u009b\u0001\u0000\u0000\u0000\u009d\u009e\u0001"+
-		"\u0000\u0000\u0000\u009e\u00a0\u0001\u0000\u0000\u0000\u009f\u009d\u0001"+
-		"\u0000\u0000\u0000\u00a0\u00a1\u0006\u001b\u0000\u0000\u00a18\u0001\u0000"+
-		"\u0000\u0000\u00a2\u00a4\u0007\u0005\u0000\u0000\u00a3\u00a2\u0001\u0000"+
-		"\u0000\u0000\u00a4\u00a5\u0001\u0000\u0000\u0000\u00a5\u00a3\u0001\u0000"+
-		"\u0000\u0000\u00a5\u00a6\u0001\u0000\u0000\u0000\u00a6\u00a7\u0001\u0000"+
-		"\u0000\u0000\u00a7\u00a8\u0006\u001c\u0000\u0000\u00a8:\u0001\u0000\u0000"+
-		"\u0000\u0006\u0000\u0088\u008e\u0094\u009d\u00a5\u0001\u0006\u0000\u0000";
+		"\u0004\u0000\"\u00c6\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002\u0001"+
+		"\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004"+
+		"\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007"+
+		"\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b"+
+		"\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0002"+
+		"\u000f\u0007\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011\u0002"+
+		"\u0012\u0007\u0012\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014\u0002"+
+		"\u0015\u0007\u0015\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017\u0002"+
+		"\u0018\u0007\u0018\u0002\u0019\u0007\u0019\u0002\u001a\u0007\u001a\u0002"+
+		"\u001b\u0007\u001b\u0002\u001c\u0007\u001c\u0002\u001d\u0007\u001d\u0002"+
+		"\u001e\u0007\u001e\u0002\u001f\u0007\u001f\u0002 \u0007 \u0002!\u0007"+
+		"!\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002"+
+		"\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005"+
+		"\u0001\u0006\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007"+
+		"\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001\b\u0001\t\u0001\t\u0001"+
+		"\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001"+
+		"\u000b\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r"+
+		"\u0001\r\u0001\r\u0001\r\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e"+
+		"\u0001\u000e\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u0010"+
+		"\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0011\u0001\u0011\u0001\u0012"+
+		"\u0001\u0012\u0001\u0013\u0001\u0013\u0001\u0014\u0001\u0014\u0001\u0015"+
+		"\u0001\u0015\u0001\u0016\u0001\u0016\u0001\u0017\u0001\u0017\u0001\u0017"+
+		"\u0001\u0018\u0001\u0018\u0001\u0018\u0001\u0019\u0001\u0019\u0001\u001a"+
+		"\u0001\u001a\u0001\u001b\u0001\u001b\u0001\u001b\u0001\u001b\u0001\u001b"+
+		"\u0001\u001b\u0001\u001b\u0001\u001c\u0001\u001c\u0001\u001c\u0001\u001c"+
+		"\u0001\u001c\u0001\u001d\u0001\u001d\u0005\u001d\u00a4\b\u001d\n\u001d"+
+		"\f\u001d\u00a7\t\u001d\u0001\u001e\u0004\u001e\u00aa\b\u001e\u000b\u001e"+
+		"\f\u001e\u00ab\u0001\u001f\u0001\u001f\u0005\u001f\u00b0\b\u001f\n\u001f"+
+		"\f\u001f\u00b3\t\u001f\u0001\u001f\u0001\u001f\u0001 \u0001 \u0005 \u00b9"+
+		"\b \n \f \u00bc\t \u0001 \u0001 \u0001!\u0004!\u00c1\b!\u000b!\f!\u00c2"+
+		"\u0001!\u0001!\u0000\u0000\"\u0001\u0001\u0003\u0002\u0005\u0003\u0007"+
+		"\u0004\t\u0005\u000b\u0006\r\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b"+
+		"\u0017\f\u0019\r\u001b\u000e\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013"+
+		"\'\u0014)\u0015+\u0016-\u0017/\u00181\u00193\u001a5\u001b7\u001c9\u001d"+
+		";\u001e=\u001f? A!C\"\u0001\u0000\u0006\u0002\u0000AZaz\u0003\u000009"+
+		"AZaz\u0001\u000009\u0003\u0000\n\n\r\r\"\"\u0002\u0000\n\n\r\r\u0003\u0000"+
+		"\t\n\r\r  \u00ca\u0000\u0001\u0001\u0000\u0000\u0000\u0000\u0003\u0001"+
+		"\u0000\u0000\u0000\u0000\u0005\u0001\u0000\u0000\u0000\u0000\u0007\u0001"+
+		"\u0000\u0000\u0000\u0000\t\u0001\u0000\u0000\u0000\u0000\u000b\u0001\u0000"+
+		"\u0000\u0000\u0000\r\u0001\u0000\u0000\u0000\u0000\u000f\u0001\u0000\u0000"+
+		"\u0000\u0000\u0011\u0001\u0000\u0000\u0000\u0000\u0013\u0001\u0000\u0000"+
+		"\u0000\u0000\u0015\u0001\u0000\u0000\u0000\u0000\u0017\u0001\u0000\u0000"+
+		"\u0000\u0000\u0019\u0001\u0000\u0000\u0000\u0000\u001b\u0001\u0000\u0000"+
+		"\u0000\u0000\u001d\u0001\u0000\u0000\u0000\u0000\u001f\u0001\u0000\u0000"+
+		"\u0000\u0000!\u0001\u0000\u0000\u0000\u0000#\u0001\u0000\u0000\u0000\u0000"+
+		"%\u0001\u0000\u0000\u0000\u0000\'\u0001\u0000\u0000\u0000\u0000)\u0001"+
+		"\u0000\u0000\u0000\u0000+\u0001\u0000\u0000\u0000\u0000-\u0001\u0000\u0000"+
+		"\u0000\u0000/\u0001\u0000\u0000\u0000\u00001\u0001\u0000\u0000\u0000\u0000"+
+		"3\u0001\u0000\u0000\u0000\u00005\u0001\u0000\u0000\u0000\u00007\u0001"+
+		"\u0000\u0000\u0000\u00009\u0001\u0000\u0000\u0000\u0000;\u0001\u0000\u0000"+
+		"\u0000\u0000=\u0001\u0000\u0000\u0000\u0000?\u0001\u0000\u0000\u0000\u0000"+
+		"A\u0001\u0000\u0000\u0000\u0000C\u0001\u0000\u0000\u0000\u0001E\u0001"+
+		"\u0000\u0000\u0000\u0003G\u0001\u0000\u0000\u0000\u0005I\u0001\u0000\u0000"+
+		"\u0000\u0007K\u0001\u0000\u0000\u0000\tM\u0001\u0000\u0000\u0000\u000b"+
+		"O\u0001\u0000\u0000\u0000\rQ\u0001\u0000\u0000\u0000\u000fS\u0001\u0000"+
+		"\u0000\u0000\u0011Z\u0001\u0000\u0000\u0000\u0013\\\u0001\u0000\u0000"+
+		"\u0000\u0015^\u0001\u0000\u0000\u0000\u0017d\u0001\u0000\u0000\u0000\u0019"+
+		"g\u0001\u0000\u0000\u0000\u001bl\u0001\u0000\u0000\u0000\u001dr\u0001"+
+		"\u0000\u0000\u0000\u001fw\u0001\u0000\u0000\u0000!{\u0001\u0000\u0000"+
+		"\u0000#\u007f\u0001\u0000\u0000\u0000%\u0081\u0001\u0000\u0000\u0000\'"+
+		"\u0083\u0001\u0000\u0000\u0000)\u0085\u0001\u0000\u0000\u0000+\u0087\u0001"+
+		"\u0000\u0000\u0000-\u0089\u0001\u0000\u0000\u0000/\u008b\u0001\u0000\u0000"+
+		"\u00001\u008e\u0001\u0000\u0000\u00003\u0091\u0001\u0000\u0000\u00005"+
+		"\u0093\u0001\u0000\u0000\u00007\u0095\u0001\u0000\u0000\u00009\u009c\u0001"+
+		"\u0000\u0000\u0000;\u00a1\u0001\u0000\u0000\u0000=\u00a9\u0001\u0000\u0000"+
+		"\u0000?\u00ad\u0001\u0000\u0000\u0000A\u00b6\u0001\u0000\u0000\u0000C"+
+		"\u00c0\u0001\u0000\u0000\u0000EF\u0005;\u0000\u0000F\u0002\u0001\u0000"+
+		"\u0000\u0000GH\u0005=\u0000\u0000H\u0004\u0001\u0000\u0000\u0000IJ\u0005"+
+		"[\u0000\u0000J\u0006\u0001\u0000\u0000\u0000KL\u0005]\u0000\u0000L\b\u0001"+
+		"\u0000\u0000\u0000MN\u0005(\u0000\u0000N\n\u0001\u0000\u0000\u0000OP\u0005"+
+		")\u0000\u0000P\f\u0001\u0000\u0000\u0000QR\u0005,\u0000\u0000R\u000e\u0001"+
+		"\u0000\u0000\u0000ST\u0005r\u0000\u0000TU\u0005e\u0000\u0000UV\u0005t"+
+		"\u0000\u0000VW\u0005u\u0000\u0000WX\u0005r\u0000\u0000XY\u0005n\u0000"+
+		"\u0000Y\u0010\u0001\u0000\u0000\u0000Z[\u0005{\u0000\u0000[\u0012\u0001"+
+		"\u0000\u0000\u0000\\]\u0005}\u0000\u0000]\u0014\u0001\u0000\u0000\u0000"+
+		"^_\u0005w\u0000\u0000_`\u0005h\u0000\u0000`a\u0005i\u0000\u0000ab\u0005"+
+		"l\u0000\u0000bc\u0005e\u0000\u0000c\u0016\u0001\u0000\u0000\u0000de\u0005"+
+		"i\u0000\u0000ef\u0005f\u0000\u0000f\u0018\u0001\u0000\u0000\u0000gh\u0005"+
+		"e\u0000\u0000hi\u0005l\u0000\u0000ij\u0005s\u0000\u0000jk\u0005e\u0000"+
+		"\u0000k\u001a\u0001\u0000\u0000\u0000lm\u0005s\u0000\u0000mn\u0005p\u0000"+
+		"\u0000no\u0005a\u0000\u0000op\u0005w\u0000\u0000pq\u0005n\u0000\u0000"+
+		"q\u001c\u0001\u0000\u0000\u0000rs\u0005j\u0000\u0000st\u0005o\u0000\u0000"+
+		"tu\u0005i\u0000\u0000uv\u0005n\u0000\u0000v\u001e\u0001\u0000\u0000\u0000"+
+		"wx\u0005n\u0000\u0000xy\u0005e\u0000\u0000yz\u0005w\u0000\u0000z \u0001"+
+		"\u0000\u0000\u0000{|\u0005i\u0000\u0000|}\u0005n\u0000\u0000}~\u0005t"+
+		"\u0000\u0000~\"\u0001\u0000\u0000\u0000\u007f\u0080\u0005*\u0000\u0000"+
+		"\u0080$\u0001\u0000\u0000\u0000\u0081\u0082\u0005/\u0000\u0000\u0082&"+
+		"\u0001\u0000\u0000\u0000\u0083\u0084\u0005+\u0000\u0000\u0084(\u0001\u0000"+
+		"\u0000\u0000\u0085\u0086\u0005-\u0000\u0000\u0086*\u0001\u0000\u0000\u0000"+
+		"\u0087\u0088\u0005>\u0000\u0000\u0088,\u0001\u0000\u0000\u0000\u0089\u008a"+
+		"\u0005<\u0000\u0000\u008a.\u0001\u0000\u0000\u0000\u008b\u008c\u0005="+
+		"\u0000\u0000\u008c\u008d\u0005=\u0000\u0000\u008d0\u0001\u0000\u0000\u0000"+
+		"\u008e\u008f\u0005!\u0000\u0000\u008f\u0090\u0005=\u0000\u0000\u00902"+
+		"\u0001\u0000\u0000\u0000\u0091\u0092\u0005T\u0000\u0000\u00924\u0001\u0000"+
+		"\u0000\u0000\u0093\u0094\u0005F\u0000\u0000\u00946\u0001\u0000\u0000\u0000"+
+		"\u0095\u0096\u0005s\u0000\u0000\u0096\u0097\u0005t\u0000\u0000\u0097\u0098"+
+		"\u0005r\u0000\u0000\u0098\u0099\u0005i\u0000\u0000\u0099\u009a\u0005n"+
+		"\u0000\u0000\u009a\u009b\u0005g\u0000\u0000\u009b8\u0001\u0000\u0000\u0000"+
+		"\u009c\u009d\u0005b\u0000\u0000\u009d\u009e\u0005o\u0000\u0000\u009e\u009f"+
+		"\u0005o\u0000\u0000\u009f\u00a0\u0005l\u0000\u0000\u00a0:\u0001\u0000"+
+		"\u0000\u0000\u00a1\u00a5\u0007\u0000\u0000\u0000\u00a2\u00a4\u0007\u0001"+
+		"\u0000\u0000\u00a3\u00a2\u0001\u0000\u0000\u0000\u00a4\u00a7\u0001\u0000"+
+		"\u0000\u0000\u00a5\u00a3\u0001\u0000\u0000\u0000\u00a5\u00a6\u0001\u0000"+
+		"\u0000\u0000\u00a6<\u0001\u0000\u0000\u0000\u00a7\u00a5\u0001\u0000\u0000"+
+		"\u0000\u00a8\u00aa\u0007\u0002\u0000\u0000\u00a9\u00a8\u0001\u0000\u0000"+
+		"\u0000\u00aa\u00ab\u0001\u0000\u0000\u0000\u00ab\u00a9\u0001\u0000\u0000"+
+		"\u0000\u00ab\u00ac\u0001\u0000\u0000\u0000\u00ac>\u0001\u0000\u0000\u0000"+
+		"\u00ad\u00b1\u0005\"\u0000\u0000\u00ae\u00b0\b\u0003\u0000\u0000\u00af"+
+		"\u00ae\u0001\u0000\u0000\u0000\u00b0\u00b3\u0001\u0000\u0000\u0000\u00b1"+
+		"\u00af\u0001\u0000\u0000\u0000\u00b1\u00b2\u0001\u0000\u0000\u0000\u00b2"+
+		"\u00b4\u0001\u0000\u0000\u0000\u00b3\u00b1\u0001\u0000\u0000\u0000\u00b4"+
+		"\u00b5\u0005\"\u0000\u0000\u00b5@\u0001\u0000\u0000\u0000\u00b6\u00ba"+
+		"\u0005#\u0000\u0000\u00b7\u00b9\b\u0004\u0000\u0000\u00b8\u00b7\u0001"+
+		"\u0000\u0000\u0000\u00b9\u00bc\u0001\u0000\u0000\u0000\u00ba\u00b8\u0001"+
+		"\u0000\u0000\u0000\u00ba\u00bb\u0001\u0000\u0000\u0000\u00bb\u00bd\u0001"+
+		"\u0000\u0000\u0000\u00bc\u00ba\u0001\u0000\u0000\u0000\u00bd\u00be\u0006"+
+		" \u0000\u0000\u00beB\u0001\u0000\u0000\u0000\u00bf\u00c1\u0007\u0005\u0000"+
+		"\u0000\u00c0\u00bf\u0001\u0000\u0000\u0000\u00c1\u00c2\u0001\u0000\u0000"+
+		"\u0000\u00c2\u00c0\u0001\u0000\u0000\u0000\u00c2\u00c3\u0001\u0000\u0000"+
+		"\u0000\u00c3\u00c4\u0001\u0000\u0000\u0000\u00c4\u00c5\u0006!\u0000\u0000"+
+		"\u00c5D\u0001\u0000\u0000\u0000\u0006\u0000\u00a5\u00ab\u00b1\u00ba\u00c2"+
+		"\u0001\u0006\u0000\u0000";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
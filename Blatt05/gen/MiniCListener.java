@@ -1,4 +1,4 @@
-// Generated from U:/Compilerbau/SemantischeAnalyse/Semantische Analyse/src/MiniC.g4 by ANTLR 4.13.2
+// Generated from MiniC.g4 by ANTLR 4.13.1
 import org.antlr.v4.runtime.tree.ParseTreeListener;
 
 /**
@@ -46,6 +46,16 @@ public interface MiniCListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitAssign(MiniCParser.AssignContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link MiniCParser#indexAssign}.
+	 * @param ctx the parse tree
+	 */
+	void enterIndexAssign(MiniCParser.IndexAssignContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link MiniCParser#indexAssign}.
+	 * @param ctx the parse tree
+	 */
+	void exitIndexAssign(MiniCParser.IndexAssignContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link MiniCParser#fndecl}.
 	 * @param ctx the parse tree
@@ -127,15 +137,137 @@ public interface MiniCListener extends ParseTreeListener {
 	 */
 	void exitCond(MiniCParser.CondContext ctx);
 	/**
-	 * Enter a parse tree produced by {@link MiniCParser#expr}.
+	 * Enter a parse tree produced by the {@code Call}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterCall(MiniCParser.CallContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code Call}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitCall(MiniCParser.CallContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code NewArray}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterNewArray(MiniCParser.NewArrayContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code NewArray}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitNewArray(MiniCParser.NewArrayContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code Number}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterNumber(MiniCParser.NumberContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code Number}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitNumber(MiniCParser.NumberContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code Bool}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterBool(MiniCParser.BoolContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code Bool}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitBool(MiniCParser.BoolContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code Var}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterVar(MiniCParser.VarContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code Var}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitVar(MiniCParser.VarContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code Parens}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterParens(MiniCParser.ParensContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code Parens}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitParens(MiniCParser.ParensContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code Join}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterJoin(MiniCParser.JoinContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code Join}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitJoin(MiniCParser.JoinContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code Index}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterIndex(MiniCParser.IndexContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code Index}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitIndex(MiniCParser.IndexContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code String}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterString(MiniCParser.StringContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code String}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitString(MiniCParser.StringContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code Binary}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterBinary(MiniCParser.BinaryContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code Binary}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitBinary(MiniCParser.BinaryContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code Spawn}
+	 * labeled alternative in {@link MiniCParser#expr}.
 	 * @param ctx the parse tree
 	 */
-	void enterExpr(MiniCParser.ExprContext ctx);
+	void enterSpawn(MiniCParser.SpawnContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link MiniCParser#expr}.
+	 * Exit a parse tree produced by the {@code Spawn}
+	 * labeled alternative in {@link MiniCParser#expr}.
 	 * @param ctx the parse tree
 	 */
-	void exitExpr(MiniCParser.ExprContext ctx);
+	void exitSpawn(MiniCParser.SpawnContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link MiniCParser#type}.
 	 * @param ctx the parse tree
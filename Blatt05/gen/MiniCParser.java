@@ -1,4 +1,4 @@
-
+// Generated from MiniC.g4 by ANTLR 4.13.1
 import org.antlr.v4.runtime.atn.*;
 import org.antlr.v4.runtime.dfa.DFA;
 import org.antlr.v4.runtime.*;
@@ -8,8 +8,9 @@ import java.util.List;
 import java.util.Iterator;
 import java.util.ArrayList;
 
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast", "CheckReturnValue"})
 public class MiniCParser extends Parser {
-	static { RuntimeMetaData.checkVersion("4.13.2", RuntimeMetaData.VERSION); }
+	static { RuntimeMetaData.checkVersion("4.13.1", RuntimeMetaData.VERSION); }
 
 	protected static final DFA[] _decisionToDFA;
 	protected static final PredictionContextCache _sharedContextCache =
@@ -18,24 +19,28 @@ public class MiniCParser extends Parser {
 		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
 		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
-		ID=25, NUMBER=26, STRING=27, COMMENT=28, WS=29;
+		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, ID=30, NUMBER=31, STRING=32, 
+		COMMENT=33, WS=34;
 	public static final int
-		RULE_program = 0, RULE_stmt = 1, RULE_vardecl = 2, RULE_assign = 3, RULE_fndecl = 4, 
-		RULE_params = 5, RULE_returnStmt = 6, RULE_fncall = 7, RULE_args = 8, 
-		RULE_block = 9, RULE_whileStmt = 10, RULE_cond = 11, RULE_expr = 12, RULE_type = 13;
+		RULE_program = 0, RULE_stmt = 1, RULE_vardecl = 2, RULE_assign = 3, RULE_indexAssign = 4, 
+		RULE_fndecl = 5, RULE_params = 6, RULE_returnStmt = 7, RULE_fncall = 8, 
+		RULE_args = 9, RULE_block = 10, RULE_whileStmt = 11, RULE_cond = 12, RULE_expr = 13, 
+		RULE_type = 14;
 	private static String[] makeRuleNames() {
 		return new String[] {
-			"program", "stmt", "vardecl", "assign", "fndecl", "params", "returnStmt", 
-			"fncall", "args", "block", "whileStmt", "cond", "expr", "type"
+			"program", "stmt", "vardecl", "assign", "indexAssign", "fndecl", "params", 
+			"returnStmt", "fncall", "args", "block", "whileStmt", "cond", "expr", 
+			"type"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
 
 	private static String[] makeLiteralNames() {
 		return new String[] {
-			null, "';'", "'='", "'('", "')'", "','", "'return'", "'{'", "'}'", "'while'", 
-			"'if'", "'else'", "'*'", "'/'", "'+'", "'-'", "'>'", "'<'", "'=='", "'!='", 
-			"'T'", "'F'", "'int'", "'string'", "'bool'"
+			null, "';'", "'='", "'['", "']'", "'('", "')'", "','", "'return'", "'{'", 
+			"'}'", "'while'", "'if'", "'else'", "'spawn'", "'join'", "'new'", "'int'", 
+			"'*'", "'/'", "'+'", "'-'", "'>'", "'<'", "'=='", "'!='", "'T'", "'F'", 
+			"'string'", "'bool'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
@@ -43,7 +48,8 @@ public class MiniCParser extends Parser {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, "ID", "NUMBER", "STRING", "COMMENT", "WS"
+			null, null, null, null, null, null, "ID", "NUMBER", "STRING", "COMMENT", 
+			"WS"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -132,21 +138,21 @@ public class MiniCParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(29); 
+			setState(31); 
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			do {
 				{
 				{
-				setState(28);
+				setState(30);
 				stmt();
 				}
 				}
-				setState(31); 
+				setState(33); 
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-			} while ( (((_la) & ~0x3f) == 0 && ((1L << _la) & 267388616L) != 0) );
-			setState(33);
+			} while ( (((_la) & ~0x3f) == 0 && ((1L << _la) & 8523078432L) != 0) );
+			setState(35);
 			match(EOF);
 			}
 		}
@@ -169,6 +175,9 @@ public class MiniCParser extends Parser {
 		public AssignContext assign() {
 			return getRuleContext(AssignContext.class,0);
 		}
+		public IndexAssignContext indexAssign() {
+			return getRuleContext(IndexAssignContext.class,0);
+		}
 		public FndeclContext fndecl() {
 			return getRuleContext(FndeclContext.class,0);
 		}
@@ -210,64 +219,71 @@ public class MiniCParser extends Parser {
 		StmtContext _localctx = new StmtContext(_ctx, getState());
 		enterRule(_localctx, 2, RULE_stmt);
 		try {
-			setState(45);
+			setState(48);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,1,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(35);
+				setState(37);
 				vardecl();
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(36);
+				setState(38);
 				assign();
 				}
 				break;
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(37);
-				fndecl();
+				setState(39);
+				indexAssign();
 				}
 				break;
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(38);
-				expr(0);
-				setState(39);
-				match(T__0);
+				setState(40);
+				fndecl();
 				}
 				break;
 			case 5:
 				enterOuterAlt(_localctx, 5);
 				{
 				setState(41);
-				block();
+				expr(0);
+				setState(42);
+				match(T__0);
 				}
 				break;
 			case 6:
 				enterOuterAlt(_localctx, 6);
 				{
-				setState(42);
-				whileStmt();
+				setState(44);
+				block();
 				}
 				break;
 			case 7:
 				enterOuterAlt(_localctx, 7);
 				{
-				setState(43);
-				cond();
+				setState(45);
+				whileStmt();
 				}
 				break;
 			case 8:
 				enterOuterAlt(_localctx, 8);
 				{
-				setState(44);
+				setState(46);
+				cond();
+				}
+				break;
+			case 9:
+				enterOuterAlt(_localctx, 9);
+				{
+				setState(47);
 				returnStmt();
 				}
 				break;
@@ -319,23 +335,23 @@ public class MiniCParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(47);
+			setState(50);
 			type();
-			setState(48);
-			match(ID);
 			setState(51);
+			match(ID);
+			setState(54);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==T__1) {
 				{
-				setState(49);
+				setState(52);
 				match(T__1);
-				setState(50);
+				setState(53);
 				expr(0);
 				}
 			}
 
-			setState(53);
+			setState(56);
 			match(T__0);
 			}
 		}
@@ -381,13 +397,74 @@ public class MiniCParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(55);
+			setState(58);
 			match(ID);
-			setState(56);
+			setState(59);
 			match(T__1);
-			setState(57);
+			setState(60);
 			expr(0);
-			setState(58);
+			setState(61);
+			match(T__0);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class IndexAssignContext extends ParserRuleContext {
+		public TerminalNode ID() { return getToken(MiniCParser.ID, 0); }
+		public List<ExprContext> expr() {
+			return getRuleContexts(ExprContext.class);
+		}
+		public ExprContext expr(int i) {
+			return getRuleContext(ExprContext.class,i);
+		}
+		public IndexAssignContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_indexAssign; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterIndexAssign(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitIndexAssign(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitIndexAssign(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final IndexAssignContext indexAssign() throws RecognitionException {
+		IndexAssignContext _localctx = new IndexAssignContext(_ctx, getState());
+		enterRule(_localctx, 8, RULE_indexAssign);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(63);
+			match(ID);
+			setState(64);
+			match(T__2);
+			setState(65);
+			expr(0);
+			setState(66);
+			match(T__3);
+			setState(67);
+			match(T__1);
+			setState(68);
+			expr(0);
+			setState(69);
 			match(T__0);
 			}
 		}
@@ -435,30 +512,30 @@ public class MiniCParser extends Parser {
 
 	public final FndeclContext fndecl() throws RecognitionException {
 		FndeclContext _localctx = new FndeclContext(_ctx, getState());
-		enterRule(_localctx, 8, RULE_fndecl);
+		enterRule(_localctx, 10, RULE_fndecl);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(60);
+			setState(71);
 			type();
-			setState(61);
+			setState(72);
 			match(ID);
-			setState(62);
-			match(T__2);
-			setState(64);
+			setState(73);
+			match(T__4);
+			setState(75);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 29360128L) != 0)) {
+			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 805437440L) != 0)) {
 				{
-				setState(63);
+				setState(74);
 				params();
 				}
 			}
 
-			setState(66);
-			match(T__3);
-			setState(67);
+			setState(77);
+			match(T__5);
+			setState(78);
 			block();
 			}
 		}
@@ -506,30 +583,30 @@ public class MiniCParser extends Parser {
 
 	public final ParamsContext params() throws RecognitionException {
 		ParamsContext _localctx = new ParamsContext(_ctx, getState());
-		enterRule(_localctx, 10, RULE_params);
+		enterRule(_localctx, 12, RULE_params);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(69);
+			setState(80);
 			type();
-			setState(70);
+			setState(81);
 			match(ID);
-			setState(77);
+			setState(88);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while (_la==T__4) {
+			while (_la==T__6) {
 				{
 				{
-				setState(71);
-				match(T__4);
-				setState(72);
+				setState(82);
+				match(T__6);
+				setState(83);
 				type();
-				setState(73);
+				setState(84);
 				match(ID);
 				}
 				}
-				setState(79);
+				setState(90);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -572,15 +649,15 @@ public class MiniCParser extends Parser {
 
 	public final ReturnStmtContext returnStmt() throws RecognitionException {
 		ReturnStmtContext _localctx = new ReturnStmtContext(_ctx, getState());
-		enterRule(_localctx, 12, RULE_returnStmt);
+		enterRule(_localctx, 14, RULE_returnStmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(80);
-			match(T__5);
-			setState(81);
+			setState(91);
+			match(T__7);
+			setState(92);
 			expr(0);
-			setState(82);
+			setState(93);
 			match(T__0);
 			}
 		}
@@ -622,27 +699,27 @@ public class MiniCParser extends Parser {
 
 	public final FncallContext fncall() throws RecognitionException {
 		FncallContext _localctx = new FncallContext(_ctx, getState());
-		enterRule(_localctx, 14, RULE_fncall);
+		enterRule(_localctx, 16, RULE_fncall);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(84);
+			setState(95);
 			match(ID);
-			setState(85);
-			match(T__2);
-			setState(87);
+			setState(96);
+			match(T__4);
+			setState(98);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 238026760L) != 0)) {
+			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 7717634080L) != 0)) {
 				{
-				setState(86);
+				setState(97);
 				args();
 				}
 			}
 
-			setState(89);
-			match(T__3);
+			setState(100);
+			match(T__5);
 			}
 		}
 		catch (RecognitionException re) {
@@ -685,26 +762,26 @@ public class MiniCParser extends Parser {
 
 	public final ArgsContext args() throws RecognitionException {
 		ArgsContext _localctx = new ArgsContext(_ctx, getState());
-		enterRule(_localctx, 16, RULE_args);
+		enterRule(_localctx, 18, RULE_args);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(91);
+			setState(102);
 			expr(0);
-			setState(96);
+			setState(107);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while (_la==T__4) {
+			while (_la==T__6) {
 				{
 				{
-				setState(92);
-				match(T__4);
-				setState(93);
+				setState(103);
+				match(T__6);
+				setState(104);
 				expr(0);
 				}
 				}
-				setState(98);
+				setState(109);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -750,29 +827,29 @@ public class MiniCParser extends Parser {
 
 	public final BlockContext block() throws RecognitionException {
 		BlockContext _localctx = new BlockContext(_ctx, getState());
-		enterRule(_localctx, 18, RULE_block);
+		enterRule(_localctx, 20, RULE_block);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(99);
-			match(T__6);
-			setState(103);
+			setState(110);
+			match(T__8);
+			setState(114);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 267388616L) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 8523078432L) != 0)) {
 				{
 				{
-				setState(100);
+				setState(111);
 				stmt();
 				}
 				}
-				setState(105);
+				setState(116);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(106);
-			match(T__7);
+			setState(117);
+			match(T__9);
 			}
 		}
 		catch (RecognitionException re) {
@@ -815,19 +892,19 @@ public class MiniCParser extends Parser {
 
 	public final WhileStmtContext whileStmt() throws RecognitionException {
 		WhileStmtContext _localctx = new WhileStmtContext(_ctx, getState());
-		enterRule(_localctx, 20, RULE_whileStmt);
+		enterRule(_localctx, 22, RULE_whileStmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(108);
-			match(T__8);
-			setState(109);
-			match(T__2);
-			setState(110);
+			setState(119);
+			match(T__10);
+			setState(120);
+			match(T__4);
+			setState(121);
 			expr(0);
-			setState(111);
-			match(T__3);
-			setState(112);
+			setState(122);
+			match(T__5);
+			setState(123);
 			block();
 			}
 		}
@@ -874,29 +951,29 @@ public class MiniCParser extends Parser {
 
 	public final CondContext cond() throws RecognitionException {
 		CondContext _localctx = new CondContext(_ctx, getState());
-		enterRule(_localctx, 22, RULE_cond);
+		enterRule(_localctx, 24, RULE_cond);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(114);
-			match(T__9);
-			setState(115);
-			match(T__2);
-			setState(116);
+			setState(125);
+			match(T__11);
+			setState(126);
+			match(T__4);
+			setState(127);
 			expr(0);
-			setState(117);
-			match(T__3);
-			setState(118);
+			setState(128);
+			match(T__5);
+			setState(129);
 			block();
-			setState(121);
+			setState(132);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			if (_la==T__10) {
+			if (_la==T__12) {
 				{
-				setState(119);
-				match(T__10);
-				setState(120);
+				setState(130);
+				match(T__12);
+				setState(131);
 				block();
 				}
 			}
@@ -916,33 +993,229 @@ public class MiniCParser extends Parser {
 
 	@SuppressWarnings("CheckReturnValue")
 	public static class ExprContext extends ParserRuleContext {
+		public ExprContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_expr; }
+	 
+		public ExprContext() { }
+		public void copyFrom(ExprContext ctx) {
+			super.copyFrom(ctx);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class CallContext extends ExprContext {
 		public FncallContext fncall() {
 			return getRuleContext(FncallContext.class,0);
 		}
-		public TerminalNode ID() { return getToken(MiniCParser.ID, 0); }
+		public CallContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterCall(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitCall(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitCall(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class NewArrayContext extends ExprContext {
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
+		public NewArrayContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterNewArray(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitNewArray(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitNewArray(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class NumberContext extends ExprContext {
 		public TerminalNode NUMBER() { return getToken(MiniCParser.NUMBER, 0); }
+		public NumberContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterNumber(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitNumber(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitNumber(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class BoolContext extends ExprContext {
+		public BoolContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterBool(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitBool(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitBool(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class VarContext extends ExprContext {
+		public TerminalNode ID() { return getToken(MiniCParser.ID, 0); }
+		public VarContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterVar(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitVar(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitVar(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class ParensContext extends ExprContext {
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
+		public ParensContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterParens(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitParens(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitParens(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class JoinContext extends ExprContext {
+		public TerminalNode ID() { return getToken(MiniCParser.ID, 0); }
+		public JoinContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterJoin(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitJoin(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitJoin(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class IndexContext extends ExprContext {
+		public List<ExprContext> expr() {
+			return getRuleContexts(ExprContext.class);
+		}
+		public ExprContext expr(int i) {
+			return getRuleContext(ExprContext.class,i);
+		}
+		public IndexContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterIndex(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitIndex(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitIndex(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class StringContext extends ExprContext {
 		public TerminalNode STRING() { return getToken(MiniCParser.STRING, 0); }
+		public StringContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterString(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitString(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitString(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class BinaryContext extends ExprContext {
+		public Token op;
 		public List<ExprContext> expr() {
 			return getRuleContexts(ExprContext.class);
 		}
 		public ExprContext expr(int i) {
 			return getRuleContext(ExprContext.class,i);
 		}
-		public ExprContext(ParserRuleContext parent, int invokingState) {
-			super(parent, invokingState);
+		public BinaryContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterBinary(this);
 		}
-		@Override public int getRuleIndex() { return RULE_expr; }
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitBinary(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitBinary(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class SpawnContext extends ExprContext {
+		public FncallContext fncall() {
+			return getRuleContext(FncallContext.class,0);
+		}
+		public SpawnContext(ExprContext ctx) { copyFrom(ctx); }
 		@Override
 		public void enterRule(ParseTreeListener listener) {
-			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterExpr(this);
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).enterSpawn(this);
 		}
 		@Override
 		public void exitRule(ParseTreeListener listener) {
-			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitExpr(this);
+			if ( listener instanceof MiniCListener ) ((MiniCListener)listener).exitSpawn(this);
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitExpr(this);
+			if ( visitor instanceof MiniCVisitor ) return ((MiniCVisitor<? extends T>)visitor).visitSpawn(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -956,65 +1229,125 @@ public class MiniCParser extends Parser {
 		int _parentState = getState();
 		ExprContext _localctx = new ExprContext(_ctx, _parentState);
 		ExprContext _prevctx = _localctx;
-		int _startState = 24;
-		enterRecursionRule(_localctx, 24, RULE_expr, _p);
+		int _startState = 26;
+		enterRecursionRule(_localctx, 26, RULE_expr, _p);
 		int _la;
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(134);
+			setState(154);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,9,_ctx) ) {
 			case 1:
 				{
-				setState(124);
+				_localctx = new CallContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+
+				setState(135);
 				fncall();
 				}
 				break;
 			case 2:
 				{
-				setState(125);
-				match(ID);
+				_localctx = new SpawnContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(136);
+				match(T__13);
+				setState(137);
+				fncall();
 				}
 				break;
 			case 3:
 				{
-				setState(126);
-				match(NUMBER);
+				_localctx = new JoinContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(138);
+				match(T__14);
+				setState(139);
+				match(ID);
 				}
 				break;
 			case 4:
 				{
-				setState(127);
-				match(STRING);
+				_localctx = new NewArrayContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(140);
+				match(T__15);
+				setState(141);
+				match(T__16);
+				setState(142);
+				match(T__2);
+				setState(143);
+				expr(0);
+				setState(144);
+				match(T__3);
 				}
 				break;
 			case 5:
 				{
-				setState(128);
-				match(T__19);
+				_localctx = new VarContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(146);
+				match(ID);
 				}
 				break;
 			case 6:
 				{
-				setState(129);
-				match(T__20);
+				_localctx = new NumberContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(147);
+				match(NUMBER);
 				}
 				break;
 			case 7:
 				{
-				setState(130);
-				match(T__2);
-				setState(131);
+				_localctx = new StringContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(148);
+				match(STRING);
+				}
+				break;
+			case 8:
+				{
+				_localctx = new BoolContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(149);
+				_la = _input.LA(1);
+				if ( !(_la==T__25 || _la==T__26) ) {
+				_errHandler.recoverInline(this);
+				}
+				else {
+					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+					_errHandler.reportMatch(this);
+					consume();
+				}
+				}
+				break;
+			case 9:
+				{
+				_localctx = new ParensContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(150);
+				match(T__4);
+				setState(151);
 				expr(0);
-				setState(132);
-				match(T__3);
+				setState(152);
+				match(T__5);
 				}
 				break;
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(150);
+			setState(175);
 			_errHandler.sync(this);
 			_alt = getInterpreter().adaptivePredict(_input,11,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
@@ -1022,93 +1355,111 @@ public class MiniCParser extends Parser {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
 					_prevctx = _localctx;
 					{
-					setState(148);
+					setState(173);
 					_errHandler.sync(this);
 					switch ( getInterpreter().adaptivePredict(_input,10,_ctx) ) {
 					case 1:
 						{
-						_localctx = new ExprContext(_parentctx, _parentState);
+						_localctx = new BinaryContext(new ExprContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_expr);
-						setState(136);
-						if (!(precpred(_ctx, 10))) throw new FailedPredicateException(this, "precpred(_ctx, 10)");
-						setState(137);
+						setState(156);
+						if (!(precpred(_ctx, 9))) throw new FailedPredicateException(this, "precpred(_ctx, 9)");
+						setState(157);
+						((BinaryContext)_localctx).op = _input.LT(1);
 						_la = _input.LA(1);
-						if ( !(_la==T__11 || _la==T__12) ) {
-						_errHandler.recoverInline(this);
+						if ( !(_la==T__17 || _la==T__18) ) {
+							((BinaryContext)_localctx).op = (Token)_errHandler.recoverInline(this);
 						}
 						else {
 							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(138);
-						expr(11);
+						setState(158);
+						expr(10);
 						}
 						break;
 					case 2:
 						{
-						_localctx = new ExprContext(_parentctx, _parentState);
+						_localctx = new BinaryContext(new ExprContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_expr);
-						setState(139);
-						if (!(precpred(_ctx, 9))) throw new FailedPredicateException(this, "precpred(_ctx, 9)");
-						setState(140);
+						setState(159);
+						if (!(precpred(_ctx, 8))) throw new FailedPredicateException(this, "precpred(_ctx, 8)");
+						setState(160);
+						((BinaryContext)_localctx).op = _input.LT(1);
 						_la = _input.LA(1);
-						if ( !(_la==T__13 || _la==T__14) ) {
-						_errHandler.recoverInline(this);
+						if ( !(_la==T__19 || _la==T__20) ) {
+							((BinaryContext)_localctx).op = (Token)_errHandler.recoverInline(this);
 						}
 						else {
 							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(141);
-						expr(10);
+						setState(161);
+						expr(9);
 						}
 						break;
 					case 3:
 						{
-						_localctx = new ExprContext(_parentctx, _parentState);
+						_localctx = new BinaryContext(new ExprContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_expr);
-						setState(142);
-						if (!(precpred(_ctx, 8))) throw new FailedPredicateException(this, "precpred(_ctx, 8)");
-						setState(143);
+						setState(162);
+						if (!(precpred(_ctx, 7))) throw new FailedPredicateException(this, "precpred(_ctx, 7)");
+						setState(163);
+						((BinaryContext)_localctx).op = _input.LT(1);
 						_la = _input.LA(1);
-						if ( !(_la==T__15 || _la==T__16) ) {
-						_errHandler.recoverInline(this);
+						if ( !(_la==T__21 || _la==T__22) ) {
+							((BinaryContext)_localctx).op = (Token)_errHandler.recoverInline(this);
 						}
 						else {
 							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(144);
-						expr(9);
+						setState(164);
+						expr(8);
 						}
 						break;
 					case 4:
 						{
-						_localctx = new ExprContext(_parentctx, _parentState);
+						_localctx = new BinaryContext(new ExprContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_expr);
-						setState(145);
-						if (!(precpred(_ctx, 7))) throw new FailedPredicateException(this, "precpred(_ctx, 7)");
-						setState(146);
+						setState(165);
+						if (!(precpred(_ctx, 6))) throw new FailedPredicateException(this, "precpred(_ctx, 6)");
+						setState(166);
+						((BinaryContext)_localctx).op = _input.LT(1);
 						_la = _input.LA(1);
-						if ( !(_la==T__17 || _la==T__18) ) {
-						_errHandler.recoverInline(this);
+						if ( !(_la==T__23 || _la==T__24) ) {
+							((BinaryContext)_localctx).op = (Token)_errHandler.recoverInline(this);
 						}
 						else {
 							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(147);
-						expr(8);
+						setState(167);
+						expr(7);
+						}
+						break;
+					case 5:
+						{
+						_localctx = new IndexContext(new ExprContext(_parentctx, _parentState));
+						pushNewRecursionContext(_localctx, _startState, RULE_expr);
+						setState(168);
+						if (!(precpred(_ctx, 10))) throw new FailedPredicateException(this, "precpred(_ctx, 10)");
+						setState(169);
+						match(T__2);
+						setState(170);
+						expr(0);
+						setState(171);
+						match(T__3);
 						}
 						break;
 					}
 					} 
 				}
-				setState(152);
+				setState(177);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,11,_ctx);
 			}
@@ -1148,21 +1499,43 @@ public class MiniCParser extends Parser {
 
 	public final TypeContext type() throws RecognitionException {
 		TypeContext _localctx = new TypeContext(_ctx, getState());
-		enterRule(_localctx, 26, RULE_type);
-		int _la;
+		enterRule(_localctx, 28, RULE_type);
 		try {
-			enterOuterAlt(_localctx, 1);
-			{
-			setState(153);
-			_la = _input.LA(1);
-			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 29360128L) != 0)) ) {
-			_errHandler.recoverInline(this);
-			}
-			else {
-				if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-				_errHandler.reportMatch(this);
-				consume();
-			}
+			setState(184);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,12,_ctx) ) {
+			case 1:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(178);
+				match(T__16);
+				}
+				break;
+			case 2:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(179);
+				match(T__27);
+				}
+				break;
+			case 3:
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(180);
+				match(T__28);
+				}
+				break;
+			case 4:
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(181);
+				match(T__16);
+				setState(182);
+				match(T__2);
+				setState(183);
+				match(T__3);
+				}
+				break;
 			}
 		}
 		catch (RecognitionException re) {
@@ -1178,7 +1551,7 @@ public class MiniCParser extends Parser {
 
 	public boolean sempred(RuleContext _localctx, int ruleIndex, int predIndex) {
 		switch (ruleIndex) {
-		case 12:
+		case 13:
 			return expr_sempred((ExprContext)_localctx, predIndex);
 		}
 		return true;
@@ -1186,110 +1559,134 @@ public class MiniCParser extends Parser {
 	private boolean expr_sempred(ExprContext _localctx, int predIndex) {
 		switch (predIndex) {
 		case 0:
-			return precpred(_ctx, 10);
-		case 1:
 			return precpred(_ctx, 9);
-		case 2:
+		case 1:
 			return precpred(_ctx, 8);
-		case 3:
+		case 2:
 			return precpred(_ctx, 7);
+		case 3:
+			return precpred(_ctx, 6);
+		case 4:
+			return precpred(_ctx, 10);
 		}
 		return true;
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001\u001d\u009c\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001"+
-		"\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004"+
-		"\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007"+
-		"\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b\u0007\u000b"+
-		"\u0002\f\u0007\f\u0002\r\u0007\r\u0001\u0000\u0004\u0000\u001e\b\u0000"+
-		"\u000b\u0000\f\u0000\u001f\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001"+
+		"\u0004\u0001\"\u00bb\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
+		"\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004\u0002"+
+		"\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007\u0002"+
+		"\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b\u0007\u000b\u0002"+
+		"\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0001\u0000\u0004\u0000"+
+		" \b\u0000\u000b\u0000\f\u0000!\u0001\u0000\u0001\u0000\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0001\u0001\u0001\u0003\u0001.\b\u0001\u0001\u0002\u0001\u0002"+
-		"\u0001\u0002\u0001\u0002\u0003\u00024\b\u0002\u0001\u0002\u0001\u0002"+
-		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0004"+
-		"\u0001\u0004\u0001\u0004\u0001\u0004\u0003\u0004A\b\u0004\u0001\u0004"+
-		"\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0001\u0005\u0005\u0005L\b\u0005\n\u0005\f\u0005O\t\u0005"+
-		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0007\u0001\u0007"+
-		"\u0001\u0007\u0003\u0007X\b\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001"+
-		"\b\u0001\b\u0005\b_\b\b\n\b\f\bb\t\b\u0001\t\u0001\t\u0005\tf\b\t\n\t"+
-		"\f\ti\t\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001"+
-		"\n\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b"+
-		"\u0001\u000b\u0003\u000bz\b\u000b\u0001\f\u0001\f\u0001\f\u0001\f\u0001"+
-		"\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0003\f\u0087\b\f\u0001"+
-		"\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001"+
-		"\f\u0001\f\u0001\f\u0005\f\u0095\b\f\n\f\f\f\u0098\t\f\u0001\r\u0001\r"+
-		"\u0001\r\u0000\u0001\u0018\u000e\u0000\u0002\u0004\u0006\b\n\f\u000e\u0010"+
-		"\u0012\u0014\u0016\u0018\u001a\u0000\u0005\u0001\u0000\f\r\u0001\u0000"+
-		"\u000e\u000f\u0001\u0000\u0010\u0011\u0001\u0000\u0012\u0013\u0001\u0000"+
-		"\u0016\u0018\u00a6\u0000\u001d\u0001\u0000\u0000\u0000\u0002-\u0001\u0000"+
-		"\u0000\u0000\u0004/\u0001\u0000\u0000\u0000\u00067\u0001\u0000\u0000\u0000"+
-		"\b<\u0001\u0000\u0000\u0000\nE\u0001\u0000\u0000\u0000\fP\u0001\u0000"+
-		"\u0000\u0000\u000eT\u0001\u0000\u0000\u0000\u0010[\u0001\u0000\u0000\u0000"+
-		"\u0012c\u0001\u0000\u0000\u0000\u0014l\u0001\u0000\u0000\u0000\u0016r"+
-		"\u0001\u0000\u0000\u0000\u0018\u0086\u0001\u0000\u0000\u0000\u001a\u0099"+
-		"\u0001\u0000\u0000\u0000\u001c\u001e\u0003\u0002\u0001\u0000\u001d\u001c"+
-		"\u0001\u0000\u0000\u0000\u001e\u001f\u0001\u0000\u0000\u0000\u001f\u001d"+
-		"\u0001\u0000\u0000\u0000\u001f \u0001\u0000\u0000\u0000 !\u0001\u0000"+
-		"\u0000\u0000!\"\u0005\u0000\u0000\u0001\"\u0001\u0001\u0000\u0000\u0000"+
-		"#.\u0003\u0004\u0002\u0000$.\u0003\u0006\u0003\u0000%.\u0003\b\u0004\u0000"+
-		"&\'\u0003\u0018\f\u0000\'(\u0005\u0001\u0000\u0000(.\u0001\u0000\u0000"+
-		"\u0000).\u0003\u0012\t\u0000*.\u0003\u0014\n\u0000+.\u0003\u0016\u000b"+
-		"\u0000,.\u0003\f\u0006\u0000-#\u0001\u0000\u0000\u0000-$\u0001\u0000\u0000"+
-		"\u0000-%\u0001\u0000\u0000\u0000-&\u0001\u0000\u0000\u0000-)\u0001\u0000"+
-		"\u0000\u0000-*\u0001\u0000\u0000\u0000-+\u0001\u0000\u0000\u0000-,\u0001"+
-		"\u0000\u0000\u0000.\u0003\u0001\u0000\u0000\u0000/0\u0003\u001a\r\u0000"+
-		"03\u0005\u0019\u0000\u000012\u0005\u0002\u0000\u000024\u0003\u0018\f\u0000"+
-		"31\u0001\u0000\u0000\u000034\u0001\u0000\u0000\u000045\u0001\u0000\u0000"+
-		"\u000056\u0005\u0001\u0000\u00006\u0005\u0001\u0000\u0000\u000078\u0005"+
-		"\u0019\u0000\u000089\u0005\u0002\u0000\u00009:\u0003\u0018\f\u0000:;\u0005"+
-		"\u0001\u0000\u0000;\u0007\u0001\u0000\u0000\u0000<=\u0003\u001a\r\u0000"+
-		"=>\u0005\u0019\u0000\u0000>@\u0005\u0003\u0000\u0000?A\u0003\n\u0005\u0000"+
-		"@?\u0001\u0000\u0000\u0000@A\u0001\u0000\u0000\u0000AB\u0001\u0000\u0000"+
-		"\u0000BC\u0005\u0004\u0000\u0000CD\u0003\u0012\t\u0000D\t\u0001\u0000"+
-		"\u0000\u0000EF\u0003\u001a\r\u0000FM\u0005\u0019\u0000\u0000GH\u0005\u0005"+
-		"\u0000\u0000HI\u0003\u001a\r\u0000IJ\u0005\u0019\u0000\u0000JL\u0001\u0000"+
-		"\u0000\u0000KG\u0001\u0000\u0000\u0000LO\u0001\u0000\u0000\u0000MK\u0001"+
-		"\u0000\u0000\u0000MN\u0001\u0000\u0000\u0000N\u000b\u0001\u0000\u0000"+
-		"\u0000OM\u0001\u0000\u0000\u0000PQ\u0005\u0006\u0000\u0000QR\u0003\u0018"+
-		"\f\u0000RS\u0005\u0001\u0000\u0000S\r\u0001\u0000\u0000\u0000TU\u0005"+
-		"\u0019\u0000\u0000UW\u0005\u0003\u0000\u0000VX\u0003\u0010\b\u0000WV\u0001"+
-		"\u0000\u0000\u0000WX\u0001\u0000\u0000\u0000XY\u0001\u0000\u0000\u0000"+
-		"YZ\u0005\u0004\u0000\u0000Z\u000f\u0001\u0000\u0000\u0000[`\u0003\u0018"+
-		"\f\u0000\\]\u0005\u0005\u0000\u0000]_\u0003\u0018\f\u0000^\\\u0001\u0000"+
-		"\u0000\u0000_b\u0001\u0000\u0000\u0000`^\u0001\u0000\u0000\u0000`a\u0001"+
-		"\u0000\u0000\u0000a\u0011\u0001\u0000\u0000\u0000b`\u0001\u0000\u0000"+
-		"\u0000cg\u0005\u0007\u0000\u0000df\u0003\u0002\u0001\u0000ed\u0001\u0000"+
-		"\u0000\u0000fi\u0001\u0000\u0000\u0000ge\u0001\u0000\u0000\u0000gh\u0001"+
-		"\u0000\u0000\u0000hj\u0001\u0000\u0000\u0000ig\u0001\u0000\u0000\u0000"+
-		"jk\u0005\b\u0000\u0000k\u0013\u0001\u0000\u0000\u0000lm\u0005\t\u0000"+
-		"\u0000mn\u0005\u0003\u0000\u0000no\u0003\u0018\f\u0000op\u0005\u0004\u0000"+
-		"\u0000pq\u0003\u0012\t\u0000q\u0015\u0001\u0000\u0000\u0000rs\u0005\n"+
-		"\u0000\u0000st\u0005\u0003\u0000\u0000tu\u0003\u0018\f\u0000uv\u0005\u0004"+
-		"\u0000\u0000vy\u0003\u0012\t\u0000wx\u0005\u000b\u0000\u0000xz\u0003\u0012"+
-		"\t\u0000yw\u0001\u0000\u0000\u0000yz\u0001\u0000\u0000\u0000z\u0017\u0001"+
-		"\u0000\u0000\u0000{|\u0006\f\uffff\uffff\u0000|\u0087\u0003\u000e\u0007"+
-		"\u0000}\u0087\u0005\u0019\u0000\u0000~\u0087\u0005\u001a\u0000\u0000\u007f"+
-		"\u0087\u0005\u001b\u0000\u0000\u0080\u0087\u0005\u0014\u0000\u0000\u0081"+
-		"\u0087\u0005\u0015\u0000\u0000\u0082\u0083\u0005\u0003\u0000\u0000\u0083"+
-		"\u0084\u0003\u0018\f\u0000\u0084\u0085\u0005\u0004\u0000\u0000\u0085\u0087"+
-		"\u0001\u0000\u0000\u0000\u0086{\u0001\u0000\u0000\u0000\u0086}\u0001\u0000"+
-		"\u0000\u0000\u0086~\u0001\u0000\u0000\u0000\u0086\u007f\u0001\u0000\u0000"+
-		"\u0000\u0086\u0080\u0001\u0000\u0000\u0000\u0086\u0081\u0001\u0000\u0000"+
-		"\u0000\u0086\u0082\u0001\u0000\u0000\u0000\u0087\u0096\u0001\u0000\u0000"+
-		"\u0000\u0088\u0089\n\n\u0000\u0000\u0089\u008a\u0007\u0000\u0000\u0000"+
-		"\u008a\u0095\u0003\u0018\f\u000b\u008b\u008c\n\t\u0000\u0000\u008c\u008d"+
-		"\u0007\u0001\u0000\u0000\u008d\u0095\u0003\u0018\f\n\u008e\u008f\n\b\u0000"+
-		"\u0000\u008f\u0090\u0007\u0002\u0000\u0000\u0090\u0095\u0003\u0018\f\t"+
-		"\u0091\u0092\n\u0007\u0000\u0000\u0092\u0093\u0007\u0003\u0000\u0000\u0093"+
-		"\u0095\u0003\u0018\f\b\u0094\u0088\u0001\u0000\u0000\u0000\u0094\u008b"+
-		"\u0001\u0000\u0000\u0000\u0094\u008e\u0001\u0000\u0000\u0000\u0094\u0091"+
-		"\u0001\u0000\u0000\u0000\u0095\u0098\u0001\u0000\u0000\u0000\u0096\u0094"+
-		"\u0001\u0000\u0000\u0000\u0096\u0097\u0001\u0000\u0000\u0000\u0097\u0019"+
-		"\u0001\u0000\u0000\u0000\u0098\u0096\u0001\u0000\u0000\u0000\u0099\u009a"+
-		"\u0007\u0004\u0000\u0000\u009a\u001b\u0001\u0000\u0000\u0000\f\u001f-"+
-		"3@MW`gy\u0086\u0094\u0096";
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0003\u00011\b\u0001\u0001"+
+		"\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0003\u00027\b\u0002\u0001"+
+		"\u0002\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001"+
+		"\u0003\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001"+
+		"\u0004\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
+		"\u0005\u0003\u0005L\b\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
+		"\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0005"+
+		"\u0006W\b\u0006\n\u0006\f\u0006Z\t\u0006\u0001\u0007\u0001\u0007\u0001"+
+		"\u0007\u0001\u0007\u0001\b\u0001\b\u0001\b\u0003\bc\b\b\u0001\b\u0001"+
+		"\b\u0001\t\u0001\t\u0001\t\u0005\tj\b\t\n\t\f\tm\t\t\u0001\n\u0001\n\u0005"+
+		"\nq\b\n\n\n\f\nt\t\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001\u000b"+
+		"\u0001\u000b\u0001\u000b\u0001\u000b\u0001\f\u0001\f\u0001\f\u0001\f\u0001"+
+		"\f\u0001\f\u0001\f\u0003\f\u0085\b\f\u0001\r\u0001\r\u0001\r\u0001\r\u0001"+
+		"\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001"+
+		"\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0003\r\u009b\b\r\u0001"+
+		"\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001"+
+		"\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0005\r\u00ae"+
+		"\b\r\n\r\f\r\u00b1\t\r\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e"+
+		"\u0001\u000e\u0001\u000e\u0003\u000e\u00b9\b\u000e\u0001\u000e\u0000\u0001"+
+		"\u001a\u000f\u0000\u0002\u0004\u0006\b\n\f\u000e\u0010\u0012\u0014\u0016"+
+		"\u0018\u001a\u001c\u0000\u0005\u0001\u0000\u001a\u001b\u0001\u0000\u0012"+
+		"\u0013\u0001\u0000\u0014\u0015\u0001\u0000\u0016\u0017\u0001\u0000\u0018"+
+		"\u0019\u00cb\u0000\u001f\u0001\u0000\u0000\u0000\u00020\u0001\u0000\u0000"+
+		"\u0000\u00042\u0001\u0000\u0000\u0000\u0006:\u0001\u0000\u0000\u0000\b"+
+		"?\u0001\u0000\u0000\u0000\nG\u0001\u0000\u0000\u0000\fP\u0001\u0000\u0000"+
+		"\u0000\u000e[\u0001\u0000\u0000\u0000\u0010_\u0001\u0000\u0000\u0000\u0012"+
+		"f\u0001\u0000\u0000\u0000\u0014n\u0001\u0000\u0000\u0000\u0016w\u0001"+
+		"\u0000\u0000\u0000\u0018}\u0001\u0000\u0000\u0000\u001a\u009a\u0001\u0000"+
+		"\u0000\u0000\u001c\u00b8\u0001\u0000\u0000\u0000\u001e \u0003\u0002\u0001"+
+		"\u0000\u001f\u001e\u0001\u0000\u0000\u0000 !\u0001\u0000\u0000\u0000!"+
+		"\u001f\u0001\u0000\u0000\u0000!\"\u0001\u0000\u0000\u0000\"#\u0001\u0000"+
+		"\u0000\u0000#$\u0005\u0000\u0000\u0001$\u0001\u0001\u0000\u0000\u0000"+
+		"%1\u0003\u0004\u0002\u0000&1\u0003\u0006\u0003\u0000\'1\u0003\b\u0004"+
+		"\u0000(1\u0003\n\u0005\u0000)*\u0003\u001a\r\u0000*+\u0005\u0001\u0000"+
+		"\u0000+1\u0001\u0000\u0000\u0000,1\u0003\u0014\n\u0000-1\u0003\u0016\u000b"+
+		"\u0000.1\u0003\u0018\f\u0000/1\u0003\u000e\u0007\u00000%\u0001\u0000\u0000"+
+		"\u00000&\u0001\u0000\u0000\u00000\'\u0001\u0000\u0000\u00000(\u0001\u0000"+
+		"\u0000\u00000)\u0001\u0000\u0000\u00000,\u0001\u0000\u0000\u00000-\u0001"+
+		"\u0000\u0000\u00000.\u0001\u0000\u0000\u00000/\u0001\u0000\u0000\u0000"+
+		"1\u0003\u0001\u0000\u0000\u000023\u0003\u001c\u000e\u000036\u0005\u001e"+
+		"\u0000\u000045\u0005\u0002\u0000\u000057\u0003\u001a\r\u000064\u0001\u0000"+
+		"\u0000\u000067\u0001\u0000\u0000\u000078\u0001\u0000\u0000\u000089\u0005"+
+		"\u0001\u0000\u00009\u0005\u0001\u0000\u0000\u0000:;\u0005\u001e\u0000"+
+		"\u0000;<\u0005\u0002\u0000\u0000<=\u0003\u001a\r\u0000=>\u0005\u0001\u0000"+
+		"\u0000>\u0007\u0001\u0000\u0000\u0000?@\u0005\u001e\u0000\u0000@A\u0005"+
+		"\u0003\u0000\u0000AB\u0003\u001a\r\u0000BC\u0005\u0004\u0000\u0000CD\u0005"+
+		"\u0002\u0000\u0000DE\u0003\u001a\r\u0000EF\u0005\u0001\u0000\u0000F\t"+
+		"\u0001\u0000\u0000\u0000GH\u0003\u001c\u000e\u0000HI\u0005\u001e\u0000"+
+		"\u0000IK\u0005\u0005\u0000\u0000JL\u0003\f\u0006\u0000KJ\u0001\u0000\u0000"+
+		"\u0000KL\u0001\u0000\u0000\u0000LM\u0001\u0000\u0000\u0000MN\u0005\u0006"+
+		"\u0000\u0000NO\u0003\u0014\n\u0000O\u000b\u0001\u0000\u0000\u0000PQ\u0003"+
+		"\u001c\u000e\u0000QX\u0005\u001e\u0000\u0000RS\u0005\u0007\u0000\u0000"+
+		"ST\u0003\u001c\u000e\u0000TU\u0005\u001e\u0000\u0000UW\u0001\u0000\u0000"+
+		"\u0000VR\u0001\u0000\u0000\u0000WZ\u0001\u0000\u0000\u0000XV\u0001\u0000"+
+		"\u0000\u0000XY\u0001\u0000\u0000\u0000Y\r\u0001\u0000\u0000\u0000ZX\u0001"+
+		"\u0000\u0000\u0000[\\\u0005\b\u0000\u0000\\]\u0003\u001a\r\u0000]^\u0005"+
+		"\u0001\u0000\u0000^\u000f\u0001\u0000\u0000\u0000_`\u0005\u001e\u0000"+
+		"\u0000`b\u0005\u0005\u0000\u0000ac\u0003\u0012\t\u0000ba\u0001\u0000\u0000"+
+		"\u0000bc\u0001\u0000\u0000\u0000cd\u0001\u0000\u0000\u0000de\u0005\u0006"+
+		"\u0000\u0000e\u0011\u0001\u0000\u0000\u0000fk\u0003\u001a\r\u0000gh\u0005"+
+		"\u0007\u0000\u0000hj\u0003\u001a\r\u0000ig\u0001\u0000\u0000\u0000jm\u0001"+
+		"\u0000\u0000\u0000ki\u0001\u0000\u0000\u0000kl\u0001\u0000\u0000\u0000"+
+		"l\u0013\u0001\u0000\u0000\u0000mk\u0001\u0000\u0000\u0000nr\u0005\t\u0000"+
+		"\u0000oq\u0003\u0002\u0001\u0000po\u0001\u0000\u0000\u0000qt\u0001\u0000"+
+		"\u0000\u0000rp\u0001\u0000\u0000\u0000rs\u0001\u0000\u0000\u0000su\u0001"+
+		"\u0000\u0000\u0000tr\u0001\u0000\u0000\u0000uv\u0005\n\u0000\u0000v\u0015"+
+		"\u0001\u0000\u0000\u0000wx\u0005\u000b\u0000\u0000xy\u0005\u0005\u0000"+
+		"\u0000yz\u0003\u001a\r\u0000z{\u0005\u0006\u0000\u0000{|\u0003\u0014\n"+
+		"\u0000|\u0017\u0001\u0000\u0000\u0000}~\u0005\f\u0000\u0000~\u007f\u0005"+
+		"\u0005\u0000\u0000\u007f\u0080\u0003\u001a\r\u0000\u0080\u0081\u0005\u0006"+
+		"\u0000\u0000\u0081\u0084\u0003\u0014\n\u0000\u0082\u0083\u0005\r\u0000"+
+		"\u0000\u0083\u0085\u0003\u0014\n\u0000\u0084\u0082\u0001\u0000\u0000\u0000"+
+		"\u0084\u0085\u0001\u0000\u0000\u0000\u0085\u0019\u0001\u0000\u0000\u0000"+
+		"\u0086\u0087\u0006\r\uffff\uffff\u0000\u0087\u009b\u0003\u0010\b\u0000"+
+		"\u0088\u0089\u0005\u000e\u0000\u0000\u0089\u009b\u0003\u0010\b\u0000\u008a"+
+		"\u008b\u0005\u000f\u0000\u0000\u008b\u009b\u0005\u001e\u0000\u0000\u008c"+
+		"\u008d\u0005\u0010\u0000\u0000\u008d\u008e\u0005\u0011\u0000\u0000\u008e"+
+		"\u008f\u0005\u0003\u0000\u0000\u008f\u0090\u0003\u001a\r\u0000\u0090\u0091"+
+		"\u0005\u0004\u0000\u0000\u0091\u009b\u0001\u0000\u0000\u0000\u0092\u009b"+
+		"\u0005\u001e\u0000\u0000\u0093\u009b\u0005\u001f\u0000\u0000\u0094\u009b"+
+		"\u0005 \u0000\u0000\u0095\u009b\u0007\u0000\u0000\u0000\u0096\u0097\u0005"+
+		"\u0005\u0000\u0000\u0097\u0098\u0003\u001a\r\u0000\u0098\u0099\u0005\u0006"+
+		"\u0000\u0000\u0099\u009b\u0001\u0000\u0000\u0000\u009a\u0086\u0001\u0000"+
+		"\u0000\u0000\u009a\u0088\u0001\u0000\u0000\u0000\u009a\u008a\u0001\u0000"+
+		"\u0000\u0000\u009a\u008c\u0001\u0000\u0000\u0000\u009a\u0092\u0001\u0000"+
+		"\u0000\u0000\u009a\u0093\u0001\u0000\u0000\u0000\u009a\u0094\u0001\u0000"+
+		"\u0000\u0000\u009a\u0095\u0001\u0000\u0000\u0000\u009a\u0096\u0001\u0000"+
+		"\u0000\u0000\u009b\u00af\u0001\u0000\u0000\u0000\u009c\u009d\n\t\u0000"+
+		"\u0000\u009d\u009e\u0007\u0001\u0000\u0000\u009e\u00ae\u0003\u001a\r\n"+
+		"\u009f\u00a0\n\b\u0000\u0000\u00a0\u00a1\u0007\u0002\u0000\u0000\u00a1"+
+		"\u00ae\u0003\u001a\r\t\u00a2\u00a3\n\u0007\u0000\u0000\u00a3\u00a4\u0007"+
+		"\u0003\u0000\u0000\u00a4\u00ae\u0003\u001a\r\b\u00a5\u00a6\n\u0006\u0000"+
+		"\u0000\u00a6\u00a7\u0007\u0004\u0000\u0000\u00a7\u00ae\u0003\u001a\r\u0007"+
+		"\u00a8\u00a9\n\n\u0000\u0000\u00a9\u00aa\u0005\u0003\u0000\u0000\u00aa"+
+		"\u00ab\u0003\u001a\r\u0000\u00ab\u00ac\u0005\u0004\u0000\u0000\u00ac\u00ae"+
+		"\u0001\u0000\u0000\u0000\u00ad\u009c\u0001\u0000\u0000\u0000\u00ad\u009f"+
+		"\u0001\u0000\u0000\u0000\u00ad\u00a2\u0001\u0000\u0000\u0000\u00ad\u00a5"+
+		"\u0001\u0000\u0000\u0000\u00ad\u00a8\u0001\u0000\u0000\u0000\u00ae\u00b1"+
+		"\u0001\u0000\u0000\u0000\u00af\u00ad\u0001\u0000\u0000\u0000\u00af\u00b0"+
+		"\u0001\u0000\u0000\u0000\u00b0\u001b\u0001\u0000\u0000\u0000\u00b1\u00af"+
+		"\u0001\u0000\u0000\u0000\u00b2\u00b9\u0005\u0011\u0000\u0000\u00b3\u00b9"+
+		"\u0005\u001c\u0000\u0000\u00b4\u00b9\u0005\u001d\u0000\u0000\u00b5\u00b6"+
+		"\u0005\u0011\u0000\u0000\u00b6\u00b7\u0005\u0003\u0000\u0000\u00b7\u00b9"+
+		"\u0005\u0004\u0000\u0000\u00b8\u00b2\u0001\u0000\u0000\u0000\u00b8\u00b3"+
+		"\u0001\u0000\u0000\u0000\u00b8\u00b4\u0001\u0000\u0000\u0000\u00b8\u00b5"+
+		"\u0001\u0000\u0000\u0000\u00b9\u001d\u0001\u0000\u0000\u0000\r!06KXbk"+
+		"r\u0084\u009a\u00ad\u00af\u00b8";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -1,4 +1,4 @@
-// Generated from U:/Compilerbau/SemantischeAnalyse/Semantische Analyse/src/MiniC.g4 by ANTLR 4.13.2
+// Generated from MiniC.g4 by ANTLR 4.13.1
 import org.antlr.v4.runtime.tree.ParseTreeVisitor;
 
 /**
@@ -33,6 +33,12 @@ public interface MiniCVisitor<T> extends ParseTreeVisitor<T> {
 	 * @return the visitor result
 	 */
 	T visitAssign(MiniCParser.AssignContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link MiniCParser#indexAssign}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitIndexAssign(MiniCParser.IndexAssignContext ctx);
 	/**
 	 * Visit a parse tree produced by {@link MiniCParser#fndecl}.
 	 * @param ctx the parse tree
@@ -82,11 +88,82 @@ public interface MiniCVisitor<T> extends ParseTreeVisitor<T> {
 	 */
 	T visitCond(MiniCParser.CondContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link MiniCParser#expr}.
+	 * Visit a parse tree produced by the {@code Call}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitCall(MiniCParser.CallContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code NewArray}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitNewArray(MiniCParser.NewArrayContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code Number}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitNumber(MiniCParser.NumberContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code Bool}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitBool(MiniCParser.BoolContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code Var}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitVar(MiniCParser.VarContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code Parens}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitParens(MiniCParser.ParensContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code Join}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitJoin(MiniCParser.JoinContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code Index}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitIndex(MiniCParser.IndexContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code String}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitString(MiniCParser.StringContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code Binary}
+	 * labeled alternative in {@link MiniCParser#expr}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitBinary(MiniCParser.BinaryContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code Spawn}
+	 * labeled alternative in {@link MiniCParser#expr}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitExpr(MiniCParser.ExprContext ctx);
+	T visitSpawn(MiniCParser.SpawnContext ctx);
 	/**
 	 * Visit a parse tree produced by {@link MiniCParser#type}.
 	 * @param ctx the parse tree
@@ -0,0 +1,145 @@
+import java.util.*;
+
+/**
+ * Strukturelle Merkle-Hashes für AST-Teilbäume. Der Hash eines Knotens hängt nur von
+ * Knotentyp, Namen, Typen, Literalen und den Hashes der Kinder ab, nicht von Positionen.
+ * Berechnete Hashes werden pro Instanz gecacht (Identität des Knotens).
+ */
+public class AstHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<MiniCCompiler.Node, Long> cache = new IdentityHashMap<>();
+
+    public static long of(MiniCCompiler.Node node) { return new AstHash().hash(node); }
+
+    public long hash(MiniCCompiler.Node node) {
+        if (node == null) return 0;
+        Long cached = cache.get(node);
+        if (cached != null) return cached;
+        long h = fmix(compute(node));
+        cache.put(node, h);
+        return h;
+    }
+
+    /** Hash der Signatur eines globalen Symbols (Art, Typ, Parametertypen, Name). */
+    public static long signature(SymbolTableBuilder.Symbol sym) {
+        if (sym == null) return 0;
+        long h = mix(FNV_OFFSET, sym.isFunction ? 1 : 2);
+        h = mix(h, sym.type.ordinal());
+        h = mix(h, sym.name);
+        if (sym.isFunction) for (MiniCCompiler.Param p : sym.params) h = mix(h, p.type.ordinal());
+        return fmix(h);
+    }
+
+    private long compute(MiniCCompiler.Node node) {
+        if (node instanceof MiniCCompiler.VarDecl vd) {
+            return mix(mix(mix(tag(1), vd.type.ordinal()), vd.name), hash(vd.initializer));
+        } else if (node instanceof MiniCCompiler.Assign as) {
+            return mix(mix(tag(2), as.name), hash(as.value));
+        } else if (node instanceof MiniCCompiler.IndexAssign ia) {
+            return mix(mix(mix(tag(17), hash(ia.array)), hash(ia.index)), hash(ia.value));
+        } else if (node instanceof MiniCCompiler.FnDecl fd) {
+            long h = mix(mix(tag(3), fd.returnType.ordinal()), fd.name);
+            h = mix(h, fd.params.size());
+            for (MiniCCompiler.Param p : fd.params) h = mix(mix(h, p.type.ordinal()), p.name);
+            return mix(h, hash(fd.body));
+        } else if (node instanceof MiniCCompiler.ReturnStmt rs) {
+            return mix(tag(4), hash(rs.value));
+        } else if (node instanceof MiniCCompiler.ExprStmt es) {
+            return mix(tag(5), hash(es.expr));
+        } else if (node instanceof MiniCCompiler.Block bl) {
+            long h = mix(tag(6), bl.statements.size());
+            for (MiniCCompiler.Stmt s : bl.statements) h = mix(h, hash(s));
+            return h;
+        } else if (node instanceof MiniCCompiler.WhileStmt ws) {
+            return mix(mix(tag(7), hash(ws.condition)), hash(ws.body));
+        } else if (node instanceof MiniCCompiler.IfStmt ifs) {
+            return mix(mix(mix(tag(8), hash(ifs.condition)), hash(ifs.thenBranch)), hash(ifs.elseBranch));
+        } else if (node instanceof MiniCCompiler.IntLiteral il) {
+            return mix(tag(9), il.value);
+        } else if (node instanceof MiniCCompiler.StringLiteral sl) {
+            return mix(tag(10), sl.value);
+        } else if (node instanceof MiniCCompiler.BoolLiteral bl) {
+            return mix(tag(11), bl.value ? 1 : 0);
+        } else if (node instanceof MiniCCompiler.Variable v) {
+            return mix(tag(12), v.name);
+        } else if (node instanceof MiniCCompiler.Binary b) {
+            return mix(mix(mix(tag(13), b.op.ordinal()), hash(b.left)), hash(b.right));
+        } else if (node instanceof MiniCCompiler.NewArray na) {
+            return mix(tag(18), hash(na.length));
+        } else if (node instanceof MiniCCompiler.Index ix) {
+            return mix(mix(tag(19), hash(ix.array)), hash(ix.index));
+        } else if (node instanceof MiniCCompiler.Call c) {
+            int t = c instanceof MiniCCompiler.Spawn ? 15 : c instanceof MiniCCompiler.Join ? 16 : 14;
+            long h = mix(mix(tag(t), c.name), c.args.size());
+            for (MiniCCompiler.Expr e : c.args) h = mix(h, hash(e));
+            return h;
+        }
+        throw new RuntimeException("Unbekannter Knotentyp: " + node.getClass().getSimpleName());
+    }
+
+    /** Alle Knoten eines Teilbaums in Preorder; gleiche Hashes ergeben gleiche Reihenfolge. */
+    public static List<MiniCCompiler.Node> preorder(MiniCCompiler.Node root) {
+        List<MiniCCompiler.Node> out = new ArrayList<>();
+        if (root != null) collect(root, out);
+        return out;
+    }
+
+    private static void collect(MiniCCompiler.Node node, List<MiniCCompiler.Node> out) {
+        out.add(node);
+        for (MiniCCompiler.Node child : children(node)) collect(child, out);
+    }
+
+    /** Direkte Kindknoten in Quelltextreihenfolge. */
+    public static List<MiniCCompiler.Node> children(MiniCCompiler.Node n) {
+        List<MiniCCompiler.Node> out = new ArrayList<>();
+        if (n instanceof MiniCCompiler.VarDecl vd) { if (vd.initializer != null) out.add(vd.initializer); }
+        else if (n instanceof MiniCCompiler.Assign as) out.add(as.value);
+        else if (n instanceof MiniCCompiler.IndexAssign ia) { out.add(ia.array); out.add(ia.index); out.add(ia.value); }
+        else if (n instanceof MiniCCompiler.FnDecl fd) out.add(fd.body);
+        else if (n instanceof MiniCCompiler.ReturnStmt rs) { if (rs.value != null) out.add(rs.value); }
+        else if (n instanceof MiniCCompiler.ExprStmt es) out.add(es.expr);
+        else if (n instanceof MiniCCompiler.Block bl) out.addAll(bl.statements);
+        else if (n instanceof MiniCCompiler.WhileStmt ws) { out.add(ws.condition); out.add(ws.body); }
+        else if (n instanceof MiniCCompiler.IfStmt ifs) {
+            out.add(ifs.condition);
+            out.add(ifs.thenBranch);
+            if (ifs.elseBranch != null) out.add(ifs.elseBranch);
+        }
+        else if (n instanceof MiniCCompiler.Binary b) { out.add(b.left); out.add(b.right); }
+        else if (n instanceof MiniCCompiler.NewArray na) out.add(na.length);
+        else if (n instanceof MiniCCompiler.Index ix) { out.add(ix.array); out.add(ix.index); }
+        else if (n instanceof MiniCCompiler.Call c) out.addAll(c.args);
+        return out;
+    }
+
+    // ---------------- Mischfunktionen ----------------
+
+    private static long tag(int t) { return mix(FNV_OFFSET, t); }
+
+    static long mix(long h, long v) {
+        for (int i = 0; i < 8; i++) {
+            h = (h ^ (v & 0xff)) * FNV_PRIME;
+            v >>>= 8;
+        }
+        return h;
+    }
+
+    static long mix(long h, String s) {
+        h = mix(h, s.length());
+        for (int i = 0; i < s.length(); i++) h = (h ^ s.charAt(i)) * FNV_PRIME;
+        return h;
+    }
+
+    /** Finalizer aus MurmurHash3, verteilt die Bits gleichmäßig. */
+    static long fmix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,1264 @@
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Einfache Laufzeitmessungen. Aufruf: java Benchmark [name ...]
+ * Ohne Argumente laufen alle Benchmarks.
+ */
+public class Benchmark {
+
+    public static void main(String[] args) {
+        Set<String> only = new HashSet<>(Arrays.asList(args));
+        run(only, "diagnostics", Benchmark::diagnostics);
+        run(only, "incremental", Benchmark::incremental);
+        run(only, "cache", Benchmark::cache);
+        run(only, "references", Benchmark::references);
+        run(only, "callgraph", Benchmark::callGraph);
+        run(only, "interpreter", Benchmark::interpreter);
+        run(only, "vm", Benchmark::vm);
+        run(only, "jvm", Benchmark::jvm);
+        run(only, "closures", Benchmark::closures);
+        run(only, "specializing", Benchmark::specializing);
+        run(only, "tiered", Benchmark::tiered);
+        run(only, "folding", Benchmark::folding);
+        run(only, "ssa", Benchmark::ssa);
+        run(only, "inlining", Benchmark::inlining);
+        run(only, "tailcalls", Benchmark::tailCalls);
+        run(only, "loops", Benchmark::loops);
+        run(only, "dataflow", Benchmark::dataflow);
+        run(only, "ranges", Benchmark::ranges);
+        run(only, "unrolling", Benchmark::unrolling);
+        run(only, "memo", Benchmark::memo);
+        run(only, "pgo", Benchmark::pgo);
+        run(only, "builtins", Benchmark::builtins);
+        run(only, "ropes", Benchmark::ropes);
+        run(only, "spawn", Benchmark::spawn);
+        run(only, "arrays", Benchmark::arrays);
+    }
+
+    private static void run(Set<String> only, String name, Runnable bench) {
+        if (!only.isEmpty() && !only.contains(name)) return;
+        System.out.println("=== Benchmark: " + name + " ===");
+        bench.run();
+        System.out.println();
+    }
+
+    static long time(String label, Runnable r) {
+        long t0 = System.nanoTime();
+        r.run();
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        System.out.println(label + ": " + ms + " ms");
+        return ms;
+    }
+
+    // ---------------- AST-Helfer ----------------
+    // Jeder Knoten bekommt eine eigene Zeile, damit Positionen eindeutig sind.
+
+    private static int nextLine = 1;
+
+    static MiniCCompiler.IntLiteral num(int v) { return new MiniCCompiler.IntLiteral(v, nextLine++, 0); }
+    static MiniCCompiler.StringLiteral str(String v) { return new MiniCCompiler.StringLiteral(v, nextLine++, 0); }
+    static MiniCCompiler.BoolLiteral bool(boolean v) { return new MiniCCompiler.BoolLiteral(v, nextLine++, 0); }
+    static MiniCCompiler.Variable var(String n) { return new MiniCCompiler.Variable(n, nextLine++, 0); }
+    static MiniCCompiler.Binary bin(MiniCCompiler.Expr l, MiniCCompiler.Operator op, MiniCCompiler.Expr r) {
+        return new MiniCCompiler.Binary(l, op, r, nextLine++, 0);
+    }
+    static MiniCCompiler.Call call(String n, MiniCCompiler.Expr... args) {
+        return new MiniCCompiler.Call(n, new ArrayList<>(Arrays.asList(args)), nextLine++, 0);
+    }
+    static MiniCCompiler.Spawn spawn(String n, MiniCCompiler.Expr... args) {
+        return new MiniCCompiler.Spawn(n, new ArrayList<>(Arrays.asList(args)), nextLine++, 0);
+    }
+    static MiniCCompiler.Join join(String handle) {
+        return new MiniCCompiler.Join(var(handle), nextLine++, 0);
+    }
+    static MiniCCompiler.VarDecl decl(MiniCCompiler.PrimType t, String n, MiniCCompiler.Expr init) {
+        return new MiniCCompiler.VarDecl(t, n, init, nextLine++, 0);
+    }
+    static MiniCCompiler.Assign assign(String n, MiniCCompiler.Expr v) { return new MiniCCompiler.Assign(n, v, nextLine++, 0); }
+    static MiniCCompiler.NewArray newArray(MiniCCompiler.Expr length) { return new MiniCCompiler.NewArray(length, nextLine++, 0); }
+    static MiniCCompiler.Index index(String a, MiniCCompiler.Expr i) { return new MiniCCompiler.Index(var(a), i, nextLine++, 0); }
+    static MiniCCompiler.IndexAssign store(String a, MiniCCompiler.Expr i, MiniCCompiler.Expr v) {
+        return new MiniCCompiler.IndexAssign(var(a), i, v, nextLine++, 0);
+    }
+    static MiniCCompiler.ReturnStmt ret(MiniCCompiler.Expr v) { return new MiniCCompiler.ReturnStmt(v, nextLine++, 0); }
+    static MiniCCompiler.ExprStmt exprStmt(MiniCCompiler.Expr e) { return new MiniCCompiler.ExprStmt(e, nextLine++, 0); }
+    static MiniCCompiler.Block block(MiniCCompiler.Stmt... stmts) {
+        return new MiniCCompiler.Block(new ArrayList<>(Arrays.asList(stmts)), nextLine++, 0);
+    }
+    static MiniCCompiler.WhileStmt loop(MiniCCompiler.Expr cond, MiniCCompiler.Stmt... body) {
+        return new MiniCCompiler.WhileStmt(cond, block(body), nextLine++, 0);
+    }
+    static MiniCCompiler.IfStmt when(MiniCCompiler.Expr cond, MiniCCompiler.Block then, MiniCCompiler.Block otherwise) {
+        return new MiniCCompiler.IfStmt(cond, then, otherwise, nextLine++, 0);
+    }
+    static MiniCCompiler.Param param(MiniCCompiler.PrimType t, String n) { return new MiniCCompiler.Param(t, n); }
+    static MiniCCompiler.FnDecl fn(MiniCCompiler.PrimType r, String n, List<MiniCCompiler.Param> params, MiniCCompiler.Stmt... body) {
+        return new MiniCCompiler.FnDecl(r, n, params, block(body), nextLine++, 0);
+    }
+
+    static final MiniCCompiler.PrimType INT = MiniCCompiler.PrimType.INT;
+    static final MiniCCompiler.PrimType STRING = MiniCCompiler.PrimType.STRING;
+    static final MiniCCompiler.PrimType BOOL = MiniCCompiler.PrimType.BOOL;
+    static final MiniCCompiler.PrimType INT_ARRAY = MiniCCompiler.PrimType.INT_ARRAY;
+    static final MiniCCompiler.Operator PLUS = MiniCCompiler.Operator.PLUS, MINUS = MiniCCompiler.Operator.MINUS,
+            MUL = MiniCCompiler.Operator.MUL, DIV = MiniCCompiler.Operator.DIV, LT = MiniCCompiler.Operator.LT,
+            GT = MiniCCompiler.Operator.GT, EQ = MiniCCompiler.Operator.EQ, NEQ = MiniCCompiler.Operator.NEQ;
+
+    // ---------------- Programme ----------------
+
+    /** int fib(int n) { if (n < 2) { return n; } return fib(n - 1) + fib(n - 2); } int result = fib(n); */
+    static List<MiniCCompiler.Stmt> fibProgram(int n) {
+        return new ArrayList<>(List.of(
+                fn(INT, "fib", List.of(param(INT, "n")),
+                        when(bin(var("n"), LT, num(2)), block(ret(var("n"))), null),
+                        ret(bin(call("fib", bin(var("n"), MINUS, num(1))), PLUS, call("fib", bin(var("n"), MINUS, num(2)))))),
+                decl(INT, "result", call("fib", num(n)))));
+    }
+
+    /** Geschachtelte Schleifen: sum über i*j mod 7 für i, j < n. */
+    static List<MiniCCompiler.Stmt> nestedLoopProgram(int n) {
+        return new ArrayList<>(List.of(
+                decl(INT, "sum", num(0)),
+                decl(INT, "i", num(0)),
+                loop(bin(var("i"), LT, num(n)),
+                        decl(INT, "j", num(0)),
+                        loop(bin(var("j"), LT, num(n)),
+                                decl(INT, "p", bin(var("i"), MUL, var("j"))),
+                                assign("sum", bin(var("sum"), PLUS, bin(var("p"), MINUS, bin(bin(var("p"), DIV, num(7)), MUL, num(7))))),
+                                assign("j", bin(var("j"), PLUS, num(1)))),
+                        assign("i", bin(var("i"), PLUS, num(1))))));
+    }
+
+    /**
+     * Programm mit vielen Konstanten, je Block i:
+     * int sph_i = 60 * 60; int hours_i = 24; bool debug_i = false; int total_i = sph_i * hours_i;
+     * string label_i = "Tag " + i + ": " + total_i; int counter_i = 0; while (debug_i) { counter_i = counter_i + 1; }
+     * if (hours_i > 12) { counter_i = counter_i + total_i / 2; } else { counter_i = 1; }
+     */
+    static List<MiniCCompiler.Stmt> constantProgram(int n) {
+        List<MiniCCompiler.Stmt> program = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            program.add(decl(INT, "sph" + i, bin(num(60), MUL, num(60))));
+            program.add(decl(INT, "hours" + i, num(24)));
+            program.add(decl(BOOL, "debug" + i, bool(false)));
+            program.add(decl(INT, "total" + i, bin(var("sph" + i), MUL, var("hours" + i))));
+            program.add(decl(STRING, "label" + i, bin(bin(str("Tag " + i + ": "), PLUS, var("total" + i)), PLUS, str(" s"))));
+            program.add(decl(INT, "counter" + i, num(0)));
+            program.add(loop(var("debug" + i), assign("counter" + i, bin(var("counter" + i), PLUS, num(1)))));
+            program.add(when(bin(var("hours" + i), GT, num(12)),
+                    block(assign("counter" + i, bin(var("counter" + i), PLUS, bin(var("total" + i), DIV, num(2))))),
+                    block(assign("counter" + i, num(1)))));
+        }
+        return program;
+    }
+
+    /**
+     * Eine große Funktion big(a, b) mit n Abschnitten, je Abschnitt k:
+     * int xk = a * b + k; int yk = a * b - xk; int dk = xk * 2;
+     * if (xk > yk) { s = s + a * b; } else { s = s - xk; }
+     * alle 50 Abschnitte zusätzlich: int ik = 0; while (ik < 3) { s = s + ik * (a * b); ik = ik + 1; }
+     * Danach: int result = big(3, 4);
+     */
+    static List<MiniCCompiler.Stmt> largeFunctionProgram(int n) {
+        List<MiniCCompiler.Stmt> body = new ArrayList<>();
+        body.add(decl(INT, "s", num(0)));
+        for (int k = 0; k < n; k++) {
+            body.add(decl(INT, "x" + k, bin(bin(var("a"), MUL, var("b")), PLUS, num(k))));
+            body.add(decl(INT, "y" + k, bin(bin(var("a"), MUL, var("b")), MINUS, var("x" + k))));
+            body.add(decl(INT, "d" + k, bin(var("x" + k), MUL, num(2))));
+            body.add(when(bin(var("x" + k), GT, var("y" + k)),
+                    block(assign("s", bin(var("s"), PLUS, bin(var("a"), MUL, var("b"))))),
+                    block(assign("s", bin(var("s"), MINUS, var("x" + k))))));
+            if (k % 50 == 0) {
+                body.add(decl(INT, "i" + k, num(0)));
+                body.add(loop(bin(var("i" + k), LT, num(3)),
+                        assign("s", bin(var("s"), PLUS, bin(var("i" + k), MUL, bin(var("a"), MUL, var("b"))))),
+                        assign("i" + k, bin(var("i" + k), PLUS, num(1)))));
+            }
+        }
+        body.add(ret(var("s")));
+        return new ArrayList<>(List.of(
+                fn(INT, "big", List.of(param(INT, "a"), param(INT, "b")), body.toArray(new MiniCCompiler.Stmt[0])),
+                decl(INT, "result", call("big", num(3), num(4)))));
+    }
+
+    /**
+     * Kleine Hilfsfunktionen wie aus einem Generator:
+     * int add(int a, int b) { return a + b; }  int mul(int a, int b) { return a * b; }
+     * int mix(int a, int b) { return add(mul(a, 3), b); }
+     * int clamp(int x, int hi) { if (x > hi) { return x - hi; } else { return x; } }
+     * int work(int n) { int i = 0; int s = 0; while (i < n) { s = clamp(add(s, mix(i, 7)), 1000000); i = add(i, 1); } return s; }
+     * int result = work(n);
+     */
+    static List<MiniCCompiler.Stmt> helperProgram(int n) {
+        return new ArrayList<>(List.of(
+                fn(INT, "add", List.of(param(INT, "a"), param(INT, "b")), ret(bin(var("a"), PLUS, var("b")))),
+                fn(INT, "mul", List.of(param(INT, "a"), param(INT, "b")), ret(bin(var("a"), MUL, var("b")))),
+                fn(INT, "mix", List.of(param(INT, "a"), param(INT, "b")), ret(call("add", call("mul", var("a"), num(3)), var("b")))),
+                fn(INT, "clamp", List.of(param(INT, "x"), param(INT, "hi")),
+                        when(bin(var("x"), GT, var("hi")), block(ret(bin(var("x"), MINUS, var("hi")))), block(ret(var("x"))))),
+                fn(INT, "work", List.of(param(INT, "n")),
+                        decl(INT, "i", num(0)), decl(INT, "s", num(0)),
+                        loop(bin(var("i"), LT, var("n")),
+                                assign("s", call("clamp", call("add", var("s"), call("mix", var("i"), num(7))), num(1_000_000))),
+                                assign("i", call("add", var("i"), num(1)))),
+                        ret(var("s"))),
+                decl(INT, "result", call("work", num(n)))));
+    }
+
+    /**
+     * Endrekursion, n Ebenen tief:
+     * int count(int n, int acc) { if (n == 0) { return acc; } return count(n - 1, acc + 1); }
+     * int gcd(int a, int b) { if (b == 0) { return a; } return gcd(b, a - a / b * b); }
+     * int result = count(n, 0); int g = gcd(1134903170, 1836311903);
+     */
+    static List<MiniCCompiler.Stmt> tailRecursiveProgram(int n) {
+        return new ArrayList<>(List.of(
+                fn(INT, "count", List.of(param(INT, "n"), param(INT, "acc")),
+                        when(bin(var("n"), EQ, num(0)), block(ret(var("acc"))), null),
+                        ret(call("count", bin(var("n"), MINUS, num(1)), bin(var("acc"), PLUS, num(1))))),
+                fn(INT, "gcd", List.of(param(INT, "a"), param(INT, "b")),
+                        when(bin(var("b"), EQ, num(0)), block(ret(var("a"))), null),
+                        ret(call("gcd", var("b"), bin(var("a"), MINUS, bin(bin(var("a"), DIV, var("b")), MUL, var("b")))))),
+                decl(INT, "result", call("count", num(n), num(0))),
+                decl(INT, "g", call("gcd", num(1_134_903_170), num(1_836_311_903)))));
+    }
+
+    /**
+     * Geschachtelte Schleifen über ein Raster mit schleifeninvarianten Ausdrücken:
+     * int grid(int width, int height) { int sum = 0; int y = 0;
+     *   while (y < height) { int x = 0;
+     *     while (x < width) { int off = y * width + x * 4; sum = sum + off - off / (width * height) * (width * height) + x * 4; x = x + 1; }
+     *     y = y + 1; }
+     *   return sum; }
+     * int sum = grid(n, n);
+     */
+    static List<MiniCCompiler.Stmt> gridProgram(int n) {
+        return new ArrayList<>(List.of(
+                fn(INT, "grid", List.of(param(INT, "width"), param(INT, "height")),
+                        decl(INT, "sum", num(0)), decl(INT, "y", num(0)),
+                        loop(bin(var("y"), LT, var("height")),
+                                decl(INT, "x", num(0)),
+                                loop(bin(var("x"), LT, var("width")),
+                                        decl(INT, "off", bin(bin(var("y"), MUL, var("width")), PLUS, bin(var("x"), MUL, num(4)))),
+                                        assign("sum", bin(bin(bin(var("sum"), PLUS, var("off")), MINUS,
+                                                bin(bin(var("off"), DIV, bin(var("width"), MUL, var("height"))), MUL, bin(var("width"), MUL, var("height")))),
+                                                PLUS, bin(var("x"), MUL, num(4)))),
+                                        assign("x", bin(var("x"), PLUS, num(1)))),
+                                assign("y", bin(var("y"), PLUS, num(1)))),
+                        ret(var("sum"))),
+                decl(INT, "sum", call("grid", num(n), num(n)))));
+    }
+
+    /**
+     * Eine Funktion wide(a) mit n lokalen Variablen, Abschnitt k je nach k % 4:
+     * 0: int vk = a + k;
+     * 1: int vk; if (a > k) { vk = v(k-1); } else { vk = k; }
+     * 2: int vk = 0; int ik = 0; while (ik < 2) { vk = vk + v(k-2); ik = ik + 1; }
+     * 3: int vk; if (a > k) { vk = 1; } s = s + vk;   (möglicherweise unbelegt gelesen)
+     * Danach: return s; int result = wide(n / 2);
+     */
+    static List<MiniCCompiler.Stmt> manyVariablesProgram(int n) {
+        List<MiniCCompiler.Stmt> body = new ArrayList<>();
+        body.add(decl(INT, "s", num(0)));
+        for (int k = 0; k < n; k++) {
+            String v = "v" + k;
+            switch (k % 4) {
+                case 0 -> body.add(decl(INT, v, bin(var("a"), PLUS, num(k))));
+                case 1 -> {
+                    body.add(decl(INT, v, null));
+                    body.add(when(bin(var("a"), GT, num(k)), block(assign(v, var("v" + (k - 1)))), block(assign(v, num(k)))));
+                }
+                case 2 -> {
+                    body.add(decl(INT, v, num(0)));
+                    body.add(decl(INT, "i" + k, num(0)));
+                    body.add(loop(bin(var("i" + k), LT, num(2)),
+                            assign(v, bin(var(v), PLUS, var("v" + (k - 2)))),
+                            assign("i" + k, bin(var("i" + k), PLUS, num(1)))));
+                }
+                default -> {
+                    body.add(decl(INT, v, null));
+                    body.add(when(bin(var("a"), GT, num(k)), block(assign(v, num(1))), null));
+                    body.add(assign("s", bin(var("s"), PLUS, var(v))));
+                }
+            }
+        }
+        body.add(ret(var("s")));
+        return new ArrayList<>(List.of(
+                fn(INT, "wide", List.of(param(INT, "a")), body.toArray(new MiniCCompiler.Stmt[0])),
+                decl(INT, "result", call("wide", num(n / 2)))));
+    }
+
+    /** Die Funktion aus {@link #manyVariablesProgram} calls-mal aufgerufen, damit sie heiß wird. */
+    static List<MiniCCompiler.Stmt> manyVariablesCallsProgram(int n, int calls) {
+        return new ArrayList<>(List.of(
+                manyVariablesProgram(n).get(0),
+                decl(INT, "result", num(0)),
+                decl(INT, "k", num(0)),
+                loop(bin(var("k"), LT, num(calls)),
+                        assign("result", bin(var("result"), PLUS, call("wide", var("k")))),
+                        assign("k", bin(var("k"), PLUS, num(1))))));
+    }
+
+    /**
+     * Kurze Schleifen mit konstanter Durchlaufzahl in einer Zählschleife:
+     * int counted(int n) { int sum = 0; int r = 0;
+     *   while (r < n) { int k = 0; while (k < 8) { sum = sum + k * 3; k = k + 1; }
+     *     int j = 0; while (j < 102) { sum = sum - j; j = j + 1; }
+     *     r = r + 1; }
+     *   return sum; }
+     * int sum = counted(n);
+     */
+    static List<MiniCCompiler.Stmt> countedLoopProgram(int n) {
+        return new ArrayList<>(List.of(
+                fn(INT, "counted", List.of(param(INT, "n")),
+                        decl(INT, "sum", num(0)), decl(INT, "r", num(0)),
+                        loop(bin(var("r"), LT, var("n")),
+                                decl(INT, "k", num(0)),
+                                loop(bin(var("k"), LT, num(8)),
+                                        assign("sum", bin(var("sum"), PLUS, bin(var("k"), MUL, num(3)))),
+                                        assign("k", bin(var("k"), PLUS, num(1)))),
+                                decl(INT, "j", num(0)),
+                                loop(bin(var("j"), LT, num(102)),
+                                        assign("sum", bin(var("sum"), MINUS, var("j"))),
+                                        assign("j", bin(var("j"), PLUS, num(1)))),
+                                assign("r", bin(var("r"), PLUS, num(1)))),
+                        ret(var("sum"))),
+                decl(INT, "sum", call("counted", num(n)))));
+    }
+
+    /**
+     * Naiv rekursive Funktionen, drei davon rein:
+     * int fib(int n) { ... }
+     * int paths(int r, int c) { if (r == 0) { return 1; } if (c == 0) { return 1; } return paths(r - 1, c) + paths(r, c - 1); }
+     * int tagged(string tag, int n) { if (n < 2) { return n; } return tagged(tag, n - 1) + tagged(tag, n - 2); }
+     * int calls = 0; int counted(int n) { calls = calls + 1; if (n < 2) { return n; } return counted(n - 1) + counted(n - 2); }
+     * int a = fib(n); int b = paths(n / 2, n / 2); int c = tagged("x", n - 2); int d = counted(n - 2);
+     */
+    static List<MiniCCompiler.Stmt> recursiveProgram(int n) {
+        List<MiniCCompiler.Stmt> p = fibProgram(n);
+        p.remove(p.size() - 1);
+        p.add(fn(INT, "paths", List.of(param(INT, "r"), param(INT, "c")),
+                when(bin(var("r"), EQ, num(0)), block(ret(num(1))), null),
+                when(bin(var("c"), EQ, num(0)), block(ret(num(1))), null),
+                ret(bin(call("paths", bin(var("r"), MINUS, num(1)), var("c")), PLUS, call("paths", var("r"), bin(var("c"), MINUS, num(1)))))));
+        p.add(fn(INT, "tagged", List.of(param(STRING, "tag"), param(INT, "n")),
+                when(bin(var("n"), LT, num(2)), block(ret(var("n"))), null),
+                ret(bin(call("tagged", var("tag"), bin(var("n"), MINUS, num(1))), PLUS, call("tagged", var("tag"), bin(var("n"), MINUS, num(2)))))));
+        p.add(decl(INT, "calls", num(0)));
+        p.add(fn(INT, "counted", List.of(param(INT, "n")),
+                assign("calls", bin(var("calls"), PLUS, num(1))),
+                when(bin(var("n"), LT, num(2)), block(ret(var("n"))), null),
+                ret(bin(call("counted", bin(var("n"), MINUS, num(1))), PLUS, call("counted", bin(var("n"), MINUS, num(2)))))));
+        p.add(decl(INT, "a", call("fib", num(n))));
+        p.add(decl(INT, "b", call("paths", num(n / 2), num(n / 2))));
+        p.add(decl(INT, "c", call("tagged", str("x"), num(n - 2))));
+        p.add(decl(INT, "d", call("counted", num(n - 2))));
+        return p;
+    }
+
+    /**
+     * Heiße und kalte Pfade für profilgesteuerte Optimierung:
+     * int weight(int x) { int r = x / 3; if (r > 100000000) { r = r - 100000000; }
+     *   if (x / 2 * 2 == x) { r = r + x / 7; } else { r = r - x / 5; }
+     *   int k = 0; while (k < 3) { r = r + k * x / 11; k = k + 1; } return r; }
+     * int clamp(int x) { if (x < 0) { return 0; } return x; }
+     * int run(int n) { int s = 0; int i = 0;
+     *   while (i < n) { if (i < 0) { s = s + clamp(i) + weight(0 - i); } else { s = s + weight(i); } i = i + 1; }
+     *   return s; }
+     * int result = run(n);
+     */
+    static List<MiniCCompiler.Stmt> pgoProgram(int n) {
+        return new ArrayList<>(List.of(
+                fn(INT, "weight", List.of(param(INT, "x")),
+                        decl(INT, "r", bin(var("x"), DIV, num(3))),
+                        when(bin(var("r"), GT, num(100_000_000)), block(assign("r", bin(var("r"), MINUS, num(100_000_000)))), null),
+                        when(bin(bin(bin(var("x"), DIV, num(2)), MUL, num(2)), EQ, var("x")),
+                                block(assign("r", bin(var("r"), PLUS, bin(var("x"), DIV, num(7))))),
+                                block(assign("r", bin(var("r"), MINUS, bin(var("x"), DIV, num(5)))))),
+                        decl(INT, "k", num(0)),
+                        loop(bin(var("k"), LT, num(3)),
+                                assign("r", bin(var("r"), PLUS, bin(bin(var("k"), MUL, var("x")), DIV, num(11)))),
+                                assign("k", bin(var("k"), PLUS, num(1)))),
+                        ret(var("r"))),
+                fn(INT, "clamp", List.of(param(INT, "x")),
+                        when(bin(var("x"), LT, num(0)), block(ret(num(0))), null),
+                        ret(var("x"))),
+                fn(INT, "run", List.of(param(INT, "n")),
+                        decl(INT, "s", num(0)), decl(INT, "i", num(0)),
+                        loop(bin(var("i"), LT, var("n")),
+                                when(bin(var("i"), LT, num(0)),
+                                        block(assign("s", bin(bin(var("s"), PLUS, call("clamp", var("i"))), PLUS,
+                                                call("weight", bin(num(0), MINUS, var("i")))))),
+                                        block(assign("s", bin(var("s"), PLUS, call("weight", var("i")))))),
+                                assign("i", bin(var("i"), PLUS, num(1)))),
+                        ret(var("s"))),
+                decl(INT, "result", call("run", num(n)))));
+    }
+
+    /**
+     * Ausgabe über die eingebauten Funktionen, 2 * n Zeilen:
+     * int lines(int n) { int i = 0; while (i < n) { print("Zeile " + i); i = i + 1; } return n; }
+     * int numbers(int n) { int i = 0; while (i < n) { printInt(i * 7); i = i + 1; } return n; }
+     * int a = lines(n); int b = numbers(n);
+     */
+    static List<MiniCCompiler.Stmt> printProgram(int n) {
+        return new ArrayList<>(List.of(
+                fn(INT, "lines", List.of(param(INT, "n")),
+                        decl(INT, "i", num(0)),
+                        loop(bin(var("i"), LT, var("n")),
+                                exprStmt(call("print", bin(str("Zeile "), PLUS, var("i")))),
+                                assign("i", bin(var("i"), PLUS, num(1)))),
+                        ret(var("n"))),
+                fn(INT, "numbers", List.of(param(INT, "n")),
+                        decl(INT, "i", num(0)),
+                        loop(bin(var("i"), LT, var("n")),
+                                exprStmt(call("printInt", bin(var("i"), MUL, num(7)))),
+                                assign("i", bin(var("i"), PLUS, num(1)))),
+                        ret(var("n"))),
+                decl(INT, "a", call("lines", num(n))),
+                decl(INT, "b", call("numbers", num(n)))));
+    }
+
+    /**
+     * Wiederholte Verkettung, n * 100 Zeichen:
+     * string s = ""; int i = 0; while (i < n) { s = s + "0123...<100 Zeichen>"; i = i + 1; }
+     * int len = strlen(s); bool empty = s == ""; int out = print(s);
+     */
+    static List<MiniCCompiler.Stmt> concatProgram(int n) {
+        String chunk = "0123456789".repeat(10);
+        return new ArrayList<>(List.of(
+                decl(STRING, "s", str("")),
+                decl(INT, "i", num(0)),
+                loop(bin(var("i"), LT, num(n)),
+                        assign("s", bin(var("s"), PLUS, str(chunk))),
+                        assign("i", bin(var("i"), PLUS, num(1)))),
+                decl(INT, "len", call("strlen", var("s"))),
+                decl(BOOL, "empty", bin(var("s"), EQ, str(""))),
+                decl(INT, "out", call("print", var("s")))));
+    }
+
+    /**
+     * Teile und herrsche mit spawn/join, unterhalb von cutoff sequentiell:
+     * int fib(int n) { ... }
+     * int pfib(int n) { if (n < cutoff) { return fib(n); } int h = spawn pfib(n - 1); int b = pfib(n - 2); return join h + b; }
+     * int result = pfib(n);
+     */
+    static List<MiniCCompiler.Stmt> spawnProgram(int n, int cutoff) {
+        List<MiniCCompiler.Stmt> program = fibProgram(0);
+        program.remove(program.size() - 1);
+        program.add(fn(INT, "pfib", List.of(param(INT, "n")),
+                when(bin(var("n"), LT, num(cutoff)), block(ret(call("fib", var("n")))), null),
+                decl(INT, "h", spawn("pfib", bin(var("n"), MINUS, num(1)))),
+                decl(INT, "b", call("pfib", bin(var("n"), MINUS, num(2)))),
+                ret(bin(join("h"), PLUS, var("b")))));
+        program.add(decl(INT, "result", call("pfib", num(n))));
+        return program;
+    }
+
+    /**
+     * Sieb des Eratosthenes: int sieve(int n) { int[] c = new int[n]; ... } zählt die Primzahlen
+     * unter n, rounds Wiederholungen; primes = Anzahl.
+     */
+    static List<MiniCCompiler.Stmt> sieveProgram(int n, int rounds) {
+        List<MiniCCompiler.Stmt> program = new ArrayList<>();
+        program.add(fn(INT, "sieve", List.of(param(INT, "n")),
+                decl(INT_ARRAY, "c", newArray(var("n"))),
+                decl(INT, "count", num(0)),
+                decl(INT, "i", num(2)),
+                loop(bin(var("i"), LT, var("n")),
+                        when(bin(index("c", var("i")), EQ, num(0)), block(
+                                assign("count", bin(var("count"), PLUS, num(1))),
+                                decl(INT, "j", bin(var("i"), PLUS, var("i"))),
+                                loop(bin(var("j"), LT, var("n")),
+                                        store("c", var("j"), num(1)),
+                                        assign("j", bin(var("j"), PLUS, var("i"))))), null),
+                        assign("i", bin(var("i"), PLUS, num(1)))),
+                ret(var("count"))));
+        program.add(decl(INT, "primes", num(0)));
+        program.add(decl(INT, "r", num(0)));
+        program.add(loop(bin(var("r"), LT, num(rounds)),
+                assign("primes", call("sieve", num(n))),
+                assign("r", bin(var("r"), PLUS, num(1)))));
+        return program;
+    }
+
+    /** Kaputtes Programm: n Zuweisungen an undefinierte Variablen (jede mit eigenem Namen). */
+    static List<MiniCCompiler.Stmt> brokenProgram(int n) {
+        List<MiniCCompiler.Stmt> program = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            program.add(new MiniCCompiler.Assign("u" + i, new MiniCCompiler.Variable("missing", i, 4), i, 0));
+        }
+        return program;
+    }
+
+    /** int fi(int a) { return f(i-1)(a) + 1; } für i = 0..n-1, f0 ruft niemanden auf. */
+    static MiniCCompiler.FnDecl chainFunction(int i, MiniCCompiler.PrimType paramType) {
+        List<MiniCCompiler.Param> params = List.of(new MiniCCompiler.Param(paramType, "a"));
+        MiniCCompiler.Expr value = i == 0
+                ? new MiniCCompiler.Variable("a", i, 30)
+                : new MiniCCompiler.Binary(
+                        new MiniCCompiler.Call("f" + (i - 1), List.of(new MiniCCompiler.Variable("a", i, 32)), i, 30),
+                        MiniCCompiler.Operator.PLUS, new MiniCCompiler.IntLiteral(1, i, 40), i, 38);
+        MiniCCompiler.Block body = new MiniCCompiler.Block(
+                List.of(new MiniCCompiler.ReturnStmt(value, i, 23)), i, 21);
+        return new MiniCCompiler.FnDecl(MiniCCompiler.PrimType.INT, "f" + i, params, body, i, 0);
+    }
+
+    static List<MiniCCompiler.Stmt> chainProgram(int n) {
+        List<MiniCCompiler.Stmt> program = new ArrayList<>();
+        for (int i = 0; i < n; i++) program.add(chainFunction(i, MiniCCompiler.PrimType.INT));
+        return program;
+    }
+
+    /**
+     * n Funktionen, jede ruft bis zu zwei zufällige frühere Funktionen auf, einige rufen sich selbst auf.
+     * Die Top-Level-Anweisung ruft die letzte Funktion auf.
+     */
+    static List<MiniCCompiler.Stmt> randomCallProgram(int n, long seed) {
+        Random rnd = new Random(seed);
+        List<MiniCCompiler.Stmt> program = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            List<MiniCCompiler.Stmt> body = new ArrayList<>();
+            MiniCCompiler.Expr sum = new MiniCCompiler.Variable("a", i, 0);
+            int calls = i == 0 ? 0 : 1 + rnd.nextInt(2);
+            for (int k = 0; k < calls; k++) {
+                int target = i - 1 - rnd.nextInt(Math.min(i, 50));
+                sum = new MiniCCompiler.Binary(sum, MiniCCompiler.Operator.PLUS,
+                        new MiniCCompiler.Call("f" + target, List.of(new MiniCCompiler.Variable("a", i, 0)), i, 0), i, 0);
+            }
+            if (i % 10 == 0) {
+                body.add(new MiniCCompiler.IfStmt(
+                        new MiniCCompiler.Binary(new MiniCCompiler.Variable("a", i, 0), MiniCCompiler.Operator.GT, new MiniCCompiler.IntLiteral(0, i, 0), i, 0),
+                        new MiniCCompiler.Block(List.of(new MiniCCompiler.ReturnStmt(new MiniCCompiler.Call("f" + i,
+                                List.of(new MiniCCompiler.Binary(new MiniCCompiler.Variable("a", i, 0), MiniCCompiler.Operator.MINUS,
+                                        new MiniCCompiler.IntLiteral(1, i, 0), i, 0)), i, 0), i, 0)), i, 0),
+                        null, i, 0));
+            }
+            body.add(new MiniCCompiler.ReturnStmt(sum, i, 0));
+            program.add(new MiniCCompiler.FnDecl(MiniCCompiler.PrimType.INT, "f" + i,
+                    List.of(new MiniCCompiler.Param(MiniCCompiler.PrimType.INT, "a")),
+                    new MiniCCompiler.Block(body, i, 0), i, 0));
+        }
+        program.add(new MiniCCompiler.ExprStmt(new MiniCCompiler.Call("f" + (n - 1),
+                List.of(new MiniCCompiler.IntLiteral(3, n, 0)), n, 0), n, 0));
+        return program;
+    }
+
+    // ---------------- Benchmarks ----------------
+
+    static void diagnostics() {
+        List<MiniCCompiler.Stmt> program = brokenProgram(300_000);
+        for (int round = 0; round < 3; round++) {
+            DiagnosticSink.Collector all = DiagnosticSink.unlimited();
+            time("unbegrenzt (" + program.size() + " Stmts)", () -> new SymbolTableBuilder(all).build(program));
+            System.out.println("  gespeichert: " + all.getDiagnostics().size() + ", verworfen: " + all.suppressedCount());
+
+            DiagnosticSink.Collector capped = DiagnosticSink.capped(100);
+            time("max. 100 Fehler", () -> new SymbolTableBuilder(capped).build(program));
+
+            DiagnosticSink.Collector first = DiagnosticSink.firstError();
+            time("erster Fehler", () -> new SymbolTableBuilder(first).build(program));
+            System.out.println("  hasErrors: " + first.hasErrors());
+        }
+        DiagnosticSink.Collector all = DiagnosticSink.unlimited();
+        new SymbolTableBuilder(all).build(program);
+        time("Rendern aller Meldungen", () -> all.render());
+    }
+
+    static void incremental() {
+        for (int n : new int[]{1_000, 10_000, 50_000}) {
+            List<MiniCCompiler.Stmt> program = new ArrayList<>(chainProgram(n));
+            IncrementalAnalyzer[] ia = new IncrementalAnalyzer[1];
+            time("n=" + n + " vollständig", () -> ia[0] = new IncrementalAnalyzer(program));
+
+            // Rumpf geändert, Signatur gleich: nur die Funktion selbst
+            int k = n / 2;
+            MiniCCompiler.FnDecl edited = chainFunction(k, MiniCCompiler.PrimType.INT);
+            edited.body.statements = List.of(new MiniCCompiler.ReturnStmt(new MiniCCompiler.Variable("b", k, 23), k, 23));
+            long t0 = System.nanoTime();
+            ia[0].replace(k, edited);
+            System.out.println("  Rumpf-Änderung: " + (System.nanoTime() - t0) / 1000 + " us, neu geprüft: " + ia[0].lastRecheckCount());
+
+            // Name geändert: Funktion und ihre Aufrufer (die nun einen undefinierten Namen nutzen)
+            MiniCCompiler.FnDecl renamed = chainFunction(k, MiniCCompiler.PrimType.INT);
+            renamed.name = "g" + k;
+            t0 = System.nanoTime();
+            ia[0].replace(k, renamed);
+            System.out.println("  Umbenennung: " + (System.nanoTime() - t0) / 1000 + " us, neu geprüft: " + ia[0].lastRecheckCount());
+
+            program.set(k, ia[0].getStmt(k));
+            SymbolTableBuilder full = new SymbolTableBuilder();
+            full.build(program);
+            System.out.println("  identisch mit voller Analyse: " + full.getErrors().equals(ia[0].getErrors()));
+        }
+    }
+
+    static void cache() {
+        try {
+            java.nio.file.Path dir = java.nio.file.Files.createTempDirectory("minic-cache");
+            List<MiniCCompiler.Stmt> program = new ArrayList<>(chainProgram(10_000));
+
+            FunctionCache cold = new FunctionCache(dir);
+            time("kalter Cache", () -> new IncrementalAnalyzer(program, cold, null));
+            System.out.println("  hits: " + cold.hits() + ", misses: " + cold.misses());
+
+            // neuer Prozess: nur der Inhalt auf der Platte ist noch da
+            FunctionCache warm = new FunctionCache(dir);
+            time("warmer Cache (Platte)", () -> new IncrementalAnalyzer(program, warm, null));
+            System.out.println("  hits: " + warm.hits() + ", misses: " + warm.misses());
+
+            // eine Funktion umbenannt: sie selbst und ihr Aufrufer verfehlen den Cache
+            MiniCCompiler.FnDecl renamed = chainFunction(5_000, MiniCCompiler.PrimType.INT);
+            renamed.name = "g5000";
+            program.set(5_000, renamed);
+            FunctionCache edited = new FunctionCache(dir);
+            IncrementalAnalyzer[] ia = new IncrementalAnalyzer[1];
+            time("nach Umbenennung", () -> ia[0] = new IncrementalAnalyzer(program, edited, null));
+            System.out.println("  hits: " + edited.hits() + ", misses: " + edited.misses());
+            System.out.println("  Meldungen: " + ia[0].getErrors());
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    static void references() {
+        int n = 100_000;
+        List<MiniCCompiler.Stmt> program = chainProgram(n);
+        ReferenceIndex index = new ReferenceIndex();
+        IncrementalAnalyzer[] ia = new IncrementalAnalyzer[1];
+        time("Index für " + n + " Funktionen", () -> ia[0] = ReferenceIndex.build(program, index));
+
+        MiniCCompiler.Node use = index.nodeAt(500, 31);
+        System.out.println("  Knoten bei 500:31: " + use);
+        System.out.println("  Definition: " + ((MiniCCompiler.FnDecl) index.definitionAt(500, 31)).name);
+        System.out.println("  Verweise auf f499: " + index.referencesAt(500, 31).size());
+
+        Random rnd = new Random(1);
+        int[] found = new int[1];
+        for (int round = 0; round < 3; round++) time("1.000.000 Positionsabfragen", () -> {
+            for (int i = 0; i < 1_000_000; i++) {
+                if (index.definitionAt(1 + rnd.nextInt(n - 1), 30 + rnd.nextInt(4)) != null) found[0]++;
+            }
+        });
+        System.out.println("  aufgelöst: " + found[0]);
+
+        // f500 ruft nun f0 statt f499 auf
+        MiniCCompiler.FnDecl edited = chainFunction(500, MiniCCompiler.PrimType.INT);
+        ((MiniCCompiler.Call) ((MiniCCompiler.Binary) ((MiniCCompiler.ReturnStmt) edited.body.statements.get(0)).value).left).name = "f0";
+        time("Aktualisierung einer Funktion", () -> ia[0].replace(500, edited));
+        System.out.println("  Verweise auf f499: " + index.referencesOf(index.symbolAt(499, 0)).size()
+                + ", auf f0: " + index.referencesOf(index.symbolAt(0, 0)).size());
+    }
+
+    static void callGraph() {
+        int n = 100_000;
+        List<MiniCCompiler.Stmt> program = randomCallProgram(n, 42);
+        for (int round = 0; round < 3; round++) {
+            CallGraph[] g = new CallGraph[1];
+            time("Aufrufgraph + SCCs für " + n + " Funktionen", () -> g[0] = CallGraph.build(program));
+            System.out.println("  SCCs: " + g[0].stronglyConnectedComponents().size());
+            DiagnosticSink.Collector warnings = DiagnosticSink.unlimited();
+            time("unerreichbare Funktionen", () -> g[0].reportUnreachable(warnings));
+            System.out.println("  unerreichbar: " + warnings.getDiagnostics().size());
+
+            // Beispiel-Task: struktureller Hash jeder Funktion
+            long[] sink = new long[1];
+            time("bottom-up sequentiell", () -> g[0].runBottomUp(fn -> sink[0] ^= AstHash.of(fn.declNode)));
+            ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            java.util.concurrent.atomic.AtomicLong acc = new java.util.concurrent.atomic.AtomicLong();
+            time("bottom-up parallel (" + Runtime.getRuntime().availableProcessors() + " Threads)", () -> {
+                try {
+                    g[0].runBottomUp(fn -> acc.addAndGet(AstHash.of(fn.declNode)), pool);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            pool.shutdown();
+        }
+    }
+
+    static void interpreter() {
+        for (int round = 0; round < 5; round++) {
+            Interpreter fib = new Interpreter(fibProgram(27));
+            time("fib(27)", fib::run);
+            System.out.println("  result = " + fib.global("result"));
+            Interpreter loops = new Interpreter(nestedLoopProgram(2_000));
+            time("geschachtelte Schleifen 2000x2000", loops::run);
+            System.out.println("  sum = " + loops.global("sum"));
+        }
+    }
+
+    static void vm() {
+        Map<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> programs = new LinkedHashMap<>();
+        programs.put("fib(30)", () -> fibProgram(30));
+        programs.put("Schleifen 3000x3000", () -> nestedLoopProgram(3_000));
+        for (Map.Entry<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> p : programs.entrySet()) {
+            VM profiled = new VM(BytecodeCompiler.compile(p.getValue().get(), false));
+            profiled.enableProfiling();
+            profiled.run();
+            System.out.println(p.getKey() + ": häufigste Opcode-Paare ohne Superinstruktionen");
+            System.out.print(profiled.topPairs(8));
+            for (int round = 0; round < 3; round++) {
+                Interpreter ast = new Interpreter(p.getValue().get());
+                time("  AST-Interpreter", ast::run);
+                VM plain = new VM(BytecodeCompiler.compile(p.getValue().get(), false));
+                time("  VM", plain::run);
+                VM fused = new VM(BytecodeCompiler.compile(p.getValue().get(), true));
+                time("  VM + Superinstruktionen", fused::run);
+                if (round == 0) System.out.println("  Ergebnis: AST " + ast.global(p.getKey().startsWith("fib") ? "result" : "sum")
+                        + ", VM " + fused.global(p.getKey().startsWith("fib") ? "result" : "sum"));
+            }
+        }
+    }
+
+    static void jvm() {
+        Map<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> programs = new LinkedHashMap<>();
+        programs.put("fib(32)", () -> fibProgram(32));
+        programs.put("Schleifen 5000x5000", () -> nestedLoopProgram(5_000));
+        for (Map.Entry<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> p : programs.entrySet()) {
+            String result = p.getKey().startsWith("fib") ? "result" : "sum";
+            System.out.println(p.getKey() + ":");
+            for (int round = 0; round < 3; round++) {
+                Interpreter ast = new Interpreter(p.getValue().get());
+                time("  AST-Interpreter", ast::run);
+                List<MiniCCompiler.Stmt> program = p.getValue().get();
+                JvmCompiler.Program[] compiled = new JvmCompiler.Program[1];
+                time("  JVM-Backend: übersetzen + laden", () -> compiled[0] = JvmCompiler.compile(program));
+                time("  JVM-Backend: ausführen", compiled[0]::run);
+                if (round == 0) System.out.println("  Ergebnis: AST " + ast.global(result) + ", JVM " + compiled[0].global(result));
+            }
+        }
+    }
+
+    static void closures() {
+        Map<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> programs = new LinkedHashMap<>();
+        programs.put("Schleifen 3000x3000", () -> nestedLoopProgram(3_000));
+        programs.put("fib(30)", () -> fibProgram(30));
+        for (Map.Entry<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> p : programs.entrySet()) {
+            String result = p.getKey().startsWith("fib") ? "result" : "sum";
+            System.out.println(p.getKey() + ":");
+            for (int round = 0; round < 3; round++) {
+                Interpreter ast = new Interpreter(p.getValue().get());
+                long walker = time("  AST-Interpreter", ast::run);
+                ClosureCompiler.Program closures = ClosureCompiler.compile(p.getValue().get());
+                long compiled = time("  Closures", closures::run);
+                System.out.printf("  Faktor: %.1f%n", (double) walker / Math.max(compiled, 1));
+                if (round == 0) System.out.println("  Ergebnis: AST " + ast.global(result) + ", Closures " + closures.global(result));
+            }
+        }
+    }
+
+    static void specializing() {
+        Map<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> programs = new LinkedHashMap<>();
+        programs.put("Schleifen 3000x3000", () -> nestedLoopProgram(3_000));
+        programs.put("fib(30)", () -> fibProgram(30));
+        for (Map.Entry<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> p : programs.entrySet()) {
+            String result = p.getKey().startsWith("fib") ? "result" : "sum";
+            System.out.println(p.getKey() + ":");
+            for (int round = 0; round < 3; round++) {
+                SpecializingInterpreter generic = new SpecializingInterpreter(p.getValue().get(), false);
+                time("  generische Knoten", generic::run);
+                SpecializingInterpreter specialized = new SpecializingInterpreter(p.getValue().get(), true);
+                time("  spezialisierende Knoten", specialized::run);
+                if (round == 0) {
+                    System.out.println("  Ersetzungen: " + specialized.rewrites());
+                    System.out.println("  Ergebnis: generisch " + generic.global(result) + ", spezialisiert " + specialized.global(result));
+                }
+            }
+        }
+    }
+
+    static void tiered() {
+        // Startlatenz: kurzes Programm, jeweils neu aufgebaut (beim ersten Mal inkl. Klassenladen)
+        System.out.println("Startlatenz fib(12):");
+        for (int round = 0; round < 2; round++) {
+            time("  AST-Interpreter", () -> new Interpreter(fibProgram(12)).run());
+            time("  JVM-Backend (übersetzen + ausführen)", () -> JvmCompiler.compile(fibProgram(12)).run());
+            time("  Tiered", () -> new TieredRuntime(fibProgram(12)).run());
+        }
+        Map<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> programs = new LinkedHashMap<>();
+        programs.put("fib(32)", () -> fibProgram(32));
+        programs.put("Schleifen 5000x5000", () -> nestedLoopProgram(5_000));
+        for (Map.Entry<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> p : programs.entrySet()) {
+            String result = p.getKey().startsWith("fib") ? "result" : "sum";
+            System.out.println("Durchsatz " + p.getKey() + ":");
+            Interpreter ast = new Interpreter(p.getValue().get());
+            time("  AST-Interpreter", ast::run);
+            JvmCompiler.Program jvm = JvmCompiler.compile(p.getValue().get());
+            time("  JVM-Backend", jvm::run);
+            TieredRuntime tiered = new TieredRuntime(p.getValue().get());
+            time("  Tiered", tiered::run);
+            System.out.println("  Ergebnis: AST " + ast.global(result) + ", JVM " + jvm.global(result) + ", Tiered " + tiered.global(result));
+            for (TieredRuntime.TierStats s : tiered.statistics()) System.out.println("  " + s);
+        }
+    }
+
+    static void folding() {
+        Map<String, List<MiniCCompiler.Stmt>> corpus = new LinkedHashMap<>();
+        corpus.put("Konstanten x200", constantProgram(200));
+        corpus.put("fib", fibProgram(20));
+        corpus.put("Schleifen", nestedLoopProgram(100));
+        corpus.put("Ketten x200", chainProgram(200));
+        ConstantFolder total = new ConstantFolder();
+        for (Map.Entry<String, List<MiniCCompiler.Stmt>> p : corpus.entrySet()) {
+            int nodes = 0;
+            for (MiniCCompiler.Stmt s : p.getValue()) nodes += AstHash.preorder(s).size();
+            ConstantFolder folder = new ConstantFolder();
+            List<MiniCCompiler.Stmt> optimized = folder.optimize(p.getValue());
+            total.optimize(p.getValue());
+            System.out.println(p.getKey() + ": " + nodes + " Knoten; " + folder);
+            // Gleiche Ergebnisse vorher/nachher
+            Interpreter before = new Interpreter(p.getValue()), after = new Interpreter(optimized);
+            before.run();
+            after.run();
+            for (MiniCCompiler.VarDecl vd : before.getResolver().globals()) {
+                if (!before.global(vd.name).equals(after.global(vd.name))) {
+                    System.out.println("  ABWEICHUNG bei " + vd.name + ": " + before.global(vd.name) + " / " + after.global(vd.name));
+                }
+            }
+        }
+        System.out.println("Korpus gesamt: " + total);
+    }
+
+    static void ssa() {
+        for (int n : new int[]{1_000, 5_000, 20_000}) {
+            System.out.println("Große Funktion mit " + n + " Abschnitten:");
+            for (int round = 0; round < 3; round++) {
+                List<MiniCCompiler.Stmt> program = largeFunctionProgram(n);
+                Ssa.Module[] m = new Ssa.Module[1];
+                time("  SSA-Aufbau", () -> m[0] = SsaBuilder.build(program));
+                int before = m[0].liveInstructions();
+                SsaOptimizer opt = new SsaOptimizer().optimize(m[0]);
+                Bytecode[] code = new Bytecode[1];
+                time("  Bytecode aus SSA", () -> code[0] = SsaToBytecode.compile(m[0]));
+                System.out.printf("  GVN/CSE %.1f ms, Verzweigungen %.1f ms, DCE %.1f ms; Instruktionen %d -> %d%n",
+                        opt.gvnMillis(), opt.cfgMillis(), opt.dceMillis(), before, m[0].liveInstructions());
+                if (round == 0) {
+                    System.out.println("  " + opt);
+                    Interpreter ast = new Interpreter(largeFunctionProgram(n));
+                    ast.run();
+                    VM vm = new VM(code[0]);
+                    vm.run();
+                    System.out.println("  Ergebnis: AST " + ast.global("result") + ", SSA-VM " + vm.global("result"));
+                }
+            }
+        }
+        Map<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> programs = new LinkedHashMap<>();
+        programs.put("fib(30)", () -> fibProgram(30));
+        programs.put("Schleifen 3000x3000", () -> nestedLoopProgram(3_000));
+        for (Map.Entry<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> p : programs.entrySet()) {
+            String result = p.getKey().startsWith("fib") ? "result" : "sum";
+            System.out.println(p.getKey() + ":");
+            for (int round = 0; round < 3; round++) {
+                VM direct = new VM(BytecodeCompiler.compile(p.getValue().get(), false));
+                time("  VM (AST -> Bytecode)", direct::run);
+                Ssa.Module m = SsaBuilder.build(p.getValue().get());
+                new SsaOptimizer().optimize(m);
+                VM viaSsa = new VM(SsaToBytecode.compile(m));
+                time("  VM (AST -> SSA -> Bytecode)", viaSsa::run);
+                if (round == 0) System.out.println("  Ergebnis: direkt " + direct.global(result) + ", über SSA " + viaSsa.global(result));
+            }
+        }
+    }
+
+    static void inlining() {
+        Inliner stats = new Inliner();
+        List<MiniCCompiler.Stmt> sample = stats.inline(helperProgram(1));
+        int before = 0, after = 0;
+        for (MiniCCompiler.Stmt st : helperProgram(1)) before += AstHash.preorder(st).size();
+        for (MiniCCompiler.Stmt st : sample) after += AstHash.preorder(st).size();
+        System.out.println("Hilfsfunktionen: " + stats + "; Knoten " + before + " -> " + after);
+        for (int round = 0; round < 3; round++) {
+            Interpreter plain = new Interpreter(helperProgram(2_000_000));
+            time("  AST-Interpreter ohne Inlining", plain::run);
+            Interpreter inlined = new Interpreter(new Inliner().inline(helperProgram(2_000_000)));
+            time("  AST-Interpreter mit Inlining", inlined::run);
+            VM vmPlain = new VM(BytecodeCompiler.compile(helperProgram(5_000_000)));
+            time("  VM ohne Inlining", vmPlain::run);
+            VM vmInlined = new VM(BytecodeCompiler.compile(new Inliner().inline(helperProgram(5_000_000))));
+            time("  VM mit Inlining", vmInlined::run);
+            if (round == 0) {
+                System.out.println("  Ergebnis: AST " + plain.global("result") + " / " + inlined.global("result")
+                        + ", VM " + vmPlain.global("result") + " / " + vmInlined.global("result"));
+            }
+        }
+    }
+
+    static void tailCalls() {
+        // Ohne Umbau: ein Host- bzw. VM-Frame pro Ebene
+        for (int n : new int[]{10_000, 100_000}) {
+            try {
+                Interpreter ast = new Interpreter(tailRecursiveProgram(n));
+                ast.run();
+                System.out.println("ohne Umbau, Tiefe " + n + ": AST result = " + ast.global("result"));
+            } catch (StackOverflowError e) {
+                System.out.println("ohne Umbau, Tiefe " + n + ": AST StackOverflowError");
+            }
+            try {
+                VM vm = new VM(BytecodeCompiler.compile(tailRecursiveProgram(n)));
+                vm.run();
+                System.out.println("ohne Umbau, Tiefe " + n + ": VM result = " + vm.global("result"));
+            } catch (RuntimeException e) {
+                System.out.println("ohne Umbau, Tiefe " + n + ": VM " + e.getMessage());
+            }
+        }
+        // zehn Millionen Ebenen mit Umbau, alle Backends (das Ergebnis prüft Main)
+        int n = 10_000_000;
+        TailCallEliminator tce = new TailCallEliminator();
+        List<MiniCCompiler.Stmt> program = tce.optimize(tailRecursiveProgram(n));
+        System.out.println("Tiefe " + n + " mit Umbau (" + tce + "):");
+        Interpreter ast = new Interpreter(program);
+        time("  AST-Interpreter", ast::run);
+        VM vm = new VM(BytecodeCompiler.compile(tce.optimize(tailRecursiveProgram(n))));
+        time("  VM", vm::run);
+        ClosureCompiler.Program closures = ClosureCompiler.compile(tce.optimize(tailRecursiveProgram(n)));
+        time("  Closures", closures::run);
+        JvmCompiler.Program jvm = JvmCompiler.compile(tce.optimize(tailRecursiveProgram(n)));
+        time("  JVM-Backend", jvm::run);
+        System.out.println("  Ergebnis: AST " + ast.global("result") + ", VM " + vm.global("result") + ", Closures "
+                + closures.global("result") + ", JVM " + jvm.global("result"));
+    }
+
+    static void loops() {
+        LoopOptimizer stats = new LoopOptimizer();
+        stats.optimize(gridProgram(1));
+        System.out.println("Raster: " + stats);
+        Map<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> programs = new LinkedHashMap<>();
+        programs.put("Raster 3000x3000", () -> gridProgram(3_000));
+        programs.put("Schleifen 3000x3000", () -> nestedLoopProgram(3_000));
+        for (Map.Entry<String, java.util.function.Supplier<List<MiniCCompiler.Stmt>>> p : programs.entrySet()) {
+            System.out.println(p.getKey() + ":");
+            for (int round = 0; round < 3; round++) {
+                Interpreter plain = new Interpreter(p.getValue().get());
+                time("  AST-Interpreter", plain::run);
+                Interpreter licm = new Interpreter(new LoopOptimizer(false).optimize(p.getValue().get()));
+                time("  AST-Interpreter mit LICM", licm::run);
+                Interpreter both = new Interpreter(new LoopOptimizer().optimize(p.getValue().get()));
+                time("  AST-Interpreter mit LICM + Strength Reduction", both::run);
+                VM vmPlain = new VM(BytecodeCompiler.compile(p.getValue().get()));
+                time("  VM", vmPlain::run);
+                VM vmOpt = new VM(BytecodeCompiler.compile(new LoopOptimizer().optimize(p.getValue().get())));
+                time("  VM mit LICM + Strength Reduction", vmOpt::run);
+                ClosureCompiler.Program cPlain = ClosureCompiler.compile(p.getValue().get());
+                time("  Closures", cPlain::run);
+                ClosureCompiler.Program cOpt = ClosureCompiler.compile(new LoopOptimizer().optimize(p.getValue().get()));
+                time("  Closures mit LICM + Strength Reduction", cOpt::run);
+                if (round == 0) {
+                    System.out.println("  Ergebnis: AST " + plain.global("sum") + " / " + licm.global("sum") + " / " + both.global("sum")
+                            + ", VM " + vmPlain.global("sum") + " / " + vmOpt.global("sum") + ", Closures " + cPlain.global("sum") + " / " + cOpt.global("sum"));
+                }
+            }
+        }
+    }
+
+    static void dataflow() {
+        for (int n : new int[]{1_000, 4_000, 10_000}) {
+            System.out.println("Funktion mit " + n + " Variablen:");
+            for (int round = 0; round < 3; round++) {
+                List<MiniCCompiler.Stmt> program = manyVariablesProgram(n);
+                Resolver.resolve(program);
+                MiniCCompiler.FnDecl wide = (MiniCCompiler.FnDecl) program.get(0);
+                Cfg[] cfg = new Cfg[1];
+                time("  CFG", () -> cfg[0] = Cfg.of(wide));
+                Liveness[] live = new Liveness[1];
+                time("  Lebendigkeit", () -> live[0] = new Liveness(cfg[0]));
+                DefiniteAssignment[] da = new DefiniteAssignment[1];
+                time("  Definite Assignment", () -> da[0] = new DefiniteAssignment(cfg[0]));
+                DiagnosticSink.Collector sink = DiagnosticSink.unlimited();
+                int warnings = da[0].check(sink);
+                if (round == 0) {
+                    System.out.printf("  %d Blöcke, %d Slots (%d Wörter je Menge); Blockauswertungen: Lebendigkeit %d, DA %d%n",
+                            cfg[0].size(), cfg[0].slots, Dataflow.words(cfg[0].slots), live[0].result().visits(), da[0].result().visits());
+                    System.out.println("  tote Speicherungen " + live[0].deadStores().size() + ", Warnungen " + warnings
+                            + (sink.getDiagnostics().isEmpty() ? "" : ", z.B. " + sink.getDiagnostics().get(0)));
+                }
+            }
+        }
+        // über 255 lokale Slots: das JVM-Backend braucht WIDE
+        System.out.println("Funktion mit 1000 Variablen, 3000 Aufrufe:");
+        Interpreter ast = new Interpreter(manyVariablesCallsProgram(1_000, 3_000));
+        time("  AST-Interpreter", ast::run);
+        JvmCompiler.Program jvm = JvmCompiler.compile(manyVariablesCallsProgram(1_000, 3_000));
+        time("  JVM-Backend", jvm::run);
+        TieredRuntime tiered = new TieredRuntime(manyVariablesCallsProgram(1_000, 3_000));
+        time("  Tiered", tiered::run);
+        System.out.println("  Ergebnis: AST " + ast.global("result") + ", JVM " + jvm.global("result") + ", Tiered " + tiered.global("result"));
+        for (TieredRuntime.TierStats s : tiered.statistics()) System.out.println("  " + s);
+    }
+
+    static void ranges() {
+        Map<String, List<MiniCCompiler.Stmt>> corpus = new LinkedHashMap<>();
+        corpus.put("fib", fibProgram(30));
+        corpus.put("Schleifen", nestedLoopProgram(3_000));
+        corpus.put("Raster", gridProgram(3_000));
+        corpus.put("Konstanten x200", constantProgram(200));
+        corpus.put("große Funktion", largeFunctionProgram(1_000));
+        corpus.put("Hilfsfunktionen", helperProgram(1_000_000));
+        corpus.put("Endrekursion", tailRecursiveProgram(1_000_000));
+        corpus.put("viele Variablen", manyVariablesProgram(1_000));
+        int div = 0, safeDiv = 0, arith = 0, safeArith = 0;
+        for (Map.Entry<String, List<MiniCCompiler.Stmt>> e : corpus.entrySet()) {
+            RangeAnalysis[] ra = new RangeAnalysis[1];
+            time("  " + e.getKey(), () -> ra[0] = RangeAnalysis.analyze(e.getValue()));
+            System.out.println("    " + ra[0]);
+            div += ra[0].divisions();
+            safeDiv += ra[0].safeDivisions();
+            arith += ra[0].arithmetic();
+            safeArith += ra[0].safeArithmetic();
+        }
+        System.out.printf("Korpus: Nullprüfungen entfallen %d/%d (%.0f%%), Überlaufprüfungen entfallen %d/%d (%.0f%%)%n",
+                safeDiv, div, 100.0 * safeDiv / div, safeArith, arith, 100.0 * safeArith / arith);
+        // Division im heißen Pfad: Schleifen mit p / 7
+        for (int round = 0; round < 3; round++) {
+            VM checked = new VM(BytecodeCompiler.compile(nestedLoopProgram(5_000)));
+            time("  VM mit Nullprüfung", checked::run);
+            List<MiniCCompiler.Stmt> program = nestedLoopProgram(5_000);
+            RangeAnalysis.analyze(program);
+            VM unchecked = new VM(BytecodeCompiler.compile(program));
+            time("  VM nach Bereichsanalyse", unchecked::run);
+            ClosureCompiler.Program cChecked = ClosureCompiler.compile(nestedLoopProgram(5_000));
+            time("  Closures mit Nullprüfung", cChecked::run);
+            List<MiniCCompiler.Stmt> program2 = nestedLoopProgram(5_000);
+            RangeAnalysis.analyze(program2);
+            ClosureCompiler.Program cUnchecked = ClosureCompiler.compile(program2);
+            time("  Closures nach Bereichsanalyse", cUnchecked::run);
+            if (round == 0) {
+                System.out.println("  Ergebnis: VM " + checked.global("sum") + " / " + unchecked.global("sum")
+                        + ", Closures " + cChecked.global("sum") + " / " + cUnchecked.global("sum"));
+            }
+        }
+    }
+
+    static void unrolling() {
+        LoopUnroller stats = new LoopUnroller();
+        stats.optimize(countedLoopProgram(1));
+        System.out.println("Zählschleifen: " + stats);
+        LoopUnroller wide = new LoopUnroller();
+        wide.optimize(manyVariablesProgram(1_000));
+        System.out.println("viele Variablen: " + wide);
+        int n = 300_000;
+        for (int round = 0; round < 3; round++) {
+            Interpreter plain = new Interpreter(countedLoopProgram(n));
+            time("  AST-Interpreter", plain::run);
+            Interpreter unrolled = new Interpreter(new LoopUnroller().optimize(countedLoopProgram(n)));
+            time("  AST-Interpreter abgerollt", unrolled::run);
+            VM vmPlain = new VM(BytecodeCompiler.compile(countedLoopProgram(n)));
+            time("  VM", vmPlain::run);
+            VM vmUnrolled = new VM(BytecodeCompiler.compile(new LoopUnroller().optimize(countedLoopProgram(n))));
+            time("  VM abgerollt", vmUnrolled::run);
+            ClosureCompiler.Program cPlain = ClosureCompiler.compile(countedLoopProgram(n));
+            time("  Closures", cPlain::run);
+            ClosureCompiler.Program cUnrolled = ClosureCompiler.compile(new LoopUnroller().optimize(countedLoopProgram(n)));
+            time("  Closures abgerollt", cUnrolled::run);
+            if (round == 0) {
+                System.out.println("  Ergebnis: AST " + plain.global("sum") + " / " + unrolled.global("sum")
+                        + ", VM " + vmPlain.global("sum") + " / " + vmUnrolled.global("sum")
+                        + ", Closures " + cPlain.global("sum") + " / " + cUnrolled.global("sum"));
+            }
+        }
+    }
+
+    static void memo() {
+        System.out.println("Reinheit: " + PurityAnalysis.analyze(recursiveProgram(1)));
+        int n = 26;
+        for (int capacity : new int[]{0, 1 << 16, 8}) {
+            System.out.println(capacity == 0 ? "ohne Memoisierung:" : "Memo-Tabellen mit " + capacity + " Einträgen:");
+            for (int round = 0; round < 3; round++) {
+                Interpreter ast = new Interpreter(recursiveProgram(n), capacity);
+                time("  AST-Interpreter", ast::run);
+                if (round == 0) {
+                    System.out.println("  Ergebnis: " + ast.global("a") + ", " + ast.global("b") + ", " + ast.global("c")
+                            + ", " + ast.global("d") + " (calls = " + ast.global("calls") + ")");
+                    for (MemoTable t : ast.memoTables()) System.out.println("  " + t);
+                }
+            }
+        }
+    }
+
+    static void pgo() {
+        List<MiniCCompiler.Stmt> source = pgoProgram(3_000_000);
+        ExecutionProfile training = new ExecutionProfile();
+        Interpreter instrumented = new Interpreter(source);
+        instrumented.enableProfiling(training);
+        time("Trainingslauf (instrumentiert)", instrumented::run);
+        time("zum Vergleich ohne Instrumentierung", new Interpreter(source)::run);
+        ExecutionProfile profile;
+        try {
+            java.nio.file.Path file = java.nio.file.Files.createTempFile("minic", ".profile");
+            training.write(file);
+            profile = ExecutionProfile.read(file);
+            System.out.println("Profil: " + profile + ", " + java.nio.file.Files.size(file) + " Bytes");
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+        Inliner plain = new Inliner(), guided = new Inliner(profile);
+        plain.inline(source);
+        guided.inline(source);
+        System.out.println("Inlining ohne Profil: " + plain + "\nInlining mit Profil:  " + guided);
+        // ausgeführte VM-Instruktionen (deterministisch, anders als die Zeiten)
+        Map<String, Bytecode> variants = new LinkedHashMap<>();
+        variants.put("ohne Profil", BytecodeCompiler.compile(new Inliner().inline(source)));
+        variants.put("mit Profil (nur Layout)", BytecodeCompiler.compile(new Inliner().inline(source), profile));
+        variants.put("mit Profil (Inlining + Layout)", BytecodeCompiler.compile(new Inliner(profile).inline(source), profile));
+        for (Map.Entry<String, Bytecode> v : variants.entrySet()) {
+            VM counting = new VM(v.getValue());
+            counting.enableProfiling();
+            counting.run();
+            long executed = 0;
+            for (long[] row : counting.pairCounts()) for (long c : row) executed += c;
+            System.out.printf("  VM %s: %,d Instruktionen%n", v.getKey(), executed);
+        }
+        for (int round = 0; round < 3; round++) {
+            Interpreter astPlain = new Interpreter(new Inliner().inline(source));
+            time("  AST-Interpreter ohne Profil", astPlain::run);
+            Interpreter astPgo = new Interpreter(new Inliner(profile).inline(source));
+            time("  AST-Interpreter mit Profil (Inlining)", astPgo::run);
+            VM vmPlain = new VM(BytecodeCompiler.compile(new Inliner().inline(source)));
+            time("  VM ohne Profil", vmPlain::run);
+            VM vmLayout = new VM(BytecodeCompiler.compile(new Inliner().inline(source), profile));
+            time("  VM mit Profil (nur Layout)", vmLayout::run);
+            VM vmPgo = new VM(BytecodeCompiler.compile(new Inliner(profile).inline(source), profile));
+            time("  VM mit Profil (Inlining + Layout)", vmPgo::run);
+            ClosureCompiler.Program cPlain = ClosureCompiler.compile(new Inliner().inline(source));
+            time("  Closures ohne Profil", cPlain::run);
+            ClosureCompiler.Program cPgo = ClosureCompiler.compile(new Inliner(profile).inline(source));
+            time("  Closures mit Profil (Inlining)", cPgo::run);
+            if (round == 0) {
+                System.out.println("  Ergebnis: " + instrumented.global("result") + ", VM " + vmPlain.global("result") + " / "
+                        + vmLayout.global("result") + " / " + vmPgo.global("result") + ", Closures " + cPlain.global("result")
+                        + " / " + cPgo.global("result"));
+            }
+        }
+    }
+
+    /** Ausgabe-Durchsatz der eingebauten Funktionen: 10 Mio. Zeilen, gepuffert gegen Schreiben je Zeile. */
+    static void builtins() {
+        final int n = 5_000_000; // je Funktion, zusammen 10 Mio. Zeilen
+        List<MiniCCompiler.Stmt> source = printProgram(n);
+        long[] bytes = new long[1];
+        java.io.OutputStream counter = new java.io.OutputStream() {
+            @Override public void write(int b) { bytes[0]++; }
+            @Override public void write(byte[] b, int off, int len) { bytes[0] += len; }
+        };
+        Map<String, Runnable> engines = new LinkedHashMap<>();
+        engines.put("AST-Interpreter", () -> new Interpreter(source).run());
+        engines.put("VM", () -> new VM(BytecodeCompiler.compile(source)).run());
+        engines.put("Closures", () -> ClosureCompiler.compile(source).run());
+        engines.put("JVM-Bytecode", () -> JvmCompiler.compile(source).run());
+        try {
+            for (int round = 0; round < 2; round++) {
+                for (Map.Entry<String, Runnable> e : engines.entrySet()) {
+                    Builtins.setOutput(counter);
+                    bytes[0] = 0;
+                    report("  " + e.getKey() + " (Puffer 64 KiB, ohne Ziel)", 2L * n, bytes, e.getValue());
+                }
+            }
+            // echte Datei: gepuffert gegen einen write-Aufruf je Zeile (dort nur 1/10 der Zeilen)
+            java.nio.file.Path file = java.nio.file.Files.createTempFile("minic", ".out");
+            List<MiniCCompiler.Stmt> small = printProgram(n / 10);
+            for (int round = 0; round < 2; round++) {
+                try (java.io.OutputStream out = java.nio.file.Files.newOutputStream(file)) {
+                    Builtins.setOutput(out);
+                    report("  VM in Datei, Puffer 64 KiB", 2L * n, null, () -> new VM(BytecodeCompiler.compile(source)).run());
+                    Builtins.setOutput(out, 0);
+                    report("  VM in Datei, je Zeile geschrieben", 2L * n / 10, null, () -> new VM(BytecodeCompiler.compile(small)).run());
+                    Builtins.setOutput(System.out);
+                }
+            }
+            System.out.println("  Dateigröße zuletzt: " + java.nio.file.Files.size(file) + " Bytes");
+            java.nio.file.Files.delete(file);
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        } finally {
+            Builtins.setOutput(System.out);
+        }
+    }
+
+    private static void report(String label, long lines, long[] bytes, Runnable r) {
+        long t0 = System.nanoTime();
+        r.run();
+        double s = (System.nanoTime() - t0) / 1e9;
+        String mb = bytes != null ? String.format(", %.0f MB/s", bytes[0] / s / 1e6) : "";
+        System.out.printf("%s: %d ms, %.1f Mio. Zeilen/s%s%n", label, (long) (s * 1000), lines / s / 1e6, mb);
+    }
+
+    /** Verkettung in einer Schleife: alle Backends über Ropes, der JVM-Bytecode und Tiered eingeschlossen. */
+    static void ropes() {
+        long[] bytes = new long[1];
+        java.io.OutputStream counter = new java.io.OutputStream() {
+            @Override public void write(int b) { bytes[0]++; }
+            @Override public void write(byte[] b, int off, int len) { bytes[0] += len; }
+        };
+        Builtins.setOutput(counter);
+        try {
+            for (int mb : new int[] {1, 2, 100}) {
+                List<MiniCCompiler.Stmt> source = concatProgram(mb * 10_000); // 100 Zeichen je Runde
+                System.out.println(mb + " MB:");
+                Interpreter ast = new Interpreter(source);
+                time("  AST-Interpreter", ast::run);
+                VM vm = new VM(BytecodeCompiler.compile(source));
+                time("  VM", vm::run);
+                ClosureCompiler.Program closures = ClosureCompiler.compile(source);
+                time("  Closures", closures::run);
+                JvmCompiler.Program jvm = JvmCompiler.compile(source);
+                time("  JVM-Bytecode", jvm::run);
+                TieredRuntime tiered = new TieredRuntime(source);
+                time("  Tiered", tiered::run);
+                System.out.println("  Länge: " + ast.global("len") + " / " + vm.global("len") + " / " + closures.global("len")
+                        + " / " + jvm.global("len") + " / " + tiered.global("len"));
+            }
+            System.out.printf("  ausgegeben insgesamt: %,d Bytes%n", bytes[0]);
+        } finally {
+            Builtins.setOutput(System.out);
+        }
+    }
+
+    static void spawn() {
+        System.out.println("  Kerne: " + Runtime.getRuntime().availableProcessors());
+        for (int cutoff : new int[] {20, 25}) {
+            List<MiniCCompiler.Stmt> source = spawnProgram(32, cutoff);
+            System.out.println("pfib(32), sequentiell unter " + cutoff + ":");
+            Interpreter parallel = new Interpreter(source);
+            time("  AST-Interpreter (virtuelle Threads)", parallel::run);
+            Interpreter sequential = new Interpreter(source);
+            sequential.sequentialTasks();
+            time("  AST-Interpreter (sequentiell)", sequential::run);
+            ClosureCompiler.Program closures = ClosureCompiler.compile(source);
+            time("  Closures (virtuelle Threads)", closures::run);
+            VM vm = new VM(BytecodeCompiler.compile(source));
+            time("  VM (sequentiell)", vm::run);
+            System.out.println("  result: " + parallel.global("result") + " / " + sequential.global("result")
+                    + " / " + closures.global("result") + " / " + vm.global("result"));
+        }
+    }
+
+    static void arrays() {
+        BoundsCheckElimination stats = BoundsCheckElimination.analyze(sieveProgram(1_000, 1));
+        System.out.println("Sieb: " + stats);
+        int n = 1_000_000, rounds = 20;
+        for (int round = 0; round < 3; round++) {
+            List<MiniCCompiler.Stmt> checked = sieveProgram(n, rounds), unchecked = sieveProgram(n, rounds);
+            BoundsCheckElimination.analyze(unchecked);
+            Interpreter iChecked = new Interpreter(checked), iUnchecked = new Interpreter(unchecked);
+            time("  AST-Interpreter mit Indexprüfung", iChecked::run);
+            time("  AST-Interpreter nach Elimination", iUnchecked::run);
+            ClosureCompiler.Program cChecked = ClosureCompiler.compile(checked), cUnchecked = ClosureCompiler.compile(unchecked);
+            time("  Closures mit Indexprüfung", cChecked::run);
+            time("  Closures nach Elimination", cUnchecked::run);
+            VM vChecked = new VM(BytecodeCompiler.compile(checked)), vUnchecked = new VM(BytecodeCompiler.compile(unchecked));
+            time("  VM mit Indexprüfung", vChecked::run);
+            time("  VM nach Elimination", vUnchecked::run);
+            JvmCompiler.Program jChecked = JvmCompiler.compile(checked), jUnchecked = JvmCompiler.compile(unchecked);
+            time("  JVM-Bytecode mit Indexprüfung", jChecked::run);
+            time("  JVM-Bytecode nach Elimination", jUnchecked::run);
+            if (round == 0) {
+                System.out.println("  primes: " + iChecked.global("primes") + " / " + iUnchecked.global("primes")
+                        + ", Closures " + cChecked.global("primes") + " / " + cUnchecked.global("primes")
+                        + ", VM " + vChecked.global("primes") + " / " + vUnchecked.global("primes")
+                        + ", JVM " + jChecked.global("primes") + " / " + jUnchecked.global("primes"));
+            }
+        }
+    }
+}
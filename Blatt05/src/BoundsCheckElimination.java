@@ -0,0 +1,161 @@
+import java.util.*;
+
+/**
+ * Entfernt Indexprüfungen bei int[]-Zugriffen, deren Index nachweislich im Array liegt: setzt
+ * {@code unchecked} an Index und IndexAssign, die Backends greifen dann direkt zu.
+ *
+ * Obere Grenze: der Zugriff {@code a[i]} steht im Rumpf einer Schleife {@code while (i < n)}
+ * (bzw. {@code n > i}) einer Funktion. a, i und n sind lokal; jede Definition von a ist
+ * {@code new int[n]}, n ist ein nie zugewiesener Parameter oder wird genau einmal außerhalb von
+ * Schleifen definiert, und i wird zwischen Schleifenkopf und Zugriff auf keinem Pfad geschrieben.
+ * Untere Grenze: laut {@link RangeAnalysis} ist der Index nie negativ.
+ *
+ * Läuft nach den übrigen AST-Optimierungen; deren Kopien starten wieder geprüft.
+ */
+public final class BoundsCheckElimination {
+
+    private int accesses, eliminated;
+    private RangeAnalysis ranges;
+
+    // je Funktion: lokale Definitionen je Slot, Slots mit Definition in einer Schleife
+    private final Map<Integer, List<MiniCCompiler.Stmt>> defs = new HashMap<>();
+    private final Set<Integer> definedInLoop = new HashSet<>();
+    private final List<MiniCCompiler.WhileStmt> loops = new ArrayList<>();
+
+    // aktuelle Schleife: Zähler i, Arrays der Länge n
+    private int counter;
+    private final Set<Integer> arrays = new HashSet<>();
+
+    private BoundsCheckElimination() {}
+
+    /** Analysiert das Programm (ruft dazu die RangeAnalysis auf) und annotiert alle int[]-Zugriffe neu. */
+    public static BoundsCheckElimination analyze(List<MiniCCompiler.Stmt> program) {
+        BoundsCheckElimination bce = new BoundsCheckElimination();
+        bce.ranges = RangeAnalysis.analyze(program);
+        List<MiniCCompiler.Node> all = new ArrayList<>();
+        for (MiniCCompiler.Stmt s : program) all.addAll(AstHash.preorder(s));
+        for (MiniCCompiler.Node n : all) {
+            if (n instanceof MiniCCompiler.IndexAssign ia) ia.unchecked = false;
+            else if (n instanceof MiniCCompiler.Index ix) ix.unchecked = false;
+            else continue;
+            bce.accesses++;
+        }
+        for (MiniCCompiler.Node n : all) if (n instanceof MiniCCompiler.FnDecl fd) bce.function(fd);
+        return bce;
+    }
+
+    public int accesses() { return accesses; }
+    public int eliminated() { return eliminated; }
+
+    @Override public String toString() {
+        return String.format("Indexprüfungen entfallen %d/%d (%s)", eliminated, accesses,
+                accesses == 0 ? "-" : String.format("%.0f%%", 100.0 * eliminated / accesses));
+    }
+
+    // ---------------- Funktion ----------------
+
+    private void function(MiniCCompiler.FnDecl fd) {
+        defs.clear();
+        definedInLoop.clear();
+        loops.clear();
+        collect(fd.body, false);
+        for (MiniCCompiler.WhileStmt ws : loops) {
+            if (!(ws.condition instanceof MiniCCompiler.Binary b)) continue;
+            MiniCCompiler.Expr i = b.op == MiniCCompiler.Operator.LT ? b.left : b.op == MiniCCompiler.Operator.GT ? b.right : null;
+            MiniCCompiler.Expr n = b.op == MiniCCompiler.Operator.LT ? b.right : b.op == MiniCCompiler.Operator.GT ? b.left : null;
+            if (!(i instanceof MiniCCompiler.Variable iv) || iv.global || iv.type != MiniCCompiler.PrimType.INT
+                    || !(n instanceof MiniCCompiler.Variable nv) || nv.global || nv.slot == iv.slot || !stable(nv.slot, fd)) continue;
+            arrays.clear();
+            for (Map.Entry<Integer, List<MiniCCompiler.Stmt>> e : defs.entrySet()) {
+                if (e.getValue().stream().allMatch(d -> isNewArray(d, nv.slot))) arrays.add(e.getKey());
+            }
+            if (arrays.isEmpty()) continue;
+            counter = iv.slot;
+            walk(ws.body, false);
+        }
+    }
+
+    /** Sammelt die lokalen Definitionen und die Schleifen des Rumpfs (ohne geschachtelte Funktionen). */
+    private void collect(MiniCCompiler.Stmt stmt, boolean inLoop) {
+        int slot = Cfg.def(stmt);
+        if (slot >= 0) {
+            defs.computeIfAbsent(slot, k -> new ArrayList<>()).add(stmt);
+            if (inLoop) definedInLoop.add(slot);
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            for (MiniCCompiler.Stmt s : bl.statements) collect(s, inLoop);
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            loops.add(ws);
+            collect(ws.body, true);
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            collect(ifs.thenBranch, inLoop);
+            if (ifs.elseBranch != null) collect(ifs.elseBranch, inLoop);
+        }
+    }
+
+    /** n hat überall, wo es gelesen wird, denselben Wert. */
+    private boolean stable(int slot, MiniCCompiler.FnDecl fd) {
+        List<MiniCCompiler.Stmt> d = defs.get(slot);
+        if (d == null) return slot < fd.params.size();
+        return d.size() == 1 && d.get(0) instanceof MiniCCompiler.VarDecl && !definedInLoop.contains(slot);
+    }
+
+    private static boolean isNewArray(MiniCCompiler.Stmt def, int lengthSlot) {
+        return def instanceof MiniCCompiler.VarDecl vd && vd.initializer instanceof MiniCCompiler.NewArray na
+                && na.length instanceof MiniCCompiler.Variable v && !v.global && v.slot == lengthSlot;
+    }
+
+    // ---------------- Rumpf der Schleife ----------------
+
+    /** Markiert sichere Zugriffe; dirty: i wurde seit der Prüfung im Schleifenkopf evtl. geschrieben. Liefert dirty danach. */
+    private boolean walk(MiniCCompiler.Stmt stmt, boolean dirty) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            if (vd.initializer != null) expr(vd.initializer, dirty);
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            expr(as.value, dirty);
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            expr(ia.array, dirty);
+            expr(ia.index, dirty);
+            expr(ia.value, dirty);
+            check(ia, ia.array, ia.index, dirty);
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            for (MiniCCompiler.Stmt s : bl.statements) dirty = walk(s, dirty);
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            expr(ifs.condition, dirty);
+            boolean then = walk(ifs.thenBranch, dirty);
+            return then | (ifs.elseBranch != null ? walk(ifs.elseBranch, dirty) : dirty);
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            dirty |= writesCounter(ws.body); // ab der zweiten Iteration
+            expr(ws.condition, dirty);
+            walk(ws.body, dirty);
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            if (rs.value != null) expr(rs.value, dirty);
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            expr(es.expr, dirty);
+        }
+        return dirty || Cfg.def(stmt) == counter;
+    }
+
+    private void expr(MiniCCompiler.Expr e, boolean dirty) {
+        for (MiniCCompiler.Node n : AstHash.preorder(e)) {
+            if (n instanceof MiniCCompiler.Index ix) check(ix, ix.array, ix.index, dirty);
+        }
+    }
+
+    private boolean writesCounter(MiniCCompiler.Stmt body) {
+        for (MiniCCompiler.Node n : AstHash.preorder(body)) if (n instanceof MiniCCompiler.Stmt s && Cfg.def(s) == counter) return true;
+        return false;
+    }
+
+    private void check(MiniCCompiler.Node access, MiniCCompiler.Expr array, MiniCCompiler.Expr index, boolean dirty) {
+        if (dirty || !(index instanceof MiniCCompiler.Variable i) || i.global || i.slot != counter) return;
+        if (!(array instanceof MiniCCompiler.Variable a) || a.global || !arrays.contains(a.slot)) return;
+        if (!ranges.nonNegativeIndex(access)) return;
+        if (access instanceof MiniCCompiler.Index ix && !ix.unchecked) {
+            ix.unchecked = true;
+            eliminated++;
+        } else if (access instanceof MiniCCompiler.IndexAssign ia && !ia.unchecked) {
+            ia.unchecked = true;
+            eliminated++;
+        }
+    }
+}
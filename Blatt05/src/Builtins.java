@@ -0,0 +1,207 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Eingebaute Funktionen von MiniC, vorab im globalen Scope deklariert (siehe
+ * {@link SymbolTableBuilder}, {@link Resolver}). Eine gleichnamige Funktion des Programms
+ * verdeckt die eingebaute.
+ *
+ * MiniC kennt kein void: alle eingebauten Funktionen liefern int (print und printInt 0,
+ * readInt 0 am Ende der Eingabe). Die Backends rufen die statischen Methoden direkt auf,
+ * ohne Frame und ohne Umweg über eine FnDecl.
+ *
+ * Die Ausgabe läuft über einen wiederverwendeten Byte-Puffer, der erst geschrieben wird, wenn er
+ * voll ist oder {@link #flush()} aufgerufen wird (die Engines tun das am Ende von run). Ein
+ * print kostet damit keinen Systemaufruf und keine Zwischen-Strings. Die Methoden sind
+ * synchronisiert, weil mit spawn gestartete Aufrufe parallel ausgeben können.
+ */
+public final class Builtins {
+
+    public enum Builtin {
+        PRINT("print", false, MiniCCompiler.PrimType.STRING),
+        PRINT_INT("printInt", false, MiniCCompiler.PrimType.INT),
+        STRLEN("strlen", true, MiniCCompiler.PrimType.STRING),
+        READ_INT("readInt", false),
+        /** Schlüsselwort join, kein Name im Scope; die Engines lösen es über ihre {@link Tasks} ein. */
+        JOIN("join", false, MiniCCompiler.PrimType.INT);
+
+        final String name;
+        /** Ergebnis hängt nur von den Argumenten ab, keine Ein-/Ausgabe (siehe {@link PurityAnalysis}). */
+        final boolean pure;
+        final List<MiniCCompiler.Param> params = new ArrayList<>();
+        final SymbolTableBuilder.Symbol symbol;
+
+        Builtin(String name, boolean pure, MiniCCompiler.PrimType... params) {
+            this.name = name;
+            this.pure = pure;
+            for (int i = 0; i < params.length; i++) this.params.add(new MiniCCompiler.Param(params[i], "p" + i));
+            this.symbol = new SymbolTableBuilder.Symbol(name, MiniCCompiler.PrimType.INT, true, this.params, null);
+        }
+
+        private static final Map<String, Builtin> BY_NAME = new HashMap<>();
+        static { for (Builtin b : values()) if (b != JOIN) BY_NAME.put(b.name, b); }
+
+        /** Eingebaute Funktion mit diesem Namen oder null. */
+        static Builtin lookup(String name) { return BY_NAME.get(name); }
+    }
+
+    /** Scope mit den eingebauten Funktionen, Elternscope des globalen Scopes. */
+    static SymbolTableBuilder.Scope prelude() {
+        SymbolTableBuilder.Scope s = new SymbolTableBuilder.Scope(null);
+        for (Builtin b : Builtin.values()) if (b != Builtin.JOIN) s.addSymbol(b.symbol);
+        return s;
+    }
+
+    private Builtins() {}
+
+    // ---------------- Ausgabe ----------------
+
+    private static final int DEFAULT_BUFFER = 1 << 16, MIN_BUFFER = 64; // MIN_BUFFER: Platz für eine Zahl
+
+    private static OutputStream out = System.out;
+    private static byte[] buf = new byte[DEFAULT_BUFFER];
+    private static int pos;
+    private static boolean flushEachLine;
+
+    /**
+     * Leitet die Ausgabe um. bufferSize 0 schreibt nach jeder Zeile (zum Vergleich), sonst
+     * wird in Blöcken dieser Größe geschrieben. Bisher gepufferte Ausgabe geht noch an das alte Ziel.
+     */
+    public static synchronized void setOutput(OutputStream target, int bufferSize) {
+        flush();
+        out = target;
+        flushEachLine = bufferSize == 0;
+        int size = Math.max(MIN_BUFFER, flushEachLine ? 8192 : bufferSize);
+        if (buf.length != size) buf = new byte[size];
+    }
+
+    public static void setOutput(OutputStream target) { setOutput(target, DEFAULT_BUFFER); }
+
+    /** Schreibt den Puffer und leert das Ziel. */
+    public static synchronized void flush() {
+        drain();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void drain() {
+        if (pos == 0) return;
+        write(buf, pos);
+        pos = 0;
+    }
+
+    private static void write(byte[] b, int len) {
+        try {
+            out.write(b, 0, len);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Gibt s und einen Zeilenumbruch aus (UTF-8). */
+    public static synchronized int print(String s) {
+        int n = s.length();
+        if (n >= buf.length - pos) {
+            drain();
+            if (n >= buf.length) return printLarge(s);
+        }
+        byte[] b = buf;
+        int p = pos;
+        for (int i = 0; i < n; i++) {
+            char ch = s.charAt(i);
+            if (ch >= 0x80) return printLarge(s); // pos unverändert: die ASCII-Bytes bis hier verfallen
+            b[p++] = (byte) ch;
+        }
+        b[p++] = '\n';
+        pos = p;
+        if (flushEachLine) drain();
+        return 0;
+    }
+
+    /** Nicht-ASCII oder größer als der Puffer: abschnittsweise kodieren, damit lange Strings nicht als Ganzes kopiert werden. */
+    private static int printLarge(String s) {
+        int n = s.length(), chunk = buf.length / 4; // UTF-8: höchstens 3 Bytes je char
+        for (int i = 0; i < n; ) {
+            int end = Math.min(n, i + chunk);
+            if (end < n && Character.isHighSurrogate(s.charAt(end - 1))) end--; // Surrogatpaar nicht trennen
+            byte[] bytes = s.substring(i, end).getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > buf.length - pos) drain();
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+            i = end;
+        }
+        if (pos == buf.length) drain();
+        buf[pos++] = '\n';
+        if (flushEachLine) drain();
+        return 0;
+    }
+
+    /** Gibt v dezimal und einen Zeilenumbruch aus, ohne Zwischen-String. */
+    public static synchronized int printInt(int v) {
+        if (buf.length - pos < 12) drain();
+        byte[] b = buf;
+        int p = pos;
+        if (v < 0) b[p++] = '-';
+        else v = -v; // negativ rechnen, damit auch Integer.MIN_VALUE passt
+        int start = p;
+        do {
+            b[p++] = (byte) ('0' - v % 10);
+            v /= 10;
+        } while (v != 0);
+        for (int i = start, j = p - 1; i < j; i++, j--) {
+            byte t = b[i]; b[i] = b[j]; b[j] = t;
+        }
+        b[p++] = '\n';
+        pos = p;
+        if (flushEachLine) drain();
+        return 0;
+    }
+
+    public static int strlen(String s) { return s.length(); }
+
+    // ---------------- Eingabe ----------------
+
+    private static InputStream in = System.in;
+    private static final byte[] inBuf = new byte[1 << 16];
+    private static int inPos, inLen;
+
+    public static synchronized void setInput(InputStream source) {
+        in = source;
+        inPos = inLen = 0;
+    }
+
+    /** Liest die nächste (ggf. negative) Dezimalzahl, Trennzeichen werden übersprungen; 0 am Ende der Eingabe. */
+    public static synchronized int readInt() {
+        int c = read();
+        while (c >= 0 && c != '-' && (c < '0' || c > '9')) c = read();
+        if (c < 0) return 0;
+        boolean neg = c == '-';
+        if (neg) c = read();
+        int v = 0;
+        while (c >= '0' && c <= '9') {
+            v = v * 10 + (c - '0'); // Überlauf wie bei int-Arithmetik in MiniC
+            c = read();
+        }
+        return neg ? -v : v;
+    }
+
+    private static int read() {
+        if (inPos == inLen) {
+            try {
+                inLen = in.read(inBuf, 0, inBuf.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            inPos = 0;
+            if (inLen <= 0) {
+                inLen = 0;
+                return -1;
+            }
+        }
+        return inBuf[inPos++] & 0xFF;
+    }
+}
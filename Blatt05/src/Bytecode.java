@@ -0,0 +1,149 @@
+import java.util.*;
+
+/**
+ * Kompaktes, stackbasiertes Bytecode-Format für MiniC.
+ *
+ * Der Code ist ein int[]: Opcode gefolgt von seinen Operanden. Werte auf dem Operandenstack
+ * sind long (int und bool als 0/1); Strings und int[] liegen parallel dazu in einem Object[] an
+ * derselben Stackposition. Lokale Variablen liegen im Stack ab dem Framepointer.
+ * Die Konstantenpool-Einträge sind String-Literale und {@link Function}-Einträge.
+ */
+public final class Bytecode {
+
+    // ---------------- Opcodes ----------------
+    static final int CONST = 0;      // k          -> push k
+    static final int SCONST = 1;     // pool       -> push pool[idx] (String)
+    static final int LOAD = 2;       // slot
+    static final int STORE = 3;      // slot
+    static final int RLOAD = 4;      // slot (String)
+    static final int RSTORE = 5;     // slot (String)
+    static final int GLOAD = 6;      // global
+    static final int GSTORE = 7;     // global
+    static final int RGLOAD = 8;     // global (String)
+    static final int RGSTORE = 9;    // global (String)
+    static final int ADD = 10;
+    static final int SUB = 11;
+    static final int MUL = 12;
+    static final int DIV = 13;
+    static final int LT = 14;
+    static final int GT = 15;
+    static final int EQ = 16;
+    static final int NEQ = 17;
+    static final int SEQ = 18;       // String-Gleichheit
+    static final int SNEQ = 19;
+    static final int CONCAT = 20;
+    static final int I2S = 21;       // int -> String
+    static final int B2S = 22;       // bool -> String
+    static final int JMP = 23;       // addr
+    static final int JZ = 24;        // addr: springt, wenn top == 0
+    static final int CALL = 25;      // pool (Function)
+    static final int RET = 26;       // gibt long zurück
+    static final int RRET = 27;      // gibt String zurück
+    static final int POP = 28;
+    static final int HALT = 29;
+
+    // Superinstruktionen (häufigste Paare/Folgen laut Profil, siehe BytecodeCompiler.fuse)
+    static final int LOAD_LOAD = 30;     // a b
+    static final int LOAD_CONST = 31;    // a k
+    static final int ADD_CONST = 32;     // k
+    static final int SUB_CONST = 33;     // k
+    static final int JNLT = 34;          // addr: LT; JZ
+    static final int JNGT = 35;          // addr: GT; JZ
+    static final int INC = 36;           // slot k: LOAD s; CONST k; ADD; STORE s
+    static final int LOAD_CONST_JNLT = 37; // slot k addr: LOAD s; CONST k; LT; JZ
+    static final int ADD_STORE = 38;     // slot: ADD; STORE s
+
+    static final int UDIV = 39;          // DIV ohne Nullprüfung (Divisor laut RangeAnalysis nie 0)
+
+    // Sprünge bei wahrer Bedingung, für profilgesteuertes Layout (likely-Pfad fällt durch)
+    static final int JNZ = 40;           // addr: springt, wenn top != 0
+    static final int JLT = 41;           // addr: LT; JNZ
+    static final int JGT = 42;           // addr: GT; JNZ
+    static final int LOAD_CONST_JLT = 43; // slot k addr: LOAD s; CONST k; LT; JNZ
+
+    // eingebaute Funktionen (siehe Builtins), jeweils mit int-Ergebnis
+    static final int PRINT = 44;         // String -> 0
+    static final int PRINTI = 45;        // int -> 0
+    static final int STRLEN = 46;        // String -> Länge
+    static final int READI = 47;         // -> gelesene Zahl
+
+    // spawn/join (in der VM sequentiell: spawn f(x) ist CALL f; TASK)
+    static final int TASK = 48;          // Ergebnis -> Handle
+    static final int JOIN = 49;          // Handle -> Ergebnis
+
+    // int[] (Array im Object[] wie Strings); pool: Quelltextposition für Fehlermeldungen
+    static final int NEWARR = 50;        // pool: Länge -> int[]
+    static final int ALOAD = 51;         // pool: int[] Index -> Wert
+    static final int ASTORE = 52;        // pool: int[] Index Wert ->
+    static final int UALOAD = 53;        // ohne Indexprüfung (BoundsCheckElimination)
+    static final int UASTORE = 54;
+
+    static final int OPCODE_COUNT = 55;
+
+    static final String[] NAMES = {
+            "CONST", "SCONST", "LOAD", "STORE", "RLOAD", "RSTORE", "GLOAD", "GSTORE", "RGLOAD", "RGSTORE",
+            "ADD", "SUB", "MUL", "DIV", "LT", "GT", "EQ", "NEQ", "SEQ", "SNEQ",
+            "CONCAT", "I2S", "B2S", "JMP", "JZ", "CALL", "RET", "RRET", "POP", "HALT",
+            "LOAD_LOAD", "LOAD_CONST", "ADD_CONST", "SUB_CONST", "JNLT", "JNGT", "INC", "LOAD_CONST_JNLT", "ADD_STORE",
+            "UDIV", "JNZ", "JLT", "JGT", "LOAD_CONST_JLT",
+            "PRINT", "PRINTI", "STRLEN", "READI", "TASK", "JOIN",
+            "NEWARR", "ALOAD", "ASTORE", "UALOAD", "UASTORE"
+    };
+
+    /** Anzahl Operanden je Opcode. */
+    static final int[] ARITY = {
+            1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 1, 1, 1, 0, 0, 0, 0,
+            2, 2, 1, 1, 1, 1, 2, 3, 1,
+            0, 1, 1, 1, 3,
+            0, 0, 0, 0, 0, 0,
+            1, 1, 1, 0, 0
+    };
+
+    /** Eintrag im Konstantenpool für eine Funktion. */
+    static final class Function {
+        final String name;
+        final int params;
+        final int frameSize;
+        int entry;
+
+        Function(String name, int params, int frameSize) {
+            this.name = name;
+            this.params = params;
+            this.frameSize = frameSize;
+        }
+
+        @Override public String toString() { return "fn " + name + "/" + params; }
+    }
+
+    final int[] code;
+    final Object[] pool;
+    final int globalCount;
+    final int mainFrameSize;
+    final Map<String, Integer> globalSlots;
+
+    Bytecode(int[] code, Object[] pool, int globalCount, int mainFrameSize, Map<String, Integer> globalSlots) {
+        this.code = code;
+        this.pool = pool;
+        this.globalCount = globalCount;
+        this.mainFrameSize = mainFrameSize;
+        this.globalSlots = globalSlots;
+    }
+
+    public int size() { return code.length; }
+
+    /** Lesbares Listing, z.B. zum Debuggen. */
+    public String disassemble() {
+        StringBuilder sb = new StringBuilder();
+        for (int pc = 0; pc < code.length; ) {
+            int op = code[pc];
+            sb.append(String.format("%5d  %-16s", pc, NAMES[op]));
+            for (int i = 1; i <= ARITY[op]; i++) sb.append(' ').append(code[pc + i]);
+            if (op == SCONST || op == CALL) sb.append("   ; ").append(pool[code[pc + 1]]);
+            sb.append('\n');
+            pc += 1 + ARITY[op];
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,354 @@
+import java.util.*;
+
+/**
+ * Übersetzt ein (vom {@link Resolver} annotiertes) Programm in {@link Bytecode}.
+ *
+ * Zuerst entsteht eine Instruktionsliste mit symbolischen Sprungmarken; darauf fasst
+ * {@link #fuse} häufige Opcode-Folgen zu Superinstruktionen zusammen, danach werden
+ * die Adressen festgelegt.
+ *
+ * Mit einem {@link ExecutionProfile} wird das Layout nach den gemessenen Häufigkeiten gewählt:
+ * der seltenere Zweig eines if wandert hinter das Ende der Funktion (der häufige fällt durch),
+ * und Schleifen mit im Mittel mehr als einer Iteration werden rotiert (Bedingung am Ende, ein
+ * Sprung je Iteration statt zwei).
+ */
+public class BytecodeCompiler {
+
+    private final List<int[]> insns = new ArrayList<>();
+    private final List<Integer> labelPos = new ArrayList<>(); // Label -> Instruktionsindex
+    private final List<Object> pool = new ArrayList<>();
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<MiniCCompiler.FnDecl, Integer> fnPool = new IdentityHashMap<>();
+    private final Map<MiniCCompiler.FnDecl, Integer> fnLabel = new IdentityHashMap<>();
+    private final boolean superinstructions;
+    private final ExecutionProfile profile;
+    private final List<Runnable> cold = new ArrayList<>(); // seltene Zweige, hinter die Funktion verschoben
+
+    private BytecodeCompiler(boolean superinstructions, ExecutionProfile profile) {
+        this.superinstructions = superinstructions;
+        this.profile = profile;
+    }
+
+    public static Bytecode compile(List<MiniCCompiler.Stmt> program) { return compile(program, true); }
+
+    public static Bytecode compile(List<MiniCCompiler.Stmt> program, boolean superinstructions) {
+        return new BytecodeCompiler(superinstructions, null).compileProgram(program, Resolver.resolve(program));
+    }
+
+    /** Profilgesteuertes Layout; Knoten ohne Profildaten werden wie ohne Profil übersetzt. */
+    public static Bytecode compile(List<MiniCCompiler.Stmt> program, ExecutionProfile profile) {
+        return new BytecodeCompiler(true, profile).compileProgram(program, Resolver.resolve(program));
+    }
+
+    private Bytecode compileProgram(List<MiniCCompiler.Stmt> program, Resolver r) {
+        for (MiniCCompiler.FnDecl fd : r.functions()) {
+            fnPool.put(fd, pool.size());
+            pool.add(new Bytecode.Function(fd.name, fd.params.size(), fd.frameSize));
+            fnLabel.put(fd, newLabel());
+        }
+        for (MiniCCompiler.Stmt s : program) stmt(s);
+        emit(Bytecode.HALT);
+        flushCold();
+        for (MiniCCompiler.FnDecl fd : r.functions()) {
+            mark(fnLabel.get(fd));
+            stmt(fd.body);
+            // Ende ohne return: Standardwert zurückgeben
+            if (fd.returnType == MiniCCompiler.PrimType.INT_ARRAY) {
+                emit(Bytecode.CONST, 0);
+                emit(Bytecode.NEWARR, string(fd.pos()));
+                emit(Bytecode.RRET);
+            } else if (fd.returnType == MiniCCompiler.PrimType.STRING) {
+                emit(Bytecode.SCONST, string(""));
+                emit(Bytecode.RRET);
+            } else {
+                emit(Bytecode.CONST, 0);
+                emit(Bytecode.RET);
+            }
+            flushCold();
+        }
+        if (superinstructions) fuse();
+        int[] code = layout();
+        for (MiniCCompiler.FnDecl fd : r.functions()) {
+            ((Bytecode.Function) pool.get(fnPool.get(fd))).entry = addressOf(fnLabel.get(fd));
+        }
+        Map<String, Integer> globals = new HashMap<>();
+        for (MiniCCompiler.VarDecl vd : r.globals()) globals.putIfAbsent(vd.name, vd.slot);
+        return new Bytecode(code, pool.toArray(), r.globalCount(), r.mainFrameSize(), globals);
+    }
+
+    // ---------------- Anweisungen ----------------
+
+    private void stmt(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            if (vd.initializer != null) expr(vd.initializer);
+            else if (vd.type == MiniCCompiler.PrimType.STRING) emit(Bytecode.SCONST, string(""));
+            else emit(Bytecode.CONST, 0);
+            if (vd.initializer == null && vd.type == MiniCCompiler.PrimType.INT_ARRAY) emit(Bytecode.NEWARR, string(vd.pos())); // leeres int[]
+            store(vd.type, vd.global, vd.slot);
+
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            expr(as.value);
+            store(as.value.type, as.global, as.slot);
+
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            expr(ia.array);
+            expr(ia.index);
+            expr(ia.value);
+            if (ia.unchecked) emit(Bytecode.UASTORE);
+            else emit(Bytecode.ASTORE, string(ia.pos()));
+
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            for (MiniCCompiler.Stmt s : bl.statements) stmt(s);
+
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            if (profile != null && profile.iterations(ws) > profile.entries(ws)) {
+                // rotiert: JMP cond; body: ...; cond: if (c) goto body
+                int body = newLabel(), cond = newLabel();
+                emit(Bytecode.JMP, cond);
+                mark(body);
+                stmt(ws.body);
+                mark(cond);
+                expr(ws.condition);
+                emit(Bytecode.JNZ, body);
+                return;
+            }
+            int start = newLabel(), end = newLabel();
+            mark(start);
+            expr(ws.condition);
+            emit(Bytecode.JZ, end);
+            stmt(ws.body);
+            emit(Bytecode.JMP, start);
+            mark(end);
+
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            long taken = profile != null ? profile.taken(ifs) : 0, notTaken = profile != null ? profile.notTaken(ifs) : 0;
+            if (notTaken > taken || (taken > notTaken && ifs.elseBranch != null)) {
+                // seltener Zweig hinter die Funktion, der häufige fällt durch
+                boolean thenLikely = taken > notTaken;
+                MiniCCompiler.Block likely = thenLikely ? ifs.thenBranch : ifs.elseBranch, unlikely = thenLikely ? ifs.elseBranch : ifs.thenBranch;
+                int away = newLabel(), end = newLabel();
+                expr(ifs.condition);
+                emit(thenLikely ? Bytecode.JZ : Bytecode.JNZ, away);
+                if (likely != null) stmt(likely);
+                mark(end);
+                cold.add(() -> {
+                    mark(away);
+                    stmt(unlikely);
+                    emit(Bytecode.JMP, end);
+                });
+                return;
+            }
+            int otherwise = newLabel(), end = newLabel();
+            expr(ifs.condition);
+            emit(Bytecode.JZ, otherwise);
+            stmt(ifs.thenBranch);
+            if (ifs.elseBranch != null) emit(Bytecode.JMP, end);
+            mark(otherwise);
+            if (ifs.elseBranch != null) stmt(ifs.elseBranch);
+            mark(end);
+
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            expr(rs.value);
+            emit(rs.value.type.ref() ? Bytecode.RRET : Bytecode.RET);
+
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            expr(es.expr);
+            emit(Bytecode.POP);
+
+        } else if (!(stmt instanceof MiniCCompiler.FnDecl)) { // Funktionen werden separat übersetzt
+            throw new RuntimeException("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+        }
+    }
+
+    /** Übersetzt die verschobenen Zweige (die selbst weitere verschieben können). */
+    private void flushCold() {
+        while (!cold.isEmpty()) cold.remove(0).run();
+    }
+
+    private void store(MiniCCompiler.PrimType type, boolean global, int slot) {
+        boolean ref = type.ref();
+        if (global) emit(ref ? Bytecode.RGSTORE : Bytecode.GSTORE, slot);
+        else emit(ref ? Bytecode.RSTORE : Bytecode.STORE, slot);
+    }
+
+    // ---------------- Ausdrücke ----------------
+
+    private void expr(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.IntLiteral il) {
+            emit(Bytecode.CONST, il.value);
+        } else if (e instanceof MiniCCompiler.BoolLiteral bl) {
+            emit(Bytecode.CONST, bl.value ? 1 : 0);
+        } else if (e instanceof MiniCCompiler.StringLiteral sl) {
+            emit(Bytecode.SCONST, string(sl.value));
+        } else if (e instanceof MiniCCompiler.Variable v) {
+            boolean ref = v.type.ref();
+            if (v.global) emit(ref ? Bytecode.RGLOAD : Bytecode.GLOAD, v.slot);
+            else emit(ref ? Bytecode.RLOAD : Bytecode.LOAD, v.slot);
+        } else if (e instanceof MiniCCompiler.Binary b) {
+            if (b.type == MiniCCompiler.PrimType.STRING) { // Verkettung
+                toStr(b.left);
+                toStr(b.right);
+                emit(Bytecode.CONCAT);
+                return;
+            }
+            expr(b.left);
+            expr(b.right);
+            boolean ref = b.left.type == MiniCCompiler.PrimType.STRING;
+            emit(switch (b.op) {
+                case PLUS -> Bytecode.ADD;
+                case MINUS -> Bytecode.SUB;
+                case MUL -> Bytecode.MUL;
+                case DIV -> b.nonZeroDivisor ? Bytecode.UDIV : Bytecode.DIV;
+                case LT -> Bytecode.LT;
+                case GT -> Bytecode.GT;
+                case EQ -> ref ? Bytecode.SEQ : Bytecode.EQ;
+                case NEQ -> ref ? Bytecode.SNEQ : Bytecode.NEQ;
+            });
+        } else if (e instanceof MiniCCompiler.NewArray na) {
+            expr(na.length);
+            emit(Bytecode.NEWARR, string(na.pos()));
+        } else if (e instanceof MiniCCompiler.Index ix) {
+            expr(ix.array);
+            expr(ix.index);
+            if (ix.unchecked) emit(Bytecode.UALOAD);
+            else emit(Bytecode.ALOAD, string(ix.pos()));
+        } else if (e instanceof MiniCCompiler.Call c && c.builtin != null) {
+            for (MiniCCompiler.Expr a : c.args) expr(a);
+            emit(switch (c.builtin) {
+                case PRINT -> Bytecode.PRINT;
+                case PRINT_INT -> Bytecode.PRINTI;
+                case STRLEN -> Bytecode.STRLEN;
+                case READ_INT -> Bytecode.READI;
+                case JOIN -> Bytecode.JOIN;
+            });
+        } else if (e instanceof MiniCCompiler.Spawn s) {
+            for (MiniCCompiler.Expr a : s.args) expr(a);
+            emit(Bytecode.CALL, fnPool.get(s.target));
+            emit(Bytecode.TASK);
+        } else if (e instanceof MiniCCompiler.Call c) {
+            for (MiniCCompiler.Expr a : c.args) expr(a);
+            emit(Bytecode.CALL, fnPool.get(c.target));
+        } else {
+            throw new RuntimeException("Unbekannter Expression-Typ: " + e.getClass().getSimpleName());
+        }
+    }
+
+    private void toStr(MiniCCompiler.Expr e) {
+        expr(e);
+        if (e.type == MiniCCompiler.PrimType.INT) emit(Bytecode.I2S);
+        else if (e.type == MiniCCompiler.PrimType.BOOL) emit(Bytecode.B2S);
+    }
+
+    private int string(String s) {
+        return strings.computeIfAbsent(s, k -> {
+            pool.add(k);
+            return pool.size() - 1;
+        });
+    }
+
+    // ---------------- Instruktionsliste ----------------
+
+    private void emit(int op, int... operands) {
+        int[] insn = new int[1 + operands.length];
+        insn[0] = op;
+        System.arraycopy(operands, 0, insn, 1, operands.length);
+        insns.add(insn);
+    }
+
+    private int newLabel() {
+        labelPos.add(-1);
+        return labelPos.size() - 1;
+    }
+
+    private void mark(int label) { labelPos.set(label, insns.size()); }
+
+    /** Index des Operanden, der ein Sprungziel (Label) ist, oder -1. */
+    private static int labelOperand(int op) {
+        return switch (op) {
+            case Bytecode.JMP, Bytecode.JZ, Bytecode.JNLT, Bytecode.JNGT, Bytecode.JNZ, Bytecode.JLT, Bytecode.JGT -> 1;
+            case Bytecode.LOAD_CONST_JNLT, Bytecode.LOAD_CONST_JLT -> 3;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Peephole-Pass: ersetzt häufige Folgen durch Superinstruktionen. Eine Folge wird nur
+     * zusammengefasst, wenn keine Sprungmarke in ihre Mitte zeigt.
+     */
+    private void fuse() {
+        boolean[] target = new boolean[insns.size() + 1];
+        for (int p : labelPos) if (p >= 0) target[p] = true;
+        int[] newIndex = new int[insns.size() + 1];
+        List<int[]> out = new ArrayList<>(insns.size());
+        int i = 0;
+        while (i < insns.size()) {
+            int[] a = insns.get(i);
+            int[] b = at(i + 1, target), c = at(i + 2, target), d = at(i + 3, target);
+            int[] fused = null;
+            int len = 1;
+            if (op(a) == Bytecode.LOAD && op(b) == Bytecode.CONST && op(c) == Bytecode.LT && (op(d) == Bytecode.JZ || op(d) == Bytecode.JNZ)) {
+                fused = new int[]{op(d) == Bytecode.JZ ? Bytecode.LOAD_CONST_JNLT : Bytecode.LOAD_CONST_JLT, a[1], b[1], d[1]};
+                len = 4;
+            } else if (op(a) == Bytecode.LOAD && op(b) == Bytecode.CONST && op(c) == Bytecode.ADD
+                    && op(d) == Bytecode.STORE && d[1] == a[1]) {
+                fused = new int[]{Bytecode.INC, a[1], b[1]};
+                len = 4;
+            } else if ((op(a) == Bytecode.LT || op(a) == Bytecode.GT) && op(b) == Bytecode.JZ) {
+                fused = new int[]{op(a) == Bytecode.LT ? Bytecode.JNLT : Bytecode.JNGT, b[1]};
+                len = 2;
+            } else if ((op(a) == Bytecode.LT || op(a) == Bytecode.GT) && op(b) == Bytecode.JNZ) {
+                fused = new int[]{op(a) == Bytecode.LT ? Bytecode.JLT : Bytecode.JGT, b[1]};
+                len = 2;
+            } else if (op(a) == Bytecode.ADD && op(b) == Bytecode.STORE) {
+                fused = new int[]{Bytecode.ADD_STORE, b[1]};
+                len = 2;
+            } else if (op(a) == Bytecode.LOAD && op(b) == Bytecode.LOAD) {
+                fused = new int[]{Bytecode.LOAD_LOAD, a[1], b[1]};
+                len = 2;
+            } else if (op(a) == Bytecode.LOAD && op(b) == Bytecode.CONST) {
+                fused = new int[]{Bytecode.LOAD_CONST, a[1], b[1]};
+                len = 2;
+            } else if (op(a) == Bytecode.CONST && (op(b) == Bytecode.ADD || op(b) == Bytecode.SUB)) {
+                fused = new int[]{op(b) == Bytecode.ADD ? Bytecode.ADD_CONST : Bytecode.SUB_CONST, a[1]};
+                len = 2;
+            }
+            for (int k = 0; k < len; k++) newIndex[i + k] = out.size();
+            out.add(fused != null ? fused : a);
+            i += len;
+        }
+        newIndex[insns.size()] = out.size();
+        for (int l = 0; l < labelPos.size(); l++) if (labelPos.get(l) >= 0) labelPos.set(l, newIndex[labelPos.get(l)]);
+        insns.clear();
+        insns.addAll(out);
+    }
+
+    /** Instruktion i, sofern sie kein Sprungziel ist (sonst null: darf nicht verschmolzen werden). */
+    private int[] at(int i, boolean[] target) {
+        return i < insns.size() && !target[i] ? insns.get(i) : null;
+    }
+
+    private static int op(int[] insn) { return insn != null ? insn[0] : -1; }
+
+    private int[] address;
+
+    private int[] layout() {
+        address = new int[insns.size() + 1];
+        int pc = 0;
+        for (int i = 0; i < insns.size(); i++) {
+            address[i] = pc;
+            pc += insns.get(i).length;
+        }
+        address[insns.size()] = pc;
+        int[] code = new int[pc];
+        pc = 0;
+        for (int[] insn : insns) {
+            System.arraycopy(insn, 0, code, pc, insn.length);
+            int lo = labelOperand(insn[0]);
+            if (lo > 0) code[pc + lo] = addressOf(insn[lo]);
+            pc += insn.length;
+        }
+        return code;
+    }
+
+    private int addressOf(int label) { return address[labelPos.get(label)]; }
+}
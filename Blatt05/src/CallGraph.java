@@ -0,0 +1,226 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Aufrufgraph über dem aufgelösten AST: Knoten sind Funktions-Symbole, Kanten kommen
+ * aus Call-Ausdrücken. Aufrufe aus Top-Level-Anweisungen bilden die Wurzeln.
+ * Die starken Zusammenhangskomponenten (Tarjan) liefern eine Bottom-up-Reihenfolge
+ * für programmweite Analysen. Eingebaute Funktionen ({@link Builtins}) sind keine Knoten.
+ */
+public class CallGraph {
+
+    private final List<SymbolTableBuilder.Symbol> functions = new ArrayList<>();
+    private final Map<SymbolTableBuilder.Symbol, Integer> ids = new IdentityHashMap<>();
+    private final List<Set<Integer>> calleeSets = new ArrayList<>();
+    private final Set<Integer> rootSet = new LinkedHashSet<>();
+
+    private int[][] callees;   // Funktion -> aufgerufene Funktionen
+    private int[] sccOf;       // Funktion -> SCC-Nummer
+    private List<int[]> sccs;  // SCCs in umgekehrt topologischer Reihenfolge (Aufgerufene zuerst)
+
+    /** Baut den Graphen; die Fehler der Namensauflösung landen in sink. */
+    public static CallGraph build(List<MiniCCompiler.Stmt> program, DiagnosticSink sink) {
+        CallGraph g = new CallGraph();
+        SymbolTableBuilder builder = new SymbolTableBuilder(sink);
+        builder.setResolveListener(new SymbolTableBuilder.ResolveListener() {
+            @Override
+            public void resolved(MiniCCompiler.Node use, SymbolTableBuilder.Symbol sym) {
+                if (!(use instanceof MiniCCompiler.Call) || !sym.isFunction || sym.declNode == null) return; // eingebaut
+                SymbolTableBuilder.Symbol caller = builder.currentFunction();
+                int callee = g.node(sym);
+                if (caller == null || !caller.isFunction) g.rootSet.add(callee);
+                else g.calleeSets.get(g.node(caller)).add(callee);
+            }
+
+            @Override
+            public void declared(SymbolTableBuilder.Symbol sym) {
+                if (sym.isFunction) g.node(sym);
+            }
+        });
+        builder.build(program);
+        g.freeze();
+        return g;
+    }
+
+    public static CallGraph build(List<MiniCCompiler.Stmt> program) {
+        return build(program, DiagnosticSink.unlimited());
+    }
+
+    private int node(SymbolTableBuilder.Symbol fn) {
+        Integer id = ids.get(fn);
+        if (id != null) return id;
+        ids.put(fn, functions.size());
+        functions.add(fn);
+        calleeSets.add(new LinkedHashSet<>());
+        return functions.size() - 1;
+    }
+
+    private void freeze() {
+        callees = new int[functions.size()][];
+        for (int i = 0; i < callees.length; i++) {
+            callees[i] = calleeSets.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        calleeSets.clear();
+        computeSccs();
+    }
+
+    // ---------------- Abfragen ----------------
+
+    public List<SymbolTableBuilder.Symbol> functions() { return Collections.unmodifiableList(functions); }
+
+    public List<SymbolTableBuilder.Symbol> callees(SymbolTableBuilder.Symbol fn) {
+        Integer id = ids.get(fn);
+        if (id == null) return List.of();
+        List<SymbolTableBuilder.Symbol> out = new ArrayList<>(callees[id].length);
+        for (int c : callees[id]) out.add(functions.get(c));
+        return out;
+    }
+
+    /** Von Top-Level-Anweisungen direkt aufgerufene Funktionen. */
+    public List<SymbolTableBuilder.Symbol> roots() {
+        List<SymbolTableBuilder.Symbol> out = new ArrayList<>();
+        for (int r : rootSet) out.add(functions.get(r));
+        return out;
+    }
+
+    /** SCCs in Bottom-up-Reihenfolge: jede SCC steht nach allen SCCs, die sie aufruft. */
+    public List<List<SymbolTableBuilder.Symbol>> stronglyConnectedComponents() {
+        List<List<SymbolTableBuilder.Symbol>> out = new ArrayList<>(sccs.size());
+        for (int[] scc : sccs) {
+            List<SymbolTableBuilder.Symbol> l = new ArrayList<>(scc.length);
+            for (int f : scc) l.add(functions.get(f));
+            out.add(l);
+        }
+        return out;
+    }
+
+    /** true, wenn fn (direkt oder indirekt) sich selbst aufrufen kann. */
+    public boolean isRecursive(SymbolTableBuilder.Symbol fn) {
+        Integer id = ids.get(fn);
+        if (id == null) return false;
+        if (sccs.get(sccOf[id]).length > 1) return true;
+        for (int c : callees[id]) if (c == id) return true;
+        return false;
+    }
+
+    /** Funktionen, die von keiner Top-Level-Anweisung aus erreichbar sind (in Deklarationsreihenfolge). */
+    public List<SymbolTableBuilder.Symbol> unreachable() {
+        boolean[] seen = new boolean[functions.size()];
+        int[] stack = new int[functions.size()];
+        int sp = 0;
+        for (int r : rootSet) if (!seen[r]) { seen[r] = true; stack[sp++] = r; }
+        while (sp > 0) {
+            int f = stack[--sp];
+            for (int c : callees[f]) if (!seen[c]) { seen[c] = true; stack[sp++] = c; }
+        }
+        List<SymbolTableBuilder.Symbol> out = new ArrayList<>();
+        for (int i = 0; i < seen.length; i++) if (!seen[i]) out.add(functions.get(i));
+        return out;
+    }
+
+    public void reportUnreachable(DiagnosticSink sink) {
+        for (SymbolTableBuilder.Symbol fn : unreachable()) {
+            if (sink.shouldStop()) return;
+            sink.report(Diagnostic.warning(Diagnostic.Code.UNREACHABLE_FN, fn.declNode, fn.name));
+        }
+    }
+
+    // ---------------- Tarjan (iterativ, damit tiefe Ketten keinen StackOverflow auslösen) ----------------
+
+    private void computeSccs() {
+        int n = functions.size();
+        int[] index = new int[n], low = new int[n], edge = new int[n];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n], call = new int[n];
+        int sp = 0, next = 0;
+        sccOf = new int[n];
+        sccs = new ArrayList<>();
+
+        for (int start = 0; start < n; start++) {
+            if (index[start] >= 0) continue;
+            int csp = 0;
+            call[csp++] = start;
+            index[start] = low[start] = next++;
+            stack[sp++] = start;
+            onStack[start] = true;
+            while (csp > 0) {
+                int v = call[csp - 1];
+                if (edge[v] < callees[v].length) {
+                    int w = callees[v][edge[v]++];
+                    if (index[w] < 0) {
+                        index[w] = low[w] = next++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        call[csp++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                } else {
+                    csp--;
+                    if (csp > 0) low[call[csp - 1]] = Math.min(low[call[csp - 1]], low[v]);
+                    if (low[v] == index[v]) {
+                        int size = 0;
+                        while (stack[sp - 1 - size] != v) size++;
+                        size++;
+                        int[] scc = Arrays.copyOfRange(stack, sp - size, sp);
+                        sp -= size;
+                        for (int f : scc) { onStack[f] = false; sccOf[f] = sccs.size(); }
+                        sccs.add(scc);
+                    }
+                }
+            }
+        }
+    }
+
+    // ---------------- Bottom-up-Ausführung ----------------
+
+    /**
+     * Führt task für jede Funktion aus, sobald alle von ihr aufgerufenen Funktionen fertig sind.
+     * Funktionen einer SCC laufen nacheinander in einem Task; unabhängige SCCs laufen parallel.
+     */
+    public void runBottomUp(Consumer<SymbolTableBuilder.Symbol> task, ExecutorService executor) throws InterruptedException {
+        int m = sccs.size();
+        if (m == 0) return;
+        // SCC-Kondensation: Aufrufer-Listen und Anzahl offener Aufgerufener
+        int[] pending = new int[m];
+        List<int[]> callers = new ArrayList<>(m);
+        List<List<Integer>> callerLists = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) callerLists.add(new ArrayList<>());
+        for (int s = 0; s < m; s++) {
+            Set<Integer> seen = new HashSet<>();
+            for (int f : sccs.get(s)) {
+                for (int c : callees[f]) {
+                    int t = sccOf[c];
+                    if (t != s && seen.add(t)) { pending[s]++; callerLists.get(t).add(s); }
+                }
+            }
+        }
+        for (List<Integer> l : callerLists) callers.add(l.stream().mapToInt(Integer::intValue).toArray());
+
+        AtomicIntegerArray open = new AtomicIntegerArray(pending);
+        CountDownLatch done = new CountDownLatch(m);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        IntConsumer[] submit = new IntConsumer[1];
+        submit[0] = s -> executor.execute(() -> {
+            try {
+                if (failure.get() == null) for (int f : sccs.get(s)) task.accept(functions.get(f));
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                for (int caller : callers.get(s)) if (open.decrementAndGet(caller) == 0) submit[0].accept(caller);
+                done.countDown();
+            }
+        });
+        for (int s = 0; s < m; s++) if (pending[s] == 0) submit[0].accept(s);
+        done.await();
+        if (failure.get() != null) throw new RuntimeException("Bottom-up-Task fehlgeschlagen", failure.get());
+    }
+
+    /** Sequentielle Variante in SCC-Reihenfolge. */
+    public void runBottomUp(Consumer<SymbolTableBuilder.Symbol> task) {
+        for (int[] scc : sccs) for (int f : scc) task.accept(functions.get(f));
+    }
+}
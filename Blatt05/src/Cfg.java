@@ -0,0 +1,203 @@
+import java.util.*;
+
+/**
+ * Kontrollflussgraph einer Funktion (bzw. der Top-Level-Anweisungen) auf AST-Ebene.
+ *
+ * Ein Grundblock enthält seine Anweisungen (VarDecl, Assign, IndexAssign, ExprStmt, ReturnStmt) in
+ * Ausführungsreihenfolge; die Bedingung eines if/while steht als Expr am Ende des Blocks, der
+ * verzweigt. Block 0 ist der Eintritt, Block 1 der gemeinsame Austritt. Code nach einem return
+ * landet in Blöcken ohne Vorgänger. Geschachtelte FnDecls gehören nicht dazu.
+ *
+ * Variablen werden über ihre Resolver-Slots angesprochen; {@link #slots} ist die Framegröße.
+ */
+public final class Cfg {
+
+    public static final int ENTRY = 0, EXIT = 1;
+
+    public static final class BasicBlock {
+        public final int id;
+        public final List<MiniCCompiler.Node> items = new ArrayList<>();
+        public final Ssa.IntList succs = new Ssa.IntList(), preds = new Ssa.IntList();
+
+        BasicBlock(int id) { this.id = id; }
+    }
+
+    public final List<BasicBlock> blocks = new ArrayList<>();
+    public final int slots, params;
+    public final String name;
+    private int cur;
+
+    private Cfg(String name, int slots, int params) {
+        this.name = name;
+        this.slots = slots;
+        this.params = params;
+        newBlock();
+        newBlock();
+        cur = newBlock();
+        edge(ENTRY, cur);
+    }
+
+    /** CFG eines aufgelösten Funktionsrumpfs; Parameter belegen die Slots 0..params-1. */
+    public static Cfg of(MiniCCompiler.FnDecl fd) {
+        Cfg cfg = new Cfg(fd.name, fd.frameSize, fd.params.size());
+        cfg.statements(fd.body.statements);
+        cfg.edge(cfg.cur, EXIT);
+        return cfg;
+    }
+
+    /** CFG der Top-Level-Anweisungen; erfasst werden nur die lokalen Slots des Hauptframes. */
+    public static Cfg ofProgram(List<MiniCCompiler.Stmt> program, Resolver resolver) {
+        Cfg cfg = new Cfg("<main>", resolver.mainFrameSize(), 0);
+        cfg.statements(program);
+        cfg.edge(cfg.cur, EXIT);
+        return cfg;
+    }
+
+    public int size() { return blocks.size(); }
+
+    public BasicBlock block(int id) { return blocks.get(id); }
+
+    private void statements(List<MiniCCompiler.Stmt> stmts) {
+        for (MiniCCompiler.Stmt s : stmts) stmt(s);
+    }
+
+    private void stmt(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.FnDecl) return; // eigener CFG
+        if (stmt instanceof MiniCCompiler.Block bl) {
+            statements(bl.statements);
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            int cond = cur;
+            blocks.get(cond).items.add(ifs.condition);
+            int join = newBlock();
+            cur = newBlock();
+            edge(cond, cur);
+            statements(ifs.thenBranch.statements);
+            edge(cur, join);
+            if (ifs.elseBranch != null) {
+                cur = newBlock();
+                edge(cond, cur);
+                statements(ifs.elseBranch.statements);
+                edge(cur, join);
+            } else {
+                edge(cond, join);
+            }
+            cur = join;
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            int head = newBlock();
+            edge(cur, head);
+            blocks.get(head).items.add(ws.condition);
+            int after = newBlock();
+            cur = newBlock();
+            edge(head, cur);
+            statements(ws.body.statements);
+            edge(cur, head);
+            edge(head, after);
+            cur = after;
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt) {
+            blocks.get(cur).items.add(stmt);
+            edge(cur, EXIT);
+            cur = newBlock(); // unerreichbar
+        } else {
+            blocks.get(cur).items.add(stmt);
+        }
+    }
+
+    private int newBlock() {
+        blocks.add(new BasicBlock(blocks.size()));
+        return blocks.size() - 1;
+    }
+
+    private void edge(int from, int to) {
+        blocks.get(from).succs.add(to);
+        blocks.get(to).preds.add(from);
+    }
+
+    // ---------------- Slots je Element ----------------
+
+    /** Slot, den das Element schreibt (VarDecl, lokales Assign), sonst -1. */
+    public static int def(MiniCCompiler.Node item) {
+        if (item instanceof MiniCCompiler.VarDecl vd && !vd.global) return vd.slot;
+        if (item instanceof MiniCCompiler.Assign as && !as.global) return as.slot;
+        return -1;
+    }
+
+    /** Lokale Variablen, die das Element liest, in Auswertungsreihenfolge. */
+    public static void uses(MiniCCompiler.Node item, List<MiniCCompiler.Variable> out) {
+        if (item instanceof MiniCCompiler.Expr e) uses(e, out);
+        else if (item instanceof MiniCCompiler.VarDecl vd) { if (vd.initializer != null) uses(vd.initializer, out); }
+        else if (item instanceof MiniCCompiler.Assign as) uses(as.value, out);
+        else if (item instanceof MiniCCompiler.IndexAssign ia) { uses(ia.array, out); uses(ia.index, out); uses(ia.value, out); }
+        else if (item instanceof MiniCCompiler.ExprStmt es) uses(es.expr, out);
+        else if (item instanceof MiniCCompiler.ReturnStmt rs) { if (rs.value != null) uses(rs.value, out); }
+    }
+
+    private static void uses(MiniCCompiler.Expr e, List<MiniCCompiler.Variable> out) {
+        if (e instanceof MiniCCompiler.Variable v) {
+            if (!v.global) out.add(v);
+        } else if (e instanceof MiniCCompiler.Binary b) {
+            uses(b.left, out);
+            uses(b.right, out);
+        } else if (e instanceof MiniCCompiler.Index ix) {
+            uses(ix.array, out);
+            uses(ix.index, out);
+        } else if (e instanceof MiniCCompiler.NewArray na) {
+            uses(na.length, out);
+        } else if (e instanceof MiniCCompiler.Call c) {
+            for (MiniCCompiler.Expr a : c.args) uses(a, out);
+        }
+    }
+
+    /** Vom Eintritt aus erreichbare Blöcke. */
+    public boolean[] reachable() {
+        boolean[] seen = new boolean[blocks.size()];
+        Ssa.IntList work = new Ssa.IntList();
+        work.add(ENTRY);
+        seen[ENTRY] = true;
+        while (work.size() > 0) {
+            int b = work.last();
+            work.size--;
+            Ssa.IntList succs = blocks.get(b).succs;
+            for (int k = 0; k < succs.size(); k++) {
+                int s = succs.get(k);
+                if (!seen[s]) {
+                    seen[s] = true;
+                    work.add(s);
+                }
+            }
+        }
+        return seen;
+    }
+
+    /** Reihenfolge für Vorwärtsanalysen (umgekehrte Postorder ab dem Eintritt, danach der Rest). */
+    public int[] reversePostorder() {
+        int n = blocks.size();
+        int[] order = new int[n];
+        boolean[] seen = new boolean[n];
+        int pos = n;
+        // iterativ: Stack aus (Block, nächster Nachfolger)
+        int[] stack = new int[n], next = new int[n];
+        int sp = 0;
+        stack[sp++] = ENTRY;
+        seen[ENTRY] = true;
+        while (sp > 0) {
+            int b = stack[sp - 1];
+            Ssa.IntList succs = blocks.get(b).succs;
+            if (next[b] < succs.size()) {
+                int s = succs.get(next[b]++);
+                if (!seen[s]) {
+                    seen[s] = true;
+                    stack[sp++] = s;
+                }
+            } else {
+                sp--;
+                order[--pos] = b;
+            }
+        }
+        // unerreichbare Blöcke voranstellen, damit jeder Block genau einmal vorkommt
+        int[] out = new int[n];
+        int k = 0;
+        for (int b = 0; b < n; b++) if (!seen[b]) out[k++] = b;
+        System.arraycopy(order, pos, out, k, n - pos);
+        return out;
+    }
+}
@@ -0,0 +1,296 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Minimaler Writer für JVM-Classfiles (nur was {@link JvmCompiler} braucht).
+ *
+ * Erzeugt Version 49 (Java 5): dafür verlangt die JVM keine StackMapTable-Frames, und der
+ * Verifier rechnet die Typen selbst aus. Die maximale Stacktiefe wird beim Emittieren
+ * mitgezählt; Sprünge nutzen 16-Bit-Offsets.
+ */
+final class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001, ACC_PRIVATE = 0x0002, ACC_STATIC = 0x0008, ACC_FINAL = 0x0010,
+            ACC_SUPER = 0x0020;
+
+    // Opcodes
+    static final int ICONST_0 = 0x03, BIPUSH = 0x10, SIPUSH = 0x11, LDC = 0x12, LDC_W = 0x13,
+            ILOAD = 0x15, ALOAD = 0x19, IALOAD = 0x2e, AALOAD = 0x32, ISTORE = 0x36, ASTORE = 0x3a,
+            IASTORE = 0x4f, AASTORE = 0x53, POP = 0x57, DUP = 0x59, SWAP = 0x5f,
+            IADD = 0x60, ISUB = 0x64, IMUL = 0x68, IDIV = 0x6c, IXOR = 0x82,
+            IFEQ = 0x99, IFNE = 0x9a, IF_ICMPEQ = 0x9f, IF_ICMPNE = 0xa0, IF_ICMPLT = 0xa1, IF_ICMPGE = 0xa2,
+            IF_ICMPGT = 0xa3, IF_ICMPLE = 0xa4, GOTO = 0xa7, IRETURN = 0xac, ARETURN = 0xb0, RETURN = 0xb1,
+            GETSTATIC = 0xb2, PUTSTATIC = 0xb3, GETFIELD = 0xb4, PUTFIELD = 0xb5, INVOKEVIRTUAL = 0xb6,
+            INVOKESTATIC = 0xb8, CHECKCAST = 0xc0, IINC = 0x84, WIDE = 0xc4;
+
+    private final String name;
+    private final List<byte[]> poolEntries = new ArrayList<>();
+    private final Map<String, Integer> poolIndex = new HashMap<>();
+    private final ByteArrayOutputStream fields = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+    private int fieldCount, methodCount;
+    private final int thisClass, superClass;
+
+    ClassFileWriter(String internalName) {
+        this.name = internalName;
+        this.thisClass = classRef(internalName);
+        this.superClass = classRef("java/lang/Object");
+    }
+
+    String name() { return name; }
+
+    // ---------------- Konstantenpool ----------------
+
+    private int constant(String key, Writer w) {
+        Integer idx = poolIndex.get(key);
+        if (idx != null) return idx;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            w.write(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        poolEntries.add(bytes.toByteArray());
+        int i = poolEntries.size(); // Index 0 ist reserviert
+        if (i > 0xffff) throw new RuntimeException("Konstantenpool zu groß");
+        poolIndex.put(key, i);
+        return i;
+    }
+
+    private interface Writer { void write(DataOutputStream out) throws IOException; }
+
+    int utf8(String s) { return constant("U" + s, o -> { o.writeByte(1); o.writeUTF(s); }); }
+
+    int integer(int v) { return constant("I" + v, o -> { o.writeByte(3); o.writeInt(v); }); }
+
+    int classRef(String internalName) {
+        int n = utf8(internalName);
+        return constant("C" + internalName, o -> { o.writeByte(7); o.writeShort(n); });
+    }
+
+    int string(String s) {
+        int n = utf8(s);
+        return constant("S" + s, o -> { o.writeByte(8); o.writeShort(n); });
+    }
+
+    private int nameAndType(String n, String desc) {
+        int a = utf8(n), b = utf8(desc);
+        return constant("N" + n + ":" + desc, o -> { o.writeByte(12); o.writeShort(a); o.writeShort(b); });
+    }
+
+    private int memberRef(int tag, String owner, String n, String desc) {
+        int c = classRef(owner), nt = nameAndType(n, desc);
+        return constant(tag + owner + "." + n + ":" + desc, o -> { o.writeByte(tag); o.writeShort(c); o.writeShort(nt); });
+    }
+
+    int fieldRef(String owner, String n, String desc) { return memberRef(9, owner, n, desc); }
+
+    int methodRef(String owner, String n, String desc) { return memberRef(10, owner, n, desc); }
+
+    // ---------------- Felder und Methoden ----------------
+
+    void field(int access, String n, String desc) {
+        DataOutputStream out = new DataOutputStream(fields);
+        try {
+            out.writeShort(access);
+            out.writeShort(utf8(n));
+            out.writeShort(utf8(desc));
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        fieldCount++;
+    }
+
+    /** Beginnt eine Methode; sie wird mit {@link Code#end()} in die Klasse übernommen. */
+    Code method(int access, String n, String desc, int maxLocals) {
+        return new Code(access, n, desc, maxLocals);
+    }
+
+    byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(49);
+            out.writeShort(poolEntries.size() + 1);
+            for (byte[] e : poolEntries) out.write(e);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(0); // Interfaces
+            out.writeShort(fieldCount);
+            fields.writeTo(out);
+            out.writeShort(methodCount);
+            methods.writeTo(out);
+            out.writeShort(0); // Attribute
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Sprungziel. */
+    static final class Label {
+        int pos = -1;
+        int stack = -1; // Stacktiefe am Ziel
+        final List<int[]> fixups = new ArrayList<>(); // {Position des Opcodes, Position des Offsets}
+    }
+
+    /** Bytecode einer Methode. Zählt die Stacktiefe mit, um max_stack zu bestimmen. */
+    final class Code {
+        private final int access;
+        private final String methodName, desc;
+        private final int maxLocals;
+        private byte[] code = new byte[64];
+        private int size, stack, maxStack;
+
+        private Code(int access, String methodName, String desc, int maxLocals) {
+            this.access = access;
+            this.methodName = methodName;
+            this.desc = desc;
+            this.maxLocals = maxLocals;
+        }
+
+        private void u1(int b) {
+            if (size == code.length) code = Arrays.copyOf(code, size * 2);
+            code[size++] = (byte) b;
+        }
+
+        private void u2(int v) {
+            u1(v >>> 8);
+            u1(v);
+        }
+
+        private void adjust(int delta) {
+            stack += delta;
+            maxStack = Math.max(maxStack, stack);
+        }
+
+        /** Opcode ohne Operanden mit seiner Auswirkung auf die Stacktiefe. */
+        void op(int opcode, int delta) {
+            u1(opcode);
+            adjust(delta);
+        }
+
+        void iconst(int v) {
+            if (v >= -1 && v <= 5) u1(ICONST_0 + v);
+            else if (v >= Byte.MIN_VALUE && v <= Byte.MAX_VALUE) { u1(BIPUSH); u1(v); }
+            else if (v >= Short.MIN_VALUE && v <= Short.MAX_VALUE) { u1(SIPUSH); u2(v); }
+            else ldc(integer(v));
+            adjust(1);
+        }
+
+        void sconst(String s) {
+            ldc(string(s));
+            adjust(1);
+        }
+
+        private void ldc(int idx) {
+            if (idx <= 0xff) { u1(LDC); u1(idx); }
+            else { u1(LDC_W); u2(idx); }
+        }
+
+        /** ILOAD/ALOAD/ISTORE/ASTORE mit Slot; ab Slot 256 mit WIDE-Präfix. */
+        void local(int opcode, int slot) {
+            if (slot > 0xffff) throw new RuntimeException("Zu viele lokale Variablen in " + methodName);
+            if (slot > 0xff) { u1(WIDE); u1(opcode); u2(slot); }
+            else { u1(opcode); u1(slot); }
+            adjust(opcode == ILOAD || opcode == ALOAD ? 1 : -1);
+        }
+
+        /** Addiert delta (16 Bit) auf eine int-Lokale, ohne den Stack zu berühren. */
+        void iinc(int slot, int delta) {
+            if (slot > 0xffff) throw new RuntimeException("Zu viele lokale Variablen in " + methodName);
+            if (slot <= 0xff && delta >= Byte.MIN_VALUE && delta <= Byte.MAX_VALUE) { u1(IINC); u1(slot); u1(delta); }
+            else { u1(WIDE); u1(IINC); u2(slot); u2(delta); }
+        }
+
+        void field(int opcode, String owner, String n, String fieldDesc) {
+            u1(opcode);
+            u2(fieldRef(owner, n, fieldDesc));
+            adjust(switch (opcode) {
+                case GETSTATIC -> 1;
+                case PUTSTATIC -> -1;
+                case GETFIELD -> 0;
+                default -> -2; // PUTFIELD
+            });
+        }
+
+        void checkcast(String internalName) {
+            u1(CHECKCAST);
+            u2(classRef(internalName));
+        }
+
+        /** Methodenaufruf; delta = Rückgabewerte - Argumente (inkl. Empfänger). */
+        void invoke(int opcode, String owner, String n, String methodDesc, int delta) {
+            u1(opcode);
+            u2(methodRef(owner, n, methodDesc));
+            adjust(delta);
+        }
+
+        /** Sprung; delta ist die Auswirkung des Sprungbefehls selbst (z.B. -2 für IF_ICMPxx). */
+        void jump(int opcode, Label target, int delta) {
+            int at = size;
+            u1(opcode);
+            adjust(delta);
+            if (target.stack < 0) target.stack = stack;
+            if (target.pos >= 0) {
+                u2(offset(at, target.pos));
+            } else {
+                target.fixups.add(new int[]{at, size});
+                u2(0);
+            }
+            if (opcode == GOTO) stack = -1; // folgender Code nur über ein Label erreichbar
+        }
+
+        void mark(Label l) {
+            l.pos = size;
+            if (stack < 0) stack = Math.max(l.stack, 0);
+            else if (l.stack < 0) l.stack = stack;
+            for (int[] f : l.fixups) {
+                int off = offset(f[0], l.pos);
+                code[f[1]] = (byte) (off >>> 8);
+                code[f[1] + 1] = (byte) off;
+            }
+            l.fixups.clear();
+        }
+
+        /** Nach return: der folgende (tote) Code beginnt mit leerem Stack. */
+        void terminate(int opcode) {
+            u1(opcode);
+            stack = 0;
+        }
+
+        private int offset(int from, int to) {
+            int off = to - from;
+            if (off < Short.MIN_VALUE || off > Short.MAX_VALUE) throw new RuntimeException("Methode zu groß: " + methodName);
+            return off;
+        }
+
+        void end() {
+            if (size > 0xffff) throw new RuntimeException("Methode zu groß: " + methodName);
+            DataOutputStream out = new DataOutputStream(methods);
+            try {
+                out.writeShort(access);
+                out.writeShort(utf8(methodName));
+                out.writeShort(utf8(desc));
+                out.writeShort(1);
+                out.writeShort(utf8("Code"));
+                out.writeInt(12 + size);
+                out.writeShort(maxStack);
+                out.writeShort(maxLocals);
+                out.writeInt(size);
+                out.write(code, 0, size);
+                out.writeShort(0); // Exception-Tabelle
+                out.writeShort(0); // Attribute
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            methodCount++;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+import java.util.*;
+
+/**
+ * Closure-Compilation: übersetzt den (vom {@link Resolver} annotierten) AST einmalig in einen Baum
+ * aus Lambdas, die bereits auf Operator, Operandentyp und Slot spezialisiert sind.
+ *
+ * Zur Laufzeit gibt es damit weder instanceof-Ketten noch switch über Operatoren; jeder Knoten
+ * ruft nur noch seine Kind-Closures auf. Frames wie im {@link Interpreter}.
+ */
+public class ClosureCompiler {
+
+    @FunctionalInterface interface IntCode { int eval(Interpreter.Frame f); }
+    @FunctionalInterface interface BoolCode { boolean test(Interpreter.Frame f); }
+    @FunctionalInterface interface RefCode { Object eval(Interpreter.Frame f); }
+    /** Liefert {@link Interpreter#RETURNED}, wenn ein return ausgeführt wurde. */
+    @FunctionalInterface interface StmtCode { boolean exec(Interpreter.Frame f); }
+
+    /** Übersetzte Funktion; body wird erst nach allen Deklarationen gesetzt (Rekursion). */
+    static final class Function {
+        final int frameSize;
+        StmtCode body;
+        Function(int frameSize) { this.frameSize = frameSize; }
+    }
+
+    /** Ein übersetztes, ausführbares Programm. */
+    public static final class Program {
+        private final StmtCode main;
+        private final Resolver resolver;
+        private final Interpreter.Frame globals;
+        private final Map<MiniCCompiler.FnDecl, Function> functions;
+        private final Tasks tasks;
+
+        private Program(StmtCode main, Resolver resolver, Interpreter.Frame globals, Map<MiniCCompiler.FnDecl, Function> functions, Tasks tasks) {
+            this.main = main;
+            this.resolver = resolver;
+            this.globals = globals;
+            this.functions = functions;
+            this.tasks = tasks;
+        }
+
+        public void run() {
+            try {
+                main.exec(new Interpreter.Frame(resolver.mainFrameSize()));
+                tasks.joinAll();
+            } finally {
+                Builtins.flush();
+            }
+        }
+
+        /** Wert einer globalen Variablen (geboxt, nur zur Ausgabe/Inspektion). */
+        public Object global(String name) {
+            MiniCCompiler.VarDecl vd = resolver.global(name);
+            if (vd == null) throw new RuntimeException("Keine globale Variable '" + name + "'");
+            return Interpreter.box(vd.type, globals, vd.slot);
+        }
+
+        /** Ruft eine Top-Level-Funktion mit int-Argumenten auf und liefert das int-Ergebnis. */
+        public int callInt(String name, int... args) {
+            MiniCCompiler.FnDecl fd = resolver.function(name);
+            if (fd == null) throw new RuntimeException("Keine Funktion '" + name + "'");
+            Function fn = functions.get(fd);
+            Interpreter.Frame f = new Interpreter.Frame(fn.frameSize);
+            System.arraycopy(args, 0, f.ints, 0, args.length);
+            fn.body.exec(f);
+            return f.retInt;
+        }
+    }
+
+    private final Interpreter.Frame globals;
+    private final Map<MiniCCompiler.FnDecl, Function> functions = new IdentityHashMap<>();
+    private final Tasks tasks = new Tasks(true);
+
+    private ClosureCompiler(Resolver r) { this.globals = new Interpreter.Frame(r.globalCount()); }
+
+    public static Program compile(List<MiniCCompiler.Stmt> program) {
+        Resolver r = Resolver.resolve(program);
+        ClosureCompiler c = new ClosureCompiler(r);
+        for (MiniCCompiler.FnDecl fd : r.functions()) c.functions.put(fd, new Function(fd.frameSize));
+        for (MiniCCompiler.FnDecl fd : r.functions()) c.functions.get(fd).body = c.stmt(fd.body);
+        StmtCode main = c.block(program);
+        return new Program(main, r, c.globals, c.functions, c.tasks);
+    }
+
+    // ---------------- Anweisungen ----------------
+
+    private StmtCode stmt(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            if (vd.initializer != null) return store(vd.initializer, vd.global, vd.slot);
+            int slot = vd.slot;
+            Interpreter.Frame g = globals;
+            if (vd.type == MiniCCompiler.PrimType.STRING) {
+                return vd.global ? f -> { g.refs[slot] = ""; return false; } : f -> { f.refs[slot] = ""; return false; };
+            }
+            if (vd.type == MiniCCompiler.PrimType.INT_ARRAY) {
+                int[] empty = IntArrays.EMPTY;
+                return vd.global ? f -> { g.refs[slot] = empty; return false; } : f -> { f.refs[slot] = empty; return false; };
+            }
+            return vd.global ? f -> { g.ints[slot] = 0; return false; } : f -> { f.ints[slot] = 0; return false; };
+
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            return store(as.value, as.global, as.slot);
+
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            return indexStore(ia);
+
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            return block(bl.statements);
+
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            BoolCode cond = cond(ws.condition);
+            StmtCode body = stmt(ws.body);
+            return f -> {
+                while (cond.test(f)) {
+                    if (body.exec(f)) return Interpreter.RETURNED;
+                }
+                return Interpreter.NORMAL;
+            };
+
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            BoolCode cond = cond(ifs.condition);
+            StmtCode then = stmt(ifs.thenBranch);
+            if (ifs.elseBranch == null) return f -> cond.test(f) && then.exec(f);
+            StmtCode otherwise = stmt(ifs.elseBranch);
+            return f -> cond.test(f) ? then.exec(f) : otherwise.exec(f);
+
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            if (rs.value == null) return f -> Interpreter.RETURNED;
+            if (rs.value.type.ref()) {
+                RefCode v = ref(rs.value);
+                return f -> { f.retRef = v.eval(f); return Interpreter.RETURNED; };
+            }
+            IntCode v = intCode(rs.value);
+            return f -> { f.retInt = v.eval(f); return Interpreter.RETURNED; };
+
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            if (es.expr.type.ref()) {
+                RefCode v = ref(es.expr);
+                return f -> { v.eval(f); return Interpreter.NORMAL; };
+            }
+            IntCode v = intCode(es.expr);
+            return f -> { v.eval(f); return Interpreter.NORMAL; };
+
+        } else if (stmt instanceof MiniCCompiler.FnDecl) {
+            return f -> Interpreter.NORMAL; // wird über Call.target aufgerufen
+        }
+        throw new RuntimeException("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+    }
+
+    private StmtCode block(List<MiniCCompiler.Stmt> statements) {
+        List<StmtCode> list = new ArrayList<>();
+        for (MiniCCompiler.Stmt s : statements) if (!(s instanceof MiniCCompiler.FnDecl)) list.add(stmt(s));
+        StmtCode[] code = list.toArray(new StmtCode[0]);
+        switch (code.length) {
+            case 0: return f -> Interpreter.NORMAL;
+            case 1: return code[0];
+            case 2: {
+                StmtCode a = code[0], b = code[1];
+                return f -> a.exec(f) || b.exec(f);
+            }
+            case 3: {
+                StmtCode a = code[0], b = code[1], c = code[2];
+                return f -> a.exec(f) || b.exec(f) || c.exec(f);
+            }
+            default:
+                return f -> {
+                    for (StmtCode s : code) if (s.exec(f)) return Interpreter.RETURNED;
+                    return Interpreter.NORMAL;
+                };
+        }
+    }
+
+    private StmtCode store(MiniCCompiler.Expr value, boolean global, int slot) {
+        Interpreter.Frame g = globals;
+        if (value.type.ref()) {
+            RefCode v = ref(value);
+            return global ? f -> { g.refs[slot] = v.eval(f); return false; } : f -> { f.refs[slot] = v.eval(f); return false; };
+        }
+        // x = x + k
+        if (!global && value instanceof MiniCCompiler.Binary b && b.op == MiniCCompiler.Operator.PLUS
+                && isLocal(b.left, slot) && b.right instanceof MiniCCompiler.IntLiteral k) {
+            int inc = k.value;
+            return f -> { f.ints[slot] += inc; return false; };
+        }
+        IntCode v = intCode(value);
+        return global ? f -> { g.ints[slot] = v.eval(f); return false; } : f -> { f.ints[slot] = v.eval(f); return false; };
+    }
+
+    /** a[i] = v; ohne Prüfung, wenn BoundsCheckElimination den Index bewiesen hat (die JVM prüft trotzdem). */
+    private StmtCode indexStore(MiniCCompiler.IndexAssign ia) {
+        IntCode i = intCode(ia.index), v = intCode(ia.value);
+        if (ia.unchecked && ia.array instanceof MiniCCompiler.Variable a && !a.global) {
+            int slot = a.slot;
+            return f -> { ((int[]) f.refs[slot])[i.eval(f)] = v.eval(f); return false; };
+        }
+        RefCode a = ref(ia.array);
+        if (ia.unchecked) return f -> { ((int[]) a.eval(f))[i.eval(f)] = v.eval(f); return false; };
+        return f -> { IntArrays.set((int[]) a.eval(f), i.eval(f), v.eval(f), ia); return false; };
+    }
+
+    private static boolean isLocal(MiniCCompiler.Expr e, int slot) {
+        return e instanceof MiniCCompiler.Variable v && !v.global && v.slot == slot;
+    }
+
+    // ---------------- Ausdrücke ----------------
+
+    /** int- und bool-Ausdrücke (bool als 0/1). */
+    private IntCode intCode(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.IntLiteral il) {
+            int v = il.value;
+            return f -> v;
+        } else if (e instanceof MiniCCompiler.BoolLiteral bl) {
+            int v = bl.value ? 1 : 0;
+            return f -> v;
+        } else if (e instanceof MiniCCompiler.Variable v) {
+            int slot = v.slot;
+            if (v.global) {
+                int[] g = globals.ints;
+                return f -> g[slot];
+            }
+            return f -> f.ints[slot];
+        } else if (e instanceof MiniCCompiler.Binary b) {
+            if (b.type == MiniCCompiler.PrimType.BOOL) {
+                BoolCode c = cond(b);
+                return f -> c.test(f) ? 1 : 0;
+            }
+            return arithmetic(b);
+        } else if (e instanceof MiniCCompiler.Index ix) {
+            return index(ix);
+        } else if (e instanceof MiniCCompiler.Call c && c.builtin != null) {
+            return builtin(c);
+        } else if (e instanceof MiniCCompiler.Spawn s) {
+            return spawn(s);
+        } else if (e instanceof MiniCCompiler.Call c) {
+            CallCode k = call(c);
+            return f -> k.invoke(f).retInt;
+        }
+        throw new RuntimeException("Kein int/bool-Ausdruck: " + e);
+    }
+
+    private IntCode index(MiniCCompiler.Index ix) {
+        IntCode i = intCode(ix.index);
+        if (ix.unchecked && ix.array instanceof MiniCCompiler.Variable a && !a.global) {
+            int slot = a.slot;
+            return f -> ((int[]) f.refs[slot])[i.eval(f)];
+        }
+        RefCode a = ref(ix.array);
+        if (ix.unchecked) return f -> ((int[]) a.eval(f))[i.eval(f)];
+        return f -> IntArrays.get((int[]) a.eval(f), i.eval(f), ix);
+    }
+
+    private IntCode arithmetic(MiniCCompiler.Binary b) {
+        // Spezialfälle mit lokaler Variable links und Konstante rechts
+        if (b.left instanceof MiniCCompiler.Variable v && !v.global && b.right instanceof MiniCCompiler.IntLiteral k) {
+            int slot = v.slot, c = k.value;
+            switch (b.op) {
+                case PLUS: return f -> f.ints[slot] + c;
+                case MINUS: return f -> f.ints[slot] - c;
+                case MUL: return f -> f.ints[slot] * c;
+                default: break;
+            }
+        }
+        IntCode l = intCode(b.left), r = intCode(b.right);
+        switch (b.op) {
+            case PLUS: return f -> l.eval(f) + r.eval(f);
+            case MINUS: return f -> l.eval(f) - r.eval(f);
+            case MUL: return f -> l.eval(f) * r.eval(f);
+            case DIV: {
+                if (b.nonZeroDivisor) return f -> l.eval(f) / r.eval(f);
+                String pos = b.pos();
+                return f -> {
+                    int x = l.eval(f), y = r.eval(f);
+                    if (y == 0) throw new RuntimeException("Division durch Null (" + pos + ")");
+                    return x / y;
+                };
+            }
+            default: throw new RuntimeException("Kein arithmetischer Operator: " + b.op);
+        }
+    }
+
+    /** Bedingungen werden direkt als boolean ausgewertet, ohne Umweg über 0/1. */
+    private BoolCode cond(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.Binary b && b.type == MiniCCompiler.PrimType.BOOL) {
+            if (b.left.type == MiniCCompiler.PrimType.STRING) {
+                RefCode l = ref(b.left), r = ref(b.right);
+                return b.op == MiniCCompiler.Operator.EQ ? f -> Rope.equal(l.eval(f), r.eval(f)) : f -> !Rope.equal(l.eval(f), r.eval(f));
+            }
+            if (b.left instanceof MiniCCompiler.Variable v && !v.global && b.right instanceof MiniCCompiler.IntLiteral k) {
+                int slot = v.slot, c = k.value;
+                switch (b.op) {
+                    case LT: return f -> f.ints[slot] < c;
+                    case GT: return f -> f.ints[slot] > c;
+                    case EQ: return f -> f.ints[slot] == c;
+                    case NEQ: return f -> f.ints[slot] != c;
+                    default: break;
+                }
+            }
+            IntCode l = intCode(b.left), r = intCode(b.right);
+            switch (b.op) {
+                case LT: return f -> l.eval(f) < r.eval(f);
+                case GT: return f -> l.eval(f) > r.eval(f);
+                case EQ: return f -> l.eval(f) == r.eval(f);
+                case NEQ: return f -> l.eval(f) != r.eval(f);
+                default: break;
+            }
+        } else if (e instanceof MiniCCompiler.BoolLiteral bl) {
+            boolean v = bl.value;
+            return f -> v;
+        }
+        IntCode v = intCode(e);
+        return f -> v.eval(f) != 0;
+    }
+
+    /** string- und int[]-Ausdrücke. */
+    private RefCode ref(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.StringLiteral sl) {
+            String v = sl.value;
+            return f -> v;
+        } else if (e instanceof MiniCCompiler.Variable v) {
+            int slot = v.slot;
+            if (v.global) {
+                Object[] g = globals.refs;
+                return f -> g[slot];
+            }
+            return f -> f.refs[slot];
+        } else if (e instanceof MiniCCompiler.Binary b) { // nur PLUS (Verkettung)
+            RefCode l = toStr(b.left), r = toStr(b.right);
+            return f -> Rope.concat(l.eval(f), r.eval(f));
+        } else if (e instanceof MiniCCompiler.NewArray na) {
+            IntCode n = intCode(na.length);
+            return f -> IntArrays.allocate(n.eval(f), na);
+        } else if (e instanceof MiniCCompiler.Call c) {
+            CallCode k = call(c);
+            return f -> k.invoke(f).retRef;
+        }
+        throw new RuntimeException("Kein string-Ausdruck: " + e);
+    }
+
+    private RefCode toStr(MiniCCompiler.Expr e) {
+        switch (e.type) {
+            case STRING: return ref(e);
+            case INT: {
+                IntCode v = intCode(e);
+                return f -> Integer.toString(v.eval(f));
+            }
+            default: {
+                BoolCode v = cond(e);
+                return f -> v.test(f) ? "true" : "false";
+            }
+        }
+    }
+
+    /** Eingebaute Funktion: die Closure ruft die statische Methode direkt auf. */
+    private IntCode builtin(MiniCCompiler.Call c) {
+        switch (c.builtin) {
+            case PRINT: {
+                RefCode s = ref(c.args.get(0));
+                return f -> Builtins.print(Rope.flat(s.eval(f)));
+            }
+            case PRINT_INT: {
+                IntCode v = intCode(c.args.get(0));
+                return f -> Builtins.printInt(v.eval(f));
+            }
+            case STRLEN: {
+                RefCode s = ref(c.args.get(0));
+                return f -> Rope.length(s.eval(f));
+            }
+            case JOIN: {
+                IntCode h = intCode(c.args.get(0));
+                return f -> tasks.join(h.eval(f));
+            }
+            default:
+                return f -> Builtins.readInt();
+        }
+    }
+
+    /** spawn: Argumente im aufrufenden Thread auswerten, den Rumpf als Task starten. */
+    private IntCode spawn(MiniCCompiler.Spawn s) {
+        Function fn = functions.get(s.target);
+        int n = s.args.size();
+        IntCode[] ints = new IntCode[n];
+        RefCode[] refs = new RefCode[n];
+        for (int i = 0; i < n; i++) {
+            MiniCCompiler.Expr a = s.args.get(i);
+            if (a.type.ref()) refs[i] = ref(a);
+            else ints[i] = intCode(a);
+        }
+        return f -> {
+            Interpreter.Frame callee = new Interpreter.Frame(fn.frameSize);
+            for (int i = 0; i < n; i++) {
+                if (ints[i] != null) callee.ints[i] = ints[i].eval(f);
+                else callee.refs[i] = refs[i].eval(f);
+            }
+            return tasks.spawn(() -> {
+                fn.body.exec(callee);
+                return callee.retInt;
+            });
+        };
+    }
+
+    /** Aufruf als Closure, die den Frame des Callees liefert (Ergebnis in retInt/retRef). */
+    private CallCode call(MiniCCompiler.Call c) {
+        Function fn = functions.get(c.target);
+        int n = c.args.size();
+        IntCode[] ints = new IntCode[n];
+        RefCode[] refs = new RefCode[n];
+        for (int i = 0; i < n; i++) {
+            MiniCCompiler.Expr a = c.args.get(i);
+            if (a.type.ref()) refs[i] = ref(a);
+            else ints[i] = intCode(a);
+        }
+        if (n == 1 && ints[0] != null) { // häufigster Fall: ein int-Argument
+            IntCode a = ints[0];
+            return f -> {
+                Interpreter.Frame callee = new Interpreter.Frame(fn.frameSize);
+                callee.ints[0] = a.eval(f);
+                fn.body.exec(callee);
+                return callee;
+            };
+        }
+        return f -> {
+            Interpreter.Frame callee = new Interpreter.Frame(fn.frameSize);
+            for (int i = 0; i < n; i++) {
+                if (ints[i] != null) callee.ints[i] = ints[i].eval(f);
+                else callee.refs[i] = refs[i].eval(f);
+            }
+            fn.body.exec(callee);
+            return callee;
+        };
+    }
+
+    @FunctionalInterface private interface CallCode { Interpreter.Frame invoke(Interpreter.Frame f); }
+}
@@ -0,0 +1,311 @@
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * AST-zu-AST-Optimierung: Konstantenfaltung und -propagation.
+ *
+ * - Binary-Knoten über Literalen werden ausgewertet. int-Arithmetik läuft wie zur Laufzeit im
+ *   Zweierkomplement (Überlauf wickelt um); eine Division durch 0 wird nicht gefaltet, damit der
+ *   Laufzeitfehler erhalten bleibt. Operanden unpassender Typen bleiben für die Typprüfung stehen.
+ * - Variablen, deren VarDecl nie Ziel eines Assign ist und deren Initialisierer (nach Faltung) ein
+ *   Literal ist, werden durch dieses Literal ersetzt.
+ * - IfStmt mit konstanter Bedingung wird durch den genommenen Zweig ersetzt, WhileStmt mit
+ *   Bedingung false entfällt.
+ *
+ * Das Ergebnis ist ein neuer AST; das Eingabeprogramm wird nicht verändert. Das Programm muss
+ * semantisch korrekt sein (Namen wie bei {@link SymbolTableBuilder} aufgelöst).
+ */
+public class ConstantFolder {
+
+    private final Set<MiniCCompiler.VarDecl> assigned = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<MiniCCompiler.VarDecl, MiniCCompiler.Expr> constants = new IdentityHashMap<>();
+    private Deque<Map<String, Object>> scopes = new ArrayDeque<>(); // Name -> VarDecl, Param oder FnDecl
+
+    private int foldedExpressions, propagatedConstants, prunedBranches, removedLoops, eliminatedNodes;
+
+    public List<MiniCCompiler.Stmt> optimize(List<MiniCCompiler.Stmt> program) {
+        // 1. Welche VarDecls werden irgendwo zugewiesen?
+        scopes.push(new HashMap<>());
+        for (MiniCCompiler.Stmt s : program) findAssignments(s);
+        // 2. Neuen AST aufbauen
+        scopes = new ArrayDeque<>();
+        scopes.push(new HashMap<>());
+        List<MiniCCompiler.Stmt> out = statements(program);
+        int before = 0, after = 0;
+        for (MiniCCompiler.Stmt s : program) before += AstHash.preorder(s).size();
+        for (MiniCCompiler.Stmt s : out) after += AstHash.preorder(s).size();
+        eliminatedNodes += before - after;
+        return out;
+    }
+
+    public int foldedExpressions() { return foldedExpressions; }
+    public int propagatedConstants() { return propagatedConstants; }
+    public int prunedBranches() { return prunedBranches; }
+    public int removedLoops() { return removedLoops; }
+    /** Anzahl AST-Knoten, die durch die Optimierung weggefallen sind (summiert über alle optimize-Aufrufe). */
+    public int eliminatedNodes() { return eliminatedNodes; }
+
+    @Override public String toString() {
+        return "gefaltet " + foldedExpressions + ", propagiert " + propagatedConstants + ", Zweige entfernt " + prunedBranches
+                + ", Schleifen entfernt " + removedLoops + ", Knoten eliminiert " + eliminatedNodes;
+    }
+
+    // ---------------- Namensauflösung ----------------
+
+    private Object lookup(String name) {
+        for (Map<String, Object> scope : scopes) {
+            Object b = scope.get(name);
+            if (b != null) return b;
+        }
+        return null;
+    }
+
+    private void enterFunction(MiniCCompiler.FnDecl fd) {
+        scopes.peek().put(fd.name, fd);
+        Map<String, Object> params = new HashMap<>();
+        for (MiniCCompiler.Param p : fd.params) params.put(p.name, p);
+        scopes.push(params);
+    }
+
+    // ---------------- 1. Zuweisungen finden ----------------
+
+    private void findAssignments(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            scopes.peek().put(vd.name, vd);
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            if (lookup(as.name) instanceof MiniCCompiler.VarDecl vd) assigned.add(vd);
+        } else if (stmt instanceof MiniCCompiler.FnDecl fd) {
+            enterFunction(fd);
+            findAssignments(fd.body);
+            scopes.pop();
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            scopes.push(new HashMap<>());
+            for (MiniCCompiler.Stmt s : bl.statements) findAssignments(s);
+            scopes.pop();
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            findAssignments(ws.body);
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            findAssignments(ifs.thenBranch);
+            if (ifs.elseBranch != null) findAssignments(ifs.elseBranch);
+        }
+    }
+
+    // ---------------- 2. Umbau ----------------
+
+    private List<MiniCCompiler.Stmt> statements(List<MiniCCompiler.Stmt> in) {
+        List<MiniCCompiler.Stmt> out = new ArrayList<>(in.size());
+        for (MiniCCompiler.Stmt s : in) {
+            MiniCCompiler.Stmt r = stmt(s);
+            if (r != null) out.add(r);
+        }
+        return out;
+    }
+
+    private MiniCCompiler.Block block(MiniCCompiler.Block bl) {
+        scopes.push(new HashMap<>());
+        MiniCCompiler.Block out = new MiniCCompiler.Block(statements(bl.statements), bl.line, bl.col);
+        scopes.pop();
+        return out;
+    }
+
+    /** Liefert die optimierte Anweisung oder null, wenn sie entfällt. */
+    private MiniCCompiler.Stmt stmt(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            MiniCCompiler.Expr init = vd.initializer != null ? expr(vd.initializer) : null;
+            MiniCCompiler.VarDecl out = new MiniCCompiler.VarDecl(vd.type, vd.name, init, vd.line, vd.col);
+            scopes.peek().put(vd.name, vd);
+            if (!assigned.contains(vd)) {
+                MiniCCompiler.Expr value = init != null ? init : defaultValue(vd.type, vd);
+                if (isLiteral(value) && literalType(value) == vd.type) constants.put(vd, value);
+            }
+            return out;
+
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            return new MiniCCompiler.Assign(as.name, expr(as.value), as.line, as.col);
+
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            return new MiniCCompiler.IndexAssign(expr(ia.array), expr(ia.index), expr(ia.value), ia.line, ia.col);
+
+        } else if (stmt instanceof MiniCCompiler.FnDecl fd) {
+            enterFunction(fd);
+            MiniCCompiler.Block body = block(fd.body);
+            scopes.pop();
+            return new MiniCCompiler.FnDecl(fd.returnType, fd.name, new ArrayList<>(fd.params), body, fd.line, fd.col);
+
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            return block(bl);
+
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            MiniCCompiler.Expr cond = expr(ws.condition);
+            if (cond instanceof MiniCCompiler.BoolLiteral b && !b.value) {
+                removedLoops++;
+                return null;
+            }
+            return new MiniCCompiler.WhileStmt(cond, block(ws.body), ws.line, ws.col);
+
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            MiniCCompiler.Expr cond = expr(ifs.condition);
+            if (cond instanceof MiniCCompiler.BoolLiteral b) {
+                prunedBranches++;
+                if (b.value) return block(ifs.thenBranch);
+                return ifs.elseBranch != null ? block(ifs.elseBranch) : null;
+            }
+            return new MiniCCompiler.IfStmt(cond, block(ifs.thenBranch), ifs.elseBranch != null ? block(ifs.elseBranch) : null,
+                    ifs.line, ifs.col);
+
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            return new MiniCCompiler.ReturnStmt(rs.value != null ? expr(rs.value) : null, rs.line, rs.col);
+
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            return new MiniCCompiler.ExprStmt(expr(es.expr), es.line, es.col);
+        }
+        throw new RuntimeException("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+    }
+
+    private MiniCCompiler.Expr expr(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.IntLiteral il) return new MiniCCompiler.IntLiteral(il.value, il.line, il.col);
+        if (e instanceof MiniCCompiler.BoolLiteral bl) return new MiniCCompiler.BoolLiteral(bl.value, bl.line, bl.col);
+        if (e instanceof MiniCCompiler.StringLiteral sl) return new MiniCCompiler.StringLiteral(sl.value, sl.line, sl.col);
+        if (e instanceof MiniCCompiler.Variable v) {
+            if (lookup(v.name) instanceof MiniCCompiler.VarDecl vd && constants.containsKey(vd)) {
+                propagatedConstants++;
+                return copyLiteral(constants.get(vd), v);
+            }
+            return new MiniCCompiler.Variable(v.name, v.line, v.col);
+        }
+        if (e instanceof MiniCCompiler.Binary b) {
+            MiniCCompiler.Expr l = expr(b.left), r = expr(b.right);
+            MiniCCompiler.Expr folded = fold(b.op, l, r, b);
+            if (folded != null) {
+                foldedExpressions++;
+                return folded;
+            }
+            return new MiniCCompiler.Binary(l, b.op, r, b.line, b.col);
+        }
+        if (e instanceof MiniCCompiler.NewArray na) return new MiniCCompiler.NewArray(expr(na.length), na.line, na.col);
+        if (e instanceof MiniCCompiler.Index ix) return new MiniCCompiler.Index(expr(ix.array), expr(ix.index), ix.line, ix.col);
+        if (e instanceof MiniCCompiler.Call c) {
+            List<MiniCCompiler.Expr> args = new ArrayList<>(c.args.size());
+            for (MiniCCompiler.Expr a : c.args) args.add(expr(a));
+            return c.withArgs(args);
+        }
+        throw new RuntimeException("Unbekannter Expression-Typ: " + e.getClass().getSimpleName());
+    }
+
+    // ---------------- Faltung ----------------
+
+    /** Wertet op über zwei Literalen aus; null, wenn nicht faltbar. */
+    static MiniCCompiler.Expr fold(MiniCCompiler.Operator op, MiniCCompiler.Expr l, MiniCCompiler.Expr r, MiniCCompiler.Node at) {
+        if (!isLiteral(l) || !isLiteral(r)) return null;
+        MiniCCompiler.PrimType lt = literalType(l), rt = literalType(r);
+        if (op == MiniCCompiler.Operator.PLUS && (lt == MiniCCompiler.PrimType.STRING || rt == MiniCCompiler.PrimType.STRING)) {
+            return new MiniCCompiler.StringLiteral(literalText(l).concat(literalText(r)), at.line, at.col);
+        }
+        if (op == MiniCCompiler.Operator.EQ || op == MiniCCompiler.Operator.NEQ) {
+            if (lt != rt) return null;
+            boolean eq = literalText(l).equals(literalText(r));
+            return new MiniCCompiler.BoolLiteral(eq == (op == MiniCCompiler.Operator.EQ), at.line, at.col);
+        }
+        if (lt != MiniCCompiler.PrimType.INT || rt != MiniCCompiler.PrimType.INT) return null;
+        int a = ((MiniCCompiler.IntLiteral) l).value, b = ((MiniCCompiler.IntLiteral) r).value;
+        return switch (op) {
+            case PLUS -> new MiniCCompiler.IntLiteral(a + b, at.line, at.col);
+            case MINUS -> new MiniCCompiler.IntLiteral(a - b, at.line, at.col);
+            case MUL -> new MiniCCompiler.IntLiteral(a * b, at.line, at.col);
+            case DIV -> b == 0 ? null : new MiniCCompiler.IntLiteral(a / b, at.line, at.col);
+            case LT -> new MiniCCompiler.BoolLiteral(a < b, at.line, at.col);
+            case GT -> new MiniCCompiler.BoolLiteral(a > b, at.line, at.col);
+            default -> null;
+        };
+    }
+
+    static boolean isLiteral(MiniCCompiler.Expr e) {
+        return e instanceof MiniCCompiler.IntLiteral || e instanceof MiniCCompiler.BoolLiteral || e instanceof MiniCCompiler.StringLiteral;
+    }
+
+    static MiniCCompiler.PrimType literalType(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.IntLiteral) return MiniCCompiler.PrimType.INT;
+        if (e instanceof MiniCCompiler.BoolLiteral) return MiniCCompiler.PrimType.BOOL;
+        return MiniCCompiler.PrimType.STRING;
+    }
+
+    /** Textdarstellung wie bei der Verkettung zur Laufzeit. */
+    static String literalText(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.IntLiteral il) return Integer.toString(il.value);
+        if (e instanceof MiniCCompiler.BoolLiteral bl) return bl.value ? "true" : "false";
+        return ((MiniCCompiler.StringLiteral) e).value;
+    }
+
+    private static MiniCCompiler.Expr defaultValue(MiniCCompiler.PrimType type, MiniCCompiler.Node at) {
+        return switch (type) {
+            case INT -> new MiniCCompiler.IntLiteral(0, at.line, at.col);
+            case BOOL -> new MiniCCompiler.BoolLiteral(false, at.line, at.col);
+            case STRING -> new MiniCCompiler.StringLiteral("", at.line, at.col);
+            case INT_ARRAY -> null; // kein Literal
+        };
+    }
+
+    /** Kopie eines Literals an der Position des ersetzten Knotens. */
+    static MiniCCompiler.Expr copyLiteral(MiniCCompiler.Expr lit, MiniCCompiler.Node at) {
+        if (lit instanceof MiniCCompiler.IntLiteral il) return new MiniCCompiler.IntLiteral(il.value, at.line, at.col);
+        if (lit instanceof MiniCCompiler.BoolLiteral bl) return new MiniCCompiler.BoolLiteral(bl.value, at.line, at.col);
+        return new MiniCCompiler.StringLiteral(((MiniCCompiler.StringLiteral) lit).value, at.line, at.col);
+    }
+
+    /**
+     * Tiefe Kopie einer Anweisung mit den Resolver-Annotationen type und global, die die
+     * AST-Pässe für ihre Analysen brauchen. Geschachtelte Blöcke kopiert block, so kann ein
+     * Pass Anweisungen darin beim Kopieren umbauen.
+     */
+    static MiniCCompiler.Stmt copy(MiniCCompiler.Stmt stmt, UnaryOperator<MiniCCompiler.Block> block) {
+        if (stmt instanceof MiniCCompiler.FnDecl fd) {
+            return new MiniCCompiler.FnDecl(fd.returnType, fd.name, new ArrayList<>(fd.params), block.apply(fd.body), fd.line, fd.col);
+        }
+        if (stmt instanceof MiniCCompiler.Block bl) return block.apply(bl);
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            MiniCCompiler.VarDecl out = new MiniCCompiler.VarDecl(vd.type, vd.name, vd.initializer != null ? copy(vd.initializer) : null, vd.line, vd.col);
+            out.global = vd.global;
+            return out;
+        }
+        if (stmt instanceof MiniCCompiler.Assign as) {
+            MiniCCompiler.Assign out = new MiniCCompiler.Assign(as.name, copy(as.value), as.line, as.col);
+            out.global = as.global;
+            return out;
+        }
+        if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            return new MiniCCompiler.IndexAssign(copy(ia.array), copy(ia.index), copy(ia.value), ia.line, ia.col);
+        }
+        if (stmt instanceof MiniCCompiler.WhileStmt ws) return new MiniCCompiler.WhileStmt(copy(ws.condition), block.apply(ws.body), ws.line, ws.col);
+        if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            return new MiniCCompiler.IfStmt(copy(ifs.condition), block.apply(ifs.thenBranch),
+                    ifs.elseBranch != null ? block.apply(ifs.elseBranch) : null, ifs.line, ifs.col);
+        }
+        if (stmt instanceof MiniCCompiler.ReturnStmt rs) return new MiniCCompiler.ReturnStmt(rs.value != null ? copy(rs.value) : null, rs.line, rs.col);
+        if (stmt instanceof MiniCCompiler.ExprStmt es) return new MiniCCompiler.ExprStmt(copy(es.expr), es.line, es.col);
+        throw new RuntimeException("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+    }
+
+    /** Tiefe Kopie eines Ausdrucks mit type und global. */
+    static MiniCCompiler.Expr copy(MiniCCompiler.Expr e) {
+        MiniCCompiler.Expr out;
+        if (e instanceof MiniCCompiler.Binary b) {
+            out = new MiniCCompiler.Binary(copy(b.left), b.op, copy(b.right), b.line, b.col);
+        } else if (e instanceof MiniCCompiler.Variable v) {
+            MiniCCompiler.Variable nv = new MiniCCompiler.Variable(v.name, v.line, v.col);
+            nv.global = v.global;
+            out = nv;
+        } else if (e instanceof MiniCCompiler.Call c) {
+            List<MiniCCompiler.Expr> args = new ArrayList<>(c.args.size());
+            for (MiniCCompiler.Expr a : c.args) args.add(copy(a));
+            out = c.withArgs(args);
+        } else if (e instanceof MiniCCompiler.Index ix) {
+            out = new MiniCCompiler.Index(copy(ix.array), copy(ix.index), ix.line, ix.col);
+        } else if (e instanceof MiniCCompiler.NewArray na) {
+            out = new MiniCCompiler.NewArray(copy(na.length), na.line, na.col);
+        } else {
+            out = copyLiteral(e, e);
+        }
+        out.type = e.type;
+        return out;
+    }
+}
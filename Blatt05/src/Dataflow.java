@@ -0,0 +1,144 @@
+import java.util.*;
+
+/**
+ * Worklist-Löser für Datenflussanalysen auf einem {@link Cfg}.
+ *
+ * Mengen sind Bitvektoren ({@code long[]}) über die Slots des Frames. Eine Analyse legt über
+ * {@link Problem} Richtung, Meet (Vereinigung oder Schnitt), den Randwert und die
+ * Transferfunktion eines Blocks fest. {@link #in} und {@link #out} sind unabhängig von der
+ * Richtung die Mengen am Anfang bzw. Ende eines Blocks.
+ */
+public final class Dataflow {
+
+    public interface Problem {
+        boolean forward();
+
+        /** true: Vereinigung ("auf irgendeinem Pfad"), false: Schnitt ("auf allen Pfaden"). */
+        boolean union();
+
+        /** Randwert: am Eintritt (vorwärts) bzw. Austritt (rückwärts); {@code set} ist leer. */
+        void boundary(long[] set);
+
+        /** Wendet den Block in Flussrichtung an: {@code to} aus {@code from} berechnen. */
+        void transfer(int block, long[] from, long[] to);
+    }
+
+    /** Klassische Gen/Kill-Analyse: to = gen ∪ (from \ kill). */
+    public abstract static class GenKill implements Problem {
+        protected final long[][] gen, kill;
+
+        protected GenKill(Cfg cfg) {
+            int words = words(cfg.slots);
+            gen = new long[cfg.size()][words];
+            kill = new long[cfg.size()][words];
+        }
+
+        @Override public void transfer(int block, long[] from, long[] to) {
+            long[] g = gen[block], k = kill[block];
+            for (int w = 0; w < to.length; w++) to[w] = g[w] | (from[w] & ~k[w]);
+        }
+    }
+
+    public final Cfg cfg;
+    public final long[][] in, out;
+    private int visits;
+    private double millis;
+
+    private Dataflow(Cfg cfg) {
+        this.cfg = cfg;
+        int words = words(cfg.slots);
+        in = new long[cfg.size()][words];
+        out = new long[cfg.size()][words];
+    }
+
+    public static Dataflow solve(Cfg cfg, Problem p) {
+        long t0 = System.nanoTime();
+        Dataflow df = new Dataflow(cfg);
+        df.run(p);
+        df.millis = (System.nanoTime() - t0) / 1e6;
+        return df;
+    }
+
+    /** Anzahl Blockauswertungen bis zum Fixpunkt. */
+    public int visits() { return visits; }
+    public double millis() { return millis; }
+
+    private void run(Problem p) {
+        int n = cfg.size(), words = words(cfg.slots);
+        boolean fwd = p.forward();
+        long[][] src = fwd ? in : out, dst = fwd ? out : in;
+        // Schnitt startet mit der vollen Menge (Top), Vereinigung mit der leeren
+        if (!p.union()) {
+            long[] all = full(cfg.slots);
+            for (int b = 0; b < n; b++) {
+                System.arraycopy(all, 0, in[b], 0, words);
+                System.arraycopy(all, 0, out[b], 0, words);
+            }
+        }
+        int start = fwd ? Cfg.ENTRY : Cfg.EXIT;
+        Arrays.fill(src[start], 0);
+        p.boundary(src[start]);
+
+        int[] rpo = cfg.reversePostorder();
+        int[] queue = new int[n];
+        boolean[] queued = new boolean[n];
+        int head = 0, count = n;
+        for (int k = 0; k < n; k++) {
+            int b = fwd ? rpo[k] : rpo[n - 1 - k];
+            queue[k] = b;
+            queued[b] = true;
+        }
+        long[] tmp = new long[words];
+        while (count > 0) {
+            int b = queue[head];
+            head = (head + 1) % n;
+            count--;
+            queued[b] = false;
+            visits++;
+            Ssa.IntList from = fwd ? cfg.block(b).preds : cfg.block(b).succs;
+            if (b != start && from.size() > 0) {
+                long[] s = src[b];
+                System.arraycopy(dst[from.get(0)], 0, s, 0, words);
+                for (int k = 1; k < from.size(); k++) {
+                    long[] o = dst[from.get(k)];
+                    if (p.union()) for (int w = 0; w < words; w++) s[w] |= o[w];
+                    else for (int w = 0; w < words; w++) s[w] &= o[w];
+                }
+            }
+            p.transfer(b, src[b], tmp);
+            if (!Arrays.equals(tmp, dst[b])) {
+                System.arraycopy(tmp, 0, dst[b], 0, words);
+                Ssa.IntList to = fwd ? cfg.block(b).succs : cfg.block(b).preds;
+                for (int k = 0; k < to.size(); k++) {
+                    int t = to.get(k);
+                    if (!queued[t]) {
+                        queued[t] = true;
+                        queue[(head + count) % n] = t;
+                        count++;
+                    }
+                }
+            }
+        }
+    }
+
+    // ---------------- Bitvektoren ----------------
+
+    public static int words(int bits) { return (bits + 63) >>> 6; }
+
+    public static long[] full(int bits) {
+        long[] s = new long[words(bits)];
+        Arrays.fill(s, -1L);
+        if ((bits & 63) != 0) s[s.length - 1] = (1L << bits) - 1; // Shift nutzt nur die unteren 6 Bit
+        return s;
+    }
+
+    public static boolean get(long[] s, int bit) { return (s[bit >>> 6] & (1L << bit)) != 0; }
+    public static void set(long[] s, int bit) { s[bit >>> 6] |= 1L << bit; }
+    public static void clear(long[] s, int bit) { s[bit >>> 6] &= ~(1L << bit); }
+
+    public static int cardinality(long[] s) {
+        int c = 0;
+        for (long w : s) c += Long.bitCount(w);
+        return c;
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.*;
+
+/**
+ * Definite Assignment (vorwärts, Schnitt): welche lokalen Slots haben auf allen Pfaden einen
+ * Wert bekommen? Parameter sind am Eintritt belegt, eine VarDecl ohne Initialisierer macht
+ * ihren Slot wieder unbelegt. Lesezugriffe auf möglicherweise unbelegte Slots werden als
+ * Warnung gemeldet; die Backends lesen dort den Standardwert des Typs.
+ */
+public final class DefiniteAssignment extends Dataflow.GenKill {
+
+    private final Cfg cfg;
+    private final Dataflow result;
+
+    public DefiniteAssignment(Cfg cfg) {
+        super(cfg);
+        this.cfg = cfg;
+        for (Cfg.BasicBlock bb : cfg.blocks) {
+            long[] g = gen[bb.id], k = kill[bb.id];
+            for (MiniCCompiler.Node item : bb.items) {
+                int d = Cfg.def(item);
+                if (d < 0) continue;
+                if (item instanceof MiniCCompiler.VarDecl vd && vd.initializer == null) {
+                    Dataflow.set(k, d);
+                    Dataflow.clear(g, d);
+                } else {
+                    Dataflow.set(g, d);
+                    Dataflow.clear(k, d);
+                }
+            }
+        }
+        result = Dataflow.solve(cfg, this);
+    }
+
+    @Override public boolean forward() { return true; }
+    @Override public boolean union() { return false; }
+    @Override public void boundary(long[] set) { for (int p = 0; p < cfg.params; p++) Dataflow.set(set, p); }
+
+    public Dataflow result() { return result; }
+
+    /** Meldet jeden Lesezugriff auf einen möglicherweise unbelegten Slot; liefert deren Anzahl. */
+    public int check(DiagnosticSink sink) {
+        int found = 0;
+        List<MiniCCompiler.Variable> uses = new ArrayList<>();
+        long[] assigned = new long[Dataflow.words(cfg.slots)];
+        boolean[] reachable = cfg.reachable();
+        for (Cfg.BasicBlock bb : cfg.blocks) {
+            if (!reachable[bb.id]) continue; // toter Code nach return
+            System.arraycopy(result.in[bb.id], 0, assigned, 0, assigned.length);
+            for (MiniCCompiler.Node item : bb.items) {
+                uses.clear();
+                Cfg.uses(item, uses);
+                for (MiniCCompiler.Variable v : uses) {
+                    if (!Dataflow.get(assigned, v.slot)) {
+                        found++;
+                        if (sink.shouldStop()) return found;
+                        sink.report(Diagnostic.warning(Diagnostic.Code.MAYBE_UNASSIGNED, v, v.name));
+                    }
+                }
+                int d = Cfg.def(item);
+                if (d < 0) continue;
+                if (item instanceof MiniCCompiler.VarDecl vd && vd.initializer == null) Dataflow.clear(assigned, d);
+                else Dataflow.set(assigned, d);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.*;
+
+/**
+ * Strukturierte Fehlermeldung der semantischen Analyse.
+ * Die Meldung wird erst beim Ausgeben ({@link #render()}) aus Code und Argumenten erzeugt.
+ */
+public record Diagnostic(Code code, Severity severity, MiniCCompiler.Node node, Object... args) {
+
+    public enum Severity { ERROR, WARNING }
+
+    /** %1$s ist immer die Position des Knotens, ab %2$s folgen die Argumente. */
+    public enum Code {
+        VAR_ALREADY_DEFINED("Fehler: Variable '%2$s' bereits im aktuellen Scope definiert (%1$s)", false),
+        FN_ALREADY_DEFINED("Fehler: Funktion '%2$s' bereits im aktuellen Scope definiert (%1$s)", false),
+        PARAM_DUPLICATE("Fehler: Parameter '%2$s' mehrfach definiert (%1$s)", false),
+        VAR_UNDEFINED("Fehler: Variable '%2$s' nicht definiert (%1$s)", true),
+        FN_UNDEFINED("Fehler: Funktion '%2$s' nicht definiert (%1$s)", true),
+        NOT_A_VARIABLE("Fehler: '%2$s' ist eine Funktion, keine Variable (%1$s)", false),
+        NOT_A_FUNCTION("Fehler: '%2$s' ist keine Funktion (%1$s)", false),
+        UNKNOWN_STMT("Unbekannter Statement-Typ: %2$s", false),
+        UNKNOWN_EXPR("Unbekannter Expression-Typ: %2$s", false),
+        UNREACHABLE_FN("Warnung: Funktion '%2$s' wird von keiner Top-Level-Anweisung aus erreicht (%1$s)", false),
+        MAYBE_UNASSIGNED("Warnung: Variable '%2$s' wird möglicherweise vor der ersten Zuweisung gelesen (%1$s)", false),
+        SPAWN_WRITES_GLOBAL("Fehler: mit spawn gestartete Funktion '%2$s' schreibt globale Variablen (in '%3$s') (%1$s)", false),
+        SPAWN_ARRAY_PARAM("Fehler: spawn von '%2$s' mit int[]-Parameter '%3$s', das Array würde zwischen Tasks geteilt (%1$s)", false),
+        SPAWN_GLOBAL_ARRAY("Fehler: mit spawn gestartete Funktion '%2$s' greift auf globale int[]-Variablen zu (in '%3$s') (%1$s)", false),
+
+        // Meldungen von Main.SemanticAnalyzer
+        REDECLARED_VARIABLE("%1$s: redeclaration of variable '%2$s'", false),
+        REDECLARED_FUNCTION("%1$s: redeclaration of function '%2$s'", false),
+        DUPLICATE_PARAMETER("%1$s: duplicate parameter '%2$s'", false),
+        UNDEFINED_CALL("%1$s: call to undefined function or variable '%2$s'", true);
+
+        final String template;
+        /** Folgefehler: pro Name wird nur die erste Meldung behalten. */
+        final boolean cascading;
+
+        Code(String template, boolean cascading) { this.template = template; this.cascading = cascading; }
+    }
+
+    public static Diagnostic error(Code code, MiniCCompiler.Node node, Object... args) {
+        return new Diagnostic(code, Severity.ERROR, node, args);
+    }
+
+    public static Diagnostic warning(Code code, MiniCCompiler.Node node, Object... args) {
+        return new Diagnostic(code, Severity.WARNING, node, args);
+    }
+
+    public int line() { return node != null ? node.line : 0; }
+    public int col() { return node != null ? node.col : 0; }
+
+    /** Schlüssel für die Deduplizierung von Folgefehlern, null wenn nicht dedupliziert wird. */
+    public String dedupKey() {
+        return code.cascading && args.length > 0 ? code.name() + ":" + args[0] : null;
+    }
+
+    public String render() {
+        Object[] all = new Object[args.length + 1];
+        all[0] = node != null ? node.pos() : "";
+        System.arraycopy(args, 0, all, 1, args.length);
+        return String.format(code.template, all);
+    }
+
+    @Override public String toString() { return render(); }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Diagnostic d && code == d.code && severity == d.severity
+                && node == d.node && Arrays.equals(args, d.args);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(code, severity, System.identityHashCode(node), Arrays.hashCode(args)); }
+}
@@ -0,0 +1,63 @@
+import java.util.*;
+
+/**
+ * Empfänger für {@link Diagnostic}s. Analysen fragen {@link #shouldStop()} ab
+ * und brechen ab, sobald der Empfänger keine weiteren Meldungen mehr braucht.
+ */
+public interface DiagnosticSink {
+
+    void report(Diagnostic d);
+
+    boolean shouldStop();
+
+    /** Sammelt alle Fehler (ohne Obergrenze). */
+    static Collector unlimited() { return new Collector(0); }
+
+    /** Bricht nach dem ersten Fehler ab, z.B. wenn nur "gibt es Fehler?" interessiert. */
+    static Collector firstError() { return new Collector(1); }
+
+    /** Bricht nach maxErrors Fehlern ab. */
+    static Collector capped(int maxErrors) { return new Collector(maxErrors); }
+
+    /**
+     * Standard-Implementierung: speichert Meldungen bis zur Obergrenze und
+     * verwirft Folgefehler für denselben undefinierten Namen.
+     */
+    class Collector implements DiagnosticSink {
+        private final int maxErrors; // 0 = unbegrenzt
+        private final List<Diagnostic> diagnostics = new ArrayList<>();
+        private final Set<String> seenCascading = new HashSet<>();
+        private int errorCount;
+        private int suppressed;
+
+        public Collector(int maxErrors) { this.maxErrors = maxErrors; }
+
+        @Override
+        public void report(Diagnostic d) {
+            if (shouldStop()) { suppressed++; return; }
+            String key = d.dedupKey();
+            if (key != null && !seenCascading.add(key)) { suppressed++; return; }
+            diagnostics.add(d);
+            if (d.severity() == Diagnostic.Severity.ERROR) errorCount++;
+        }
+
+        @Override
+        public boolean shouldStop() { return maxErrors > 0 && errorCount >= maxErrors; }
+
+        public boolean hasErrors() { return errorCount > 0; }
+
+        public int errorCount() { return errorCount; }
+
+        /** Anzahl verworfener Meldungen (Folgefehler oder nach Erreichen der Obergrenze). */
+        public int suppressedCount() { return suppressed; }
+
+        public List<Diagnostic> getDiagnostics() { return diagnostics; }
+
+        /** Erzeugt die Meldungstexte erst hier. */
+        public List<String> render() {
+            List<String> out = new ArrayList<>(diagnostics.size());
+            for (Diagnostic d : diagnostics) out.add(d.render());
+            return out;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Ausführungsprofil für profilgesteuerte Optimierung: Aufrufe je Call, genommene Zweige je
+ * IfStmt (then/else) und Eintritte/Iterationen je WhileStmt.
+ *
+ * Zähler sind über die Quellposition (Zeile, Spalte) des Knotens adressiert, nicht über den
+ * Knoten selbst; ein Profil passt damit auf eine neu geparste Fassung desselben Programms und
+ * auf AST-Kopien, die Positionen übernehmen (Inliner, LoopOptimizer, ...).
+ *
+ * Dateiformat: Magic, Version, dann je Art die Anzahl Einträge und je Eintrag Zeile, Spalte und
+ * die Zähler, alles als VarInt (7 Bit je Byte), sortiert nach Position.
+ */
+public final class ExecutionProfile {
+
+    private static final int MAGIC = 0x4D435046, FORMAT_VERSION = 1; // "MCPF"
+
+    private final Map<Long, long[]> calls = new HashMap<>(), branches = new HashMap<>(), loops = new HashMap<>();
+
+    private static long key(MiniCCompiler.Node n) { return (long) n.line << 32 | (n.col & 0xFFFFFFFFL); }
+
+    private static long[] counter(Map<Long, long[]> m, MiniCCompiler.Node n, int size) {
+        return m.computeIfAbsent(key(n), k -> new long[size]);
+    }
+
+    private static long get(Map<Long, long[]> m, MiniCCompiler.Node n, int i) {
+        long[] c = m.get(key(n));
+        return c != null ? c[i] : 0;
+    }
+
+    // ---------------- Zählen (instrumentierter Interpreter) ----------------
+
+    void call(MiniCCompiler.Call c) { counter(calls, c, 1)[0]++; }
+
+    void branch(MiniCCompiler.IfStmt s, boolean taken) { counter(branches, s, 2)[taken ? 0 : 1]++; }
+
+    void loopEntry(MiniCCompiler.WhileStmt s) { counter(loops, s, 2)[0]++; }
+
+    void loopIteration(MiniCCompiler.WhileStmt s) { counter(loops, s, 2)[1]++; }
+
+    // ---------------- Abfragen ----------------
+
+    public long calls(MiniCCompiler.Call c) { return get(calls, c, 0); }
+
+    /** Wie oft der then-Zweig genommen wurde. */
+    public long taken(MiniCCompiler.IfStmt s) { return get(branches, s, 0); }
+
+    public long notTaken(MiniCCompiler.IfStmt s) { return get(branches, s, 1); }
+
+    public long entries(MiniCCompiler.WhileStmt s) { return get(loops, s, 0); }
+
+    public long iterations(MiniCCompiler.WhileStmt s) { return get(loops, s, 1); }
+
+    @Override public String toString() {
+        return "Aufrufstellen " + calls.size() + ", Verzweigungen " + branches.size() + ", Schleifen " + loops.size();
+    }
+
+    // ---------------- Datei ----------------
+
+    public void write(Path file) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            for (Map<Long, long[]> m : List.of(calls, branches, loops)) {
+                writeVar(out, m.size());
+                for (Map.Entry<Long, long[]> e : new TreeMap<>(m).entrySet()) {
+                    writeVar(out, e.getKey() >>> 32);
+                    writeVar(out, e.getKey() & 0xFFFFFFFFL);
+                    for (long v : e.getValue()) writeVar(out, v);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static ExecutionProfile read(Path file) {
+        ExecutionProfile p = new ExecutionProfile();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new RuntimeException("Keine Profildatei (oder falsche Version): " + file);
+            }
+            int[] sizes = {1, 2, 2};
+            List<Map<Long, long[]>> maps = List.of(p.calls, p.branches, p.loops);
+            for (int k = 0; k < maps.size(); k++) {
+                long n = readVar(in);
+                for (long i = 0; i < n; i++) {
+                    long key = readVar(in) << 32 | readVar(in);
+                    long[] c = new long[sizes[k]];
+                    for (int j = 0; j < c.length; j++) c[j] = readVar(in);
+                    maps.get(k).put(key, c);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return p;
+    }
+
+    private static void writeVar(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVar(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+    }
+}
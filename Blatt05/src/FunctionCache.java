@@ -0,0 +1,118 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Persistenter Cache für Ergebnisse pro Funktion, adressiert über den Inhalt:
+ * Schlüssel ist der strukturelle Hash der FnDecl plus die Signatur-Hashes der
+ * globalen Namen, von denen sie abhängt. Gespeichert werden die Diagnostics
+ * (Knoten als Preorder-Index innerhalb der Funktion).
+ */
+public class FunctionCache {
+
+    private static final int FORMAT_VERSION = 1;
+
+    /** Diagnostic ohne Knotenreferenz, wie sie auf der Platte liegt. */
+    private record Stored(Diagnostic.Code code, Diagnostic.Severity severity, int nodeIndex, String[] args) {}
+
+    private final Path dir;
+    private final Map<Long, List<Stored>> memory = new HashMap<>();
+    private int hits, misses;
+
+    public FunctionCache(Path dir) {
+        this.dir = dir;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int hits() { return hits; }
+    public int misses() { return misses; }
+
+    public void resetCounters() { hits = 0; misses = 0; }
+
+    /**
+     * Schlüssel einer Funktion: eigener Hash, dazu für jeden global verwendeten Namen
+     * (und den eigenen Namen) die Signatur der dort sichtbaren Deklaration.
+     */
+    public static long key(long fnHash, SortedMap<String, SymbolTableBuilder.Symbol> visibleGlobals) {
+        long h = AstHash.mix(0xcbf29ce484222325L, FORMAT_VERSION);
+        h = AstHash.mix(h, fnHash);
+        for (Map.Entry<String, SymbolTableBuilder.Symbol> e : visibleGlobals.entrySet()) {
+            h = AstHash.mix(AstHash.mix(h, e.getKey()), AstHash.signature(e.getValue()));
+        }
+        return AstHash.fmix(h);
+    }
+
+    /** Liefert die gecachten Diagnostics, gebunden an die Knoten von fn, oder null. */
+    public List<Diagnostic> loadDiagnostics(long key, MiniCCompiler.FnDecl fn) {
+        List<Stored> stored = memory.get(key);
+        if (stored == null) stored = readDiagnostics(key);
+        if (stored == null) { misses++; return null; }
+        memory.put(key, stored);
+        hits++;
+        if (stored.isEmpty()) return List.of();
+        List<MiniCCompiler.Node> nodes = AstHash.preorder(fn);
+        List<Diagnostic> out = new ArrayList<>(stored.size());
+        for (Stored s : stored) {
+            MiniCCompiler.Node node = s.nodeIndex >= 0 ? nodes.get(s.nodeIndex) : null;
+            out.add(new Diagnostic(s.code, s.severity, node, (Object[]) s.args));
+        }
+        return out;
+    }
+
+    public void storeDiagnostics(long key, MiniCCompiler.FnDecl fn, List<Diagnostic> diagnostics) {
+        Map<MiniCCompiler.Node, Integer> index = new IdentityHashMap<>();
+        if (!diagnostics.isEmpty()) {
+            List<MiniCCompiler.Node> nodes = AstHash.preorder(fn);
+            for (int i = 0; i < nodes.size(); i++) index.put(nodes.get(i), i);
+        }
+        List<Stored> stored = new ArrayList<>(diagnostics.size());
+        for (Diagnostic d : diagnostics) {
+            String[] args = new String[d.args().length];
+            for (int i = 0; i < args.length; i++) args[i] = String.valueOf(d.args()[i]);
+            stored.add(new Stored(d.code(), d.severity(), index.getOrDefault(d.node(), -1), args));
+        }
+        memory.put(key, stored);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file(key, "diag"))))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(stored.size());
+            for (Stored s : stored) {
+                out.writeUTF(s.code.name());
+                out.writeUTF(s.severity.name());
+                out.writeInt(s.nodeIndex);
+                out.writeInt(s.args.length);
+                for (String a : s.args) out.writeUTF(a);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Stored> readDiagnostics(long key) {
+        Path f = file(key, "diag");
+        if (!Files.exists(f)) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(f)))) {
+            if (in.readInt() != FORMAT_VERSION) return null;
+            int n = in.readInt();
+            List<Stored> stored = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                Diagnostic.Code code = Diagnostic.Code.valueOf(in.readUTF());
+                Diagnostic.Severity sev = Diagnostic.Severity.valueOf(in.readUTF());
+                int nodeIndex = in.readInt();
+                String[] args = new String[in.readInt()];
+                for (int j = 0; j < args.length; j++) args[j] = in.readUTF();
+                stored.add(new Stored(code, sev, nodeIndex, args));
+            }
+            return stored;
+        } catch (IOException | IllegalArgumentException e) {
+            return null; // beschädigter oder veralteter Eintrag zählt als Fehlschlag
+        }
+    }
+
+    private Path file(long key, String ext) {
+        return dir.resolve(String.format("%016x.%s", key, ext));
+    }
+}
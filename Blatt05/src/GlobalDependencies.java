@@ -0,0 +1,208 @@
+import java.util.*;
+
+/**
+ * Globale Namen, die eine Top-Level-Anweisung deklariert bzw. referenziert.
+ * Die Sichtbarkeitsregeln entsprechen denen des {@link SymbolTableBuilder}:
+ * ein Name ist erst nach seiner Deklaration im Scope.
+ */
+public class GlobalDependencies {
+
+    /** Von der Anweisung im globalen Scope deklarierte Namen (VarDecl/FnDecl). */
+    final Set<String> declares = new LinkedHashSet<>();
+    /** Namen, die nicht lokal gebunden sind und daher global aufgelöst werden. */
+    final Set<String> references = new LinkedHashSet<>();
+    /** Globale Namen, die Funktionsrümpfe der Anweisung schreiben, lesen bzw. aufrufen (verschachtelte Funktionen zählen mit). */
+    final Set<String> writes = new LinkedHashSet<>(), reads = new LinkedHashSet<>(), calls = new LinkedHashSet<>();
+    /** spawn-Aufrufe der Anweisung; local ist die gestartete Funktion, falls sie lokal deklariert ist. */
+    final List<SpawnSite> spawns = new ArrayList<>();
+
+    record SpawnSite(MiniCCompiler.Spawn site, MiniCCompiler.FnDecl local) {}
+
+    private final MiniCCompiler.Stmt stmt;
+    private final Deque<Set<String>> scopes = new ArrayDeque<>();
+    /** Lokal deklarierte Funktionen, für spawn-Aufrufe darauf. */
+    private final Deque<Map<String, MiniCCompiler.FnDecl>> localFunctions = new ArrayDeque<>();
+    private int functionDepth;
+
+    private GlobalDependencies(MiniCCompiler.Stmt stmt) { this.stmt = stmt; }
+
+    public Set<String> getDeclares() { return declares; }
+    public Set<String> getReferences() { return references; }
+
+    public static GlobalDependencies of(MiniCCompiler.Stmt topLevel) {
+        GlobalDependencies deps = new GlobalDependencies(topLevel);
+        deps.scopes.push(deps.declares);
+        deps.localFunctions.push(new HashMap<>());
+        deps.visitStmt(topLevel);
+        return deps;
+    }
+
+    /**
+     * Mit spawn gestartete Funktionen dürfen (auch über weitere Aufrufe) keine globalen Variablen
+     * schreiben und kein int[] mit dem Aufrufer teilen: keine int[]-Parameter, kein Zugriff auf
+     * globale int[]. program sind die Abhängigkeiten aller Top-Level-Anweisungen in
+     * Programmreihenfolge; globale Namen werden wie im {@link SymbolTableBuilder} auf die erste
+     * Deklaration bis zur nutzenden Anweisung aufgelöst. Lokale Funktionen zählen zur
+     * umschließenden Top-Level-Anweisung.
+     */
+    public static void checkSpawns(List<GlobalDependencies> program, DiagnosticSink sink) {
+        if (program.stream().allMatch(d -> d.spawns.isEmpty())) return;
+        Map<String, Integer> first = new HashMap<>();
+        for (int i = 0; i < program.size(); i++) {
+            for (String n : program.get(i).declares) first.putIfAbsent(n, i);
+        }
+        for (int i = 0; i < program.size(); i++) {
+            for (SpawnSite s : program.get(i).spawns) {
+                if (sink.shouldStop()) return;
+                int start = s.local() != null ? i : declaration(first, s.site().name, i);
+                MiniCCompiler.FnDecl fn = s.local() != null ? s.local()
+                        : start >= 0 && program.get(start).stmt instanceof MiniCCompiler.FnDecl fd ? fd : null;
+                if (fn == null) continue; // undefiniert oder keine Funktion, meldet der SymbolTableBuilder
+                checkSpawn(program, first, s.site(), fn, start, sink);
+            }
+        }
+    }
+
+    private static void checkSpawn(List<GlobalDependencies> program, Map<String, Integer> first,
+                                   MiniCCompiler.Spawn site, MiniCCompiler.FnDecl fn, int start, DiagnosticSink sink) {
+        for (MiniCCompiler.Param p : fn.params) {
+            if (p.type == MiniCCompiler.PrimType.INT_ARRAY) {
+                sink.report(Diagnostic.error(Diagnostic.Code.SPAWN_ARRAY_PARAM, site, fn.name, p.name));
+                return;
+            }
+        }
+        Set<Integer> seen = new HashSet<>();
+        Deque<Integer> work = new ArrayDeque<>(List.of(start));
+        while (!work.isEmpty()) {
+            int k = work.pop();
+            if (!seen.add(k)) continue;
+            GlobalDependencies deps = program.get(k);
+            String in = deps.stmt instanceof MiniCCompiler.FnDecl fd ? fd.name : fn.name;
+            for (String n : deps.writes) {
+                if (variable(program, first, n, k) != null) {
+                    sink.report(Diagnostic.error(Diagnostic.Code.SPAWN_WRITES_GLOBAL, site, fn.name, in));
+                    return;
+                }
+            }
+            for (String n : deps.reads) {
+                MiniCCompiler.VarDecl vd = variable(program, first, n, k);
+                if (vd != null && vd.type == MiniCCompiler.PrimType.INT_ARRAY) {
+                    sink.report(Diagnostic.error(Diagnostic.Code.SPAWN_GLOBAL_ARRAY, site, fn.name, in));
+                    return;
+                }
+            }
+            for (String n : deps.calls) {
+                int j = declaration(first, n, k);
+                if (j >= 0 && program.get(j).stmt instanceof MiniCCompiler.FnDecl) work.push(j);
+            }
+        }
+    }
+
+    /** Index der Anweisung, die den aus Anweisung index sichtbaren globalen Namen deklariert, sonst -1. */
+    private static int declaration(Map<String, Integer> first, String name, int index) {
+        Integer j = first.get(name);
+        return j != null && j <= index ? j : -1;
+    }
+
+    private static MiniCCompiler.VarDecl variable(List<GlobalDependencies> program, Map<String, Integer> first, String name, int index) {
+        int j = declaration(first, name, index);
+        return j >= 0 && program.get(j).stmt instanceof MiniCCompiler.VarDecl vd ? vd : null;
+    }
+
+    private void declare(String name) { scopes.peek().add(name); }
+
+    private void use(String name) {
+        for (Set<String> s : scopes) if (s.contains(name)) return;
+        references.add(name);
+    }
+
+    /** Name ist in einem lokalen Scope (nicht im globalen) deklariert. */
+    private boolean local(String name) {
+        Iterator<Set<String>> it = scopes.iterator();
+        for (int i = scopes.size(); i > 1; i--) if (it.next().contains(name)) return true;
+        return false;
+    }
+
+    /** Lokal deklarierte Funktion des Namens, null wenn global oder keine Funktion. */
+    private MiniCCompiler.FnDecl localFunction(String name) {
+        Iterator<Set<String>> it = scopes.iterator();
+        Iterator<Map<String, MiniCCompiler.FnDecl>> fns = localFunctions.iterator();
+        for (int i = scopes.size(); i > 1; i--) {
+            MiniCCompiler.FnDecl fd = fns.next().get(name);
+            if (it.next().contains(name)) return fd;
+        }
+        return null;
+    }
+
+    private void enterScope() {
+        scopes.push(new HashSet<>());
+        localFunctions.push(new HashMap<>());
+    }
+
+    private void exitScope() {
+        scopes.pop();
+        localFunctions.pop();
+    }
+
+    private void visitStmt(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            declare(vd.name);
+            if (vd.initializer != null) visitExpr(vd.initializer);
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            use(as.name);
+            if (functionDepth > 0 && !local(as.name)) writes.add(as.name);
+            visitExpr(as.value);
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            if (functionDepth > 0 && ia.array instanceof MiniCCompiler.Variable v && !local(v.name)) writes.add(v.name);
+            visitExpr(ia.array);
+            visitExpr(ia.index);
+            visitExpr(ia.value);
+        } else if (stmt instanceof MiniCCompiler.FnDecl fd) {
+            declare(fd.name);
+            localFunctions.peek().put(fd.name, fd);
+            enterScope();
+            functionDepth++;
+            for (MiniCCompiler.Param p : fd.params) declare(p.name);
+            visitStmt(fd.body);
+            functionDepth--;
+            exitScope();
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            enterScope();
+            for (MiniCCompiler.Stmt s : bl.statements) visitStmt(s);
+            exitScope();
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            visitExpr(ws.condition);
+            visitStmt(ws.body);
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            visitExpr(ifs.condition);
+            visitStmt(ifs.thenBranch);
+            if (ifs.elseBranch != null) visitStmt(ifs.elseBranch);
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            if (rs.value != null) visitExpr(rs.value);
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            visitExpr(es.expr);
+        }
+    }
+
+    private void visitExpr(MiniCCompiler.Expr expr) {
+        if (expr instanceof MiniCCompiler.Binary b) {
+            visitExpr(b.left);
+            visitExpr(b.right);
+        } else if (expr instanceof MiniCCompiler.Join j) { // Schlüsselwort, kein Name im Scope
+            for (MiniCCompiler.Expr e : j.args) visitExpr(e);
+        } else if (expr instanceof MiniCCompiler.Call c) {
+            use(c.name);
+            if (functionDepth > 0 && !local(c.name)) calls.add(c.name);
+            if (c instanceof MiniCCompiler.Spawn sp) spawns.add(new SpawnSite(sp, localFunction(c.name)));
+            for (MiniCCompiler.Expr e : c.args) visitExpr(e);
+        } else if (expr instanceof MiniCCompiler.Variable v) {
+            use(v.name);
+            if (functionDepth > 0 && !local(v.name)) reads.add(v.name);
+        } else if (expr instanceof MiniCCompiler.Index ix) {
+            visitExpr(ix.array);
+            visitExpr(ix.index);
+        } else if (expr instanceof MiniCCompiler.NewArray na) {
+            visitExpr(na.length);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+import java.util.*;
+
+/**
+ * Inkrementelle semantische Analyse auf Ebene der Top-Level-Anweisungen.
+ * Jede Anweisung wird einzeln gegen eine Sicht auf den globalen Scope geprüft,
+ * die nur die Deklarationen davor enthält. Nach einer Änderung werden nur die
+ * geänderten Anweisungen und die Nutzer von Namen mit geänderter Deklaration neu geprüft.
+ * Die spawn-Prüfung hängt von allen transitiv aufgerufenen Funktionen ab und läuft
+ * nach jeder Änderung über die Abhängigkeiten aller Anweisungen.
+ */
+public class IncrementalAnalyzer {
+
+    private static class Entry {
+        MiniCCompiler.Stmt stmt;
+        GlobalDependencies deps;
+        List<Diagnostic> diagnostics = List.of();
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    /** Name -> (Index der deklarierenden Anweisung -> Symbol), alle Top-Level-Deklarationen. */
+    private final Map<String, TreeMap<Integer, SymbolTableBuilder.Symbol>> declarations = new HashMap<>();
+    /** Name -> Indizes der Anweisungen, die den Namen deklarieren oder referenzieren. */
+    private final Map<String, Set<Integer>> users = new HashMap<>();
+    private final FunctionCache cache;
+    private final ReferenceIndex references;
+    private List<Diagnostic> spawnDiagnostics = List.of();
+    private int spawningEntries; // Anweisungen mit spawn; ohne sie entfällt die spawn-Prüfung
+    private int lastRecheckCount;
+
+    public IncrementalAnalyzer(List<MiniCCompiler.Stmt> program) {
+        this(program, null, null);
+    }
+
+    /**
+     * Mit Cache werden unveränderte Funktionen nicht neu analysiert, auch über Läufe hinweg.
+     * Mit Referenzindex wird dieser bei jeder (Neu-)Prüfung einer Anweisung aktualisiert;
+     * der Cache wird dann nur noch geschrieben, da die Auflösung ohnehin laufen muss.
+     */
+    public IncrementalAnalyzer(List<MiniCCompiler.Stmt> program, FunctionCache cache, ReferenceIndex references) {
+        this.cache = cache;
+        this.references = references;
+        for (int i = 0; i < program.size(); i++) {
+            Entry e = new Entry();
+            e.stmt = program.get(i);
+            e.deps = GlobalDependencies.of(e.stmt);
+            entries.add(e);
+            register(i, e);
+        }
+        for (int i = 0; i < entries.size(); i++) check(i);
+        checkSpawns();
+        lastRecheckCount = entries.size();
+    }
+
+    public int size() { return entries.size(); }
+
+    public MiniCCompiler.Stmt getStmt(int index) { return entries.get(index).stmt; }
+
+    public GlobalDependencies getDependencies(int index) { return entries.get(index).deps; }
+
+    /** Anzahl der bei der letzten Änderung neu geprüften Anweisungen. */
+    public int lastRecheckCount() { return lastRecheckCount; }
+
+    /** Ersetzt die Anweisungen an den angegebenen Indizes und prüft neu, was davon abhängt. */
+    public void replace(Map<Integer, MiniCCompiler.Stmt> changes) {
+        Set<String> changedNames = new HashSet<>();
+        Set<Integer> recheck = new TreeSet<>(changes.keySet());
+        for (Map.Entry<Integer, MiniCCompiler.Stmt> c : changes.entrySet()) {
+            int i = c.getKey();
+            Entry e = entries.get(i);
+            Map<String, SymbolTableBuilder.Symbol> before = declaredSymbols(i, e);
+            unregister(i, e);
+            e.stmt = c.getValue();
+            e.deps = GlobalDependencies.of(e.stmt);
+            register(i, e);
+            Map<String, SymbolTableBuilder.Symbol> after = declaredSymbols(i, e);
+            for (String name : union(before.keySet(), after.keySet())) {
+                SymbolTableBuilder.Symbol old = before.get(name), now = after.get(name);
+                if (old != null && now != null && sameSignature(old, now)) {
+                    // Symbol-Objekt bleibt erhalten, damit Verweise darauf gültig bleiben
+                    old.params = now.params;
+                    old.declNode = now.declNode;
+                    declarations.get(name).put(i, old);
+                } else {
+                    changedNames.add(name);
+                }
+            }
+        }
+        for (String name : changedNames) {
+            Set<Integer> u = users.get(name);
+            if (u != null) recheck.addAll(u);
+        }
+        for (int i : recheck) check(i);
+        checkSpawns();
+        lastRecheckCount = recheck.size();
+    }
+
+    public void replace(int index, MiniCCompiler.Stmt stmt) { replace(Map.of(index, stmt)); }
+
+    /** Gibt alle gecachten Meldungen in Programmreihenfolge an den Sink weiter. */
+    public void report(DiagnosticSink sink) {
+        for (Entry e : entries) {
+            for (Diagnostic d : e.diagnostics) {
+                if (sink.shouldStop()) return;
+                sink.report(d);
+            }
+        }
+        for (Diagnostic d : spawnDiagnostics) {
+            if (sink.shouldStop()) return;
+            sink.report(d);
+        }
+    }
+
+    public List<String> getErrors() {
+        DiagnosticSink.Collector c = DiagnosticSink.unlimited();
+        report(c);
+        return c.render();
+    }
+
+    // ---------------- intern ----------------
+
+    private void check(int index) {
+        Entry e = entries.get(index);
+        GlobalView view = new GlobalView(index);
+        long key = 0;
+        if (cache != null && e.stmt instanceof MiniCCompiler.FnDecl fd) {
+            key = cacheKey(view, fd, e.deps);
+            List<Diagnostic> cached = references == null ? cache.loadDiagnostics(key, fd) : null;
+            if (cached != null) {
+                e.diagnostics = cached;
+                return;
+            }
+        }
+        DiagnosticSink.Collector c = DiagnosticSink.unlimited();
+        SymbolTableBuilder builder = new SymbolTableBuilder(view, c);
+        if (references != null) builder.setResolveListener(references.beginUnit(index, e.stmt));
+        builder.build(List.of(e.stmt));
+        e.diagnostics = c.getDiagnostics().isEmpty() ? List.of() : c.getDiagnostics();
+        if (cache != null && e.stmt instanceof MiniCCompiler.FnDecl fd) cache.storeDiagnostics(key, fd, e.diagnostics);
+    }
+
+    private void checkSpawns() {
+        if (spawningEntries == 0) {
+            spawnDiagnostics = List.of();
+            return;
+        }
+        DiagnosticSink.Collector c = DiagnosticSink.unlimited();
+        GlobalDependencies.checkSpawns(entries.stream().map(e -> e.deps).toList(), c);
+        spawnDiagnostics = c.getDiagnostics().isEmpty() ? List.of() : c.getDiagnostics();
+    }
+
+    /** Cache-Schlüssel der Funktion an Position view.index; null-Signatur steht für "nicht deklariert". */
+    private long cacheKey(GlobalView view, MiniCCompiler.FnDecl fd, GlobalDependencies deps) {
+        SortedMap<String, SymbolTableBuilder.Symbol> visible = new TreeMap<>();
+        visible.put(fd.name, view.earlier(fd.name));
+        for (String n : deps.references) visible.put(n, view.earlier(n));
+        return FunctionCache.key(new AstHash().hash(fd), visible);
+    }
+
+    private void register(int index, Entry e) {
+        if (e.stmt instanceof MiniCCompiler.VarDecl vd) {
+            declarations.computeIfAbsent(vd.name, k -> new TreeMap<>())
+                    .put(index, new SymbolTableBuilder.Symbol(vd.name, vd.type, false, null, vd));
+        } else if (e.stmt instanceof MiniCCompiler.FnDecl fd) {
+            declarations.computeIfAbsent(fd.name, k -> new TreeMap<>())
+                    .put(index, new SymbolTableBuilder.Symbol(fd.name, fd.returnType, true, fd.params, fd));
+        }
+        if (!e.deps.spawns.isEmpty()) spawningEntries++;
+        for (String n : e.deps.declares) users.computeIfAbsent(n, k -> new HashSet<>()).add(index);
+        for (String n : e.deps.references) users.computeIfAbsent(n, k -> new HashSet<>()).add(index);
+    }
+
+    private void unregister(int index, Entry e) {
+        if (!e.deps.spawns.isEmpty()) spawningEntries--;
+        for (String n : union(e.deps.declares, e.deps.references)) {
+            Set<Integer> u = users.get(n);
+            if (u != null && u.remove(index) && u.isEmpty()) users.remove(n);
+            TreeMap<Integer, SymbolTableBuilder.Symbol> decls = declarations.get(n);
+            if (decls != null && decls.remove(index) != null && decls.isEmpty()) declarations.remove(n);
+        }
+    }
+
+    private Map<String, SymbolTableBuilder.Symbol> declaredSymbols(int index, Entry e) {
+        Map<String, SymbolTableBuilder.Symbol> m = new HashMap<>();
+        for (String n : e.deps.declares) {
+            TreeMap<Integer, SymbolTableBuilder.Symbol> decls = declarations.get(n);
+            SymbolTableBuilder.Symbol sym = decls != null ? decls.get(index) : null;
+            if (sym != null) m.put(n, sym);
+        }
+        return m;
+    }
+
+    static boolean sameSignature(SymbolTableBuilder.Symbol a, SymbolTableBuilder.Symbol b) {
+        if (a.isFunction != b.isFunction || a.type != b.type) return false;
+        if (!a.isFunction) return true;
+        if (a.params.size() != b.params.size()) return false;
+        for (int i = 0; i < a.params.size(); i++) {
+            if (a.params.get(i).type != b.params.get(i).type) return false;
+        }
+        return true;
+    }
+
+    private static Set<String> union(Set<String> a, Set<String> b) {
+        Set<String> u = new HashSet<>(a);
+        u.addAll(b);
+        return u;
+    }
+
+    /**
+     * Globaler Scope aus Sicht der Anweisung mit Index index: sichtbar ist jeweils die erste
+     * Deklaration eines Namens vor index, sowie alles, was die Anweisung selbst deklariert.
+     */
+    private class GlobalView extends SymbolTableBuilder.Scope {
+        private final int index;
+
+        GlobalView(int index) {
+            super(null);
+            this.index = index;
+        }
+
+        private SymbolTableBuilder.Symbol earlier(String name) {
+            TreeMap<Integer, SymbolTableBuilder.Symbol> decls = declarations.get(name);
+            if (decls == null || decls.firstKey() >= index) return null;
+            return decls.firstEntry().getValue();
+        }
+
+        @Override
+        public boolean containsInCurrent(String name) {
+            return symbols.containsKey(name) || earlier(name) != null;
+        }
+
+        @Override
+        public void addSymbol(SymbolTableBuilder.Symbol sym) {
+            TreeMap<Integer, SymbolTableBuilder.Symbol> decls = declarations.get(sym.name);
+            SymbolTableBuilder.Symbol canonical = decls != null ? decls.get(index) : null;
+            symbols.put(sym.name, canonical != null ? canonical : sym);
+        }
+
+        @Override
+        public SymbolTableBuilder.Symbol resolve(String name) {
+            SymbolTableBuilder.Symbol sym = symbols.get(name);
+            if (sym == null) sym = earlier(name);
+            if (sym == null && Builtins.Builtin.lookup(name) != null) sym = Builtins.Builtin.lookup(name).symbol;
+            return sym;
+        }
+    }
+}
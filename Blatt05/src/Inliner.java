@@ -0,0 +1,460 @@
+import java.util.*;
+
+/**
+ * AST-zu-AST-Optimierung: Inlining von Funktionsaufrufen.
+ *
+ * Eingebettet werden nicht-rekursive Funktionen, deren Rumpf höchstens {@code maxSize} Knoten hat
+ * oder die genau eine Aufrufstelle besitzen. Der Rumpf darf return nur in Endposition enthalten
+ * (letzte Anweisung, ggf. in beiden Zweigen eines abschließenden if); ein solches return wird zur
+ * Zuweisung an eine Ergebnisvariable. Aus
+ * <pre>  x = g() + f(a, 1);</pre>
+ * wird (mit f(p, q) { int t = p * q; return t + 1; })
+ * <pre>  int tmp$1 = g(); int f$4 = 0; int t$5 = a * 1; f$4 = t$5 + 1;
+ *  x = tmp$1 + f$4;</pre>
+ * Reine Argumente (Literale, lokale Variablen) werden direkt für die Parameter eingesetzt, die
+ * übrigen an umbenannte Parametervariablen gebunden. Ein Rumpf der Form "return e;" wird direkt
+ * als Ausdruck eingesetzt.
+ * Links vom Aufruf stehende Teilausdrücke, die vom Aufruf beeinflusst werden könnten (globale
+ * Variablen, andere Aufrufe), werden dazu vorab in Temporäre ausgelagert, damit die
+ * Auswertungsreihenfolge erhalten bleibt. Lokale Namen des Rumpfs bekommen das Suffix {@code $n}.
+ *
+ * Nicht eingebettet wird in while-Bedingungen (sie werden mehrfach ausgewertet) und wenn ein im
+ * Rumpf verwendeter globaler Name an der Aufrufstelle verdeckt ist. Das Programm wächst um höchstens
+ * {@code growthFactor} mal seine ursprüngliche Knotenzahl. Funktionen, die danach nirgends mehr
+ * aufgerufen werden, entfallen.
+ *
+ * Mit einem {@link ExecutionProfile} entscheidet statt Größe und Aufrufstellenzahl die gemessene
+ * Häufigkeit: Aufrufstellen werden absteigend nach Aufrufen ausgewählt, solange das Budget reicht;
+ * heiße Rümpfe dürfen dabei bis {@code HOT_SIZE_FACTOR * maxSize} Knoten groß sein, nie ausgeführte
+ * Aufrufstellen werden nicht eingebettet.
+ */
+public class Inliner {
+
+    public static final int DEFAULT_MAX_SIZE = 40;
+    public static final int HOT_SIZE_FACTOR = 4;
+
+    private final int maxSize;
+    private final int growthFactor;
+    private final ExecutionProfile profile;
+    private final Set<MiniCCompiler.Call> hot = Collections.newSetFromMap(new IdentityHashMap<>()); // nur mit Profil
+
+    private final Map<MiniCCompiler.FnDecl, Integer> callSites = new IdentityHashMap<>();
+    private final Set<MiniCCompiler.FnDecl> recursive = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<MiniCCompiler.FnDecl, Integer> sizes = new IdentityHashMap<>();
+    private final Set<MiniCCompiler.FnDecl> inlined = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<MiniCCompiler.FnDecl, List<MiniCCompiler.Node>> freeNames = new IdentityHashMap<>(); // null: Form ungeeignet
+    private Deque<Map<String, String>> renames = new ArrayDeque<>();      // Name im Rumpf -> neuer Name
+    private final Map<String, MiniCCompiler.Expr> substitutions = new HashMap<>(); // neuer Parametername -> Argument
+    private final Deque<Map<String, Object>> scopes = new ArrayDeque<>(); // sichtbare Namen im Ergebnis
+    private int nextId, budget;
+
+    private int inlinedCalls, removedFunctions, spilledTemporaries, growth;
+
+    public Inliner() { this(DEFAULT_MAX_SIZE, 2); }
+
+    /** @param growthFactor das Programm darf um höchstens growthFactor * seine Größe wachsen */
+    public Inliner(int maxSize, int growthFactor) { this(maxSize, growthFactor, null); }
+
+    public Inliner(ExecutionProfile profile) { this(DEFAULT_MAX_SIZE, 2, profile); }
+
+    public Inliner(int maxSize, int growthFactor, ExecutionProfile profile) {
+        this.maxSize = maxSize;
+        this.growthFactor = growthFactor;
+        this.profile = profile;
+    }
+
+    public List<MiniCCompiler.Stmt> inline(List<MiniCCompiler.Stmt> program) {
+        Resolver r = Resolver.resolve(program);
+        int size = 0;
+        for (MiniCCompiler.Stmt s : program) {
+            for (MiniCCompiler.Node n : AstHash.preorder(s)) {
+                size++;
+                if (n instanceof MiniCCompiler.Call c && c.builtin == null) callSites.merge(c.target, 1, Integer::sum);
+            }
+        }
+        for (MiniCCompiler.FnDecl fd : r.functions()) sizes.put(fd, AstHash.preorder(fd.body).size());
+        CallGraph graph = CallGraph.build(program);
+        for (SymbolTableBuilder.Symbol fn : graph.functions()) {
+            if (graph.isRecursive(fn)) recursive.add((MiniCCompiler.FnDecl) fn.declNode);
+        }
+        budget = growthFactor * size;
+        if (profile != null) selectHotCalls(program);
+
+        scopes.push(new HashMap<>());
+        List<MiniCCompiler.Stmt> out = statements(program);
+        scopes.pop();
+        removeDeadFunctions(out);
+        return out;
+    }
+
+    public int inlinedCalls() { return inlinedCalls; }
+    public int removedFunctions() { return removedFunctions; }
+    public int spilledTemporaries() { return spilledTemporaries; }
+    /** Zusätzliche AST-Knoten durch eingebettete Rümpfe. */
+    public int growth() { return growth; }
+
+    @Override public String toString() {
+        return "eingebettet " + inlinedCalls + ", Funktionen entfernt " + removedFunctions
+                + ", Temporäre " + spilledTemporaries + ", Wachstum " + growth + " Knoten";
+    }
+
+    // ---------------- Analyse ----------------
+
+    /** Wählt die Aufrufstellen nach Häufigkeit aus, bis das Wachstumsbudget verplant ist. */
+    private void selectHotCalls(List<MiniCCompiler.Stmt> program) {
+        List<MiniCCompiler.Call> calls = new ArrayList<>();
+        for (MiniCCompiler.Stmt s : program) {
+            for (MiniCCompiler.Node n : AstHash.preorder(s)) {
+                if (n instanceof MiniCCompiler.Call c && c.builtin == null && !(c instanceof MiniCCompiler.Spawn) && profile.calls(c) > 0 && !recursive.contains(c.target)
+                        && sizes.get(c.target) <= HOT_SIZE_FACTOR * maxSize) {
+                    calls.add(c);
+                }
+            }
+        }
+        calls.sort(Comparator.comparingLong((MiniCCompiler.Call c) -> profile.calls(c)).reversed());
+        int planned = 0;
+        for (MiniCCompiler.Call c : calls) {
+            int size = sizes.get(c.target);
+            if (planned + size > budget) continue;
+            planned += size;
+            hot.add(c);
+        }
+    }
+
+    /** Darf dieser Aufruf an der aktuellen Stelle eingebettet werden? */
+    private boolean inlinable(MiniCCompiler.Call c) {
+        MiniCCompiler.FnDecl fd = c.target;
+        if (fd == null || c instanceof MiniCCompiler.Spawn || recursive.contains(fd)) return false; // eingebaut bzw. nebenläufig
+        int size = sizes.get(fd);
+        if (profile != null ? !hot.contains(c) : size > maxSize && callSites.get(fd) != 1) return false;
+        if (growth + size > budget) return false;
+        if (!freeNames.containsKey(fd)) freeNames.put(fd, freeNames(fd));
+        List<MiniCCompiler.Node> names = freeNames.get(fd);
+        if (names == null) return false;
+        // globale Namen und Funktionen müssen an der Aufrufstelle dasselbe bedeuten
+        for (MiniCCompiler.Node n : names) {
+            if (n instanceof MiniCCompiler.Variable v && !isGlobal(v.name, v.slot)) return false;
+            if (n instanceof MiniCCompiler.Assign as && !isGlobal(as.name, as.slot)) return false;
+            if (n instanceof MiniCCompiler.Call call && lookup(call.name) != call.target) return false;
+        }
+        return true;
+    }
+
+    /** Globale Variablen und aufgerufene Funktionen im Rumpf; null, wenn der Rumpf nicht einbettbar ist. */
+    private static List<MiniCCompiler.Node> freeNames(MiniCCompiler.FnDecl fd) {
+        if (!tailReturnsOnly(fd.body)) return null;
+        List<MiniCCompiler.Node> out = new ArrayList<>();
+        for (MiniCCompiler.Node n : AstHash.preorder(fd.body)) {
+            if (n instanceof MiniCCompiler.FnDecl) return null;
+            if ((n instanceof MiniCCompiler.Variable v && v.global) || (n instanceof MiniCCompiler.Assign as && as.global)
+                    || n instanceof MiniCCompiler.Call) {
+                out.add(n);
+            }
+        }
+        return out;
+    }
+
+    private boolean isGlobal(String name, int slot) {
+        return lookup(name) instanceof MiniCCompiler.VarDecl vd && vd.global && vd.slot == slot;
+    }
+
+    /** return nur als letzte Anweisung (auch in beiden Zweigen eines abschließenden if). */
+    private static boolean tailReturnsOnly(MiniCCompiler.Block bl) {
+        List<MiniCCompiler.Stmt> ss = bl.statements;
+        for (int i = 0; i < ss.size(); i++) {
+            MiniCCompiler.Stmt s = ss.get(i);
+            boolean last = i == ss.size() - 1;
+            if (last && s instanceof MiniCCompiler.ReturnStmt) continue;
+            if (last && s instanceof MiniCCompiler.IfStmt ifs) {
+                if (!tailReturnsOnly(ifs.thenBranch) || (ifs.elseBranch != null && !tailReturnsOnly(ifs.elseBranch))) return false;
+                continue;
+            }
+            if (last && s instanceof MiniCCompiler.Block inner) {
+                if (!tailReturnsOnly(inner)) return false;
+                continue;
+            }
+            for (MiniCCompiler.Node n : AstHash.preorder(s)) if (n instanceof MiniCCompiler.ReturnStmt) return false;
+        }
+        return true;
+    }
+
+    // ---------------- Namen ----------------
+
+    private Object lookup(String name) {
+        for (Map<String, Object> scope : scopes) {
+            Object b = scope.get(name);
+            if (b != null) return b;
+        }
+        return null;
+    }
+
+    private String rename(String name) {
+        for (Map<String, String> m : renames) {
+            String r = m.get(name);
+            if (r != null) return r;
+        }
+        return name;
+    }
+
+    /** Deklariert einen Namen im aktuellen Scope; innerhalb eingebetteter Rümpfe mit neuem Namen. */
+    private String declare(String name, Object decl) {
+        String out = name;
+        if (!renames.isEmpty()) {
+            out = fresh(name);
+            renames.peek().put(name, out);
+        }
+        scopes.peek().put(out, decl);
+        return out;
+    }
+
+    private String fresh(String name) { return name + "$" + (++nextId); }
+
+    // ---------------- Umbau ----------------
+
+    private List<MiniCCompiler.Stmt> statements(List<MiniCCompiler.Stmt> in) {
+        List<MiniCCompiler.Stmt> out = new ArrayList<>(in.size());
+        for (MiniCCompiler.Stmt s : in) stmt(s, out, null);
+        return out;
+    }
+
+    private MiniCCompiler.Block block(MiniCCompiler.Block bl, String result) {
+        boolean renaming = !renames.isEmpty();
+        scopes.push(new HashMap<>());
+        if (renaming) renames.push(new HashMap<>());
+        List<MiniCCompiler.Stmt> out = new ArrayList<>(bl.statements.size());
+        for (MiniCCompiler.Stmt s : bl.statements) stmt(s, out, result);
+        if (renaming) renames.pop();
+        scopes.pop();
+        return new MiniCCompiler.Block(out, bl.line, bl.col);
+    }
+
+    /**
+     * Hängt die umgebaute Anweisung (samt vorgezogener Anweisungen) an out an. result != null:
+     * wir sind in einem eingebetteten Rumpf, return wird zur Zuweisung an result.
+     */
+    private void stmt(MiniCCompiler.Stmt stmt, List<MiniCCompiler.Stmt> out, String result) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            MiniCCompiler.Expr init = vd.initializer != null ? expr(vd.initializer, out) : null;
+            out.add(new MiniCCompiler.VarDecl(vd.type, declare(vd.name, vd), init, vd.line, vd.col));
+
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            MiniCCompiler.Expr value = expr(as.value, out);
+            out.add(new MiniCCompiler.Assign(rename(as.name), value, as.line, as.col));
+
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            MiniCCompiler.Expr array = expr(ia.array, out);
+            if (containsInlinable(List.of(ia.index, ia.value))) array = spill(array, ia.array.type, out);
+            MiniCCompiler.Expr index = expr(ia.index, out);
+            if (containsInlinable(ia.value)) index = spill(index, ia.index.type, out);
+            out.add(new MiniCCompiler.IndexAssign(array, index, expr(ia.value, out), ia.line, ia.col));
+
+        } else if (stmt instanceof MiniCCompiler.FnDecl fd) {
+            scopes.peek().put(fd.name, fd);
+            Deque<Map<String, String>> saved = renames;
+            renames = new ArrayDeque<>();
+            scopes.push(new HashMap<>());
+            for (MiniCCompiler.Param p : fd.params) scopes.peek().put(p.name, p);
+            MiniCCompiler.Block body = block(fd.body, null);
+            scopes.pop();
+            renames = saved;
+            out.add(new MiniCCompiler.FnDecl(fd.returnType, fd.name, new ArrayList<>(fd.params), body, fd.line, fd.col));
+
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            out.add(block(bl, result));
+
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            MiniCCompiler.Expr cond = expr(ws.condition, null); // wird mehrfach ausgewertet: nicht einbetten
+            out.add(new MiniCCompiler.WhileStmt(cond, block(ws.body, result), ws.line, ws.col));
+
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            MiniCCompiler.Expr cond = expr(ifs.condition, out);
+            out.add(new MiniCCompiler.IfStmt(cond, block(ifs.thenBranch, result),
+                    ifs.elseBranch != null ? block(ifs.elseBranch, result) : null, ifs.line, ifs.col));
+
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            MiniCCompiler.Expr value = rs.value != null ? expr(rs.value, out) : null;
+            if (result == null) out.add(new MiniCCompiler.ReturnStmt(value, rs.line, rs.col));
+            else if (value != null) out.add(new MiniCCompiler.Assign(result, value, rs.line, rs.col));
+
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            MiniCCompiler.Expr e = expr(es.expr, out);
+            // ein vollständig eingebetteter Aufruf hinterlässt nur die (unbenutzte) Ergebnisvariable
+            if (!(e instanceof MiniCCompiler.Variable && es.expr instanceof MiniCCompiler.Call)) {
+                out.add(new MiniCCompiler.ExprStmt(e, es.line, es.col));
+            }
+
+        } else {
+            throw new RuntimeException("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Kopiert e (mit Umbenennung). Ist pre != null, werden einbettbare Aufrufe als Anweisungen
+     * an pre angehängt und durch ihre Ergebnisvariable ersetzt.
+     */
+    private MiniCCompiler.Expr expr(MiniCCompiler.Expr e, List<MiniCCompiler.Stmt> pre) {
+        if (e instanceof MiniCCompiler.IntLiteral il) return new MiniCCompiler.IntLiteral(il.value, il.line, il.col);
+        if (e instanceof MiniCCompiler.BoolLiteral bl) return new MiniCCompiler.BoolLiteral(bl.value, bl.line, bl.col);
+        if (e instanceof MiniCCompiler.StringLiteral sl) return new MiniCCompiler.StringLiteral(sl.value, sl.line, sl.col);
+        if (e instanceof MiniCCompiler.Variable v) {
+            String name = rename(v.name);
+            MiniCCompiler.Expr arg = substitutions.get(name);
+            return arg != null ? ConstantFolder.copy(arg) : new MiniCCompiler.Variable(name, v.line, v.col);
+        }
+        if (e instanceof MiniCCompiler.Binary b) {
+            MiniCCompiler.Expr l = expr(b.left, pre);
+            if (pre != null && containsInlinable(b.right)) l = spill(l, b.left.type, pre);
+            return new MiniCCompiler.Binary(l, b.op, expr(b.right, pre), b.line, b.col);
+        }
+        if (e instanceof MiniCCompiler.NewArray na) return new MiniCCompiler.NewArray(expr(na.length, pre), na.line, na.col);
+        if (e instanceof MiniCCompiler.Index ix) {
+            MiniCCompiler.Expr a = expr(ix.array, pre);
+            if (pre != null && containsInlinable(ix.index)) a = spill(a, ix.array.type, pre);
+            return new MiniCCompiler.Index(a, expr(ix.index, pre), ix.line, ix.col);
+        }
+        if (e instanceof MiniCCompiler.Call c) {
+            if (pre != null && inlinable(c)) return inlineCall(c, pre);
+            List<MiniCCompiler.Expr> args = new ArrayList<>(c.args.size());
+            for (int i = 0; i < c.args.size(); i++) {
+                MiniCCompiler.Expr a = expr(c.args.get(i), pre);
+                if (pre != null && i + 1 < c.args.size() && containsInlinable(c.args.subList(i + 1, c.args.size()))) {
+                    a = spill(a, c.args.get(i).type, pre);
+                }
+                args.add(a);
+            }
+            return c.withArgs(args);
+        }
+        throw new RuntimeException("Unbekannter Expression-Typ: " + e.getClass().getSimpleName());
+    }
+
+    private MiniCCompiler.Expr inlineCall(MiniCCompiler.Call c, List<MiniCCompiler.Stmt> pre) {
+        MiniCCompiler.FnDecl fd = c.target;
+        inlinedCalls++;
+        inlined.add(fd);
+        growth += sizes.get(fd);
+        // Argumente in Aufrufreihenfolge: reine Argumente werden eingesetzt, die übrigen an Variablen gebunden
+        Map<String, String> paramMap = new HashMap<>();
+        for (int i = 0; i < c.args.size(); i++) {
+            MiniCCompiler.Param p = fd.params.get(i);
+            String name = fresh(p.name);
+            paramMap.put(p.name, name);
+            MiniCCompiler.Expr arg = expr(c.args.get(i), pre);
+            if (substitutable(arg, p.name, fd)) {
+                substitutions.put(name, arg);
+            } else {
+                scopes.peek().put(name, p);
+                pre.add(new MiniCCompiler.VarDecl(p.type, name, arg, c.line, c.col));
+            }
+        }
+        List<MiniCCompiler.Stmt> body = fd.body.statements;
+        String result = null;
+        if (!(body.size() == 1 && body.get(0) instanceof MiniCCompiler.ReturnStmt rs && rs.value != null)) {
+            // Ergebnisvariable mit Standardwert (falls der Rumpf ohne return endet)
+            result = fresh(fd.name);
+            scopes.peek().put(result, fd);
+            pre.add(new MiniCCompiler.VarDecl(fd.returnType, result, defaultValue(fd.returnType, c), c.line, c.col));
+        }
+        Deque<Map<String, String>> saved = renames;
+        renames = new ArrayDeque<>();
+        renames.push(paramMap);
+        MiniCCompiler.Expr value;
+        if (result == null) {
+            // Rumpf "return e;": e direkt einsetzen
+            value = expr(((MiniCCompiler.ReturnStmt) body.get(0)).value, pre);
+        } else {
+            // lokale Namen sind umbenannt, der Rumpf kann daher ohne eigenen Block eingefügt werden
+            pre.addAll(block(fd.body, result).statements);
+            value = new MiniCCompiler.Variable(result, c.line, c.col);
+        }
+        renames = saved;
+        return value;
+    }
+
+    /**
+     * Ein Argument wird direkt für den Parameter eingesetzt, wenn es ein Literal oder eine lokale
+     * Variable ist und der Rumpf den Parameter nicht zuweist. Alle übrigen Argumente werden vor dem
+     * Rumpf genau einmal ausgewertet, auch wenn der Rumpf den Parameter nie oder nur bedingt liest
+     * (eine Division durch Null muss weiterhin auftreten).
+     */
+    private boolean substitutable(MiniCCompiler.Expr arg, String param, MiniCCompiler.FnDecl fd) {
+        if (!(ConstantFolder.isLiteral(arg) || arg instanceof MiniCCompiler.Variable) || !stable(arg)) return false;
+        for (MiniCCompiler.Node n : AstHash.preorder(fd.body)) {
+            if (n instanceof MiniCCompiler.Assign as && as.name.equals(param)) return false;
+        }
+        return true;
+    }
+
+    private boolean containsInlinable(MiniCCompiler.Expr e) { return containsInlinable(List.of(e)); }
+
+    private boolean containsInlinable(List<MiniCCompiler.Expr> es) {
+        for (MiniCCompiler.Expr e : es) {
+            for (MiniCCompiler.Node n : AstHash.preorder(e)) {
+                if (n instanceof MiniCCompiler.Call c && inlinable(c)) return true;
+            }
+        }
+        return false;
+    }
+
+    /** Lagert einen Teilausdruck in eine Temporäre aus, sofern ein späterer Aufruf ihn ändern könnte. */
+    private MiniCCompiler.Expr spill(MiniCCompiler.Expr e, MiniCCompiler.PrimType type, List<MiniCCompiler.Stmt> pre) {
+        if (stable(e)) return e;
+        String tmp = fresh("tmp");
+        scopes.peek().put(tmp, e);
+        pre.add(new MiniCCompiler.VarDecl(type, tmp, e, e.line, e.col));
+        spilledTemporaries++;
+        return new MiniCCompiler.Variable(tmp, e.line, e.col);
+    }
+
+    /** Literale und lokale Variablen kann ein Aufruf nicht verändern. */
+    private boolean stable(MiniCCompiler.Expr e) {
+        if (ConstantFolder.isLiteral(e)) return true;
+        if (e instanceof MiniCCompiler.Variable v) return !(lookup(v.name) instanceof MiniCCompiler.VarDecl vd && vd.global);
+        if (e instanceof MiniCCompiler.Binary b) return stable(b.left) && stable(b.right);
+        return false;
+    }
+
+    private static MiniCCompiler.Expr defaultValue(MiniCCompiler.PrimType type, MiniCCompiler.Node at) {
+        return switch (type) {
+            case INT -> new MiniCCompiler.IntLiteral(0, at.line, at.col);
+            case BOOL -> new MiniCCompiler.BoolLiteral(false, at.line, at.col);
+            case STRING -> new MiniCCompiler.StringLiteral("", at.line, at.col);
+            case INT_ARRAY -> new MiniCCompiler.NewArray(new MiniCCompiler.IntLiteral(0, at.line, at.col), at.line, at.col);
+        };
+    }
+
+    // ---------------- Aufräumen ----------------
+
+    /** Entfernt eingebettete Funktionen, die im Ergebnis nicht mehr aufgerufen werden. */
+    private void removeDeadFunctions(List<MiniCCompiler.Stmt> program) {
+        boolean changed = true;
+        while (changed) {
+            Set<String> called = new HashSet<>();
+            for (MiniCCompiler.Stmt s : program) {
+                for (MiniCCompiler.Node n : AstHash.preorder(s)) if (n instanceof MiniCCompiler.Call c) called.add(c.name);
+            }
+            changed = prune(program, called);
+        }
+    }
+
+    private boolean prune(List<MiniCCompiler.Stmt> stmts, Set<String> called) {
+        boolean changed = false;
+        for (Iterator<MiniCCompiler.Stmt> it = stmts.iterator(); it.hasNext(); ) {
+            MiniCCompiler.Stmt s = it.next();
+            if (s instanceof MiniCCompiler.FnDecl fd && !called.contains(fd.name) && wasInlined(fd.name)) {
+                it.remove();
+                removedFunctions++;
+                changed = true;
+                continue;
+            }
+            for (MiniCCompiler.Node n : AstHash.children(s)) {
+                if (n instanceof MiniCCompiler.Block bl) changed |= prune(bl.statements, called);
+            }
+        }
+        return changed;
+    }
+
+    private boolean wasInlined(String name) {
+        for (MiniCCompiler.FnDecl fd : inlined) if (fd.name.equals(name)) return true;
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Laufzeitunterstützung für int[]: ein MiniC-Array ist ein primitives Java-int[] (in Frame.refs).
+ *
+ * Zugriffe prüfen den Index selbst und melden Fehler mit der Position im Quelltext. Hat
+ * {@link BoundsCheckElimination} einen Index als gültig bewiesen (Index/IndexAssign.unchecked),
+ * greifen die Backends direkt zu; die Prüfung der JVM bleibt dann als letzte Sicherung.
+ */
+public final class IntArrays {
+
+    /** Standardwert einer int[]-Variablen ohne Initialisierung. */
+    static final int[] EMPTY = new int[0];
+
+    private IntArrays() {}
+
+    /** new int[n]; at darf null sein (VM ohne Positionen). */
+    public static int[] allocate(int n, MiniCCompiler.Node at) {
+        if (n < 0) throw new RuntimeException("Negative Array-Länge " + n + where(at));
+        return n == 0 ? EMPTY : new int[n];
+    }
+
+    public static int get(int[] a, int i, MiniCCompiler.Node at) {
+        if (i < 0 || i >= a.length) throw outOfBounds(a, i, where(at));
+        return a[i];
+    }
+
+    public static void set(int[] a, int i, int value, MiniCCompiler.Node at) {
+        if (i < 0 || i >= a.length) throw outOfBounds(a, i, where(at));
+        a[i] = value;
+    }
+
+    // Varianten für den JVM-Bytecode: die Position steht als Konstante im Code
+
+    public static int[] allocate(int n, String pos) {
+        if (n < 0) throw new RuntimeException("Negative Array-Länge " + n + " (" + pos + ")");
+        return n == 0 ? EMPTY : new int[n];
+    }
+
+    public static int get(int[] a, int i, String pos) {
+        if (i < 0 || i >= a.length) throw outOfBounds(a, i, " (" + pos + ")");
+        return a[i];
+    }
+
+    public static void set(int[] a, int i, int value, String pos) {
+        if (i < 0 || i >= a.length) throw outOfBounds(a, i, " (" + pos + ")");
+        a[i] = value;
+    }
+
+    private static RuntimeException outOfBounds(int[] a, int i, String where) {
+        return new RuntimeException("Index " + i + " außerhalb von int[" + a.length + "]" + where);
+    }
+
+    private static String where(MiniCCompiler.Node at) {
+        return at == null ? "" : " (" + at.pos() + ")";
+    }
+}
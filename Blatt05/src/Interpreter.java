@@ -0,0 +1,297 @@
+import java.util.*;
+
+/**
+ * Baum-Interpreter für den MiniCCompiler-AST.
+ *
+ * Lokale Variablen liegen in Frames aus Arrays, adressiert über die vom {@link Resolver}
+ * vergebenen Slots. int- und bool-Werte bleiben unboxed (int[], bool als 0/1), nur Strings
+ * liegen im Object[] (als String oder {@link Rope}). return wird über den Rückgabewert von exec signalisiert, nicht über Exceptions.
+ */
+public class Interpreter {
+
+    /** Aktivierungsrahmen einer Funktion (oder des Hauptprogramms). */
+    static final class Frame {
+        final int[] ints;
+        final Object[] refs;
+        int retInt;
+        Object retRef;
+
+        Frame(int size) {
+            ints = new int[size];
+            refs = new Object[size];
+        }
+    }
+
+    /** Ergebnis von exec: normal weiter oder return ausgeführt. */
+    static final boolean NORMAL = false, RETURNED = true;
+
+    private final List<MiniCCompiler.Stmt> program;
+    private final Resolver resolver;
+    final Frame globals;
+    private final Map<MiniCCompiler.FnDecl, MemoTable> memo;
+    private ExecutionProfile profile;
+    private Tasks tasks = new Tasks(true);
+
+    public Interpreter(List<MiniCCompiler.Stmt> program) { this(program, 0); }
+
+    /**
+     * Mit memoCapacity > 0 laufen Aufrufe reiner rekursiver Funktionen ({@link PurityAnalysis})
+     * über eine {@link MemoTable} mit höchstens so vielen Einträgen je Funktion.
+     */
+    public Interpreter(List<MiniCCompiler.Stmt> program, int memoCapacity) {
+        this.program = program;
+        this.resolver = Resolver.resolve(program);
+        this.globals = new Frame(resolver.globalCount());
+        if (memoCapacity > 0) {
+            memo = new LinkedHashMap<>(); // AST-Knoten vergleichen per Identität
+            for (MiniCCompiler.FnDecl fd : PurityAnalysis.analyze(program).memoizable()) memo.put(fd, MemoTable.of(fd, memoCapacity));
+        } else {
+            memo = null;
+        }
+    }
+
+    public Resolver getResolver() { return resolver; }
+
+    /** Instrumentierter Modus: Aufrufe, Zweige und Schleifeniterationen werden in profile gezählt. */
+    public void enableProfiling(ExecutionProfile profile) {
+        this.profile = profile;
+        sequentialTasks(); // die Zähler sind nicht threadsicher
+    }
+
+    /** spawn führt den Aufruf sofort im aufrufenden Thread aus statt auf einem virtuellen Thread. */
+    void sequentialTasks() { tasks = new Tasks(false); }
+
+    /** Wartet auf alle nicht eingelösten spawn-Aufrufe (Programmende). */
+    void joinTasks() { tasks.joinAll(); }
+
+    /** Memo-Tabellen mit Trefferstatistik je Funktion (leer ohne Memoisierung). */
+    public Collection<MemoTable> memoTables() { return memo != null ? memo.values() : List.of(); }
+
+    public void run() {
+        Frame main = new Frame(resolver.mainFrameSize());
+        try {
+            for (MiniCCompiler.Stmt s : program) exec(s, main);
+            joinTasks();
+        } finally {
+            Builtins.flush();
+        }
+    }
+
+    /** Wert einer globalen Variablen (geboxt, nur zur Ausgabe/Inspektion). */
+    public Object global(String name) {
+        MiniCCompiler.VarDecl vd = resolver.global(name);
+        if (vd == null) throw new RuntimeException("Keine globale Variable '" + name + "'");
+        return box(vd.type, globals, vd.slot);
+    }
+
+    /** Ruft eine Top-Level-Funktion mit int-Argumenten auf und liefert das int-Ergebnis. */
+    public int callInt(String name, int... args) {
+        MiniCCompiler.FnDecl fd = resolver.function(name);
+        if (fd == null) throw new RuntimeException("Keine Funktion '" + name + "'");
+        Frame f = new Frame(fd.frameSize);
+        System.arraycopy(args, 0, f.ints, 0, args.length);
+        exec(fd.body, f);
+        return f.retInt;
+    }
+
+    static Object box(MiniCCompiler.PrimType t, Frame f, int slot) {
+        return switch (t) {
+            case INT -> f.ints[slot];
+            case BOOL -> f.ints[slot] != 0;
+            case STRING -> Rope.flat(f.refs[slot]);
+            case INT_ARRAY -> f.refs[slot]; // int[]
+        };
+    }
+
+    // ---------------- Anweisungen ----------------
+
+    boolean exec(MiniCCompiler.Stmt stmt, Frame f) {
+        if (stmt instanceof MiniCCompiler.Assign as) {
+            store(as.value, as.global ? globals : f, as.slot, f);
+            return NORMAL;
+
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            int[] a = (int[]) evalRef(ia.array, f);
+            int i = evalInt(ia.index, f), v = evalInt(ia.value, f);
+            if (ia.unchecked) a[i] = v;
+            else IntArrays.set(a, i, v, ia);
+            return NORMAL;
+
+        } else if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            Frame target = vd.global ? globals : f;
+            if (vd.initializer != null) store(vd.initializer, target, vd.slot, f);
+            else if (vd.type == MiniCCompiler.PrimType.STRING) target.refs[vd.slot] = "";
+            else if (vd.type == MiniCCompiler.PrimType.INT_ARRAY) target.refs[vd.slot] = IntArrays.EMPTY;
+            else target.ints[vd.slot] = 0;
+            return NORMAL;
+
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            List<MiniCCompiler.Stmt> stmts = bl.statements;
+            for (int i = 0, n = stmts.size(); i < n; i++) {
+                if (exec(stmts.get(i), f)) return RETURNED;
+            }
+            return NORMAL;
+
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            if (profile != null) profile.loopEntry(ws);
+            while (evalBool(ws.condition, f)) {
+                if (profile != null) profile.loopIteration(ws);
+                if (exec(ws.body, f)) return RETURNED;
+            }
+            return NORMAL;
+
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            boolean taken = evalBool(ifs.condition, f);
+            if (profile != null) profile.branch(ifs, taken);
+            if (taken) return exec(ifs.thenBranch, f);
+            if (ifs.elseBranch != null) return exec(ifs.elseBranch, f);
+            return NORMAL;
+
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            if (rs.value != null) {
+                if (rs.value.type.ref()) f.retRef = evalRef(rs.value, f);
+                else f.retInt = evalInt(rs.value, f);
+            }
+            return RETURNED;
+
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            evalDiscard(es.expr, f);
+            return NORMAL;
+
+        } else if (stmt instanceof MiniCCompiler.FnDecl) {
+            return NORMAL; // Deklaration, wird über Call.target aufgerufen
+        }
+        throw new RuntimeException("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+    }
+
+    private void store(MiniCCompiler.Expr value, Frame target, int slot, Frame f) {
+        if (value.type.ref()) target.refs[slot] = evalRef(value, f);
+        else target.ints[slot] = evalInt(value, f);
+    }
+
+    private void evalDiscard(MiniCCompiler.Expr e, Frame f) {
+        if (e.type.ref()) evalRef(e, f);
+        else evalInt(e, f);
+    }
+
+    // ---------------- Ausdrücke ----------------
+
+    /** Wertet int- und bool-Ausdrücke aus (bool als 0/1). */
+    int evalInt(MiniCCompiler.Expr e, Frame f) {
+        if (e instanceof MiniCCompiler.Variable v) {
+            return (v.global ? globals : f).ints[v.slot];
+        } else if (e instanceof MiniCCompiler.IntLiteral il) {
+            return il.value;
+        } else if (e instanceof MiniCCompiler.Binary b) {
+            switch (b.op) {
+                case PLUS: return evalInt(b.left, f) + evalInt(b.right, f);
+                case MINUS: return evalInt(b.left, f) - evalInt(b.right, f);
+                case MUL: return evalInt(b.left, f) * evalInt(b.right, f);
+                case DIV: {
+                    int l = evalInt(b.left, f), r = evalInt(b.right, f);
+                    if (r == 0 && !b.nonZeroDivisor) throw new RuntimeException("Division durch Null (" + b.pos() + ")");
+                    return l / r;
+                }
+                case LT: return evalInt(b.left, f) < evalInt(b.right, f) ? 1 : 0;
+                case GT: return evalInt(b.left, f) > evalInt(b.right, f) ? 1 : 0;
+                case EQ: return equal(b, f) ? 1 : 0;
+                case NEQ: return equal(b, f) ? 0 : 1;
+            }
+        } else if (e instanceof MiniCCompiler.Index ix) {
+            int[] a = (int[]) evalRef(ix.array, f);
+            int i = evalInt(ix.index, f);
+            return ix.unchecked ? a[i] : IntArrays.get(a, i, ix);
+        } else if (e instanceof MiniCCompiler.Call c) {
+            if (c.builtin != null) return builtin(c, f);
+            if (c instanceof MiniCCompiler.Spawn s) return spawn(s, f);
+            return invoke(c, f).retInt;
+        } else if (e instanceof MiniCCompiler.BoolLiteral bl) {
+            return bl.value ? 1 : 0;
+        }
+        throw new RuntimeException("Kein int/bool-Ausdruck: " + e);
+    }
+
+    boolean evalBool(MiniCCompiler.Expr e, Frame f) {
+        if (e instanceof MiniCCompiler.Binary b) {
+            switch (b.op) {
+                case LT: return evalInt(b.left, f) < evalInt(b.right, f);
+                case GT: return evalInt(b.left, f) > evalInt(b.right, f);
+                case EQ: return equal(b, f);
+                case NEQ: return !equal(b, f);
+                default: break;
+            }
+        }
+        return evalInt(e, f) != 0;
+    }
+
+    private boolean equal(MiniCCompiler.Binary b, Frame f) {
+        if (b.left.type == MiniCCompiler.PrimType.STRING) return Rope.equal(evalRef(b.left, f), evalRef(b.right, f));
+        return evalInt(b.left, f) == evalInt(b.right, f);
+    }
+
+    /** Wertet string- und int[]-Ausdrücke aus. */
+    Object evalRef(MiniCCompiler.Expr e, Frame f) {
+        if (e instanceof MiniCCompiler.Variable v) {
+            return (v.global ? globals : f).refs[v.slot];
+        } else if (e instanceof MiniCCompiler.StringLiteral sl) {
+            return sl.value;
+        } else if (e instanceof MiniCCompiler.Binary b) { // nur PLUS (Verkettung)
+            return Rope.concat(toStr(b.left, f), toStr(b.right, f));
+        } else if (e instanceof MiniCCompiler.NewArray na) {
+            return IntArrays.allocate(evalInt(na.length, f), na);
+        } else if (e instanceof MiniCCompiler.Call c) {
+            return invoke(c, f).retRef;
+        }
+        throw new RuntimeException("Kein string-Ausdruck: " + e);
+    }
+
+    private Object toStr(MiniCCompiler.Expr e, Frame f) {
+        return switch (e.type) {
+            case STRING -> evalRef(e, f);
+            case INT -> Integer.toString(evalInt(e, f));
+            case BOOL -> evalInt(e, f) != 0 ? "true" : "false";
+            case INT_ARRAY -> throw new RuntimeException("int[] ist nicht in string umwandelbar (" + e.pos() + ")");
+        };
+    }
+
+    /** Eingebaute Funktionen: direkter Aufruf ohne Frame (alle liefern int). */
+    int builtin(MiniCCompiler.Call c, Frame f) {
+        return switch (c.builtin) {
+            case PRINT -> Builtins.print(Rope.flat(evalRef(c.args.get(0), f)));
+            case PRINT_INT -> Builtins.printInt(evalInt(c.args.get(0), f));
+            case STRLEN -> Rope.length(evalRef(c.args.get(0), f));
+            case READ_INT -> Builtins.readInt();
+            case JOIN -> tasks.join(evalInt(c.args.get(0), f));
+        };
+    }
+
+    /** Argumente werden im aufrufenden Thread ausgewertet, nur der Rumpf läuft nebenläufig. */
+    private int spawn(MiniCCompiler.Spawn s, Frame caller) {
+        if (profile != null) profile.call(s);
+        Frame callee = arguments(s, caller);
+        return tasks.spawn(() -> body(s.target, callee).retInt);
+    }
+
+    private Frame invoke(MiniCCompiler.Call c, Frame caller) {
+        if (profile != null) profile.call(c);
+        return body(c.target, arguments(c, caller));
+    }
+
+    private Frame arguments(MiniCCompiler.Call c, Frame caller) {
+        Frame callee = new Frame(c.target.frameSize);
+        List<MiniCCompiler.Expr> args = c.args;
+        for (int i = 0, n = args.size(); i < n; i++) {
+            MiniCCompiler.Expr a = args.get(i);
+            if (a.type.ref()) callee.refs[i] = evalRef(a, caller);
+            else callee.ints[i] = evalInt(a, caller);
+        }
+        return callee;
+    }
+
+    private Frame body(MiniCCompiler.FnDecl fd, Frame callee) {
+        MemoTable t = memo != null ? memo.get(fd) : null;
+        if (t != null) t.invoke(this, callee);
+        else exec(fd.body, callee);
+        return callee;
+    }
+}
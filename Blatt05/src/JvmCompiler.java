@@ -0,0 +1,550 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+
+/**
+ * Übersetzt ein MiniC-Programm in JVM-Bytecode und lädt es als Hidden Class.
+ *
+ * Jede FnDecl wird eine statische Methode mit int/boolean/Object-Parametern, die lokalen
+ * Variablen liegen in den JVM-Locals (Slots vom {@link Resolver}). string-Werte sind wie im
+ * Interpreter String oder {@link Rope} und werden nur für eingebaute Funktionen abgeflacht. Globale Variablen werden
+ * statische Felder, die Top-Level-Anweisungen die Methode run(). Calls zwischen MiniC-Funktionen
+ * sind direkte invokestatic-Aufrufe, so dass der JIT sie wie Java-Code inlinen kann.
+ *
+ * Für {@link TieredRuntime} gibt es zusätzlich Übersetzungseinheiten, die einzelne Funktionen
+ * (samt aufgerufener Funktionen) übersetzen und die globalen Variablen mit dem Interpreter teilen:
+ * {@link #compileEntry} und {@link #compileOsr} liefern Methoden, die auf einem Interpreter-Frame arbeiten.
+ */
+public class JvmCompiler {
+
+    private static final String STRING = "java/lang/String";
+    private static final String STRING_DESC = "Ljava/lang/String;";
+    private static final String OBJECT_DESC = "Ljava/lang/Object;";
+    private static final String INT_ARRAY = "[I";
+
+    /** Ein geladenes, ausführbares Programm. */
+    public static final class Program {
+        private final Class<?> cls;
+        private final MethodHandles.Lookup lookup;
+        private final Resolver resolver;
+        private final Map<MiniCCompiler.FnDecl, String> methodNames;
+
+        private Program(MethodHandles.Lookup lookup, Resolver resolver, Map<MiniCCompiler.FnDecl, String> methodNames) {
+            this.cls = lookup.lookupClass();
+            this.lookup = lookup;
+            this.resolver = resolver;
+            this.methodNames = methodNames;
+        }
+
+        public Class<?> generatedClass() { return cls; }
+
+        public void run() {
+            try {
+                lookup.findStatic(cls, "run", MethodType.methodType(void.class)).invokeExact();
+            } catch (Throwable t) {
+                throw rethrow(t);
+            } finally {
+                Builtins.flush();
+            }
+        }
+
+        /** Wert einer globalen Variablen (geboxt, nur zur Ausgabe/Inspektion). */
+        public Object global(String name) {
+            MiniCCompiler.VarDecl vd = resolver.global(name);
+            if (vd == null) throw new RuntimeException("Keine globale Variable '" + name + "'");
+            try {
+                Object v = lookup.findStaticGetter(cls, globalName(vd), javaType(vd.type)).invoke();
+                return vd.type == MiniCCompiler.PrimType.STRING ? Rope.flat(v) : v;
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        /** MethodHandle auf die übersetzte Top-Level-Funktion. */
+        public MethodHandle function(String name) {
+            MiniCCompiler.FnDecl fd = resolver.function(name);
+            if (fd == null) throw new RuntimeException("Keine Funktion '" + name + "'");
+            try {
+                return lookup.findStatic(cls, methodNames.get(fd), methodType(fd));
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        /** Ruft eine Top-Level-Funktion mit int-Argumenten auf und liefert das int-Ergebnis. */
+        public int callInt(String name, int... args) {
+            Object[] boxed = new Object[args.length];
+            for (int i = 0; i < args.length; i++) boxed[i] = args[i];
+            try {
+                return (int) function(name).invokeWithArguments(boxed);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof ArithmeticException) return new RuntimeException("Division durch Null", t);
+        if (t instanceof RuntimeException re) return re;
+        if (t instanceof Error e) throw e;
+        return new RuntimeException(t);
+    }
+
+    private static final String FRAME = "Interpreter$Frame";
+    private static final String FRAME_DESC = "LInterpreter$Frame;";
+
+    /** Lokale Variable mit ihrem Slot, für den OSR-Einsprung. */
+    private record Local(int slot, MiniCCompiler.PrimType type) {}
+
+    private final ClassFileWriter cw;
+    private final boolean sharedGlobals; // globale Variablen in den Arrays globalInts/globalRefs statt in Feldern
+    private final Map<MiniCCompiler.FnDecl, String> methodNames = new IdentityHashMap<>();
+    private final Deque<List<Local>> scopes = new ArrayDeque<>();
+    private ClassFileWriter.Code code;
+    private MiniCCompiler.FnDecl currentFn;
+    private int slotBase;              // JVM-Local = MiniC-Slot + slotBase
+    private boolean resultToFrame;     // return schreibt in Frame.retInt/retRef statt ireturn/areturn
+    private MiniCCompiler.WhileStmt osrLoop;
+    private ClassFileWriter.Label osrHeader;
+    private List<Local> osrLocals;
+
+    private JvmCompiler(String className) { this(className, false); }
+
+    private JvmCompiler(String className, boolean sharedGlobals) {
+        this.cw = new ClassFileWriter(className);
+        this.sharedGlobals = sharedGlobals;
+        if (sharedGlobals) {
+            cw.field(ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_PRIVATE, "globalInts", "[I");
+            cw.field(ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_PRIVATE, "globalRefs", "[Ljava/lang/Object;");
+        }
+    }
+
+    public static Program compile(List<MiniCCompiler.Stmt> program) {
+        Resolver r = Resolver.resolve(program);
+        JvmCompiler c = new JvmCompiler("MiniCProgram");
+        byte[] bytes = c.compileProgram(program, r);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return new Program(lookup, r, c.methodNames);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Erzeugt die Classfile-Bytes (ohne zu laden). */
+    static byte[] classBytes(List<MiniCCompiler.Stmt> program) {
+        return new JvmCompiler("MiniCProgram").compileProgram(program, Resolver.resolve(program));
+    }
+
+    private byte[] compileProgram(List<MiniCCompiler.Stmt> program, Resolver r) {
+        for (MiniCCompiler.VarDecl vd : r.globals()) {
+            cw.field(ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_PRIVATE, globalName(vd), descriptor(vd.type));
+        }
+        List<MiniCCompiler.FnDecl> fns = r.functions();
+        for (int i = 0; i < fns.size(); i++) methodNames.put(fns.get(i), fns.get(i).name + "$" + i);
+
+        code = cw.method(ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_PUBLIC, "run", "()V", r.mainFrameSize());
+        for (MiniCCompiler.Stmt s : program) stmt(s);
+        code.terminate(ClassFileWriter.RETURN);
+        code.end();
+
+        for (MiniCCompiler.FnDecl fd : fns) function(fd);
+        return cw.toByteArray();
+    }
+
+    private void function(MiniCCompiler.FnDecl fd) {
+        currentFn = fd;
+        slotBase = 0;
+        resultToFrame = false;
+        code = cw.method(ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_PUBLIC, methodNames.get(fd),
+                methodType(fd).toMethodDescriptorString(), Math.max(fd.frameSize, 1));
+        functionBody(fd);
+        code.end();
+    }
+
+    private void functionBody(MiniCCompiler.FnDecl fd) {
+        List<Local> params = new ArrayList<>();
+        for (int i = 0; i < fd.params.size(); i++) params.add(new Local(i, fd.params.get(i).type));
+        scopes.push(params);
+        stmt(fd.body);
+        scopes.pop();
+        // Ende ohne return: Standardwert zurückgeben
+        defaultValue(fd.returnType);
+        returnValue(fd.returnType);
+    }
+
+    // ---------------- Übersetzungseinheiten für die Tiered-Ausführung ----------------
+
+    /**
+     * Übersetzt fn samt aller (transitiv) aufgerufenen Funktionen und liefert einen Handle
+     * (Interpreter.Frame)void: liest die Argumente aus dem Frame, schreibt das Ergebnis nach retInt/retRef.
+     */
+    static MethodHandle compileEntry(MiniCCompiler.FnDecl fn, Interpreter.Frame globals) {
+        JvmCompiler c = new JvmCompiler("MiniCTier", true);
+        c.declareFunctions(fn, List.of(fn.body));
+        c.code = c.cw.method(ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_PUBLIC, "enter", "(" + FRAME_DESC + ")V", 1);
+        for (int i = 0; i < fn.params.size(); i++) c.frameSlot(0, i, fn.params.get(i).type);
+        c.code.invoke(ClassFileWriter.INVOKESTATIC, c.cw.name(), c.methodNames.get(fn),
+                methodType(fn).toMethodDescriptorString(), 1 - fn.params.size());
+        c.resultToFrame = true;
+        c.returnValue(fn.returnType);
+        c.code.end();
+        return c.load(globals, "enter");
+    }
+
+    /**
+     * OSR-Übersetzung: übersetzt den Rumpf von owner (null: Hauptprogramm body) mit einem Einsprung
+     * direkt in den Kopf von loop. Der Handle (Interpreter.Frame)void lädt die an der Schleife sichtbaren
+     * lokalen Variablen aus dem Frame und führt den Rest der Funktion bzw. des Programms kompiliert aus.
+     */
+    static MethodHandle compileOsr(MiniCCompiler.FnDecl owner, List<MiniCCompiler.Stmt> body, MiniCCompiler.WhileStmt loop,
+                                   int frameSize, Interpreter.Frame globals) {
+        JvmCompiler c = new JvmCompiler("MiniCTier", true);
+        c.declareFunctions(null, owner != null ? List.of(owner.body) : body);
+        c.currentFn = owner;
+        c.slotBase = 1;
+        c.resultToFrame = true;
+        c.osrLoop = loop;
+        c.code = c.cw.method(ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_PUBLIC, "osr", "(" + FRAME_DESC + ")V", frameSize + 1);
+        ClassFileWriter.Label prologue = new ClassFileWriter.Label();
+        c.code.jump(ClassFileWriter.GOTO, prologue, 0);
+        if (owner != null) {
+            c.functionBody(owner);
+        } else {
+            c.scopes.push(new ArrayList<>());
+            for (MiniCCompiler.Stmt s : body) c.stmt(s);
+            c.code.terminate(ClassFileWriter.RETURN);
+        }
+        if (c.osrHeader == null) throw new RuntimeException("Schleife für OSR nicht gefunden");
+        // Prolog: lokale Variablen aus dem Frame laden, dann in den Schleifenkopf springen
+        c.code.mark(prologue);
+        for (Local l : c.osrLocals) {
+            c.frameSlot(0, l.slot, l.type);
+            c.code.local(l.type.ref() ? ClassFileWriter.ASTORE : ClassFileWriter.ISTORE, l.slot + 1);
+        }
+        c.code.jump(ClassFileWriter.GOTO, c.osrHeader, 0);
+        c.code.end();
+        return c.load(globals, "osr");
+    }
+
+    /** Vergibt Methodennamen für fn (falls != null) und alle von roots aus (transitiv) aufgerufenen Funktionen und übersetzt sie. */
+    private void declareFunctions(MiniCCompiler.FnDecl fn, List<? extends MiniCCompiler.Node> roots) {
+        Deque<MiniCCompiler.Node> work = new ArrayDeque<>(roots);
+        List<MiniCCompiler.FnDecl> fns = new ArrayList<>();
+        if (fn != null) {
+            methodNames.put(fn, fn.name + "$0");
+            fns.add(fn);
+        }
+        while (!work.isEmpty()) {
+            for (MiniCCompiler.Node n : AstHash.preorder(work.pop())) {
+                if (n instanceof MiniCCompiler.Call call && call.builtin == null && !methodNames.containsKey(call.target)) {
+                    methodNames.put(call.target, call.target.name + "$" + methodNames.size());
+                    fns.add(call.target);
+                    work.push(call.target.body);
+                }
+            }
+        }
+        for (MiniCCompiler.FnDecl fd : fns) function(fd);
+    }
+
+    /** Lädt frame.ints[slot] bzw. frame.refs[slot] (frame im JVM-Local frameLocal) auf den Stack. */
+    private void frameSlot(int frameLocal, int slot, MiniCCompiler.PrimType type) {
+        code.local(ClassFileWriter.ALOAD, frameLocal);
+        boolean ref = type.ref();
+        code.field(ClassFileWriter.GETFIELD, FRAME, ref ? "refs" : "ints", ref ? "[Ljava/lang/Object;" : "[I");
+        code.iconst(slot);
+        code.op(ref ? ClassFileWriter.AALOAD : ClassFileWriter.IALOAD, -1);
+        if (ref) fromObject(type);
+    }
+
+    /** Wert aus einem Object[] des Interpreters auf den statischen Typ bringen (string bleibt Object). */
+    private void fromObject(MiniCCompiler.PrimType type) {
+        if (type == MiniCCompiler.PrimType.INT_ARRAY) code.checkcast(INT_ARRAY);
+    }
+
+    /** String oder Rope zu String, für eingebaute Funktionen. */
+    private void flat() {
+        code.invoke(ClassFileWriter.INVOKESTATIC, "Rope", "flat", "(" + OBJECT_DESC + ")" + STRING_DESC, 0);
+    }
+
+    private MethodHandle load(Interpreter.Frame globals, String method) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(cw.toByteArray(), true);
+            Class<?> cls = lookup.lookupClass();
+            lookup.findStaticSetter(cls, "globalInts", int[].class).invoke(globals.ints);
+            lookup.findStaticSetter(cls, "globalRefs", Object[].class).invoke(globals.refs);
+            return lookup.findStatic(cls, method, MethodType.methodType(void.class, Interpreter.Frame.class));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // ---------------- Anweisungen ----------------
+
+    private void stmt(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            storePrefix(vd.type, vd.global, vd.slot);
+            if (vd.initializer != null) expr(vd.initializer);
+            else defaultValue(vd.type);
+            store(vd.type, vd.global, vd.slot, vd.name);
+            if (!vd.global && !scopes.isEmpty()) scopes.peek().add(new Local(vd.slot, vd.type));
+
+        } else if (stmt instanceof MiniCCompiler.Assign as && !as.global && increment(as) != null) {
+            code.iinc(as.slot + slotBase, increment(as));
+
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            storePrefix(as.value.type, as.global, as.slot);
+            expr(as.value);
+            store(as.value.type, as.global, as.slot, as.name);
+
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            expr(ia.array);
+            expr(ia.index);
+            expr(ia.value);
+            if (ia.unchecked) {
+                code.op(ClassFileWriter.IASTORE, -3);
+            } else {
+                code.sconst(ia.pos());
+                code.invoke(ClassFileWriter.INVOKESTATIC, "IntArrays", "set", "(" + INT_ARRAY + "II" + STRING_DESC + ")V", -4);
+            }
+
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            scopes.push(new ArrayList<>());
+            for (MiniCCompiler.Stmt s : bl.statements) stmt(s);
+            scopes.pop();
+
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            ClassFileWriter.Label start = new ClassFileWriter.Label(), end = new ClassFileWriter.Label();
+            if (ws == osrLoop) {
+                osrHeader = start;
+                osrLocals = new ArrayList<>();
+                for (List<Local> scope : scopes) osrLocals.addAll(scope);
+            }
+            code.mark(start);
+            branchIfFalse(ws.condition, end);
+            stmt(ws.body);
+            code.jump(ClassFileWriter.GOTO, start, 0);
+            code.mark(end);
+
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            ClassFileWriter.Label otherwise = new ClassFileWriter.Label(), end = new ClassFileWriter.Label();
+            branchIfFalse(ifs.condition, otherwise);
+            stmt(ifs.thenBranch);
+            if (ifs.elseBranch != null) code.jump(ClassFileWriter.GOTO, end, 0);
+            code.mark(otherwise);
+            if (ifs.elseBranch != null) {
+                stmt(ifs.elseBranch);
+                code.mark(end);
+            }
+
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            if (rs.value != null) expr(rs.value);
+            else defaultValue(currentFn.returnType);
+            returnValue(currentFn.returnType);
+
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            expr(es.expr);
+            code.op(ClassFileWriter.POP, -1);
+
+        } else if (!(stmt instanceof MiniCCompiler.FnDecl)) { // Funktionen werden separat übersetzt
+            throw new RuntimeException("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+        }
+    }
+
+    /** x = x + c bzw. x = x - c auf einer lokalen Variable mit c in 16 Bit: das c für IINC, sonst null. */
+    private static Integer increment(MiniCCompiler.Assign as) {
+        if (!(as.value instanceof MiniCCompiler.Binary b) || !(b.left instanceof MiniCCompiler.Variable v)
+                || v.global || v.slot != as.slot || !(b.right instanceof MiniCCompiler.IntLiteral c)) return null;
+        int delta = b.op == MiniCCompiler.Operator.PLUS ? c.value : b.op == MiniCCompiler.Operator.MINUS ? -c.value : Integer.MIN_VALUE;
+        return delta >= Short.MIN_VALUE && delta <= Short.MAX_VALUE ? delta : null;
+    }
+
+    /** Bei geteilten globalen Variablen: Array und Index vor dem Wert auf den Stack legen. */
+    private void storePrefix(MiniCCompiler.PrimType type, boolean global, int slot) {
+        if (!global || !sharedGlobals) return;
+        boolean ref = type.ref();
+        code.field(ClassFileWriter.GETSTATIC, cw.name(), ref ? "globalRefs" : "globalInts", ref ? "[Ljava/lang/Object;" : "[I");
+        code.iconst(slot);
+    }
+
+    private void store(MiniCCompiler.PrimType type, boolean global, int slot, String name) {
+        boolean ref = type.ref();
+        if (global && sharedGlobals) code.op(ref ? ClassFileWriter.AASTORE : ClassFileWriter.IASTORE, -3);
+        else if (global) code.field(ClassFileWriter.PUTSTATIC, cw.name(), name + "$" + slot, descriptor(type));
+        else code.local(ref ? ClassFileWriter.ASTORE : ClassFileWriter.ISTORE, slot + slotBase);
+    }
+
+    private void returnValue(MiniCCompiler.PrimType type) {
+        boolean ref = type.ref();
+        if (resultToFrame) {
+            code.local(ClassFileWriter.ALOAD, 0);
+            code.op(ClassFileWriter.SWAP, 0);
+            code.field(ClassFileWriter.PUTFIELD, FRAME, ref ? "retRef" : "retInt", ref ? "Ljava/lang/Object;" : "I");
+            code.terminate(ClassFileWriter.RETURN);
+        } else {
+            code.terminate(ref ? ClassFileWriter.ARETURN : ClassFileWriter.IRETURN);
+        }
+    }
+
+    private void defaultValue(MiniCCompiler.PrimType type) {
+        if (type == MiniCCompiler.PrimType.STRING) code.sconst("");
+        else if (type == MiniCCompiler.PrimType.INT_ARRAY) code.field(ClassFileWriter.GETSTATIC, "IntArrays", "EMPTY", INT_ARRAY);
+        else code.iconst(0);
+    }
+
+    // ---------------- Ausdrücke ----------------
+
+    private void expr(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.IntLiteral il) {
+            code.iconst(il.value);
+        } else if (e instanceof MiniCCompiler.BoolLiteral bl) {
+            code.iconst(bl.value ? 1 : 0);
+        } else if (e instanceof MiniCCompiler.StringLiteral sl) {
+            code.sconst(sl.value);
+        } else if (e instanceof MiniCCompiler.Variable v) {
+            boolean ref = v.type.ref();
+            if (v.global && sharedGlobals) {
+                code.field(ClassFileWriter.GETSTATIC, cw.name(), ref ? "globalRefs" : "globalInts", ref ? "[Ljava/lang/Object;" : "[I");
+                code.iconst(v.slot);
+                code.op(ref ? ClassFileWriter.AALOAD : ClassFileWriter.IALOAD, -1);
+                if (ref) fromObject(v.type);
+            } else if (v.global) {
+                code.field(ClassFileWriter.GETSTATIC, cw.name(), v.name + "$" + v.slot, descriptor(v.type));
+            } else {
+                code.local(ref ? ClassFileWriter.ALOAD : ClassFileWriter.ILOAD, v.slot + slotBase);
+            }
+        } else if (e instanceof MiniCCompiler.Binary b) {
+            binary(b);
+        } else if (e instanceof MiniCCompiler.NewArray na) {
+            expr(na.length);
+            code.sconst(na.pos());
+            code.invoke(ClassFileWriter.INVOKESTATIC, "IntArrays", "allocate", "(I" + STRING_DESC + ")" + INT_ARRAY, -1);
+        } else if (e instanceof MiniCCompiler.Index ix) {
+            expr(ix.array);
+            expr(ix.index);
+            if (ix.unchecked) {
+                code.op(ClassFileWriter.IALOAD, -1);
+            } else {
+                code.sconst(ix.pos());
+                code.invoke(ClassFileWriter.INVOKESTATIC, "IntArrays", "get", "(" + INT_ARRAY + "I" + STRING_DESC + ")I", -2);
+            }
+        } else if (e instanceof MiniCCompiler.Spawn s) {
+            throw new RuntimeException("spawn wird vom JVM-Backend nicht unterstützt (" + s.pos() + ")");
+        } else if (e instanceof MiniCCompiler.Call c && c.builtin != null) {
+            if (c.builtin == Builtins.Builtin.STRLEN) { // Länge ohne Abflachen
+                expr(c.args.get(0));
+                code.invoke(ClassFileWriter.INVOKESTATIC, "Rope", "length", "(" + OBJECT_DESC + ")I", 0);
+                return;
+            }
+            for (MiniCCompiler.Expr a : c.args) {
+                expr(a);
+                if (a.type == MiniCCompiler.PrimType.STRING) flat();
+            }
+            String desc = switch (c.builtin) {
+                case PRINT, STRLEN -> "(" + STRING_DESC + ")I";
+                case PRINT_INT -> "(I)I";
+                case READ_INT -> "()I";
+                case JOIN -> throw new RuntimeException("join wird vom JVM-Backend nicht unterstützt (" + c.pos() + ")");
+            };
+            code.invoke(ClassFileWriter.INVOKESTATIC, "Builtins", c.builtin.name, desc, 1 - c.args.size());
+        } else if (e instanceof MiniCCompiler.Call c) {
+            for (MiniCCompiler.Expr a : c.args) expr(a);
+            code.invoke(ClassFileWriter.INVOKESTATIC, cw.name(), methodNames.get(c.target),
+                    methodType(c.target).toMethodDescriptorString(), 1 - c.args.size());
+        } else {
+            throw new RuntimeException("Unbekannter Expression-Typ: " + e.getClass().getSimpleName());
+        }
+    }
+
+    private void binary(MiniCCompiler.Binary b) {
+        if (b.type == MiniCCompiler.PrimType.STRING) { // Verkettung
+            toStr(b.left);
+            toStr(b.right);
+            code.invoke(ClassFileWriter.INVOKESTATIC, "Rope", "concat", "(" + OBJECT_DESC + OBJECT_DESC + ")" + OBJECT_DESC, -1);
+            return;
+        }
+        switch (b.op) {
+            case PLUS, MINUS, MUL, DIV -> {
+                expr(b.left);
+                expr(b.right);
+                code.op(switch (b.op) {
+                    case PLUS -> ClassFileWriter.IADD;
+                    case MINUS -> ClassFileWriter.ISUB;
+                    case MUL -> ClassFileWriter.IMUL;
+                    default -> ClassFileWriter.IDIV;
+                }, -1);
+            }
+            default -> { // Vergleich als Wert: 0/1
+                ClassFileWriter.Label no = new ClassFileWriter.Label(), end = new ClassFileWriter.Label();
+                branchIfFalse(b, no);
+                code.iconst(1);
+                code.jump(ClassFileWriter.GOTO, end, 0);
+                code.mark(no);
+                code.iconst(0);
+                code.mark(end);
+            }
+        }
+    }
+
+    /** Wertet eine Bedingung aus und springt zu target, wenn sie falsch ist. */
+    private void branchIfFalse(MiniCCompiler.Expr cond, ClassFileWriter.Label target) {
+        if (cond instanceof MiniCCompiler.Binary b && b.type == MiniCCompiler.PrimType.BOOL) {
+            if (b.left.type == MiniCCompiler.PrimType.STRING) { // EQ/NEQ auf Strings
+                expr(b.left);
+                expr(b.right);
+                code.invoke(ClassFileWriter.INVOKESTATIC, "Rope", "equal", "(" + OBJECT_DESC + OBJECT_DESC + ")Z", -1);
+                code.jump(b.op == MiniCCompiler.Operator.EQ ? ClassFileWriter.IFEQ : ClassFileWriter.IFNE, target, -1);
+                return;
+            }
+            expr(b.left);
+            expr(b.right);
+            code.jump(switch (b.op) {
+                case LT -> ClassFileWriter.IF_ICMPGE;
+                case GT -> ClassFileWriter.IF_ICMPLE;
+                case EQ -> ClassFileWriter.IF_ICMPNE;
+                default -> ClassFileWriter.IF_ICMPEQ; // NEQ
+            }, target, -2);
+            return;
+        }
+        expr(cond);
+        code.jump(ClassFileWriter.IFEQ, target, -1);
+    }
+
+    private void toStr(MiniCCompiler.Expr e) {
+        expr(e);
+        if (e.type == MiniCCompiler.PrimType.INT) {
+            code.invoke(ClassFileWriter.INVOKESTATIC, STRING, "valueOf", "(I)" + STRING_DESC, 0);
+        } else if (e.type == MiniCCompiler.PrimType.BOOL) {
+            code.invoke(ClassFileWriter.INVOKESTATIC, STRING, "valueOf", "(Z)" + STRING_DESC, 0);
+        }
+    }
+
+    // ---------------- Typen ----------------
+
+    private static String globalName(MiniCCompiler.VarDecl vd) { return vd.name + "$" + vd.slot; }
+
+    private static Class<?> javaType(MiniCCompiler.PrimType t) {
+        return switch (t) {
+            case INT -> int.class;
+            case BOOL -> boolean.class;
+            case STRING -> Object.class;
+            case INT_ARRAY -> int[].class;
+        };
+    }
+
+    private static String descriptor(MiniCCompiler.PrimType t) {
+        return switch (t) {
+            case INT -> "I";
+            case BOOL -> "Z";
+            case STRING -> OBJECT_DESC;
+            case INT_ARRAY -> INT_ARRAY;
+        };
+    }
+
+    static MethodType methodType(MiniCCompiler.FnDecl fd) {
+        Class<?>[] params = new Class<?>[fd.params.size()];
+        for (int i = 0; i < params.length; i++) params[i] = javaType(fd.params.get(i).type);
+        return MethodType.methodType(javaType(fd.returnType), params);
+    }
+}
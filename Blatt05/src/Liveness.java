@@ -0,0 +1,66 @@
+import java.util.*;
+
+/**
+ * Lebendigkeitsanalyse (rückwärts, Vereinigung) über die lokalen Slots eines {@link Cfg}.
+ *
+ * Ein Slot ist lebendig, wenn sein aktueller Wert auf irgendeinem Pfad noch gelesen wird.
+ * Eine VarDecl ohne Initialisierer zählt als Definition, weil sie den Slot neu belegt.
+ */
+public final class Liveness extends Dataflow.GenKill {
+
+    private final Cfg cfg;
+    private final Dataflow result;
+
+    public Liveness(Cfg cfg) {
+        super(cfg);
+        this.cfg = cfg;
+        List<MiniCCompiler.Variable> uses = new ArrayList<>();
+        for (Cfg.BasicBlock bb : cfg.blocks) {
+            // rückwärts: gen = vor jeder Definition gelesen, kill = definiert
+            long[] g = gen[bb.id], k = kill[bb.id];
+            for (int i = bb.items.size() - 1; i >= 0; i--) {
+                MiniCCompiler.Node item = bb.items.get(i);
+                int d = Cfg.def(item);
+                if (d >= 0) {
+                    Dataflow.set(k, d);
+                    Dataflow.clear(g, d);
+                }
+                uses.clear();
+                Cfg.uses(item, uses);
+                for (MiniCCompiler.Variable v : uses) Dataflow.set(g, v.slot);
+            }
+        }
+        result = Dataflow.solve(cfg, this);
+    }
+
+    @Override public boolean forward() { return false; }
+    @Override public boolean union() { return true; }
+    @Override public void boundary(long[] set) { } // nach dem Austritt ist nichts lebendig
+
+    public long[] liveIn(int block) { return result.in[block]; }
+    public long[] liveOut(int block) { return result.out[block]; }
+    public Dataflow result() { return result; }
+
+    /** VarDecls mit Initialisierer und Zuweisungen, deren Wert nie gelesen wird. */
+    public List<MiniCCompiler.Stmt> deadStores() {
+        List<MiniCCompiler.Stmt> dead = new ArrayList<>();
+        List<MiniCCompiler.Variable> uses = new ArrayList<>();
+        long[] live = new long[Dataflow.words(cfg.slots)];
+        for (Cfg.BasicBlock bb : cfg.blocks) {
+            System.arraycopy(result.out[bb.id], 0, live, 0, live.length);
+            for (int i = bb.items.size() - 1; i >= 0; i--) {
+                MiniCCompiler.Node item = bb.items.get(i);
+                int d = Cfg.def(item);
+                if (d >= 0) {
+                    boolean stores = !(item instanceof MiniCCompiler.VarDecl vd) || vd.initializer != null;
+                    if (stores && !Dataflow.get(live, d)) dead.add((MiniCCompiler.Stmt) item);
+                    Dataflow.clear(live, d);
+                }
+                uses.clear();
+                Cfg.uses(item, uses);
+                for (MiniCCompiler.Variable v : uses) Dataflow.set(live, v.slot);
+            }
+        }
+        return dead;
+    }
+}
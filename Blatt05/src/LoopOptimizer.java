@@ -0,0 +1,361 @@
+import java.util.*;
+
+/**
+ * AST-zu-AST-Optimierung für while-Schleifen: schleifeninvariante Ausdrücke herausziehen (LICM)
+ * und Multiplikationen mit dem Schleifenzähler durch Additionen ersetzen (Strength Reduction).
+ *
+ * Invariant ist ein Binary ohne Call, dessen Variablen in der Schleife weder zugewiesen noch
+ * deklariert werden; globale Variablen zählen nur, wenn die Schleife keinen Call enthält. Solche
+ * Ausdrücke werden vor der Schleife in eine neue Variable {@code inv$n} ausgewertet, gleiche
+ * Ausdrücke teilen sich eine Variable. Division wird nur mit konstantem Divisor ungleich 0
+ * verschoben, damit keine Ausnahme entsteht, die ohne Umbau nicht aufgetreten wäre.
+ * Schleifen werden von innen nach außen behandelt; {@code inv$}-Deklarationen einer inneren
+ * Schleife, die auch in der äußeren invariant sind, wandern als Ganzes weiter nach außen.
+ *
+ * Zählervariable ist eine Variable mit genau einer Zuweisung {@code i = i ± c} direkt im
+ * Schleifenrumpf. Aus {@code i * k} mit invariantem k wird {@code sr$n}, das vor der Schleife
+ * mit {@code i * k} initialisiert und direkt nach der Zuweisung an i um {@code ±c * k} erhöht wird.
+ * In unseren Backends kostet eine Multiplikation nicht mehr als eine Addition; das Fortschreiben
+ * lohnt sich daher erst, wenn dasselbe Produkt mindestens zweimal in der Schleife vorkommt.
+ */
+public class LoopOptimizer {
+
+    private static final MiniCCompiler.PrimType INT = MiniCCompiler.PrimType.INT;
+
+    private final boolean strengthReduction;
+    private final Set<String> invariants = new HashSet<>(); // inv$-Namen, nie zugewiesen
+    private int nextId;
+    private int loops, hoistedExpressions, movedDeclarations, reducedMultiplications;
+
+    /** Zustand der gerade bearbeiteten Schleife (innere Schleifen sind dann schon fertig). */
+    private Set<String> written, declared;
+    private boolean hasCall;
+    private List<MiniCCompiler.Stmt> pre;
+    private Map<String, String> hoisted;
+
+    public LoopOptimizer() { this(true); }
+
+    public LoopOptimizer(boolean strengthReduction) { this.strengthReduction = strengthReduction; }
+
+    public List<MiniCCompiler.Stmt> optimize(List<MiniCCompiler.Stmt> program) {
+        Resolver.resolve(program);
+        return statements(program);
+    }
+
+    public int loops() { return loops; }
+    public int hoistedExpressions() { return hoistedExpressions; }
+    public int movedDeclarations() { return movedDeclarations; }
+    public int reducedMultiplications() { return reducedMultiplications; }
+
+    @Override public String toString() {
+        return "Schleifen " + loops + ", herausgezogen " + hoistedExpressions + ", Deklarationen verschoben "
+                + movedDeclarations + ", Multiplikationen ersetzt " + reducedMultiplications;
+    }
+
+    // ---------------- Kopie ----------------
+
+    private List<MiniCCompiler.Stmt> statements(List<MiniCCompiler.Stmt> in) {
+        List<MiniCCompiler.Stmt> out = new ArrayList<>(in.size());
+        for (MiniCCompiler.Stmt s : in) {
+            if (s instanceof MiniCCompiler.WhileStmt ws) loop(ws, out);
+            else out.add(copy(s));
+        }
+        return out;
+    }
+
+    private MiniCCompiler.Block block(MiniCCompiler.Block bl) {
+        return new MiniCCompiler.Block(statements(bl.statements), bl.line, bl.col);
+    }
+
+    /** Tiefe Kopie; Schleifen werden dabei optimiert. */
+    private MiniCCompiler.Stmt copy(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            List<MiniCCompiler.Stmt> out = new ArrayList<>();
+            loop(ws, out);
+            return out.size() == 1 ? out.get(0) : new MiniCCompiler.Block(out, ws.line, ws.col);
+        }
+        return ConstantFolder.copy(stmt, this::block);
+    }
+
+    // ---------------- Schleife ----------------
+
+    private void loop(MiniCCompiler.WhileStmt ws, List<MiniCCompiler.Stmt> out) {
+        loops++;
+        List<MiniCCompiler.Stmt> body = statements(ws.body.statements); // innere Schleifen zuerst
+        MiniCCompiler.WhileStmt loop = new MiniCCompiler.WhileStmt(ConstantFolder.copy(ws.condition), new MiniCCompiler.Block(body, ws.body.line, ws.body.col), ws.line, ws.col);
+        written = new HashSet<>();
+        declared = new HashSet<>();
+        hasCall = false;
+        pre = new ArrayList<>();
+        hoisted = new HashMap<>();
+        for (MiniCCompiler.Node n : ownNodes(loop)) {
+            if (n instanceof MiniCCompiler.Assign as) written.add(as.name);
+            else if (n instanceof MiniCCompiler.VarDecl vd) { written.add(vd.name); declared.add(vd.name); }
+            else if (n instanceof MiniCCompiler.Call) hasCall = true;
+        }
+
+        // inv$-Deklarationen innerer Schleifen weiter nach außen schieben
+        for (Iterator<MiniCCompiler.Stmt> it = body.iterator(); it.hasNext(); ) {
+            if (it.next() instanceof MiniCCompiler.VarDecl vd && invariants.contains(vd.name) && invariant(vd.initializer)) {
+                it.remove();
+                written.remove(vd.name);
+                declared.remove(vd.name);
+                pre.add(vd);
+                movedDeclarations++;
+            }
+        }
+        loop.condition = hoist(loop.condition);
+        for (MiniCCompiler.Stmt s : body) hoist(s);
+        if (strengthReduction) reduce(loop);
+
+        out.addAll(pre);
+        out.add(loop);
+    }
+
+    private boolean invariant(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.Variable v) return !written.contains(v.name) && !(v.global && hasCall);
+        if (e instanceof MiniCCompiler.Binary b) {
+            if (b.op == MiniCCompiler.Operator.DIV && !(b.right instanceof MiniCCompiler.IntLiteral il && il.value != 0)) return false;
+            return invariant(b.left) && invariant(b.right);
+        }
+        return !(e instanceof MiniCCompiler.Call || e instanceof MiniCCompiler.Index || e instanceof MiniCCompiler.NewArray); // int[] ist veränderlich
+    }
+
+    // ---------------- LICM ----------------
+
+    private void hoist(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            if (vd.initializer != null) vd.initializer = hoist(vd.initializer);
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            as.value = hoist(as.value);
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            ia.array = hoist(ia.array);
+            ia.index = hoist(ia.index);
+            ia.value = hoist(ia.value);
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            for (MiniCCompiler.Stmt s : bl.statements) hoist(s);
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            ws.condition = hoist(ws.condition);
+            hoist(ws.body);
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            ifs.condition = hoist(ifs.condition);
+            hoist(ifs.thenBranch);
+            if (ifs.elseBranch != null) hoist(ifs.elseBranch);
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            if (rs.value != null) rs.value = hoist(rs.value);
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            es.expr = hoist(es.expr);
+        } // FnDecl: eigener Frame, Temporäre wären dort nicht sichtbar
+    }
+
+    /** Ersetzt maximale invariante Teilausdrücke durch inv$-Variablen. */
+    private MiniCCompiler.Expr hoist(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.Binary b) {
+            if (hasVariable(b) && invariant(b)) {
+                String key = b.type + ":" + b;
+                String name = hoisted.get(key);
+                if (name == null) {
+                    name = fresh("inv");
+                    hoisted.put(key, name);
+                    invariants.add(name);
+                    pre.add(new MiniCCompiler.VarDecl(b.type, name, b, b.line, b.col));
+                }
+                hoistedExpressions++;
+                return variable(name, b.type, b);
+            }
+            b.left = hoist(b.left);
+            b.right = hoist(b.right);
+        } else if (e instanceof MiniCCompiler.Call c) {
+            c.args.replaceAll(this::hoist);
+        } else if (e instanceof MiniCCompiler.Index ix) {
+            ix.array = hoist(ix.array);
+            ix.index = hoist(ix.index);
+        } else if (e instanceof MiniCCompiler.NewArray na) {
+            na.length = hoist(na.length);
+        }
+        return e;
+    }
+
+    private static boolean hasVariable(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.Binary b) return hasVariable(b.left) || hasVariable(b.right);
+        return e instanceof MiniCCompiler.Variable;
+    }
+
+    // ---------------- Strength Reduction ----------------
+
+    private void reduce(MiniCCompiler.WhileStmt loop) {
+        Map<String, Integer> assignments = new HashMap<>();
+        for (MiniCCompiler.Node n : ownNodes(loop)) {
+            if (n instanceof MiniCCompiler.Assign as) assignments.merge(as.name, 1, Integer::sum);
+        }
+        List<MiniCCompiler.Stmt> body = loop.body.statements;
+        for (int i = 0; i < body.size(); i++) {
+            if (!(body.get(i) instanceof MiniCCompiler.Assign as) || assignments.get(as.name) != 1) continue;
+            Integer step = step(as);
+            if (step == null) continue;
+            // i * k und k * i mit invariantem k sammeln (gleiche Faktoren teilen sich eine Variable)
+            Map<String, String> reduced = new LinkedHashMap<>();
+            Map<String, MiniCCompiler.Expr> factors = new LinkedHashMap<>();
+            Map<String, Integer> uses = new HashMap<>();
+            for (MiniCCompiler.Node n : ownNodes(loop)) {
+                if (n instanceof MiniCCompiler.Binary b) {
+                    MiniCCompiler.Expr k = factor(b, as.name);
+                    if (k != null && fits(k, step)) {
+                        factors.putIfAbsent(k.toString(), k);
+                        uses.merge(k.toString(), 1, Integer::sum);
+                    }
+                }
+            }
+            factors.keySet().removeIf(key -> uses.get(key) < 2);
+            if (factors.isEmpty()) continue;
+            List<MiniCCompiler.Stmt> updates = new ArrayList<>();
+            for (Map.Entry<String, MiniCCompiler.Expr> f : factors.entrySet()) {
+                MiniCCompiler.Expr k = f.getValue();
+                String sr = fresh("sr");
+                reduced.put(f.getKey(), sr);
+                pre.add(new MiniCCompiler.VarDecl(INT, sr, product(as.name, k, as), as.line, as.col));
+                MiniCCompiler.Expr sum = new MiniCCompiler.Binary(variable(sr, INT, as), MiniCCompiler.Operator.PLUS, increment(k, step), as.line, as.col);
+                sum.type = INT;
+                updates.add(new MiniCCompiler.Assign(sr, sum, as.line, as.col));
+            }
+            for (MiniCCompiler.Stmt s : body) replace(s, as.name, reduced);
+            loop.condition = replace(loop.condition, as.name, reduced);
+            body.addAll(i + 1, updates);
+            i += updates.size();
+        }
+    }
+
+    /** Schrittweite c von {@code i = i + c}, {@code i = c + i} oder {@code i = i - c}, sonst null. */
+    private Integer step(MiniCCompiler.Assign as) {
+        if (as.value.type == INT && !(as.global && hasCall) && !declared.contains(as.name) && as.value instanceof MiniCCompiler.Binary b) {
+            if (b.op == MiniCCompiler.Operator.PLUS) {
+                if (isVar(b.left, as.name) && b.right instanceof MiniCCompiler.IntLiteral c) return c.value;
+                if (isVar(b.right, as.name) && b.left instanceof MiniCCompiler.IntLiteral c) return c.value;
+            } else if (b.op == MiniCCompiler.Operator.MINUS && isVar(b.left, as.name) && b.right instanceof MiniCCompiler.IntLiteral c
+                    && c.value != Integer.MIN_VALUE) {
+                return -c.value;
+            }
+        }
+        return null;
+    }
+
+    /** Der invariante Faktor k von {@code i * k} bzw. {@code k * i}, sonst null. */
+    private MiniCCompiler.Expr factor(MiniCCompiler.Binary b, String counter) {
+        if (b.op != MiniCCompiler.Operator.MUL) return null;
+        if (isVar(b.left, counter) && isFactor(b.right)) return b.right;
+        if (isVar(b.right, counter) && isFactor(b.left)) return b.left;
+        return null;
+    }
+
+    private boolean isFactor(MiniCCompiler.Expr e) {
+        return e instanceof MiniCCompiler.IntLiteral || e instanceof MiniCCompiler.Variable && invariant(e);
+    }
+
+    /** Ein konstanter Zuwachs {@code step * k} darf nicht überlaufen (die VM rechnet mit long). */
+    private static boolean fits(MiniCCompiler.Expr k, int step) {
+        if (!(k instanceof MiniCCompiler.IntLiteral il)) return true;
+        long inc = (long) il.value * step;
+        return inc == (int) inc;
+    }
+
+    /** Zuwachs {@code step * k}; bei variablem k ab |step| != 1 als inv$-Variable vor der Schleife. */
+    private MiniCCompiler.Expr increment(MiniCCompiler.Expr k, int step) {
+        if (k instanceof MiniCCompiler.IntLiteral il) return literal(il.value * step, k);
+        MiniCCompiler.Variable v = (MiniCCompiler.Variable) k;
+        if (step == 1) return variable(v.name, INT, v);
+        MiniCCompiler.Expr p = new MiniCCompiler.Binary(variable(v.name, INT, v), MiniCCompiler.Operator.MUL, literal(step, v), v.line, v.col);
+        p.type = INT;
+        String name = fresh("inv");
+        invariants.add(name);
+        pre.add(new MiniCCompiler.VarDecl(INT, name, p, v.line, v.col));
+        return variable(name, INT, v);
+    }
+
+    private static MiniCCompiler.IntLiteral literal(int value, MiniCCompiler.Node at) {
+        MiniCCompiler.IntLiteral l = new MiniCCompiler.IntLiteral(value, at.line, at.col);
+        l.type = INT;
+        return l;
+    }
+
+    private MiniCCompiler.Expr product(String counter, MiniCCompiler.Expr k, MiniCCompiler.Node at) {
+        MiniCCompiler.Expr p = new MiniCCompiler.Binary(variable(counter, INT, at), MiniCCompiler.Operator.MUL, ConstantFolder.copy(k), at.line, at.col);
+        p.type = INT;
+        return p;
+    }
+
+    private void replace(MiniCCompiler.Stmt stmt, String counter, Map<String, String> reduced) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            if (vd.initializer != null) vd.initializer = replace(vd.initializer, counter, reduced);
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            as.value = replace(as.value, counter, reduced);
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            ia.array = replace(ia.array, counter, reduced);
+            ia.index = replace(ia.index, counter, reduced);
+            ia.value = replace(ia.value, counter, reduced);
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            for (MiniCCompiler.Stmt s : bl.statements) replace(s, counter, reduced);
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            ws.condition = replace(ws.condition, counter, reduced);
+            replace(ws.body, counter, reduced);
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            ifs.condition = replace(ifs.condition, counter, reduced);
+            replace(ifs.thenBranch, counter, reduced);
+            if (ifs.elseBranch != null) replace(ifs.elseBranch, counter, reduced);
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            if (rs.value != null) rs.value = replace(rs.value, counter, reduced);
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            es.expr = replace(es.expr, counter, reduced);
+        }
+    }
+
+    private MiniCCompiler.Expr replace(MiniCCompiler.Expr e, String counter, Map<String, String> reduced) {
+        if (e instanceof MiniCCompiler.Binary b) {
+            MiniCCompiler.Expr k = factor(b, counter);
+            String sr = k != null ? reduced.get(k.toString()) : null;
+            if (sr != null) {
+                reducedMultiplications++;
+                return variable(sr, INT, b);
+            }
+            b.left = replace(b.left, counter, reduced);
+            b.right = replace(b.right, counter, reduced);
+        } else if (e instanceof MiniCCompiler.Call c) {
+            c.args.replaceAll(a -> replace(a, counter, reduced));
+        } else if (e instanceof MiniCCompiler.Index ix) {
+            ix.array = replace(ix.array, counter, reduced);
+            ix.index = replace(ix.index, counter, reduced);
+        } else if (e instanceof MiniCCompiler.NewArray na) {
+            na.length = replace(na.length, counter, reduced);
+        }
+        return e;
+    }
+
+    // ---------------- Hilfen ----------------
+
+    private static boolean isVar(MiniCCompiler.Expr e, String name) {
+        return e instanceof MiniCCompiler.Variable v && v.name.equals(name);
+    }
+
+    /** Neue Variable; inv$/sr$-Namen sind für Funktionen unsichtbar, daher nie global. */
+    private static MiniCCompiler.Variable variable(String name, MiniCCompiler.PrimType type, MiniCCompiler.Node at) {
+        MiniCCompiler.Variable v = new MiniCCompiler.Variable(name, at.line, at.col);
+        v.type = type;
+        return v;
+    }
+
+    /** Knoten in Preorder, ohne in geschachtelte Funktionen abzusteigen. */
+    private static List<MiniCCompiler.Node> ownNodes(MiniCCompiler.Node root) {
+        List<MiniCCompiler.Node> out = new ArrayList<>();
+        Deque<MiniCCompiler.Node> work = new ArrayDeque<>();
+        work.push(root);
+        while (!work.isEmpty()) {
+            MiniCCompiler.Node n = work.pop();
+            out.add(n);
+            if (n instanceof MiniCCompiler.FnDecl) continue;
+            List<MiniCCompiler.Node> cs = AstHash.children(n);
+            for (int i = cs.size() - 1; i >= 0; i--) work.push(cs.get(i));
+        }
+        return out;
+    }
+
+    private String fresh(String name) { return name + "$" + (++nextId); }
+}
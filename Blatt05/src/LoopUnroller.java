@@ -0,0 +1,181 @@
+import java.util.*;
+
+/**
+ * AST-zu-AST-Optimierung: Schleifen mit konstanter Durchlaufzahl werden abgerollt.
+ *
+ * Erkannt wird die Form
+ * <pre>
+ *   int i = a;  (oder i = a;)       while (i < b) { ...; i = i + c; ... }     (c > 0)
+ *                                   while (i > b) { ...; i = i - c; ... }     (c > 0)
+ * </pre>
+ * mit Literalen a, b, c, genau einer Zuweisung an i direkt im Rumpf und ohne Deklaration von i
+ * im Rumpf. Ist i global, darf der Rumpf keinen Call enthalten. Die Durchlaufzahl n steht damit
+ * fest; bei n <= {@code maxFullTrips} wird die Schleife durch n Kopien des Rumpfs ersetzt, sonst
+ * wird der Rumpf {@code factor}-mal in eine Schleife kopiert, deren Bedingung {@code factor} volle Durchläufe
+ * garantiert, gefolgt von der ursprünglichen Schleife für den Rest:
+ * <pre>
+ *   while (i < b - (factor - 1) * c) { R; R; R; R; }   while (i < b) { R; }
+ * </pre>
+ * Deklariert der Rumpf selbst Variablen, bekommt jede Kopie einen eigenen Block. Innere Schleifen
+ * werden zuerst behandelt; Rümpfe über {@code maxNodes} Knoten (nach dem Kopieren) bleiben stehen.
+ */
+public class LoopUnroller {
+
+    private final int maxFullTrips, factor, maxNodes;
+    private int fullyUnrolled, partiallyUnrolled;
+    private boolean cloning; // Rumpfkopien nicht erneut abrollen
+
+    public LoopUnroller() { this(8, 4, 400); }
+
+    public LoopUnroller(int maxFullTrips, int factor, int maxNodes) {
+        if (factor < 2) throw new RuntimeException("Abrollfaktor muss mindestens 2 sein: " + factor);
+        this.maxFullTrips = maxFullTrips;
+        this.factor = factor;
+        this.maxNodes = maxNodes;
+    }
+
+    public List<MiniCCompiler.Stmt> optimize(List<MiniCCompiler.Stmt> program) {
+        Resolver.resolve(program);
+        return statements(program);
+    }
+
+    public int fullyUnrolled() { return fullyUnrolled; }
+    public int partiallyUnrolled() { return partiallyUnrolled; }
+
+    @Override public String toString() {
+        return "vollständig abgerollt " + fullyUnrolled + ", teilweise abgerollt (Faktor " + factor + ") " + partiallyUnrolled;
+    }
+
+    // ---------------- Kopie ----------------
+
+    private List<MiniCCompiler.Stmt> statements(List<MiniCCompiler.Stmt> in) {
+        List<MiniCCompiler.Stmt> out = new ArrayList<>(in.size());
+        for (MiniCCompiler.Stmt s : in) {
+            MiniCCompiler.Stmt c = copy(s);
+            if (!cloning && c instanceof MiniCCompiler.WhileStmt ws && !out.isEmpty()) unroll(ws, out);
+            else out.add(c);
+        }
+        return out;
+    }
+
+    private MiniCCompiler.Block block(MiniCCompiler.Block bl) {
+        return new MiniCCompiler.Block(statements(bl.statements), bl.line, bl.col);
+    }
+
+    private MiniCCompiler.Stmt copy(MiniCCompiler.Stmt stmt) { return ConstantFolder.copy(stmt, this::block); }
+
+    // ---------------- Abrollen ----------------
+
+    /** Hängt die (ggf. abgerollte) Schleife an out an; out endet mit der Initialisierung von i. */
+    private void unroll(MiniCCompiler.WhileStmt ws, List<MiniCCompiler.Stmt> out) {
+        String i = counter(ws.condition);
+        Integer start = i != null ? initial(out.get(out.size() - 1), i) : null;
+        Integer step = start != null ? step(ws.body, i) : null;
+        if (step == null) {
+            out.add(ws);
+            return;
+        }
+        // Bedingung normalisieren: i < bound (aufwärts) oder i > bound (abwärts)
+        MiniCCompiler.Binary cond = (MiniCCompiler.Binary) ws.condition;
+        boolean counterLeft = cond.left instanceof MiniCCompiler.Variable;
+        int bound = ((MiniCCompiler.IntLiteral) (counterLeft ? cond.right : cond.left)).value;
+        boolean up = (cond.op == MiniCCompiler.Operator.LT) == counterLeft;
+        if (up ? step <= 0 : step >= 0) {
+            out.add(ws); // zählt nicht auf die Grenze zu
+            return;
+        }
+        long distance = up ? (long) bound - start : (long) start - bound;
+        long trips = distance <= 0 ? 0 : (distance + Math.abs(step) - 1) / Math.abs(step);
+        if ((long) start + trips * step != (int) ((long) start + trips * step)) {
+            out.add(ws); // Zähler liefe über
+            return;
+        }
+        boolean scoped = declares(ws.body);
+        int nodes = AstHash.preorder(ws.body).size();
+        if (trips <= maxFullTrips && trips * nodes <= maxNodes) {
+            for (long k = 0; k < trips; k++) addCopy(ws.body, scoped, out);
+            fullyUnrolled++;
+            return;
+        }
+        if ((long) factor * nodes > maxNodes || trips < factor) {
+            out.add(ws);
+            return;
+        }
+        // i + (factor - 1) * step muss noch die Bedingung erfüllen
+        long guard = (long) bound - (long) (factor - 1) * step;
+        if (guard != (int) guard) {
+            out.add(ws);
+            return;
+        }
+        List<MiniCCompiler.Stmt> body = new ArrayList<>();
+        for (int k = 0; k < factor; k++) addCopy(ws.body, scoped, body);
+        MiniCCompiler.IntLiteral g = new MiniCCompiler.IntLiteral((int) guard, cond.right.line, cond.right.col);
+        g.type = MiniCCompiler.PrimType.INT;
+        MiniCCompiler.Expr mainCond = counterLeft
+                ? new MiniCCompiler.Binary(ConstantFolder.copy(cond.left), cond.op, g, cond.line, cond.col)
+                : new MiniCCompiler.Binary(g, cond.op, ConstantFolder.copy(cond.right), cond.line, cond.col);
+        mainCond.type = MiniCCompiler.PrimType.BOOL;
+        out.add(new MiniCCompiler.WhileStmt(mainCond, new MiniCCompiler.Block(body, ws.body.line, ws.body.col), ws.line, ws.col));
+        if (trips % factor != 0) out.add(ws); // Restschleife
+        partiallyUnrolled++;
+    }
+
+    private void addCopy(MiniCCompiler.Block body, boolean scoped, List<MiniCCompiler.Stmt> out) {
+        cloning = true;
+        if (scoped) {
+            out.add(copy(body));
+        } else {
+            for (MiniCCompiler.Stmt s : body.statements) out.add(copy(s));
+        }
+        cloning = false;
+    }
+
+    /** Zähler aus {@code i < b}, {@code i > b}, {@code b < i} oder {@code b > i} mit lokalem oder globalem int i. */
+    private static String counter(MiniCCompiler.Expr cond) {
+        if (!(cond instanceof MiniCCompiler.Binary b)) return null;
+        if (b.op != MiniCCompiler.Operator.LT && b.op != MiniCCompiler.Operator.GT) return null;
+        if (b.left instanceof MiniCCompiler.Variable v && b.right instanceof MiniCCompiler.IntLiteral) return v.name;
+        if (b.right instanceof MiniCCompiler.Variable v && b.left instanceof MiniCCompiler.IntLiteral) return v.name;
+        return null;
+    }
+
+    /** Literal, mit dem die Anweisung direkt vor der Schleife i belegt, sonst null. */
+    private static Integer initial(MiniCCompiler.Stmt prev, String i) {
+        if (prev instanceof MiniCCompiler.VarDecl vd && vd.name.equals(i) && vd.initializer instanceof MiniCCompiler.IntLiteral il) return il.value;
+        if (prev instanceof MiniCCompiler.Assign as && as.name.equals(i) && as.value instanceof MiniCCompiler.IntLiteral il) return il.value;
+        return null;
+    }
+
+    /** Schrittweite der einzigen Zuweisung {@code i = i ± c} direkt im Rumpf, sonst null. */
+    private static Integer step(MiniCCompiler.Block body, String i) {
+        Integer step = null;
+        for (MiniCCompiler.Stmt s : body.statements) {
+            if (!(s instanceof MiniCCompiler.Assign as) || !as.name.equals(i)) continue;
+            if (step != null || !(as.value instanceof MiniCCompiler.Binary b) || !(b.left instanceof MiniCCompiler.Variable v)
+                    || !v.name.equals(i) || !(b.right instanceof MiniCCompiler.IntLiteral c)) return null;
+            if (b.op == MiniCCompiler.Operator.PLUS) step = c.value;
+            else if (b.op == MiniCCompiler.Operator.MINUS && c.value != Integer.MIN_VALUE) step = -c.value;
+            else return null;
+            if (as.global && hasCall(body)) return null;
+        }
+        if (step == null) return null;
+        // sonst nirgends zugewiesen oder neu deklariert, keine geschachtelten Funktionen
+        int assigns = 0;
+        for (MiniCCompiler.Node n : AstHash.preorder(body)) {
+            if (n instanceof MiniCCompiler.Assign as && as.name.equals(i)) assigns++;
+            else if (n instanceof MiniCCompiler.VarDecl vd && vd.name.equals(i)) return null;
+            else if (n instanceof MiniCCompiler.FnDecl) return null;
+        }
+        return assigns == 1 ? step : null;
+    }
+
+    private static boolean hasCall(MiniCCompiler.Block body) {
+        for (MiniCCompiler.Node n : AstHash.preorder(body)) if (n instanceof MiniCCompiler.Call) return true;
+        return false;
+    }
+
+    private static boolean declares(MiniCCompiler.Block body) {
+        for (MiniCCompiler.Stmt s : body.statements) if (s instanceof MiniCCompiler.VarDecl) return true;
+        return false;
+    }
+}
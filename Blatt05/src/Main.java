@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 public class Main {
 
@@ -90,41 +91,187 @@ public class Main {
             System.out.println("=== Semantische Analyse ===");
             SemanticAnalyzer sa = new SemanticAnalyzer(program);
             sa.analyze();
-            if(sa.errors.isEmpty()) System.out.println("Keine Fehler gefunden. Semantische Analyse erfolgreich!");
+            if(!sa.diagnostics.hasErrors()) System.out.println("Keine Fehler gefunden. Semantische Analyse erfolgreich!");
             else {
                 System.out.println("Semantische Analyse fehlgeschlagen!");
-                sa.errors.forEach(System.out::println);
+                sa.diagnostics.render().forEach(System.out::println);
             }
 
             System.out.println();
         }
+
+        // === Prüfungen: Quelltext -> AST -> Ausführung, wirft bei Abweichung ===
+        check("spawn/join",
+                "int fib(int n) { if (n < 2) { return n; } return fib(n - 1) + fib(n - 2); }"
+                        + " int h = spawn fib(20); int k = spawn fib(10); int r = join h + join k;",
+                "r", 6765 + 55);
+        check("int[]",
+                "int sieve(int n) { int[] c = new int[n]; int count = 0; int i = 2;"
+                        + " while (i < n) { if (c[i] == 0) { count = count + 1; int j = i + i;"
+                        + " while (j < n) { c[j] = 1; j = j + i; } } i = i + 1; } return count; }"
+                        + " int[] a = new int[3]; a[1] = sieve(100); int primes = a[1] + a[0];",
+                "primes", 25);
+        check("Endrekursion", "int count(int n, int acc) { if (n == 0) { return acc; } return count(n - 1, acc + 1); }"
+                        + " int result = count(10000000, 0);",
+                p -> new TailCallEliminator().optimize(p), true, "result", 10_000_000);
+        checkError("Inlining, ungenutztes Argument",
+                "int d(int x) { return 5; } int h() { int z = 0; return d(1 / z); } int r = h();",
+                p -> new Inliner().inline(p), "Division durch Null");
+        checkRanges("Bereichsanalyse, innere Schleife auf äußerem Zähler",
+                "int f(int n) { int i = 0; while (i < n) { while (i < n) { i = i + 1; } i = i + 1; } return 0; } int r = f(5);");
+        checkRanges("Bereichsanalyse, Zähler springt zurück",
+                "int i = 0; while (i < 5) { i = i + 1; if (i == 3) { i = 0 - 2; } }");
+        checkOutput("Ausgabe",
+                "int show(int x) { int unused = printInt(x); return x + strlen(\"ab\"); }"
+                        + " int n = show(3); print(\"n=\" + n); int k = 0; while (k < 2) { k = show(k) - 1; }",
+                "3\nn=5\n0\n1\n");
+        checkIncremental("spawn schreibt global, inkrementell",
+                "int g = 0; int w(int x) { x = x; return 0; } int h = spawn w(1); int r = join h;",
+                "int g = 0; int w(int x) { g = x; return 0; } int h = spawn w(1); int r = join h;");
+    }
+
+    /** source muss auf AST-Interpreter, Closures, VM, SSA-Pfad und JVM-Backend genau expected ausgeben. */
+    static void checkOutput(String label, String source, String expected) {
+        Map<String, Runnable> engines = new LinkedHashMap<>();
+        engines.put("AST", () -> new Interpreter(ParseTreeToAst.parse(source)).run());
+        engines.put("Closures", () -> ClosureCompiler.compile(ParseTreeToAst.parse(source)).run());
+        engines.put("VM", () -> new VM(BytecodeCompiler.compile(ParseTreeToAst.parse(source))).run());
+        engines.put("SSA", () -> {
+            Ssa.Module m = SsaBuilder.build(ParseTreeToAst.parse(source));
+            new SsaOptimizer().optimize(m);
+            new VM(SsaToBytecode.compile(m)).run();
+        });
+        engines.put("JVM", () -> JvmCompiler.compile(ParseTreeToAst.parse(source)).run());
+        for (Map.Entry<String, Runnable> e : engines.entrySet()) {
+            java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+            Builtins.setOutput(out);
+            try {
+                e.getValue().run();
+                Builtins.flush();
+            } finally {
+                Builtins.setOutput(System.out);
+            }
+            String actual = out.toString(java.nio.charset.StandardCharsets.UTF_8);
+            if (!actual.equals(expected)) {
+                throw new RuntimeException("Prüfung " + label + ": " + e.getKey() + " gibt " + actual.replace("\n", "\\n") + " aus, erwartet "
+                        + expected.replace("\n", "\\n"));
+            }
+        }
+        System.out.println("Prüfung " + label + ": ok");
+    }
+
+    /**
+     * Volle Analyse von after, inkrementelle Analyse von after und inkrementelle Analyse von before
+     * nach Ersetzen der geänderten Anweisungen müssen dieselben, nicht leeren Meldungen liefern.
+     */
+    static void checkIncremental(String label, String before, String after) {
+        List<MiniCCompiler.Stmt> edited = ParseTreeToAst.parse(after);
+        SymbolTableBuilder full = new SymbolTableBuilder();
+        full.build(edited);
+        IncrementalAnalyzer fresh = new IncrementalAnalyzer(edited);
+        IncrementalAnalyzer replaced = new IncrementalAnalyzer(ParseTreeToAst.parse(before));
+        Map<Integer, MiniCCompiler.Stmt> changes = new HashMap<>();
+        for (int i = 0; i < edited.size(); i++) {
+            if (AstHash.of(replaced.getStmt(i)) != AstHash.of(edited.get(i))) changes.put(i, edited.get(i));
+        }
+        replaced.replace(changes);
+        List<String> expected = full.getErrors();
+        if (expected.isEmpty() || !expected.equals(fresh.getErrors()) || !expected.equals(replaced.getErrors())) {
+            throw new RuntimeException("Prüfung " + label + ": voll " + expected + ", inkrementell " + fresh.getErrors()
+                    + ", nach Ersetzen " + replaced.getErrors());
+        }
+        System.out.println("Prüfung " + label + ": ok");
+    }
+
+    /** Parst source, formt es mit transform um; der AST-Interpreter muss mit einer Meldung abbrechen, die message enthält. */
+    static void checkError(String label, String source, UnaryOperator<List<MiniCCompiler.Stmt>> transform, String message) {
+        Interpreter ast = new Interpreter(transform.apply(ParseTreeToAst.parse(source)));
+        try {
+            ast.run();
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains(message)) {
+                System.out.println("Prüfung " + label + ": ok");
+                return;
+            }
+            throw new RuntimeException("Prüfung " + label + ": " + e.getMessage() + ", erwartet " + message, e);
+        }
+        throw new RuntimeException("Prüfung " + label + ": kein Abbruch, erwartet " + message);
+    }
+
+    /** Parst source und lässt RangeAnalysis und BoundsCheckElimination darüber laufen; beide müssen terminieren. */
+    static void checkRanges(String label, String source) {
+        List<MiniCCompiler.Stmt> program = ParseTreeToAst.parse(source);
+        RangeAnalysis.analyze(program);
+        BoundsCheckElimination.analyze(program);
+        System.out.println("Prüfung " + label + ": ok");
+    }
+
+    /** Ohne Umbau und ohne JVM-Backend (das kein spawn kennt). */
+    static void check(String label, String source, String name, int expected) {
+        check(label, source, p -> p, false, name, expected);
+    }
+
+    /**
+     * Parst source, formt es mit transform um und führt es auf AST-Interpreter, Closures, VM und (mit
+     * jvm) dem JVM-Backend aus; die globale Variable name muss expected sein. Ein StackOverflowError gilt als Fehler.
+     */
+    static void check(String label, String source, UnaryOperator<List<MiniCCompiler.Stmt>> transform, boolean jvm,
+                      String name, int expected) {
+        List<Object> results = new ArrayList<>();
+        try {
+            Interpreter ast = new Interpreter(transform.apply(ParseTreeToAst.parse(source)));
+            ast.run();
+            results.add(ast.global(name));
+            ClosureCompiler.Program closures = ClosureCompiler.compile(transform.apply(ParseTreeToAst.parse(source)));
+            closures.run();
+            results.add(closures.global(name));
+            VM vm = new VM(BytecodeCompiler.compile(transform.apply(ParseTreeToAst.parse(source))));
+            vm.run();
+            results.add(((Number) vm.global(name)).intValue());
+            if (jvm) {
+                JvmCompiler.Program compiled = JvmCompiler.compile(transform.apply(ParseTreeToAst.parse(source)));
+                compiled.run();
+                results.add(compiled.global(name));
+            }
+        } catch (StackOverflowError e) {
+            throw new RuntimeException("Prüfung " + label + ": Stack-Überlauf", e);
+        }
+        for (Object r : results) {
+            if (!r.equals(expected)) throw new RuntimeException("Prüfung " + label + ": " + name + " = " + results + ", erwartet " + expected);
+        }
+        System.out.println("Prüfung " + label + ": ok");
     }
 
     // ---------------- Simple Semantic Analyzer ----------------
     static class SemanticAnalyzer {
-        List<String> errors = new ArrayList<>();
+        DiagnosticSink.Collector diagnostics;
         List<MiniCCompiler.Stmt> program;
 
-        SemanticAnalyzer(List<MiniCCompiler.Stmt> program){this.program=program;}
+        SemanticAnalyzer(List<MiniCCompiler.Stmt> program){this(program, DiagnosticSink.unlimited());}
+        SemanticAnalyzer(List<MiniCCompiler.Stmt> program, DiagnosticSink.Collector diagnostics){
+            this.program=program;
+            this.diagnostics=diagnostics;
+        }
 
         void analyze(){
             Map<String,String> vars = new HashMap<>();
             Map<String,String> fns = new HashMap<>();
 
             for(MiniCCompiler.Stmt s: program){
+                if(diagnostics.shouldStop()) return;
                 if(s instanceof MiniCCompiler.VarDecl vd){
-                    if(vars.containsKey(vd.name)) errors.add(vd.pos()+": redeclaration of variable '"+vd.name+"'");
+                    if(vars.containsKey(vd.name)) diagnostics.report(Diagnostic.error(Diagnostic.Code.REDECLARED_VARIABLE, vd, vd.name));
                     vars.put(vd.name, "var");
                 } else if(s instanceof MiniCCompiler.FnDecl fd){
-                    if(fns.containsKey(fd.name)) errors.add(fd.pos()+": redeclaration of function '"+fd.name+"'");
+                    if(fns.containsKey(fd.name)) diagnostics.report(Diagnostic.error(Diagnostic.Code.REDECLARED_FUNCTION, fd, fd.name));
                     fns.put(fd.name,"fn");
                     for(MiniCCompiler.Param p: fd.params){
-                        if(vars.containsKey(p.name)) errors.add(fd.pos()+": duplicate parameter '"+p.name+"'");
+                        if(vars.containsKey(p.name)) diagnostics.report(Diagnostic.error(Diagnostic.Code.DUPLICATE_PARAMETER, fd, p.name));
                         vars.put(p.name,"param");
                     }
                 } else if(s instanceof MiniCCompiler.ExprStmt es && es.expr instanceof MiniCCompiler.Call c){
                     if(!vars.containsKey(c.name) && !fns.containsKey(c.name))
-                        errors.add(c.pos()+": call to undefined function or variable '"+c.name+"'");
+                        diagnostics.report(Diagnostic.error(Diagnostic.Code.UNDEFINED_CALL, c, c.name));
                 } else if(s instanceof MiniCCompiler.Block b){
                     analyzeBlock(b, vars, fns);
                 }
@@ -134,12 +281,13 @@ public class Main {
         private void analyzeBlock(MiniCCompiler.Block block, Map<String,String> vars, Map<String,String> fns){
             Map<String,String> localVars = new HashMap<>(vars);
             for(MiniCCompiler.Stmt s: block.statements){
+                if(diagnostics.shouldStop()) return;
                 if(s instanceof MiniCCompiler.VarDecl vd){
-                    if(localVars.containsKey(vd.name)) errors.add(vd.pos()+": redeclaration of variable '"+vd.name+"'");
+                    if(localVars.containsKey(vd.name)) diagnostics.report(Diagnostic.error(Diagnostic.Code.REDECLARED_VARIABLE, vd, vd.name));
                     localVars.put(vd.name, "var");
                 } else if(s instanceof MiniCCompiler.ExprStmt es && es.expr instanceof MiniCCompiler.Call c){
                     if(!localVars.containsKey(c.name) && !fns.containsKey(c.name))
-                        errors.add(c.pos()+": call to undefined function or variable '"+c.name+"'");
+                        diagnostics.report(Diagnostic.error(Diagnostic.Code.UNDEFINED_CALL, c, c.name));
                 } else if(s instanceof MiniCCompiler.Block innerBlock){
                     analyzeBlock(innerBlock, localVars, fns);
                 }
@@ -0,0 +1,214 @@
+import java.util.*;
+
+/**
+ * Begrenzte Memo-Tabelle einer reinen Funktion, Schlüssel sind die Argumentwerte.
+ *
+ * Funktionen mit höchstens zwei int/bool-Parametern bekommen eine Tabelle mit primitiven
+ * long-Schlüsseln (offene Adressierung, LRU-Liste über int-Arrays, kein Boxing); alle anderen
+ * eine LinkedHashMap in Zugriffsreihenfolge. Ist die Tabelle voll, wird der am längsten nicht
+ * benutzte Eintrag verdrängt. Wirft der Rumpf eine Exception, wird nichts eingetragen.
+ *
+ * Mit spawn gestartete Aufrufe können dieselbe Tabelle parallel benutzen: Nachschlagen und
+ * Eintragen sind synchronisiert, der Rumpf läuft ohne Sperre. Rechnen zwei Threads denselben
+ * Schlüssel gleichzeitig aus, gewinnt der erste Eintrag (das Ergebnis ist ohnehin gleich).
+ */
+public abstract class MemoTable {
+
+    protected final MiniCCompiler.FnDecl fn;
+    protected final int capacity;
+    protected long hits, misses, evictions;
+
+    MemoTable(MiniCCompiler.FnDecl fn, int capacity) {
+        if (capacity < 1) throw new RuntimeException("Kapazität der Memo-Tabelle muss positiv sein: " + capacity);
+        this.fn = fn;
+        this.capacity = capacity;
+    }
+
+    public static MemoTable of(MiniCCompiler.FnDecl fn, int capacity) {
+        boolean ints = fn.params.size() <= 2;
+        for (MiniCCompiler.Param p : fn.params) ints &= p.type != MiniCCompiler.PrimType.STRING;
+        return ints ? new IntKeyed(fn, capacity) : new ObjectKeyed(fn, capacity);
+    }
+
+    /** Führt den Aufruf mit den Argumenten in callee aus: aus der Tabelle oder über interp. */
+    abstract void invoke(Interpreter interp, Interpreter.Frame callee);
+
+    public abstract int size();
+
+    public String name() { return fn.name; }
+    public long hits() { return hits; }
+    public long misses() { return misses; }
+    public long evictions() { return evictions; }
+
+    public double hitRate() { return hits + misses == 0 ? 0 : (double) hits / (hits + misses); }
+
+    @Override public String toString() {
+        return String.format("%s: Trefferquote %.1f%% (%d/%d), verdrängt %d, Einträge %d/%d",
+                fn.name, 100 * hitRate(), hits, hits + misses, evictions, size(), capacity);
+    }
+
+    // ---------------- int-Schlüssel ----------------
+
+    private static final class IntKeyed extends MemoTable {
+        private final boolean stringResult;
+        private final long[] keys;
+        private final int[] ints, prev, next;
+        private final Object[] refs;
+        private final int[] index; // Eintrag + 1, 0 = frei
+        private final int mask;
+        private int size, head = -1, tail = -1; // head = zuletzt benutzt
+
+        IntKeyed(MiniCCompiler.FnDecl fn, int capacity) {
+            super(fn, capacity);
+            stringResult = fn.returnType == MiniCCompiler.PrimType.STRING;
+            keys = new long[capacity];
+            ints = stringResult ? null : new int[capacity];
+            refs = stringResult ? new Object[capacity] : null;
+            prev = new int[capacity];
+            next = new int[capacity];
+            index = new int[Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1];
+            mask = index.length - 1;
+        }
+
+        @Override public int size() { return size; }
+
+        @Override void invoke(Interpreter interp, Interpreter.Frame callee) {
+            int[] a = callee.ints;
+            long key = switch (fn.params.size()) {
+                case 0 -> 0;
+                case 1 -> a[0];
+                default -> ((long) a[0] << 32) | (a[1] & 0xFFFFFFFFL);
+            };
+            if (lookup(key, callee)) return;
+            interp.exec(fn.body, callee);
+            store(key, callee);
+        }
+
+        private synchronized boolean lookup(long key, Interpreter.Frame callee) {
+            int pos = find(key);
+            if (pos < 0) {
+                misses++;
+                return false;
+            }
+            int e = index[pos] - 1;
+            if (stringResult) callee.retRef = refs[e];
+            else callee.retInt = ints[e];
+            touch(e);
+            hits++;
+            return true;
+        }
+
+        /** Der Rumpf (oder ein anderer Thread) kann die Tabelle verändert haben: Position erst jetzt bestimmen. */
+        private synchronized void store(long key, Interpreter.Frame callee) {
+            if (find(key) >= 0) return; // parallel schon eingetragen
+            int e;
+            if (size == capacity) {
+                e = tail;
+                remove(find(keys[e]));
+                unlink(e);
+                evictions++;
+            } else {
+                e = size++;
+            }
+            index[~find(key)] = e + 1;
+            keys[e] = key;
+            if (stringResult) refs[e] = callee.retRef;
+            else ints[e] = callee.retInt;
+            linkFirst(e);
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        /** Position im Index oder ~Einfügeposition. */
+        private int find(long key) {
+            int i = slot(key);
+            while (index[i] != 0) {
+                if (keys[index[i] - 1] == key) return i;
+                i = (i + 1) & mask;
+            }
+            return ~i;
+        }
+
+        /** Löschen mit Rückwärtsverschiebung, damit keine Grabsteine entstehen. */
+        private void remove(int i) {
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (index[j] == 0) break;
+                int home = slot(keys[index[j] - 1]);
+                boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (!stays) {
+                    index[i] = index[j];
+                    i = j;
+                }
+            }
+            index[i] = 0;
+        }
+
+        private void touch(int e) {
+            if (e == head) return;
+            unlink(e);
+            linkFirst(e);
+        }
+
+        private void unlink(int e) {
+            int p = prev[e], n = next[e];
+            if (p >= 0) next[p] = n; else head = n;
+            if (n >= 0) prev[n] = p; else tail = p;
+        }
+
+        private void linkFirst(int e) {
+            prev[e] = -1;
+            next[e] = head;
+            if (head >= 0) prev[head] = e; else tail = e;
+            head = e;
+        }
+    }
+
+    // ---------------- allgemeine Schlüssel ----------------
+
+    private static final class ObjectKeyed extends MemoTable {
+        private final LinkedHashMap<List<Object>, Object> map;
+
+        ObjectKeyed(MiniCCompiler.FnDecl fn, int capacity) {
+            super(fn, capacity);
+            map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+                    if (size() <= ObjectKeyed.this.capacity) return false;
+                    evictions++;
+                    return true;
+                }
+            };
+        }
+
+        @Override public int size() { return map.size(); }
+
+        @Override void invoke(Interpreter interp, Interpreter.Frame callee) {
+            Object[] args = new Object[fn.params.size()];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = fn.params.get(i).type == MiniCCompiler.PrimType.STRING ? Rope.flat(callee.refs[i]) : (Object) callee.ints[i];
+            }
+            List<Object> key = Arrays.asList(args);
+            boolean stringResult = fn.returnType == MiniCCompiler.PrimType.STRING;
+            Object v;
+            synchronized (this) {
+                v = map.get(key);
+                if (v == null) misses++;
+                else hits++;
+            }
+            if (v != null) {
+                if (stringResult) callee.retRef = v;
+                else callee.retInt = (Integer) v;
+                return;
+            }
+            interp.exec(fn.body, callee);
+            Object result = stringResult ? callee.retRef : callee.retInt;
+            synchronized (this) {
+                map.putIfAbsent(key, result);
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ program : stmt+ EOF ;
 stmt
   : vardecl
   | assign
+  | indexAssign
   | fndecl
   | expr ';'
   | block
@@ -16,6 +17,7 @@ stmt
 
 vardecl : type ID ('=' expr)? ';' ;
 assign  : ID '=' expr ';' ;
+indexAssign : ID '[' expr ']' '=' expr ';' ;
 
 fndecl  : type ID '(' params? ')' block ;
 params  : type ID (',' type ID)* ;
@@ -29,20 +31,23 @@ whileStmt   : 'while' '(' expr ')' block ;
 cond    : 'if' '(' expr ')' block ('else' block)? ;
 
 expr
-  : fncall
-  | expr ('*' | '/') expr
-  | expr ('+' | '-') expr
-  | expr ('>' | '<') expr
-  | expr ('==' | '!=') expr
-  | ID
-  | NUMBER
-  | STRING
-  | 'T'
-  | 'F'
-  | '(' expr ')'
+  : fncall                      # Call
+  | 'spawn' fncall              # Spawn
+  | 'join' ID                   # Join
+  | 'new' 'int' '[' expr ']'    # NewArray
+  | expr '[' expr ']'           # Index
+  | expr op=('*' | '/') expr    # Binary
+  | expr op=('+' | '-') expr    # Binary
+  | expr op=('>' | '<') expr    # Binary
+  | expr op=('==' | '!=') expr  # Binary
+  | ID                          # Var
+  | NUMBER                      # Number
+  | STRING                      # String
+  | ('T' | 'F')                 # Bool
+  | '(' expr ')'                # Parens
   ;
 
-type : 'int' | 'string' | 'bool' ;
+type : 'int' | 'string' | 'bool' | 'int' '[' ']' ;
 
 // Lexer rules
 ID      : [a-zA-Z] [a-zA-Z0-9]* ;
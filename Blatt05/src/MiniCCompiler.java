@@ -15,6 +15,7 @@ public class MiniCCompiler {
 
     static class VarDecl extends Stmt {
         PrimType type; String name; Expr initializer;
+        int slot = -1; boolean global; // vom Resolver gesetzt
         VarDecl(PrimType t,String n,Expr i,int l,int c){super(l,c);type=t;name=n;initializer=i;}
         @Override
         public String toString(String indent) {
@@ -24,6 +25,7 @@ public class MiniCCompiler {
 
     static class Assign extends Stmt {
         String name; Expr value;
+        int slot = -1; boolean global; // vom Resolver gesetzt
         Assign(String n,Expr v,int l,int c){super(l,c);name=n;value=v;}
         @Override
         public String toString(String indent) {
@@ -31,8 +33,20 @@ public class MiniCCompiler {
         }
     }
 
+    /** array[index] = value für int[]. */
+    static class IndexAssign extends Stmt {
+        Expr array, index, value;
+        boolean unchecked; // von BoundsCheckElimination gesetzt: Index liegt sicher im Array
+        IndexAssign(Expr a,Expr i,Expr v,int l,int c){super(l,c);array=a;index=i;value=v;}
+        @Override
+        public String toString(String indent) {
+            return indent+"IndexAssign("+array+"["+index+"] = "+value+")";
+        }
+    }
+
     static class FnDecl extends Stmt {
         PrimType returnType; String name; List<Param> params; Block body;
+        int frameSize; // vom Resolver gesetzt: Anzahl Slots (Parameter zuerst)
         FnDecl(PrimType r,String n,List<Param> p,Block b,int l,int c){super(l,c);returnType=r;name=n;params=p;body=b;}
         @Override
         public String toString(String indent) {
@@ -100,7 +114,10 @@ public class MiniCCompiler {
     }
 
     // ---------------- Expr ----------------
-    static abstract class Expr extends Node { Expr(int l,int c){super(l,c);} }
+    static abstract class Expr extends Node {
+        PrimType type; // vom Resolver gesetzt
+        Expr(int l,int c){super(l,c);}
+    }
     static class IntLiteral extends Expr {
         int value; IntLiteral(int v,int l,int c){super(l,c);value=v;}
         @Override public String toString(String indent){ return indent+"Int("+value+")"; }
@@ -115,23 +132,42 @@ public class MiniCCompiler {
     }
     static class Variable extends Expr {
         String name; Variable(String n,int l,int c){super(l,c);name=n;}
+        int slot = -1; boolean global; // vom Resolver gesetzt
         @Override public String toString(String indent){ return indent+"Var("+name+")"; }
     }
     static class Binary extends Expr {
         Expr left; Operator op; Expr right;
+        boolean nonZeroDivisor, noOverflow; // von RangeAnalysis gesetzt
         Binary(Expr l,Operator o,Expr r,int ln,int cn){super(ln,cn);left=l;op=o;right=r;}
         @Override
         public String toString(String indent){
             return indent+"Binary("+left+" "+op+" "+right+")";
         }
     }
+    /** new int[length] */
+    static class NewArray extends Expr {
+        Expr length;
+        NewArray(Expr n,int l,int c){super(l,c);length=n;}
+        @Override public String toString(String indent){ return indent+"NewArray(int["+length+"])"; }
+    }
+    /** array[index] (int[]-Element) */
+    static class Index extends Expr {
+        Expr array, index;
+        boolean unchecked; // von BoundsCheckElimination gesetzt: Index liegt sicher im Array
+        Index(Expr a,Expr i,int l,int c){super(l,c);array=a;index=i;}
+        @Override public String toString(String indent){ return indent+"Index("+array+"["+index+"])"; }
+    }
     static class Call extends Expr {
         String name; List<Expr> args;
+        FnDecl target; // vom Resolver gesetzt
+        Builtins.Builtin builtin; // vom Resolver gesetzt, dann ist target null
         Call(String n,List<Expr> a,int l,int c){super(l,c);name=n;args=a;}
+        /** Gleichartiger Aufruf mit neuen Argumenten (für Passes, die Ausdrücke kopieren). */
+        Call withArgs(List<Expr> a){ return new Call(name,a,line,col); }
         @Override
         public String toString(String indent){
             StringBuilder sb = new StringBuilder();
-            sb.append(indent+"Call("+name+"(");
+            sb.append(indent+getClass().getSimpleName()+"("+name+"(");
             for(int i=0;i<args.size();i++){
                 sb.append(args.get(i));
                 if(i<args.size()-1) sb.append(", ");
@@ -142,6 +178,18 @@ public class MiniCCompiler {
     }
 
     // ---------------- Param ----------------
+    /** spawn f(args): startet den Aufruf nebenläufig, Wert ist ein int-Handle für join. */
+    static class Spawn extends Call {
+        Spawn(String n,List<Expr> a,int l,int c){super(n,a,l,c);}
+        @Override Call withArgs(List<Expr> a){ return new Spawn(name,a,line,col); }
+    }
+
+    /** join h: wartet auf den mit spawn gestarteten Aufruf und liefert sein Ergebnis (eingebaut, siehe {@link Builtins}). */
+    static class Join extends Call {
+        Join(Expr handle,int l,int c){super("join",new ArrayList<>(List.of(handle)),l,c);}
+        @Override Call withArgs(List<Expr> a){ return new Join(a.get(0),line,col); }
+    }
+
     static class Param {
         PrimType type; String name;
         Param(PrimType t,String n){type=t;name=n;}
@@ -149,7 +197,11 @@ public class MiniCCompiler {
         public String toString(){ return type+" "+name; }
     }
 
-    enum PrimType { INT, STRING, BOOL }
+    enum PrimType {
+        INT, STRING, BOOL, INT_ARRAY;
+        /** Laufzeitwert liegt in Frame.refs (String/Rope, int[]), sonst als int in Frame.ints. */
+        boolean ref(){ return this==STRING||this==INT_ARRAY; }
+    }
     enum Operator { EQ, NEQ, PLUS, MINUS, MUL, DIV, LT, GT }
 
 }
@@ -1,7 +1,25 @@
 import java.util.*;
+import org.antlr.v4.runtime.*;
 
 public class ParseTreeToAst extends MiniCBaseVisitor<Object> {
 
+    /** Lexer, Parser und Umbau in einem Schritt; Syntaxfehler werfen eine RuntimeException mit Position. */
+    public static List<MiniCCompiler.Stmt> parse(String source) {
+        BaseErrorListener fail = new BaseErrorListener() {
+            @Override
+            public void syntaxError(Recognizer<?, ?> recognizer, Object symbol, int line, int col, String msg, RecognitionException e) {
+                throw new RuntimeException("Syntaxfehler: " + msg + " (line " + line + ":" + col + ")");
+            }
+        };
+        MiniCLexer lexer = new MiniCLexer(CharStreams.fromString(source));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(fail);
+        MiniCParser parser = new MiniCParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+        parser.addErrorListener(fail);
+        return new ParseTreeToAst().visitProgram(parser.program());
+    }
+
     @Override
     public List<MiniCCompiler.Stmt> visitProgram(MiniCParser.ProgramContext ctx) {
         List<MiniCCompiler.Stmt> stmts = new ArrayList<>();
@@ -27,6 +45,14 @@ public class ParseTreeToAst extends MiniCBaseVisitor<Object> {
         return new MiniCCompiler.Assign(name, value, ctx.start.getLine(), ctx.start.getCharPositionInLine());
     }
 
+    @Override
+    public MiniCCompiler.Stmt visitIndexAssign(MiniCParser.IndexAssignContext ctx) {
+        MiniCCompiler.Expr array = new MiniCCompiler.Variable(ctx.ID().getText(), ctx.start.getLine(), ctx.start.getCharPositionInLine());
+        MiniCCompiler.Expr index = visitExpr(ctx.expr(0));
+        MiniCCompiler.Expr value = visitExpr(ctx.expr(1));
+        return new MiniCCompiler.IndexAssign(array, index, value, ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
     @Override
     public MiniCCompiler.Stmt visitFndecl(MiniCParser.FndeclContext ctx) {
         MiniCCompiler.PrimType retType = parseType(ctx.type().getText());
@@ -81,6 +107,7 @@ public class ParseTreeToAst extends MiniCBaseVisitor<Object> {
     public MiniCCompiler.Stmt visitStmt(MiniCParser.StmtContext ctx) {
         if (ctx.vardecl() != null) return visitVardecl(ctx.vardecl());
         if (ctx.assign() != null) return visitAssign(ctx.assign());
+        if (ctx.indexAssign() != null) return visitIndexAssign(ctx.indexAssign());
         if (ctx.fndecl() != null) return visitFndecl(ctx.fndecl());
         if (ctx.block() != null) return visitBlock(ctx.block());
         if (ctx.whileStmt() != null) return visitWhileStmt(ctx.whileStmt());
@@ -91,48 +118,90 @@ public class ParseTreeToAst extends MiniCBaseVisitor<Object> {
     }
 
     public MiniCCompiler.Expr visitExpr(MiniCParser.ExprContext ctx) {
-        if (ctx.fncall() != null) {
-            MiniCParser.FncallContext fctx = ctx.fncall();
-            String name = fctx.ID().getText();
-            List<MiniCCompiler.Expr> args = new ArrayList<>();
-            if (fctx.args() != null) {
-                for (MiniCParser.ExprContext ectx : fctx.args().expr()) {
-                    args.add(visitExpr(ectx));
-                }
-            }
-            return new MiniCCompiler.Call(name, args, ctx.start.getLine(), ctx.start.getCharPositionInLine());
-        } else if (ctx.NUMBER() != null) {
-            return new MiniCCompiler.IntLiteral(Integer.parseInt(ctx.NUMBER().getText()), ctx.start.getLine(), ctx.start.getCharPositionInLine());
-        } else if (ctx.STRING() != null) {
-            String s = ctx.STRING().getText();
-            s = s.substring(1, s.length() - 1); // Quotes entfernen
-            return new MiniCCompiler.StringLiteral(s, ctx.start.getLine(), ctx.start.getCharPositionInLine());
-        } else if (ctx.ID() != null) {
-            return new MiniCCompiler.Variable(ctx.ID().getText(), ctx.start.getLine(), ctx.start.getCharPositionInLine());
-        } else if (ctx.getChildCount() == 3) { // Binäroperator oder Klammern
-            MiniCCompiler.Expr left = visitExpr(ctx.expr(0));
-            MiniCCompiler.Expr right = visitExpr(ctx.expr(1));
-            String opStr = ctx.getChild(1).getText();
-            MiniCCompiler.Operator op;
-            switch (opStr) {
-                case "+": op = MiniCCompiler.Operator.PLUS; break;
-                case "-": op = MiniCCompiler.Operator.MINUS; break;
-                case "*": op = MiniCCompiler.Operator.MUL; break;
-                case "/": op = MiniCCompiler.Operator.DIV; break;
-                case ">": op = MiniCCompiler.Operator.GT; break;
-                case "<": op = MiniCCompiler.Operator.LT; break;
-                case "==": op = MiniCCompiler.Operator.EQ; break;
-                case "!=": op = MiniCCompiler.Operator.NEQ; break;
-                default: throw new RuntimeException("Unsupported operator: " + opStr);
+        return (MiniCCompiler.Expr) visit(ctx);
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitCall(MiniCParser.CallContext ctx) {
+        return new MiniCCompiler.Call(ctx.fncall().ID().getText(), args(ctx.fncall()), ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitSpawn(MiniCParser.SpawnContext ctx) {
+        return new MiniCCompiler.Spawn(ctx.fncall().ID().getText(), args(ctx.fncall()), ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitJoin(MiniCParser.JoinContext ctx) {
+        MiniCCompiler.Expr handle = new MiniCCompiler.Variable(ctx.ID().getText(), ctx.ID().getSymbol().getLine(), ctx.ID().getSymbol().getCharPositionInLine());
+        return new MiniCCompiler.Join(handle, ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitNewArray(MiniCParser.NewArrayContext ctx) {
+        return new MiniCCompiler.NewArray(visitExpr(ctx.expr()), ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitIndex(MiniCParser.IndexContext ctx) {
+        return new MiniCCompiler.Index(visitExpr(ctx.expr(0)), visitExpr(ctx.expr(1)), ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitBinary(MiniCParser.BinaryContext ctx) {
+        MiniCCompiler.Expr left = visitExpr(ctx.expr(0));
+        MiniCCompiler.Expr right = visitExpr(ctx.expr(1));
+        String opStr = ctx.op.getText();
+        MiniCCompiler.Operator op;
+        switch (opStr) {
+            case "+": op = MiniCCompiler.Operator.PLUS; break;
+            case "-": op = MiniCCompiler.Operator.MINUS; break;
+            case "*": op = MiniCCompiler.Operator.MUL; break;
+            case "/": op = MiniCCompiler.Operator.DIV; break;
+            case ">": op = MiniCCompiler.Operator.GT; break;
+            case "<": op = MiniCCompiler.Operator.LT; break;
+            case "==": op = MiniCCompiler.Operator.EQ; break;
+            case "!=": op = MiniCCompiler.Operator.NEQ; break;
+            default: throw new RuntimeException("Unsupported operator: " + opStr);
+        }
+        return new MiniCCompiler.Binary(left, op, right, ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitVar(MiniCParser.VarContext ctx) {
+        return new MiniCCompiler.Variable(ctx.ID().getText(), ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitNumber(MiniCParser.NumberContext ctx) {
+        return new MiniCCompiler.IntLiteral(Integer.parseInt(ctx.NUMBER().getText()), ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitString(MiniCParser.StringContext ctx) {
+        String s = ctx.STRING().getText();
+        s = s.substring(1, s.length() - 1); // Quotes entfernen
+        return new MiniCCompiler.StringLiteral(s, ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitBool(MiniCParser.BoolContext ctx) {
+        return new MiniCCompiler.BoolLiteral(ctx.getText().equals("T"), ctx.start.getLine(), ctx.start.getCharPositionInLine());
+    }
+
+    @Override
+    public MiniCCompiler.Expr visitParens(MiniCParser.ParensContext ctx) {
+        return visitExpr(ctx.expr());
+    }
+
+    private List<MiniCCompiler.Expr> args(MiniCParser.FncallContext fctx) {
+        List<MiniCCompiler.Expr> args = new ArrayList<>();
+        if (fctx.args() != null) {
+            for (MiniCParser.ExprContext ectx : fctx.args().expr()) {
+                args.add(visitExpr(ectx));
             }
-            return new MiniCCompiler.Binary(left, op, right, ctx.start.getLine(), ctx.start.getCharPositionInLine());
-        } else if (ctx.getChildCount() == 1) { // Klammer oder BoolLiteral
-            String t = ctx.getText();
-            if (t.equals("T")) return new MiniCCompiler.BoolLiteral(true, ctx.start.getLine(), ctx.start.getCharPositionInLine());
-            if (t.equals("F")) return new MiniCCompiler.BoolLiteral(false, ctx.start.getLine(), ctx.start.getCharPositionInLine());
-            if (ctx.expr().size() == 1) return visitExpr(ctx.expr(0));
         }
-        throw new RuntimeException("Unsupported expression: " + ctx.getText());
+        return args;
     }
 
     private MiniCCompiler.PrimType parseType(String t) {
@@ -140,6 +209,7 @@ public class ParseTreeToAst extends MiniCBaseVisitor<Object> {
             case "int" -> MiniCCompiler.PrimType.INT;
             case "string" -> MiniCCompiler.PrimType.STRING;
             case "bool" -> MiniCCompiler.PrimType.BOOL;
+            case "int[]" -> MiniCCompiler.PrimType.INT_ARRAY;
             default -> throw new RuntimeException("Unknown type: " + t);
         };
     }
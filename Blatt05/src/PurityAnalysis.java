@@ -0,0 +1,71 @@
+import java.util.*;
+
+/**
+ * Reinheitsanalyse über die Funktionen eines Programms.
+ *
+ * Eine Funktion ist rein, wenn sie keine globale Variable schreibt oder liest, nur reine
+ * Funktionen aufruft (von den eingebauten nur strlen) und nur int-, bool- oder string-Parameter hat
+ * (ein int[] ist veränderlich: weder als Parameter noch als Ergebnis erlaubt). Das Ergebnis hängt dann
+ * nur von den Argumenten ab; auch gelesene Globale schließen Reinheit aus, weil sie sich
+ * zwischen zwei Aufrufen ändern können. Die SCCs des {@link CallGraph} werden bottom-up
+ * abgearbeitet: eine SCC ist rein, wenn alle Mitglieder lokal rein sind und alle Aufrufe aus
+ * der SCC heraus reine Funktionen treffen.
+ *
+ * {@link #memoizable()} liefert die reinen rekursiven Funktionen, für die sich eine
+ * Memo-Tabelle lohnt (siehe {@link MemoTable}).
+ */
+public final class PurityAnalysis {
+
+    private final Set<MiniCCompiler.FnDecl> pure = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<MiniCCompiler.FnDecl> functions = new ArrayList<>(), memoizable = new ArrayList<>();
+
+    private PurityAnalysis() {}
+
+    public static PurityAnalysis analyze(List<MiniCCompiler.Stmt> program) {
+        Resolver.resolve(program);
+        CallGraph graph = CallGraph.build(program);
+        PurityAnalysis pa = new PurityAnalysis();
+        for (List<SymbolTableBuilder.Symbol> scc : graph.stronglyConnectedComponents()) {
+            boolean ok = true;
+            for (SymbolTableBuilder.Symbol fn : scc) {
+                ok &= locallyPure((MiniCCompiler.FnDecl) fn.declNode);
+                for (SymbolTableBuilder.Symbol callee : graph.callees(fn)) {
+                    ok &= scc.contains(callee) || pa.pure.contains((MiniCCompiler.FnDecl) callee.declNode);
+                }
+            }
+            for (SymbolTableBuilder.Symbol fn : scc) {
+                MiniCCompiler.FnDecl fd = (MiniCCompiler.FnDecl) fn.declNode;
+                pa.functions.add(fd);
+                if (!ok) continue;
+                pa.pure.add(fd);
+                if (graph.isRecursive(fn)) pa.memoizable.add(fd);
+            }
+        }
+        return pa;
+    }
+
+    private static boolean locallyPure(MiniCCompiler.FnDecl fd) {
+        if (fd.returnType == MiniCCompiler.PrimType.INT_ARRAY) return false;
+        for (MiniCCompiler.Param p : fd.params) {
+            if (p.type != MiniCCompiler.PrimType.INT && p.type != MiniCCompiler.PrimType.BOOL
+                    && p.type != MiniCCompiler.PrimType.STRING) return false;
+        }
+        for (MiniCCompiler.Node n : AstHash.preorder(fd.body)) {
+            if (n instanceof MiniCCompiler.Assign as && as.global) return false;
+            if (n instanceof MiniCCompiler.Variable v && v.global) return false;
+            if (n instanceof MiniCCompiler.FnDecl) return false; // geschachtelte Funktion: nicht weiter untersucht
+            if (n instanceof MiniCCompiler.Call c && c.builtin != null && !c.builtin.pure) return false; // Ein-/Ausgabe, join
+            if (n instanceof MiniCCompiler.Spawn) return false;
+        }
+        return true;
+    }
+
+    public boolean isPure(MiniCCompiler.FnDecl fd) { return pure.contains(fd); }
+
+    /** Reine, (direkt oder indirekt) rekursive Funktionen in Bottom-up-Reihenfolge. */
+    public List<MiniCCompiler.FnDecl> memoizable() { return Collections.unmodifiableList(memoizable); }
+
+    @Override public String toString() {
+        return "rein " + pure.size() + "/" + functions.size() + ", davon rekursiv " + memoizable.size();
+    }
+}
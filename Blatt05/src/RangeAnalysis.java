@@ -0,0 +1,407 @@
+import java.util.*;
+
+/**
+ * Intervallanalyse für lokale int-Variablen auf dem {@link Cfg} jeder Funktion.
+ *
+ * Jeder Slot hat ein Intervall [lo, hi]; Literale sind exakt, globale Variablen und Call-Ergebnisse
+ * unbekannt. Parameter bekommen die Hülle der Argumente aller Aufrufstellen; dazu wird das ganze
+ * Programm wiederholt analysiert, bis sich diese Hüllen nicht mehr ändern (ab der dritten Runde mit
+ * Verbreiterung). Bedingungen von if/while grenzen die Intervalle auf der jeweiligen
+ * Kante ein ({@code i < n} im Rumpf, {@code i >= n} danach). An Schleifenköpfen wird ab dem
+ * zweiten Besuch verbreitert: eine Grenze, die über den alten und den Eintrittszustand hinaus
+ * wächst, springt direkt auf Integer.MIN/MAX_VALUE.
+ *
+ * Ergebnis sind Annotationen an Binary-Knoten: {@code nonZeroDivisor}, wenn der Divisor nie 0 ist,
+ * und {@code noOverflow}, wenn das exakte Ergebnis im int-Bereich liegt (für DIV heißt das: nicht
+ * MIN_VALUE / -1). Backends lassen bei {@code nonZeroDivisor} die Nullprüfung weg. Für
+ * int[]-Zugriffe wird zusätzlich festgehalten, ob der Index nie negativ ist
+ * ({@link #nonNegativeIndex}, untere Grenze für {@link BoundsCheckElimination}).
+ */
+public final class RangeAnalysis {
+
+    private static final MiniCCompiler.PrimType INT = MiniCCompiler.PrimType.INT;
+    private static final int LT = 0, LE = 1, GT = 2, GE = 3, EQ = 4, NE = 5;
+
+    private int divisions, safeDivisions, arithmetic, safeArithmetic, functions, rounds;
+
+    /** Parameterintervalle je Funktion (null: bisher kein Aufruf) und die der laufenden Runde. */
+    private final Map<MiniCCompiler.FnDecl, int[]> params = new IdentityHashMap<>(), incoming = new IdentityHashMap<>();
+    /** Index und IndexAssign, deren Index im letzten Annotationslauf >= 0 war. */
+    private final Set<MiniCCompiler.Node> nonNegative = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Ergebnis der letzten eval()-Auswertung
+    private int lo, hi;
+    private boolean annotate;
+
+    /** Analysiert alle Funktionen und die Top-Level-Anweisungen und annotiert die Binary-Knoten. */
+    public static RangeAnalysis analyze(List<MiniCCompiler.Stmt> program) {
+        Resolver resolver = Resolver.resolve(program);
+        RangeAnalysis ra = new RangeAnalysis();
+        List<MiniCCompiler.Node> all = new ArrayList<>();
+        for (MiniCCompiler.Stmt s : program) all.addAll(AstHash.preorder(s));
+        List<MiniCCompiler.FnDecl> fns = new ArrayList<>();
+        List<Cfg> cfgs = new ArrayList<>();
+        for (MiniCCompiler.Node n : all) {
+            if (n instanceof MiniCCompiler.FnDecl fd) {
+                fns.add(fd);
+                cfgs.add(Cfg.of(fd));
+            }
+        }
+        Cfg main = Cfg.ofProgram(program, resolver);
+        boolean changed = true;
+        while (changed) {
+            ra.rounds++;
+            ra.incoming.clear();
+            ra.function(main, null);
+            for (int i = 0; i < fns.size(); i++) {
+                int[] p = ra.params.get(fns.get(i));
+                if (p != null) ra.function(cfgs.get(i), p); // nie aufgerufen: bleibt unannotiert
+            }
+            changed = false;
+            for (MiniCCompiler.FnDecl fd : fns) {
+                int[] old = ra.params.get(fd), now = ra.incoming.get(fd);
+                if (now == null || Arrays.equals(old, now)) continue;
+                if (old != null) {
+                    hull(now, old);
+                    if (ra.rounds >= 2) widen(old, now);
+                }
+                if (!Arrays.equals(old, now)) {
+                    ra.params.put(fd, now);
+                    changed = true;
+                }
+            }
+        }
+        ra.functions = 1 + fns.size();
+        for (MiniCCompiler.Node n : all) {
+            if (!(n instanceof MiniCCompiler.Binary b) || b.type != INT) continue;
+            if (b.op == MiniCCompiler.Operator.DIV) {
+                ra.divisions++;
+                if (b.nonZeroDivisor) ra.safeDivisions++;
+            } else {
+                ra.arithmetic++;
+                if (b.noOverflow) ra.safeArithmetic++;
+            }
+        }
+        return ra;
+    }
+
+    /** Index bzw. IndexAssign mit nachweislich nicht-negativem Index (nur aufgerufene Funktionen). */
+    public boolean nonNegativeIndex(MiniCCompiler.Node access) { return nonNegative.contains(access); }
+
+    public int divisions() { return divisions; }
+    public int safeDivisions() { return safeDivisions; }
+    public int arithmetic() { return arithmetic; }
+    public int safeArithmetic() { return safeArithmetic; }
+
+    @Override public String toString() {
+        return String.format("Funktionen %d, Runden %d; Nullprüfungen entfallen %d/%d (%s), Überlaufprüfungen entfallen %d/%d (%s)",
+                functions, rounds, safeDivisions, divisions, percent(safeDivisions, divisions),
+                safeArithmetic, arithmetic, percent(safeArithmetic, arithmetic));
+    }
+
+    private static String percent(int part, int total) {
+        return total == 0 ? "-" : String.format("%.0f%%", 100.0 * part / total);
+    }
+
+    // ---------------- Fixpunkt ----------------
+
+    /** Fixpunkt für eine Funktion; paramRanges belegt die Parameterslots am Eintritt (null: Hauptprogramm). */
+    private void function(Cfg cfg, int[] paramRanges) {
+        int n = cfg.size();
+        int[] rpo = cfg.reversePostorder(), position = new int[n];
+        for (int k = 0; k < n; k++) position[rpo[k]] = k;
+        boolean[] loopHead = new boolean[n];
+        for (Cfg.BasicBlock bb : cfg.blocks) {
+            for (int k = 0; k < bb.preds.size(); k++) if (position[bb.preds.get(k)] >= position[bb.id]) loopHead[bb.id] = true;
+        }
+        int[][] in = new int[n][], out = new int[n][];
+        int[] visits = new int[n];
+        int[] queue = new int[n];
+        boolean[] queued = new boolean[n];
+        int head = 0, count = n;
+        for (int k = 0; k < n; k++) {
+            queue[k] = rpo[k];
+            queued[rpo[k]] = true;
+        }
+        annotate = false;
+        while (count > 0) {
+            int b = queue[head];
+            head = (head + 1) % n;
+            count--;
+            queued[b] = false;
+            int[] st = b == Cfg.ENTRY ? entry(cfg, paramRanges) : join(cfg, b, out);
+            if (st != null && loopHead[b] && in[b] != null) {
+                hull(st, in[b]); // monoton: der Kopf behält alle früheren Werte
+                if (visits[b] >= 2) widen(in[b], st, entering(cfg, b, out, position));
+            }
+            visits[b]++;
+            in[b] = st;
+            int[] o = st == null ? null : transfer(cfg.block(b), st.clone());
+            if (!Arrays.equals(o, out[b])) {
+                out[b] = o;
+                Ssa.IntList succs = cfg.block(b).succs;
+                for (int k = 0; k < succs.size(); k++) {
+                    int s = succs.get(k);
+                    if (!queued[s]) {
+                        queued[s] = true;
+                        queue[(head + count) % n] = s;
+                        count++;
+                    }
+                }
+            }
+        }
+        // Annotieren mit den stabilen Eingangszuständen
+        annotate = true;
+        for (int b = 0; b < n; b++) if (in[b] != null) transfer(cfg.block(b), in[b].clone());
+        annotate = false;
+    }
+
+    private static int[] entry(Cfg cfg, int[] paramRanges) {
+        int[] st = top(cfg.slots);
+        if (paramRanges != null) System.arraycopy(paramRanges, 0, st, 0, paramRanges.length);
+        return st;
+    }
+
+    private static int[] top(int slots) {
+        int[] st = new int[2 * slots];
+        for (int s = 0; s < slots; s++) {
+            st[2 * s] = Integer.MIN_VALUE;
+            st[2 * s + 1] = Integer.MAX_VALUE;
+        }
+        return st;
+    }
+
+    /** Hülle über alle eingehenden Kanten; null, wenn keine Kante ausführbar ist. */
+    private int[] join(Cfg cfg, int b, int[][] out) {
+        int[] st = null;
+        Ssa.IntList preds = cfg.block(b).preds;
+        for (int k = 0; k < preds.size(); k++) {
+            int p = preds.get(k);
+            int[] e = edge(cfg.block(p), b, out[p]);
+            if (e == null) continue;
+            if (st == null) st = e.clone();
+            else hull(st, e);
+        }
+        return st;
+    }
+
+    /** Hülle über die Vorwärtskanten in den Schleifenkopf b (ohne Rückkanten); null, wenn keine ausführbar ist. */
+    private int[] entering(Cfg cfg, int b, int[][] out, int[] position) {
+        int[] st = null;
+        Ssa.IntList preds = cfg.block(b).preds;
+        for (int k = 0; k < preds.size(); k++) {
+            int p = preds.get(k);
+            int[] e = position[p] < position[b] ? edge(cfg.block(p), b, out[p]) : null;
+            if (e == null) continue;
+            if (st == null) st = e.clone();
+            else hull(st, e);
+        }
+        return st;
+    }
+
+    private static void hull(int[] st, int[] e) {
+        for (int i = 0; i < st.length; i += 2) {
+            st[i] = Math.min(st[i], e[i]);
+            st[i + 1] = Math.max(st[i + 1], e[i + 1]);
+        }
+    }
+
+    private static void widen(int[] old, int[] st) {
+        for (int i = 0; i < st.length; i += 2) {
+            if (st[i] < old[i]) st[i] = Integer.MIN_VALUE;
+            if (st[i + 1] > old[i + 1]) st[i + 1] = Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Verbreiterung am Schleifenkopf nur für Grenzen, die auch über den Eintrittszustand hinaus
+     * wachsen: wächst eine Grenze nur, weil eine äußere Schleife noch nicht stabil ist, wartet die
+     * innere auf sie (sonst ginge z.B. die untere Grenze eines äußeren Zählers verloren).
+     */
+    private static void widen(int[] old, int[] st, int[] entry) {
+        for (int i = 0; i < st.length; i += 2) {
+            if (st[i] < old[i] && (entry == null || st[i] < entry[i])) st[i] = Integer.MIN_VALUE;
+            if (st[i + 1] > old[i + 1] && (entry == null || st[i + 1] > entry[i + 1])) st[i + 1] = Integer.MAX_VALUE;
+        }
+    }
+
+    /** Zustand auf der Kante from -> to; bei Verzweigungen ist succs[0] die true-Kante. */
+    private int[] edge(Cfg.BasicBlock from, int to, int[] out) {
+        if (out == null || from.succs.size() != 2 || from.items.isEmpty()) return out;
+        if (!(from.items.get(from.items.size() - 1) instanceof MiniCCompiler.Expr cond)) return out;
+        int[] st = out.clone();
+        return narrow(cond, from.succs.get(0) == to, st) ? st : null;
+    }
+
+    // ---------------- Transfer ----------------
+
+    private int[] transfer(Cfg.BasicBlock bb, int[] st) {
+        for (MiniCCompiler.Node item : bb.items) {
+            if (item instanceof MiniCCompiler.VarDecl vd) {
+                if (vd.initializer != null) eval(vd.initializer, st);
+                else lo = hi = 0; // Standardwert
+                if (!vd.global) set(st, vd.slot, vd.type == INT);
+            } else if (item instanceof MiniCCompiler.Assign as) {
+                eval(as.value, st);
+                if (!as.global) set(st, as.slot, as.value.type == INT);
+            } else if (item instanceof MiniCCompiler.IndexAssign ia) {
+                eval(ia.array, st);
+                eval(ia.index, st);
+                index(ia);
+                eval(ia.value, st);
+            } else if (item instanceof MiniCCompiler.ExprStmt es) {
+                eval(es.expr, st);
+            } else if (item instanceof MiniCCompiler.ReturnStmt rs) {
+                if (rs.value != null) eval(rs.value, st);
+            } else if (item instanceof MiniCCompiler.Expr e) {
+                eval(e, st);
+            }
+        }
+        return st;
+    }
+
+    /** Hält nach eval(index) fest, ob der Index des Zugriffs nie negativ ist. */
+    private void index(MiniCCompiler.Node access) {
+        if (!annotate) return;
+        if (lo >= 0) nonNegative.add(access);
+        else nonNegative.remove(access);
+    }
+
+    private void set(int[] st, int slot, boolean isInt) {
+        st[2 * slot] = isInt ? lo : Integer.MIN_VALUE;
+        st[2 * slot + 1] = isInt ? hi : Integer.MAX_VALUE;
+    }
+
+    /** Intervall des Ausdrucks nach lo/hi; annotiert im letzten Durchlauf die Binary-Knoten. */
+    private void eval(MiniCCompiler.Expr e, int[] st) {
+        if (e instanceof MiniCCompiler.IntLiteral il) {
+            lo = hi = il.value;
+        } else if (e instanceof MiniCCompiler.Variable v && !v.global && v.type == INT) {
+            lo = st[2 * v.slot];
+            hi = st[2 * v.slot + 1];
+        } else if (e instanceof MiniCCompiler.Binary b && b.type == INT) {
+            eval(b.left, st);
+            long ll = lo, lh = hi;
+            eval(b.right, st);
+            long rl = lo, rh = hi;
+            long rlo, rhi;
+            boolean nonZero = false;
+            switch (b.op) {
+                case PLUS -> { rlo = ll + rl; rhi = lh + rh; }
+                case MINUS -> { rlo = ll - rh; rhi = lh - rl; }
+                case MUL -> {
+                    long a = ll * rl, c = ll * rh, d = lh * rl, f = lh * rh;
+                    rlo = Math.min(Math.min(a, c), Math.min(d, f));
+                    rhi = Math.max(Math.max(a, c), Math.max(d, f));
+                }
+                default -> { // DIV: ohne 0 im Divisor ist a / b in jeder Variable monoton
+                    nonZero = rl > 0 || rh < 0;
+                    if (nonZero) {
+                        long a = ll / rl, c = ll / rh, d = lh / rl, f = lh / rh;
+                        rlo = Math.min(Math.min(a, c), Math.min(d, f));
+                        rhi = Math.max(Math.max(a, c), Math.max(d, f));
+                    } else {
+                        rlo = Long.MIN_VALUE;
+                        rhi = Long.MAX_VALUE;
+                    }
+                }
+            }
+            boolean fits = rlo >= Integer.MIN_VALUE && rhi <= Integer.MAX_VALUE;
+            if (annotate) {
+                b.noOverflow = fits;
+                b.nonZeroDivisor = nonZero;
+            }
+            lo = fits ? (int) rlo : Integer.MIN_VALUE;
+            hi = fits ? (int) rhi : Integer.MAX_VALUE;
+        } else if (e instanceof MiniCCompiler.Binary b) {
+            eval(b.left, st);
+            eval(b.right, st);
+            lo = 0;
+            hi = 1; // Vergleich; bei Verkettung ohne Bedeutung
+        } else if (e instanceof MiniCCompiler.Call c) {
+            int[] args = annotate ? new int[2 * c.args.size()] : null;
+            for (int i = 0; i < c.args.size(); i++) {
+                MiniCCompiler.Expr a = c.args.get(i);
+                eval(a, st);
+                if (args == null) continue;
+                boolean isInt = a.type == INT;
+                args[2 * i] = isInt ? lo : Integer.MIN_VALUE;
+                args[2 * i + 1] = isInt ? hi : Integer.MAX_VALUE;
+            }
+            if (args != null && c.builtin == null) incoming.merge(c.target, args, (old, now) -> { hull(old, now); return old; });
+            lo = Integer.MIN_VALUE;
+            hi = Integer.MAX_VALUE;
+        } else if (e instanceof MiniCCompiler.BoolLiteral bl) {
+            lo = hi = bl.value ? 1 : 0;
+        } else if (e instanceof MiniCCompiler.Index ix) {
+            eval(ix.array, st);
+            eval(ix.index, st);
+            index(ix);
+            lo = Integer.MIN_VALUE;
+            hi = Integer.MAX_VALUE;
+        } else if (e instanceof MiniCCompiler.NewArray na) {
+            eval(na.length, st);
+            lo = Integer.MIN_VALUE;
+            hi = Integer.MAX_VALUE;
+        } else {
+            lo = Integer.MIN_VALUE;
+            hi = Integer.MAX_VALUE;
+        }
+    }
+
+    // ---------------- Einschränkung durch Bedingungen ----------------
+
+    /** Schränkt st auf die Kante ein, auf der cond == taken gilt; false, wenn sie unmöglich ist. */
+    private boolean narrow(MiniCCompiler.Expr cond, boolean taken, int[] st) {
+        if (cond instanceof MiniCCompiler.BoolLiteral bl) return bl.value == taken;
+        if (!(cond instanceof MiniCCompiler.Binary b) || b.left.type != INT) return true;
+        int op = switch (b.op) {
+            case LT -> taken ? LT : GE;
+            case GT -> taken ? GT : LE;
+            case EQ -> taken ? EQ : NE;
+            case NEQ -> taken ? NE : EQ;
+            default -> -1;
+        };
+        if (op < 0) return true;
+        boolean saved = annotate;
+        annotate = false;
+        eval(b.left, st);
+        int ll = lo, lh = hi;
+        eval(b.right, st);
+        int rl = lo, rh = hi;
+        annotate = saved;
+        if (b.left instanceof MiniCCompiler.Variable v && !v.global && !restrict(st, v.slot, op, rl, rh)) return false;
+        if (b.right instanceof MiniCCompiler.Variable v && !v.global && !restrict(st, v.slot, mirror(op), ll, lh)) return false;
+        return true;
+    }
+
+    private static int mirror(int op) {
+        return switch (op) {
+            case LT -> GT;
+            case LE -> GE;
+            case GT -> LT;
+            case GE -> LE;
+            default -> op;
+        };
+    }
+
+    /** x op r mit r in [rl, rh]; false, wenn das Intervall von x leer wird. */
+    private static boolean restrict(int[] st, int slot, int op, int rl, int rh) {
+        long xl = st[2 * slot], xh = st[2 * slot + 1];
+        switch (op) {
+            case LT -> xh = Math.min(xh, (long) rh - 1);
+            case LE -> xh = Math.min(xh, rh);
+            case GT -> xl = Math.max(xl, (long) rl + 1);
+            case GE -> xl = Math.max(xl, rl);
+            case EQ -> { xl = Math.max(xl, rl); xh = Math.min(xh, rh); }
+            default -> { // NE: nur gegen eine Konstante am Rand
+                if (rl == rh && xl == rl) xl++;
+                if (rl == rh && xh == rl) xh--;
+            }
+        }
+        if (xl > xh) return false;
+        st[2 * slot] = (int) xl;
+        st[2 * slot + 1] = (int) xh;
+        return true;
+    }
+}
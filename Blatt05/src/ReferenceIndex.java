@@ -0,0 +1,172 @@
+import java.util.*;
+
+/**
+ * Querverweis-Index für Editor-Werkzeuge ("Gehe zu Definition", "Alle Verweise").
+ * Wird während der Namensauflösung befüllt und ist pro Top-Level-Anweisung
+ * aktualisierbar (siehe {@link IncrementalAnalyzer#replace}).
+ *
+ * Positionen sind (Zeile, Spalte) wie in {@link MiniCCompiler.Node}. Jede Top-Level-Anweisung
+ * wird in disjunkte Segmente zerlegt, die jeweils auf den innersten Knoten zeigen;
+ * eine Positionsabfrage ist damit eine binäre Suche.
+ */
+public class ReferenceIndex {
+
+    /** Daten einer Top-Level-Anweisung, damit sie einzeln ersetzt werden kann. */
+    private static class Unit {
+        long start = Long.MAX_VALUE, end;
+        long[] segStart = new long[0];
+        MiniCCompiler.Node[] segNode = new MiniCCompiler.Node[0];
+        final List<MiniCCompiler.Node> uses = new ArrayList<>();
+        final List<SymbolTableBuilder.Symbol> declared = new ArrayList<>();
+    }
+
+    private final Map<SymbolTableBuilder.Symbol, Set<MiniCCompiler.Node>> references = new IdentityHashMap<>();
+    private final Map<MiniCCompiler.Node, SymbolTableBuilder.Symbol> resolvedAt = new IdentityHashMap<>();
+    private final Map<MiniCCompiler.Node, SymbolTableBuilder.Symbol> declaredAt = new IdentityHashMap<>();
+    private final Map<Integer, Unit> units = new HashMap<>();
+    private final TreeMap<Long, Integer> unitByStart = new TreeMap<>();
+
+    /** Baut den Index für ein ganzes Programm; Aktualisierungen laufen über den zurückgegebenen Analyzer. */
+    public static IncrementalAnalyzer build(List<MiniCCompiler.Stmt> program, ReferenceIndex index) {
+        return new IncrementalAnalyzer(program, null, index);
+    }
+
+    static long key(int line, int col) { return ((long) line << 32) | (col & 0xffffffffL); }
+
+    // ---------------- Abfragen ----------------
+
+    /** Innerster Knoten an der Position, oder null. O(log n). */
+    public MiniCCompiler.Node nodeAt(int line, int col) {
+        long k = key(line, col);
+        Map.Entry<Long, Integer> e = unitByStart.floorEntry(k);
+        if (e == null) return null;
+        Unit u = units.get(e.getValue());
+        if (k >= u.end) return null;
+        int i = Arrays.binarySearch(u.segStart, k);
+        if (i < 0) i = -i - 2;
+        return i >= 0 ? u.segNode[i] : null;
+    }
+
+    /** Symbol, auf das sich der Knoten an der Position bezieht (Verwendung oder Deklaration). */
+    public SymbolTableBuilder.Symbol symbolAt(int line, int col) {
+        MiniCCompiler.Node n = nodeAt(line, col);
+        if (n == null) return null;
+        SymbolTableBuilder.Symbol sym = resolvedAt.get(n);
+        return sym != null ? sym : declaredAt.get(n);
+    }
+
+    /** "Gehe zu Definition": deklarierender Knoten des Symbols an der Position. */
+    public MiniCCompiler.Node definitionAt(int line, int col) {
+        SymbolTableBuilder.Symbol sym = symbolAt(line, col);
+        return sym != null ? sym.declNode : null;
+    }
+
+    /** Alle Variable-, Assign- und Call-Knoten, die auf sym auflösen. O(k). */
+    public Collection<MiniCCompiler.Node> referencesOf(SymbolTableBuilder.Symbol sym) {
+        Set<MiniCCompiler.Node> refs = references.get(sym);
+        return refs != null ? Collections.unmodifiableCollection(refs) : List.of();
+    }
+
+    public Collection<MiniCCompiler.Node> referencesAt(int line, int col) {
+        SymbolTableBuilder.Symbol sym = symbolAt(line, col);
+        return sym != null ? referencesOf(sym) : List.of();
+    }
+
+    public SymbolTableBuilder.Symbol resolvedSymbol(MiniCCompiler.Node use) { return resolvedAt.get(use); }
+
+    // ---------------- Aktualisierung (über IncrementalAnalyzer) ----------------
+
+    /** Entfernt alle Einträge der Top-Level-Anweisung und liefert einen Listener für die Neuauflösung. */
+    SymbolTableBuilder.ResolveListener beginUnit(int index, MiniCCompiler.Stmt stmt) {
+        removeUnit(index);
+        Unit u = new Unit();
+        units.put(index, u);
+        buildSegments(u, stmt);
+        if (u.start != Long.MAX_VALUE) unitByStart.put(u.start, index);
+        return new SymbolTableBuilder.ResolveListener() {
+            @Override
+            public void resolved(MiniCCompiler.Node use, SymbolTableBuilder.Symbol sym) {
+                if (resolvedAt.put(use, sym) == null) u.uses.add(use);
+                references.computeIfAbsent(sym, k -> new LinkedHashSet<>()).add(use);
+            }
+
+            @Override
+            public void declared(SymbolTableBuilder.Symbol sym) {
+                u.declared.add(sym);
+                if (sym.declNode != null && !declaredAt.containsKey(sym.declNode)) declaredAt.put(sym.declNode, sym);
+            }
+        };
+    }
+
+    void removeUnit(int index) {
+        Unit u = units.remove(index);
+        if (u == null) return;
+        for (MiniCCompiler.Node use : u.uses) {
+            SymbolTableBuilder.Symbol sym = resolvedAt.remove(use);
+            Set<MiniCCompiler.Node> refs = sym != null ? references.get(sym) : null;
+            if (refs != null && refs.remove(use) && refs.isEmpty()) references.remove(sym);
+        }
+        for (SymbolTableBuilder.Symbol sym : u.declared) {
+            if (sym.declNode != null && declaredAt.get(sym.declNode) == sym) declaredAt.remove(sym.declNode);
+        }
+        Integer owner = unitByStart.get(u.start);
+        if (owner != null && owner == index) unitByStart.remove(u.start);
+    }
+
+    // ---------------- Segmente ----------------
+
+    private void buildSegments(Unit u, MiniCCompiler.Stmt stmt) {
+        Map<MiniCCompiler.Node, long[]> spans = new IdentityHashMap<>();
+        span(stmt, spans);
+        long[] root = spans.get(stmt);
+        u.start = root[0];
+        u.end = root[1];
+        TreeMap<Long, MiniCCompiler.Node> paint = new TreeMap<>();
+        for (MiniCCompiler.Node n : AstHash.preorder(stmt)) {
+            long[] sp = spans.get(n);
+            paint(paint, sp[0], sp[1], n); // Kinder nach Eltern: der innerste Knoten gewinnt
+        }
+        u.segStart = new long[paint.size()];
+        u.segNode = new MiniCCompiler.Node[paint.size()];
+        int i = 0;
+        for (Map.Entry<Long, MiniCCompiler.Node> e : paint.entrySet()) {
+            u.segStart[i] = e.getKey();
+            u.segNode[i++] = e.getValue();
+        }
+    }
+
+    private static void paint(TreeMap<Long, MiniCCompiler.Node> m, long from, long to, MiniCCompiler.Node n) {
+        if (from >= to) return;
+        Map.Entry<Long, MiniCCompiler.Node> after = m.floorEntry(to);
+        MiniCCompiler.Node rest = after != null ? after.getValue() : null;
+        m.subMap(from, true, to, false).clear();
+        m.put(from, n);
+        if (!m.containsKey(to)) m.put(to, rest);
+    }
+
+    /**
+     * Bereich [start, end) eines Knotens: vom eigenen Anfang (bzw. dem frühesten Kind)
+     * bis zum Ende des eigenen Tokens bzw. des spätesten Kindes.
+     */
+    private static long[] span(MiniCCompiler.Node n, Map<MiniCCompiler.Node, long[]> spans) {
+        long start = key(n.line, n.col);
+        long end = key(n.line, n.col + tokenLength(n));
+        for (MiniCCompiler.Node child : AstHash.children(n)) {
+            long[] c = span(child, spans);
+            start = Math.min(start, c[0]);
+            end = Math.max(end, c[1]);
+        }
+        long[] sp = {start, end};
+        spans.put(n, sp);
+        return sp;
+    }
+
+    private static int tokenLength(MiniCCompiler.Node n) {
+        if (n instanceof MiniCCompiler.Variable v) return v.name.length();
+        if (n instanceof MiniCCompiler.Assign as) return as.name.length();
+        if (n instanceof MiniCCompiler.Call c) return c.name.length();
+        if (n instanceof MiniCCompiler.IntLiteral il) return Integer.toString(il.value).length();
+        if (n instanceof MiniCCompiler.StringLiteral sl) return sl.value.length() + 2;
+        return 1;
+    }
+}
@@ -0,0 +1,286 @@
+import java.util.*;
+
+/**
+ * Bereitet ein semantisch geprüftes Programm für die Ausführung vor: vergibt Slots für
+ * globale und lokale Variablen, bindet Calls an ihre FnDecl und berechnet die Typen der
+ * Ausdrücke. Die Ergebnisse werden direkt in den AST-Knoten abgelegt. Gleiche String-Literale
+ * werden auf ein gemeinsames String-Objekt umgestellt, Vergleiche damit sind dann Identitätsvergleiche.
+ *
+ * Globale Variablen sind die VarDecls auf Top-Level. Lokale Variablen von Top-Level-Blöcken
+ * liegen im Frame des Hauptprogramms. Slots werden nach dem Verlassen eines Blocks wiederverwendet.
+ */
+public class Resolver {
+
+    /** Eine Bindung im Scope: Variable/Parameter mit Slot oder Funktion. */
+    private static class Binding {
+        final MiniCCompiler.PrimType type;
+        final int slot;
+        final boolean global;
+        final MiniCCompiler.FnDecl owner; // Funktion, in deren Frame der Slot liegt (null: Hauptprogramm)
+        final MiniCCompiler.FnDecl fn;    // != null für Funktionen
+
+        Binding(MiniCCompiler.PrimType type, int slot, boolean global, MiniCCompiler.FnDecl owner, MiniCCompiler.FnDecl fn) {
+            this.type = type; this.slot = slot; this.global = global; this.owner = owner; this.fn = fn;
+        }
+    }
+
+    private static class Scope {
+        final Map<String, Binding> bindings = new HashMap<>();
+        final Scope parent;
+        Scope(Scope parent) { this.parent = parent; }
+        Binding resolve(String name) {
+            for (Scope s = this; s != null; s = s.parent) {
+                Binding b = s.bindings.get(name);
+                if (b != null) return b;
+            }
+            return null;
+        }
+    }
+
+    private final List<MiniCCompiler.VarDecl> globals = new ArrayList<>();
+    private final List<MiniCCompiler.FnDecl> functions = new ArrayList<>();
+    private boolean spawns; // Programm enthält spawn
+    private final Map<String, String> literals = new HashMap<>(); // Konstantenpool: gleiche Literale teilen ein Objekt
+    private Scope scope = new Scope(null);
+    private MiniCCompiler.FnDecl currentFn;       // null: Hauptprogramm
+    private int nextSlot, frameSize;
+    private int mainFrameSize;
+
+    public static Resolver resolve(List<MiniCCompiler.Stmt> program) {
+        Resolver r = new Resolver();
+        for (MiniCCompiler.Stmt s : program) r.visitTopLevel(s);
+        r.mainFrameSize = r.frameSize;
+        if (r.spawns) checkSpawns(program);
+        return r;
+    }
+
+    public int globalCount() { return globals.size(); }
+    public int mainFrameSize() { return mainFrameSize; }
+    public List<MiniCCompiler.VarDecl> globals() { return globals; }
+    public List<MiniCCompiler.FnDecl> functions() { return functions; }
+    public int literalCount() { return literals.size(); }
+
+    public MiniCCompiler.VarDecl global(String name) {
+        for (MiniCCompiler.VarDecl vd : globals) if (vd.name.equals(name)) return vd;
+        return null;
+    }
+
+    public MiniCCompiler.FnDecl function(String name) {
+        for (MiniCCompiler.FnDecl fd : functions) if (fd.name.equals(name)) return fd;
+        return null;
+    }
+
+    private void visitTopLevel(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            if (vd.initializer != null) visitExpr(vd.initializer);
+            vd.slot = globals.size();
+            vd.global = true;
+            globals.add(vd);
+            scope.bindings.put(vd.name, new Binding(vd.type, vd.slot, true, null, null));
+            checkInit(vd);
+        } else {
+            visitStmt(stmt);
+        }
+    }
+
+    private void visitStmt(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            if (vd.initializer != null) visitExpr(vd.initializer);
+            vd.slot = allocSlot();
+            vd.global = false;
+            scope.bindings.put(vd.name, new Binding(vd.type, vd.slot, false, currentFn, null));
+            checkInit(vd);
+
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            Binding b = variable(as.name, as);
+            as.slot = b.slot;
+            as.global = b.global;
+            visitExpr(as.value);
+            if (as.value.type != b.type) throw typeError(as, b.type, as.value.type);
+
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            visitExpr(ia.array);
+            expect(ia.array, MiniCCompiler.PrimType.INT_ARRAY);
+            visitExpr(ia.index);
+            expect(ia.index, MiniCCompiler.PrimType.INT);
+            visitExpr(ia.value);
+            expect(ia.value, MiniCCompiler.PrimType.INT);
+
+        } else if (stmt instanceof MiniCCompiler.FnDecl fd) {
+            functions.add(fd);
+            scope.bindings.put(fd.name, new Binding(fd.returnType, -1, false, currentFn, fd));
+            MiniCCompiler.FnDecl outerFn = currentFn;
+            int outerNext = nextSlot, outerSize = frameSize;
+            currentFn = fd;
+            nextSlot = 0;
+            frameSize = 0;
+            scope = new Scope(scope);
+            for (MiniCCompiler.Param p : fd.params) {
+                scope.bindings.put(p.name, new Binding(p.type, allocSlot(), false, fd, null));
+            }
+            visitStmt(fd.body);
+            scope = scope.parent;
+            fd.frameSize = frameSize;
+            currentFn = outerFn;
+            nextSlot = outerNext;
+            frameSize = outerSize;
+
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            scope = new Scope(scope);
+            int saved = nextSlot;
+            for (MiniCCompiler.Stmt s : bl.statements) visitStmt(s);
+            nextSlot = saved;
+            scope = scope.parent;
+
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            visitExpr(ws.condition);
+            expect(ws.condition, MiniCCompiler.PrimType.BOOL);
+            visitStmt(ws.body);
+
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            visitExpr(ifs.condition);
+            expect(ifs.condition, MiniCCompiler.PrimType.BOOL);
+            visitStmt(ifs.thenBranch);
+            if (ifs.elseBranch != null) visitStmt(ifs.elseBranch);
+
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            if (currentFn == null) throw new RuntimeException("return außerhalb einer Funktion (" + rs.pos() + ")");
+            if (rs.value != null) {
+                visitExpr(rs.value);
+                expect(rs.value, currentFn.returnType);
+            }
+
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            visitExpr(es.expr);
+
+        } else {
+            throw new RuntimeException("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+        }
+    }
+
+    private void visitExpr(MiniCCompiler.Expr expr) {
+        if (expr instanceof MiniCCompiler.IntLiteral) {
+            expr.type = MiniCCompiler.PrimType.INT;
+        } else if (expr instanceof MiniCCompiler.StringLiteral sl) {
+            sl.value = literals.computeIfAbsent(sl.value, k -> k);
+            expr.type = MiniCCompiler.PrimType.STRING;
+        } else if (expr instanceof MiniCCompiler.BoolLiteral) {
+            expr.type = MiniCCompiler.PrimType.BOOL;
+        } else if (expr instanceof MiniCCompiler.Variable v) {
+            Binding b = variable(v.name, v);
+            v.slot = b.slot;
+            v.global = b.global;
+            v.type = b.type;
+        } else if (expr instanceof MiniCCompiler.Binary b) {
+            visitExpr(b.left);
+            visitExpr(b.right);
+            b.type = binaryType(b);
+        } else if (expr instanceof MiniCCompiler.NewArray na) {
+            visitExpr(na.length);
+            expect(na.length, MiniCCompiler.PrimType.INT);
+            na.type = MiniCCompiler.PrimType.INT_ARRAY;
+        } else if (expr instanceof MiniCCompiler.Index ix) {
+            visitExpr(ix.array);
+            expect(ix.array, MiniCCompiler.PrimType.INT_ARRAY);
+            visitExpr(ix.index);
+            expect(ix.index, MiniCCompiler.PrimType.INT);
+            ix.type = MiniCCompiler.PrimType.INT;
+        } else if (expr instanceof MiniCCompiler.Join j) {
+            builtinCall(j, Builtins.Builtin.JOIN);
+        } else if (expr instanceof MiniCCompiler.Call c) {
+            Binding b = scope.resolve(c.name);
+            Builtins.Builtin builtin = b == null ? Builtins.Builtin.lookup(c.name) : null;
+            if (builtin != null) {
+                if (c instanceof MiniCCompiler.Spawn) throw new RuntimeException("spawn einer eingebauten Funktion '" + c.name + "' (" + c.pos() + ")");
+                builtinCall(c, builtin);
+                return;
+            }
+            if (b == null || b.fn == null) throw new RuntimeException("Funktion '" + c.name + "' nicht definiert (" + c.pos() + ")");
+            if (c.args.size() != b.fn.params.size()) {
+                throw new RuntimeException("Falsche Anzahl Argumente für '" + c.name + "' (" + c.pos() + ")");
+            }
+            for (int i = 0; i < c.args.size(); i++) {
+                visitExpr(c.args.get(i));
+                expect(c.args.get(i), b.fn.params.get(i).type);
+            }
+            c.target = b.fn;
+            c.builtin = null;
+            c.type = b.fn.returnType;
+            if (c instanceof MiniCCompiler.Spawn) {
+                spawns = true;
+                if (b.fn.returnType != MiniCCompiler.PrimType.INT) {
+                    throw new RuntimeException("spawn erwartet eine int-Funktion, '" + c.name + "' liefert " + b.fn.returnType + " (" + c.pos() + ")");
+                }
+            }
+        } else {
+            throw new RuntimeException("Unbekannter Expression-Typ: " + expr.getClass().getSimpleName());
+        }
+    }
+
+    /** Regeln für mit spawn gestartete Funktionen, siehe {@link GlobalDependencies#checkSpawns}. */
+    private static void checkSpawns(List<MiniCCompiler.Stmt> program) {
+        DiagnosticSink.Collector c = DiagnosticSink.unlimited();
+        GlobalDependencies.checkSpawns(program.stream().map(GlobalDependencies::of).toList(), c);
+        if (!c.getDiagnostics().isEmpty()) throw new RuntimeException(c.getDiagnostics().get(0).render());
+    }
+
+    /** Eingebaute Funktionen (vom Programm nicht verdeckt) werden direkt gebunden, ohne FnDecl. */
+    private void builtinCall(MiniCCompiler.Call c, Builtins.Builtin builtin) {
+        if (c.args.size() != builtin.params.size()) {
+            throw new RuntimeException("Falsche Anzahl Argumente für '" + c.name + "' (" + c.pos() + ")");
+        }
+        for (int i = 0; i < c.args.size(); i++) {
+            visitExpr(c.args.get(i));
+            expect(c.args.get(i), builtin.params.get(i).type);
+        }
+        c.target = null;
+        c.builtin = builtin;
+        c.type = MiniCCompiler.PrimType.INT;
+    }
+
+    /** PLUS mit einem string-Operanden ist Verkettung, sonst int-Arithmetik; Vergleiche liefern bool. */
+    static MiniCCompiler.PrimType binaryType(MiniCCompiler.Binary b) {
+        MiniCCompiler.PrimType l = b.left.type, r = b.right.type;
+        if (l == MiniCCompiler.PrimType.INT_ARRAY || r == MiniCCompiler.PrimType.INT_ARRAY) {
+            throw new RuntimeException("Operator " + b.op + " ist für int[] nicht definiert (" + b.pos() + ")");
+        }
+        if (b.op == MiniCCompiler.Operator.EQ || b.op == MiniCCompiler.Operator.NEQ) {
+            if (l != r) throw typeError(b.right, l, r);
+            return MiniCCompiler.PrimType.BOOL;
+        }
+        if (b.op == MiniCCompiler.Operator.PLUS && (l == MiniCCompiler.PrimType.STRING || r == MiniCCompiler.PrimType.STRING)) {
+            return MiniCCompiler.PrimType.STRING;
+        }
+        if (l != MiniCCompiler.PrimType.INT) throw typeError(b.left, MiniCCompiler.PrimType.INT, l);
+        if (r != MiniCCompiler.PrimType.INT) throw typeError(b.right, MiniCCompiler.PrimType.INT, r);
+        return b.op == MiniCCompiler.Operator.LT || b.op == MiniCCompiler.Operator.GT
+                ? MiniCCompiler.PrimType.BOOL : MiniCCompiler.PrimType.INT;
+    }
+
+    private Binding variable(String name, MiniCCompiler.Node use) {
+        Binding b = scope.resolve(name);
+        if (b == null || b.fn != null) throw new RuntimeException("Variable '" + name + "' nicht definiert (" + use.pos() + ")");
+        if (!b.global && b.owner != currentFn) {
+            throw new RuntimeException("Zugriff auf lokale Variable '" + name + "' einer umschließenden Funktion wird nicht unterstützt (" + use.pos() + ")");
+        }
+        return b;
+    }
+
+    private int allocSlot() {
+        int s = nextSlot++;
+        frameSize = Math.max(frameSize, nextSlot);
+        return s;
+    }
+
+    private static void checkInit(MiniCCompiler.VarDecl vd) {
+        if (vd.initializer != null && vd.initializer.type != vd.type) throw typeError(vd, vd.type, vd.initializer.type);
+    }
+
+    private static void expect(MiniCCompiler.Expr e, MiniCCompiler.PrimType t) {
+        if (e.type != t) throw typeError(e, t, e.type);
+    }
+
+    private static RuntimeException typeError(MiniCCompiler.Node n, MiniCCompiler.PrimType expected, MiniCCompiler.PrimType actual) {
+        return new RuntimeException("Typfehler: " + expected + " erwartet, " + actual + " gefunden (" + n.pos() + ")");
+    }
+}
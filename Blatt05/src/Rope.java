@@ -0,0 +1,77 @@
+/**
+ * Laufzeitdarstellung langer MiniC-Strings für wiederholte Verkettung.
+ *
+ * Ein string-Wert ist zur Laufzeit ein String oder eine Rope. Eine Rope ist ein Präfix
+ * (0..length) eines geteilten StringBuilders. Hängt man an die Rope an, die bis zum aktuellen
+ * Ende des Puffers reicht, wird in den Puffer geschrieben statt kopiert: s = s + "x" in einer
+ * Schleife kostet damit amortisiert nur die angehängten Zeichen. Ältere Präfixe bleiben gültig,
+ * weil der Puffer hinter ihrem Ende nur wächst. Hängt man an ein älteres Präfix an, wird in
+ * einen neuen Puffer kopiert.
+ *
+ * Zu einem String abgeflacht (und zwischengespeichert) wird erst, wenn der Inhalt gebraucht
+ * wird: beim Vergleich mit EQ/NEQ, bei der Ausgabe und an der Grenze zu Code, der nur String
+ * kennt. Die Länge ist ohne Abflachen bekannt. Kurze Ergebnisse bleiben gewöhnliche Strings.
+ */
+public final class Rope {
+
+    /** Kürzere Verkettungsergebnisse werden direkt als String gebaut. */
+    static final int MIN_LENGTH = 64;
+
+    private final StringBuilder buf; // Monitor für Anhängen und Lesen (Puffer kann geteilt sein)
+    private final int length;
+    private String flat;
+
+    private Rope(StringBuilder buf, int length) {
+        this.buf = buf;
+        this.length = length;
+    }
+
+    /** Verkettung zweier string-Werte (String oder Rope). */
+    static Object concat(Object left, Object right) {
+        if (left instanceof Rope l) return l.append(right);
+        String s = (String) left;
+        int n = s.length() + length(right);
+        if (n < MIN_LENGTH) return s.concat((String) right); // eine Rope ist nie kürzer als MIN_LENGTH
+        StringBuilder sb = new StringBuilder(2 * n).append(s).append(flat(right));
+        return new Rope(sb, sb.length());
+    }
+
+    private Rope append(Object right) {
+        String r = flat(right);
+        synchronized (buf) {
+            if (buf.length() == length) {
+                buf.append(r);
+                return new Rope(buf, buf.length());
+            }
+            StringBuilder sb = new StringBuilder(2 * (length + r.length())).append(buf, 0, length).append(r);
+            return new Rope(sb, sb.length());
+        }
+    }
+
+    /** Inhalt als String; eine Rope wird dabei einmalig abgeflacht. */
+    static String flat(Object value) {
+        return value instanceof Rope r ? r.toString() : (String) value;
+    }
+
+    static int length(Object value) {
+        return value instanceof Rope r ? r.length : ((String) value).length();
+    }
+
+    /** Inhaltsgleichheit; verschieden lange Werte werden nicht abgeflacht. */
+    static boolean equal(Object a, Object b) {
+        if (a == b) return true; // u.a. identische Literale aus dem Konstantenpool
+        if (length(a) != length(b)) return false;
+        return flat(a).equals(flat(b));
+    }
+
+    @Override public String toString() {
+        String f = flat;
+        if (f == null) {
+            synchronized (buf) {
+                f = buf.substring(0, length);
+            }
+            flat = f;
+        }
+        return f;
+    }
+}
@@ -0,0 +1,698 @@
+import java.util.*;
+
+/**
+ * AST-Interpreter mit sich selbst spezialisierenden Knoten (Type Feedback).
+ *
+ * Aus dem MiniCCompiler-AST wird ein ausführbarer Knotenbaum gebaut. Jeder Binary-Knoten startet
+ * uninitialisiert, sieht bei der ersten Ausführung seine Operanden und ersetzt sich dann durch eine
+ * int-, bool- oder string-Spezialisierung. Liefert ein Operand später einen anderen Typ
+ * ({@link UnexpectedResult}), fällt der Knoten auf die generische Variante zurück.
+ *
+ * Variablen liegen wie im {@link Interpreter} unboxed in den Frames; die statischen Typen des
+ * {@link Resolver} werden nur für die Slots verwendet, nicht für die Operatoren.
+ * Mit specialize = false bleiben alle Operatoren generisch (Vergleichsbasis).
+ */
+public class SpecializingInterpreter {
+
+    private final Resolver resolver;
+    private final Interpreter.Frame globals;
+    private final Map<MiniCCompiler.FnDecl, Function> functions = new IdentityHashMap<>();
+    private final Map<String, Integer> rewrites = new TreeMap<>();
+    private final boolean specialize;
+    private final Root main;
+
+    public SpecializingInterpreter(List<MiniCCompiler.Stmt> program) { this(program, true); }
+
+    public SpecializingInterpreter(List<MiniCCompiler.Stmt> program, boolean specialize) {
+        this.specialize = specialize;
+        this.resolver = Resolver.resolve(program);
+        for (MiniCCompiler.Stmt s : program) {
+            for (MiniCCompiler.Node n : AstHash.preorder(s)) {
+                if ((n instanceof MiniCCompiler.Expr e && e.type == MiniCCompiler.PrimType.INT_ARRAY)
+                        || (n instanceof MiniCCompiler.VarDecl vd && vd.type == MiniCCompiler.PrimType.INT_ARRAY)) {
+                    throw new RuntimeException("int[] wird vom spezialisierenden Interpreter nicht unterstützt (" + n.pos() + ")");
+                }
+            }
+        }
+        this.globals = new Interpreter.Frame(resolver.globalCount());
+        for (MiniCCompiler.FnDecl fd : resolver.functions()) functions.put(fd, new Function(fd));
+        for (MiniCCompiler.FnDecl fd : resolver.functions()) functions.get(fd).body = new Root(stmt(fd.body));
+        this.main = new Root(block(program));
+    }
+
+    public void run() {
+        try {
+            main.exec(new Interpreter.Frame(resolver.mainFrameSize()));
+        } catch (UnexpectedResult e) {
+            throw new RuntimeException("Typfehler zur Laufzeit: unerwarteter Wert " + e.value);
+        } finally {
+            Builtins.flush();
+        }
+    }
+
+    /** Wert einer globalen Variablen (geboxt, nur zur Ausgabe/Inspektion). */
+    public Object global(String name) {
+        MiniCCompiler.VarDecl vd = resolver.global(name);
+        if (vd == null) throw new RuntimeException("Keine globale Variable '" + name + "'");
+        return Interpreter.box(vd.type, globals, vd.slot);
+    }
+
+    /** Anzahl der Knotenersetzungen je Zielknoten (z.B. IntAdd, StringConcat, Generic). */
+    public Map<String, Integer> rewrites() { return rewrites; }
+
+    // ---------------- Knoten ----------------
+
+    /** Ein Operand hatte nicht den Typ, den die Spezialisierung erwartet; value ist der tatsächliche Wert. */
+    static final class UnexpectedResult extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        final transient Object value;
+        UnexpectedResult(Object value) {
+            super(null, null, false, false);
+            this.value = value;
+        }
+    }
+
+    abstract static class Node {
+        Node parent;
+        boolean replaced;
+
+        <T extends Node> T adopt(T child) {
+            child.parent = this;
+            return child;
+        }
+
+        void replaceChild(Node old, Node replacement) {
+            throw new IllegalStateException(getClass().getSimpleName() + " hat keine ersetzbaren Kinder");
+        }
+
+        /** Ersetzt diesen Knoten im Elternknoten. */
+        <T extends Node> T replace(T replacement) {
+            replaced = true;
+            replacement.parent = parent;
+            parent.replaceChild(this, replacement);
+            return replacement;
+        }
+    }
+
+    abstract static class Expr extends Node {
+        /** Generische Ausführung, Ergebnis geboxt (Integer, Boolean, String). */
+        abstract Object execute(Interpreter.Frame f);
+
+        int executeInt(Interpreter.Frame f) {
+            Object v = execute(f);
+            if (v instanceof Integer i) return i;
+            throw new UnexpectedResult(v);
+        }
+
+        boolean executeBool(Interpreter.Frame f) {
+            Object v = execute(f);
+            if (v instanceof Boolean b) return b;
+            throw new UnexpectedResult(v);
+        }
+
+        String executeString(Interpreter.Frame f) {
+            Object v = execute(f);
+            if (v instanceof String s) return s;
+            throw new UnexpectedResult(v);
+        }
+    }
+
+    abstract static class Stmt extends Node {
+        /** Liefert {@link Interpreter#RETURNED}, wenn ein return ausgeführt wurde. */
+        abstract boolean exec(Interpreter.Frame f);
+    }
+
+    /** Wurzel eines Funktionsrumpfs bzw. des Hauptprogramms. */
+    static final class Root extends Stmt {
+        Stmt body;
+        Root(Stmt body) { this.body = adopt(body); }
+        @Override boolean exec(Interpreter.Frame f) { return body.exec(f); }
+        @Override void replaceChild(Node old, Node replacement) { body = (Stmt) replacement; }
+    }
+
+    static final class Function {
+        final int frameSize;
+        final MiniCCompiler.PrimType returnType;
+        final MiniCCompiler.PrimType[] params;
+        Root body;
+
+        Function(MiniCCompiler.FnDecl fd) {
+            frameSize = fd.frameSize;
+            returnType = fd.returnType;
+            params = new MiniCCompiler.PrimType[fd.params.size()];
+            for (int i = 0; i < params.length; i++) params[i] = fd.params.get(i).type;
+        }
+    }
+
+    // ---------------- Literale und Variablen ----------------
+
+    static final class IntLit extends Expr {
+        final int value;
+        final Integer boxed;
+        IntLit(int value) { this.value = value; this.boxed = value; }
+        @Override Object execute(Interpreter.Frame f) { return boxed; }
+        @Override int executeInt(Interpreter.Frame f) { return value; }
+    }
+
+    static final class BoolLit extends Expr {
+        final boolean value;
+        BoolLit(boolean value) { this.value = value; }
+        @Override Object execute(Interpreter.Frame f) { return value; }
+        @Override boolean executeBool(Interpreter.Frame f) { return value; }
+    }
+
+    static final class StringLit extends Expr {
+        final String value;
+        StringLit(String value) { this.value = value; }
+        @Override Object execute(Interpreter.Frame f) { return value; }
+        @Override String executeString(Interpreter.Frame f) { return value; }
+    }
+
+    static final class Read extends Expr {
+        final MiniCCompiler.PrimType type;
+        final int slot;
+        final Interpreter.Frame global; // null: lokale Variable
+
+        Read(MiniCCompiler.PrimType type, int slot, Interpreter.Frame global) {
+            this.type = type; this.slot = slot; this.global = global;
+        }
+
+        private Interpreter.Frame frame(Interpreter.Frame f) { return global != null ? global : f; }
+
+        @Override Object execute(Interpreter.Frame f) { return Interpreter.box(type, frame(f), slot); }
+
+        @Override int executeInt(Interpreter.Frame f) {
+            if (type != MiniCCompiler.PrimType.INT) throw new UnexpectedResult(execute(f));
+            return frame(f).ints[slot];
+        }
+
+        @Override boolean executeBool(Interpreter.Frame f) {
+            if (type != MiniCCompiler.PrimType.BOOL) throw new UnexpectedResult(execute(f));
+            return frame(f).ints[slot] != 0;
+        }
+
+        @Override String executeString(Interpreter.Frame f) {
+            if (type != MiniCCompiler.PrimType.STRING) throw new UnexpectedResult(execute(f));
+            return (String) frame(f).refs[slot];
+        }
+    }
+
+    static final class Call extends Expr {
+        final Function fn;
+        final Expr[] args;
+
+        Call(Function fn, Expr[] args) {
+            this.fn = fn;
+            this.args = args;
+            for (Expr a : args) adopt(a);
+        }
+
+        @Override void replaceChild(Node old, Node replacement) {
+            for (int i = 0; i < args.length; i++) if (args[i] == old) args[i] = (Expr) replacement;
+        }
+
+        private Interpreter.Frame invoke(Interpreter.Frame f) {
+            Interpreter.Frame callee = new Interpreter.Frame(fn.frameSize);
+            for (int i = 0; i < args.length; i++) {
+                switch (fn.params[i]) {
+                    case INT -> callee.ints[i] = args[i].executeInt(f);
+                    case BOOL -> callee.ints[i] = args[i].executeBool(f) ? 1 : 0;
+                    case STRING -> callee.refs[i] = args[i].executeString(f);
+                }
+            }
+            fn.body.exec(callee);
+            return callee;
+        }
+
+        @Override Object execute(Interpreter.Frame f) {
+            Interpreter.Frame callee = invoke(f);
+            return switch (fn.returnType) {
+                case INT -> callee.retInt;
+                case BOOL -> callee.retInt != 0;
+                case STRING, INT_ARRAY -> callee.retRef;
+            };
+        }
+
+        @Override int executeInt(Interpreter.Frame f) {
+            if (fn.returnType != MiniCCompiler.PrimType.INT) return super.executeInt(f);
+            return invoke(f).retInt;
+        }
+
+        @Override boolean executeBool(Interpreter.Frame f) {
+            if (fn.returnType != MiniCCompiler.PrimType.BOOL) return super.executeBool(f);
+            return invoke(f).retInt != 0;
+        }
+    }
+
+    /** Eingebaute Funktion, ruft {@link Builtins} direkt auf (Ergebnis immer int). */
+    static final class BuiltinCall extends Expr {
+        final Builtins.Builtin builtin;
+        final Expr[] args;
+
+        BuiltinCall(Builtins.Builtin builtin, Expr[] args) {
+            this.builtin = builtin;
+            this.args = args;
+            for (Expr a : args) adopt(a);
+        }
+
+        @Override void replaceChild(Node old, Node replacement) {
+            for (int i = 0; i < args.length; i++) if (args[i] == old) args[i] = (Expr) replacement;
+        }
+
+        @Override Object execute(Interpreter.Frame f) { return executeInt(f); }
+
+        @Override int executeInt(Interpreter.Frame f) {
+            return switch (builtin) {
+                case PRINT -> Builtins.print(args[0].executeString(f));
+                case PRINT_INT -> Builtins.printInt(args[0].executeInt(f));
+                case STRLEN -> Builtins.strlen(args[0].executeString(f));
+                case READ_INT -> Builtins.readInt();
+                case JOIN -> throw new RuntimeException("join wird vom spezialisierenden Interpreter nicht unterstützt");
+            };
+        }
+    }
+
+    // ---------------- Operatoren ----------------
+
+    abstract class Binary extends Expr {
+        final MiniCCompiler.Operator op;
+        final String pos;
+        Expr left, right;
+
+        Binary(MiniCCompiler.Operator op, String pos, Expr left, Expr right) {
+            this.op = op;
+            this.pos = pos;
+            this.left = adopt(left);
+            this.right = adopt(right);
+        }
+
+        @Override void replaceChild(Node old, Node replacement) {
+            if (left == old) left = (Expr) replacement;
+            if (right == old) right = (Expr) replacement;
+        }
+
+        /**
+         * Ersetzt diesen Knoten und wendet den Ersatz auf die schon ausgewerteten Operanden an:
+         * beim ersten Mal durch eine Spezialisierung, danach (Typen variieren) durch Generic.
+         */
+        Object rewrite(Object l, Object r) {
+            // Bei Rekursion kann ein anderer Aufruf den Knoten schon ersetzt haben
+            if (replaced) return apply(l, r);
+            Binary next = specialize && this instanceof Uninitialized ? specializationFor(l, r) : null;
+            if (next == null) next = new Generic(op, pos, left, right);
+            rewrites.merge(next.getClass().getSimpleName(), 1, Integer::sum);
+            return replace(next).apply(l, r);
+        }
+
+        private Binary specializationFor(Object l, Object r) {
+            if (l instanceof Integer && r instanceof Integer) {
+                return switch (op) {
+                    case PLUS -> new IntAdd(op, pos, left, right);
+                    case MINUS -> new IntSub(op, pos, left, right);
+                    case MUL -> new IntMul(op, pos, left, right);
+                    case DIV -> new IntDiv(op, pos, left, right);
+                    case LT, GT, EQ, NEQ -> new IntCompare(op, pos, left, right);
+                };
+            }
+            if (l instanceof Boolean && r instanceof Boolean && (op == MiniCCompiler.Operator.EQ || op == MiniCCompiler.Operator.NEQ)) {
+                return new BoolEquals(op, pos, left, right);
+            }
+            if (l instanceof String && r instanceof String && (op == MiniCCompiler.Operator.EQ || op == MiniCCompiler.Operator.NEQ)) {
+                return new StringEquals(op, pos, left, right);
+            }
+            if (op == MiniCCompiler.Operator.PLUS && (l instanceof String || r instanceof String)) {
+                return new StringConcat(op, pos, left, right);
+            }
+            return null;
+        }
+
+        int asInt(Object v) {
+            if (v instanceof Integer i) return i;
+            throw new UnexpectedResult(v);
+        }
+
+        boolean asBool(Object v) {
+            if (v instanceof Boolean b) return b;
+            throw new UnexpectedResult(v);
+        }
+
+        /** Semantik auf bereits ausgewerteten (geboxten) Operanden. */
+        Object apply(Object l, Object r) { return generic(op, pos, l, r); }
+    }
+
+    /** Noch nie ausgeführt: spezialisiert sich beim ersten Aufruf. */
+    final class Uninitialized extends Binary {
+        Uninitialized(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+
+        @Override Object execute(Interpreter.Frame f) {
+            Object l = left.execute(f);
+            Object r = right.execute(f);
+            return rewrite(l, r);
+        }
+    }
+
+    /** Prüft die Operandentypen bei jeder Ausführung. */
+    final class Generic extends Binary {
+        Generic(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+
+        @Override Object execute(Interpreter.Frame f) { return generic(op, pos, left.execute(f), right.execute(f)); }
+    }
+
+    /** Gemeinsamer Rahmen der int-Arithmetik: bei fremdem Operandentyp Rückfall auf Generic. */
+    abstract class IntArithmetic extends Binary {
+        IntArithmetic(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+
+        abstract int compute(int l, int r);
+
+        @Override int executeInt(Interpreter.Frame f) {
+            int l;
+            try {
+                l = left.executeInt(f);
+            } catch (UnexpectedResult e) {
+                return asInt(rewrite(e.value, right.execute(f)));
+            }
+            int r;
+            try {
+                r = right.executeInt(f);
+            } catch (UnexpectedResult e) {
+                return asInt(rewrite(l, e.value));
+            }
+            return compute(l, r);
+        }
+
+        @Override Object execute(Interpreter.Frame f) {
+            try {
+                return executeInt(f);
+            } catch (UnexpectedResult e) {
+                return e.value;
+            }
+        }
+    }
+
+    final class IntAdd extends IntArithmetic {
+        IntAdd(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+        @Override int compute(int l, int r) { return l + r; }
+    }
+
+    final class IntSub extends IntArithmetic {
+        IntSub(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+        @Override int compute(int l, int r) { return l - r; }
+    }
+
+    final class IntMul extends IntArithmetic {
+        IntMul(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+        @Override int compute(int l, int r) { return l * r; }
+    }
+
+    final class IntDiv extends IntArithmetic {
+        IntDiv(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+        @Override int compute(int l, int r) {
+            if (r == 0) throw new RuntimeException("Division durch Null (" + pos + ")");
+            return l / r;
+        }
+    }
+
+    final class IntCompare extends Binary {
+        IntCompare(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+
+        @Override boolean executeBool(Interpreter.Frame f) {
+            int l;
+            try {
+                l = left.executeInt(f);
+            } catch (UnexpectedResult e) {
+                return asBool(rewrite(e.value, right.execute(f)));
+            }
+            int r;
+            try {
+                r = right.executeInt(f);
+            } catch (UnexpectedResult e) {
+                return asBool(rewrite(l, e.value));
+            }
+            return switch (op) {
+                case LT -> l < r;
+                case GT -> l > r;
+                case EQ -> l == r;
+                default -> l != r;
+            };
+        }
+
+        @Override Object execute(Interpreter.Frame f) {
+            try {
+                return executeBool(f);
+            } catch (UnexpectedResult e) {
+                return e.value;
+            }
+        }
+    }
+
+    final class BoolEquals extends Binary {
+        BoolEquals(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+
+        @Override boolean executeBool(Interpreter.Frame f) {
+            boolean l;
+            try {
+                l = left.executeBool(f);
+            } catch (UnexpectedResult e) {
+                return asBool(rewrite(e.value, right.execute(f)));
+            }
+            boolean r;
+            try {
+                r = right.executeBool(f);
+            } catch (UnexpectedResult e) {
+                return asBool(rewrite(l, e.value));
+            }
+            return (l == r) == (op == MiniCCompiler.Operator.EQ);
+        }
+
+        @Override Object execute(Interpreter.Frame f) {
+            try {
+                return executeBool(f);
+            } catch (UnexpectedResult e) {
+                return e.value;
+            }
+        }
+    }
+
+    final class StringEquals extends Binary {
+        StringEquals(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+
+        @Override boolean executeBool(Interpreter.Frame f) {
+            String l;
+            try {
+                l = left.executeString(f);
+            } catch (UnexpectedResult e) {
+                return asBool(rewrite(e.value, right.execute(f)));
+            }
+            String r;
+            try {
+                r = right.executeString(f);
+            } catch (UnexpectedResult e) {
+                return asBool(rewrite(l, e.value));
+            }
+            return l.equals(r) == (op == MiniCCompiler.Operator.EQ);
+        }
+
+        @Override Object execute(Interpreter.Frame f) {
+            try {
+                return executeBool(f);
+            } catch (UnexpectedResult e) {
+                return e.value;
+            }
+        }
+    }
+
+    /** PLUS mit mindestens einem string-Operanden; der andere darf int oder bool sein. */
+    final class StringConcat extends Binary {
+        StringConcat(MiniCCompiler.Operator op, String pos, Expr left, Expr right) { super(op, pos, left, right); }
+
+        @Override String executeString(Interpreter.Frame f) {
+            Object l = left.execute(f), r = right.execute(f);
+            if (!(l instanceof String) && !(r instanceof String)) throw new UnexpectedResult(rewrite(l, r));
+            return String.valueOf(l).concat(String.valueOf(r));
+        }
+
+        @Override Object execute(Interpreter.Frame f) {
+            try {
+                return executeString(f);
+            } catch (UnexpectedResult e) {
+                return e.value;
+            }
+        }
+    }
+
+    /** Semantik der Operatoren auf geboxten Werten. */
+    static Object generic(MiniCCompiler.Operator op, String pos, Object l, Object r) {
+        switch (op) {
+            case EQ: return l.equals(r);
+            case NEQ: return !l.equals(r);
+            case PLUS:
+                if (l instanceof String || r instanceof String) return String.valueOf(l).concat(String.valueOf(r));
+                return (Integer) l + (Integer) r;
+            case MINUS: return (Integer) l - (Integer) r;
+            case MUL: return (Integer) l * (Integer) r;
+            case DIV:
+                if ((Integer) r == 0) throw new RuntimeException("Division durch Null (" + pos + ")");
+                return (Integer) l / (Integer) r;
+            case LT: return (Integer) l < (Integer) r;
+            default: return (Integer) l > (Integer) r;
+        }
+    }
+
+    // ---------------- Anweisungen ----------------
+
+    static final class Write extends Stmt {
+        final MiniCCompiler.PrimType type;
+        final int slot;
+        final Interpreter.Frame global; // null: lokale Variable
+        Expr value;                     // null: Standardwert
+
+        Write(MiniCCompiler.PrimType type, int slot, Interpreter.Frame global, Expr value) {
+            this.type = type; this.slot = slot; this.global = global;
+            this.value = value != null ? adopt(value) : null;
+        }
+
+        @Override void replaceChild(Node old, Node replacement) { value = (Expr) replacement; }
+
+        @Override boolean exec(Interpreter.Frame f) {
+            Interpreter.Frame target = global != null ? global : f;
+            switch (type) {
+                case INT -> target.ints[slot] = value != null ? value.executeInt(f) : 0;
+                case BOOL -> target.ints[slot] = value != null && value.executeBool(f) ? 1 : 0;
+                case STRING -> target.refs[slot] = value != null ? value.executeString(f) : "";
+            }
+            return Interpreter.NORMAL;
+        }
+    }
+
+    static final class Block extends Stmt {
+        final Stmt[] statements;
+
+        Block(Stmt[] statements) {
+            this.statements = statements;
+            for (Stmt s : statements) adopt(s);
+        }
+
+        @Override boolean exec(Interpreter.Frame f) {
+            for (Stmt s : statements) if (s.exec(f)) return Interpreter.RETURNED;
+            return Interpreter.NORMAL;
+        }
+    }
+
+    static final class While extends Stmt {
+        Expr condition;
+        final Stmt body;
+
+        While(Expr condition, Stmt body) {
+            this.condition = adopt(condition);
+            this.body = adopt(body);
+        }
+
+        @Override void replaceChild(Node old, Node replacement) { condition = (Expr) replacement; }
+
+        @Override boolean exec(Interpreter.Frame f) {
+            while (condition.executeBool(f)) {
+                if (body.exec(f)) return Interpreter.RETURNED;
+            }
+            return Interpreter.NORMAL;
+        }
+    }
+
+    static final class If extends Stmt {
+        Expr condition;
+        final Stmt then, otherwise;
+
+        If(Expr condition, Stmt then, Stmt otherwise) {
+            this.condition = adopt(condition);
+            this.then = adopt(then);
+            this.otherwise = otherwise != null ? adopt(otherwise) : null;
+        }
+
+        @Override void replaceChild(Node old, Node replacement) { condition = (Expr) replacement; }
+
+        @Override boolean exec(Interpreter.Frame f) {
+            if (condition.executeBool(f)) return then.exec(f);
+            return otherwise != null && otherwise.exec(f);
+        }
+    }
+
+    static final class Return extends Stmt {
+        final MiniCCompiler.PrimType type;
+        Expr value;
+
+        Return(MiniCCompiler.PrimType type, Expr value) {
+            this.type = type;
+            this.value = value != null ? adopt(value) : null;
+        }
+
+        @Override void replaceChild(Node old, Node replacement) { value = (Expr) replacement; }
+
+        @Override boolean exec(Interpreter.Frame f) {
+            if (value != null) {
+                switch (type) {
+                    case INT -> f.retInt = value.executeInt(f);
+                    case BOOL -> f.retInt = value.executeBool(f) ? 1 : 0;
+                    case STRING -> f.retRef = value.executeString(f);
+                }
+            }
+            return Interpreter.RETURNED;
+        }
+    }
+
+    static final class Eval extends Stmt {
+        Expr value;
+        Eval(Expr value) { this.value = adopt(value); }
+        @Override void replaceChild(Node old, Node replacement) { value = (Expr) replacement; }
+        @Override boolean exec(Interpreter.Frame f) {
+            value.execute(f);
+            return Interpreter.NORMAL;
+        }
+    }
+
+    // ---------------- Aufbau aus dem AST ----------------
+
+    private Stmt stmt(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            return new Write(vd.type, vd.slot, vd.global ? globals : null, vd.initializer != null ? expr(vd.initializer) : null);
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            return new Write(as.value.type, as.slot, as.global ? globals : null, expr(as.value));
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            return block(bl.statements);
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            return new While(expr(ws.condition), stmt(ws.body));
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            return new If(expr(ifs.condition), stmt(ifs.thenBranch), ifs.elseBranch != null ? stmt(ifs.elseBranch) : null);
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            return new Return(rs.value != null ? rs.value.type : null, rs.value != null ? expr(rs.value) : null);
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            return new Eval(expr(es.expr));
+        }
+        throw new RuntimeException("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+    }
+
+    private Stmt block(List<MiniCCompiler.Stmt> statements) {
+        List<Stmt> list = new ArrayList<>();
+        for (MiniCCompiler.Stmt s : statements) if (!(s instanceof MiniCCompiler.FnDecl)) list.add(stmt(s));
+        return new Block(list.toArray(new Stmt[0]));
+    }
+
+    private Expr expr(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.IntLiteral il) return new IntLit(il.value);
+        if (e instanceof MiniCCompiler.BoolLiteral bl) return new BoolLit(bl.value);
+        if (e instanceof MiniCCompiler.StringLiteral sl) return new StringLit(sl.value);
+        if (e instanceof MiniCCompiler.Variable v) return new Read(v.type, v.slot, v.global ? globals : null);
+        if (e instanceof MiniCCompiler.Binary b) {
+            return specialize ? new Uninitialized(b.op, b.pos(), expr(b.left), expr(b.right))
+                    : new Generic(b.op, b.pos(), expr(b.left), expr(b.right));
+        }
+        if (e instanceof MiniCCompiler.Spawn || e instanceof MiniCCompiler.Join) {
+            throw new RuntimeException("spawn/join wird vom spezialisierenden Interpreter nicht unterstützt (" + e.pos() + ")");
+        }
+        if (e instanceof MiniCCompiler.Call c) {
+            Expr[] args = new Expr[c.args.size()];
+            for (int i = 0; i < args.length; i++) args[i] = expr(c.args.get(i));
+            if (c.builtin != null) return new BuiltinCall(c.builtin, args);
+            return new Call(functions.get(c.target), args);
+        }
+        throw new RuntimeException("Unbekannter Expression-Typ: " + e.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,298 @@
+import java.util.*;
+
+/**
+ * SSA-Zwischendarstellung zwischen AST und Backends.
+ *
+ * Eine {@link Function} speichert ihre Instruktionen spaltenweise in int-Arrays (Opcode, Typ,
+ * Operanden, Block), eine Instruktion ist nur ihr Index und zugleich der Wert, den sie definiert.
+ * Phi- und Call-Operanden liegen in einem gemeinsamen int-Pool. Blöcke sind Listen von
+ * Instruktionsindizes, die letzte Instruktion ist der Terminator (JMP, BR, RET).
+ *
+ * Lokale Variablen existieren nur als SSA-Werte; globale Variablen werden über GLOAD/GSTORE
+ * angesprochen. Aufbau: {@link SsaBuilder}, Optimierung: {@link SsaOptimizer},
+ * Backend: {@link SsaToBytecode}.
+ */
+public final class Ssa {
+
+    // ---------------- Opcodes ----------------
+    static final int NOP = 0;       // entfernt
+    static final int CONST = 1;     // a = Wert (int, bool als 0/1)
+    static final int SCONST = 2;    // a = Index in strings
+    static final int PARAM = 3;     // a = Parameterindex
+    static final int GLOAD = 4;     // a = globaler Slot
+    static final int GSTORE = 5;    // a = globaler Slot, b = Wert
+    static final int ADD = 6, SUB = 7, MUL = 8, DIV = 9, LT = 10, GT = 11, EQ = 12, NEQ = 13;
+    static final int SEQ = 14, SNEQ = 15, CONCAT = 16;
+    static final int I2S = 17, B2S = 18; // a = Operand
+    static final int CALL = 19;     // a = Funktionsindex, Argumente im Pool
+    static final int PHI = 20;      // Operanden im Pool, in der Reihenfolge der Vorgänger des Blocks
+    static final int JMP = 21;      // a = Zielblock
+    static final int BR = 22;       // a = Bedingung, b = Block bei true, c = Block bei false
+    static final int RET = 23;      // a = Wert oder -1
+    static final int BUILTIN = 24;  // a = Builtins.Builtin.ordinal(), Argumente im Pool; Ein-/Ausgabe, nie entfernt
+
+    static final String[] NAMES = {
+            "nop", "const", "sconst", "param", "gload", "gstore", "add", "sub", "mul", "div", "lt", "gt", "eq", "neq",
+            "seq", "sneq", "concat", "i2s", "b2s", "call", "phi", "jmp", "br", "ret", "builtin"
+    };
+
+    /** Typkodierung im type-Array. */
+    static final int VOID = -1;
+
+    static int typeCode(MiniCCompiler.PrimType t) { return t == null ? VOID : t.ordinal(); }
+
+    static boolean isTerminator(int op) { return op == JMP || op == BR || op == RET; }
+
+    /** Reine Operationen ohne Seiteneffekt (DIV nur, wenn der Divisor eine Konstante != 0 ist). */
+    static boolean isPure(Function f, int i) {
+        int op = f.op[i];
+        if (op == DIV) return f.op[f.b[i]] == CONST && f.a[f.b[i]] != 0;
+        return op == CONST || op == SCONST || op == PARAM || (op >= ADD && op <= B2S && op != DIV) || op == PHI;
+    }
+
+    /** Wachsende int-Liste ohne Boxing. */
+    static final class IntList {
+        int[] data;
+        int size;
+
+        IntList() { this(4); }
+        IntList(int capacity) { data = new int[Math.max(capacity, 1)]; }
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        int get(int i) { return data[i]; }
+        void set(int i, int v) { data[i] = v; }
+        int size() { return size; }
+        boolean isEmpty() { return size == 0; }
+        int last() { return data[size - 1]; }
+
+        int indexOf(int v) {
+            for (int i = 0; i < size; i++) if (data[i] == v) return i;
+            return -1;
+        }
+
+        /** Entfernt alle Einträge, für die keep false liefert (Reihenfolge bleibt). */
+        void retain(java.util.function.IntPredicate keep) {
+            int n = 0;
+            for (int i = 0; i < size; i++) if (keep.test(data[i])) data[n++] = data[i];
+            size = n;
+        }
+    }
+
+    /** Eine Funktion (oder das Hauptprogramm) in SSA-Form. */
+    static final class Function {
+        final String name;
+        final int params;
+        final MiniCCompiler.PrimType returnType; // null beim Hauptprogramm
+        final boolean main;
+
+        int count;
+        int[] op = new int[64], type = new int[64], a = new int[64], b = new int[64], c = new int[64], block = new int[64];
+        int[] argStart = new int[64], argLen = new int[64];
+        final IntList args = new IntList(64);
+
+        final List<IntList> blocks = new ArrayList<>();   // Instruktionen je Block
+        final List<IntList> preds = new ArrayList<>();    // Vorgänger je Block
+        final List<String> strings;                       // gemeinsam mit dem Modul
+        int entry;
+
+        Function(String name, int params, MiniCCompiler.PrimType returnType, boolean main, List<String> strings) {
+            this.name = name;
+            this.params = params;
+            this.returnType = returnType;
+            this.main = main;
+            this.strings = strings;
+        }
+
+        int newBlock() {
+            blocks.add(new IntList());
+            preds.add(new IntList(2));
+            return blocks.size() - 1;
+        }
+
+        int blockCount() { return blocks.size(); }
+
+        /** Legt eine Instruktion an und hängt sie an den Block an (blk < 0: noch keinem Block zugeordnet). */
+        int emit(int blk, int opcode, int t, int x, int y, int z) {
+            if (count == op.length) grow();
+            int i = count++;
+            op[i] = opcode; type[i] = t; a[i] = x; b[i] = y; c[i] = z; block[i] = blk;
+            argStart[i] = 0; argLen[i] = 0;
+            if (blk >= 0) blocks.get(blk).add(i);
+            return i;
+        }
+
+        private void grow() {
+            int n = op.length * 2;
+            op = Arrays.copyOf(op, n); type = Arrays.copyOf(type, n);
+            a = Arrays.copyOf(a, n); b = Arrays.copyOf(b, n); c = Arrays.copyOf(c, n);
+            block = Arrays.copyOf(block, n);
+            argStart = Arrays.copyOf(argStart, n); argLen = Arrays.copyOf(argLen, n);
+        }
+
+        void setArgs(int i, int[] values) {
+            argStart[i] = args.size();
+            argLen[i] = values.length;
+            for (int v : values) args.add(v);
+        }
+
+        int arg(int i, int k) { return args.get(argStart[i] + k); }
+        void setArg(int i, int k, int v) { args.set(argStart[i] + k, v); }
+
+        /** Entfernt Argument k (z.B. Phi-Operand einer weggefallenen Kante). */
+        void removeArg(int i, int k) {
+            int s = argStart[i];
+            for (int j = k; j < argLen[i] - 1; j++) args.set(s + j, args.get(s + j + 1));
+            argLen[i]--;
+        }
+
+        /** Anzahl der Wert-Operanden von Instruktion i. */
+        int operandCount(int i) {
+            return switch (op[i]) {
+                case CALL, BUILTIN, PHI -> argLen[i];
+                case GSTORE, I2S, B2S, BR -> 1;
+                case RET -> a[i] >= 0 ? 1 : 0;
+                default -> op[i] >= ADD && op[i] <= CONCAT ? 2 : 0;
+            };
+        }
+
+        int operand(int i, int k) {
+            return switch (op[i]) {
+                case CALL, BUILTIN, PHI -> arg(i, k);
+                case GSTORE -> b[i];
+                default -> k == 0 ? a[i] : b[i];
+            };
+        }
+
+        void setOperand(int i, int k, int v) {
+            switch (op[i]) {
+                case CALL, BUILTIN, PHI -> setArg(i, k, v);
+                case GSTORE -> b[i] = v;
+                default -> { if (k == 0) a[i] = v; else b[i] = v; }
+            }
+        }
+
+        /** Nachfolger des Blocks laut Terminator. */
+        int[] successors(int blk) {
+            IntList insns = blocks.get(blk);
+            if (insns.isEmpty()) return new int[0];
+            int t = insns.last();
+            return switch (op[t]) {
+                case JMP -> new int[]{a[t]};
+                case BR -> new int[]{b[t], c[t]};
+                default -> new int[0];
+            };
+        }
+
+        /** Anzahl der lebenden (nicht entfernten) Instruktionen. */
+        int liveInstructions() {
+            int n = 0;
+            for (IntList bl : blocks) n += bl.size();
+            return n;
+        }
+
+        /** Blöcke in Reverse-Postorder ab entry (nur erreichbare). */
+        int[] reversePostorder() {
+            int n = blockCount();
+            boolean[] seen = new boolean[n];
+            IntList post = new IntList(n);
+            // iterative DFS: Stack aus (Block, nächster Nachfolgerindex)
+            int[] stackBlock = new int[n], stackNext = new int[n];
+            int sp = 0;
+            stackBlock[sp] = entry;
+            stackNext[sp++] = 0;
+            seen[entry] = true;
+            while (sp > 0) {
+                int blk = stackBlock[sp - 1];
+                int[] succ = successors(blk);
+                if (stackNext[sp - 1] < succ.length) {
+                    int s = succ[stackNext[sp - 1]++];
+                    if (!seen[s]) {
+                        seen[s] = true;
+                        stackBlock[sp] = s;
+                        stackNext[sp++] = 0;
+                    }
+                } else {
+                    post.add(blk);
+                    sp--;
+                }
+            }
+            int[] rpo = new int[post.size()];
+            for (int i = 0; i < rpo.length; i++) rpo[i] = post.get(post.size() - 1 - i);
+            return rpo;
+        }
+
+        /** Lesbares Listing. */
+        String dump() {
+            StringBuilder sb = new StringBuilder(main ? "main" : "fn " + name).append(":\n");
+            for (int blk : reversePostorder()) {
+                sb.append("  b").append(blk).append(" <- ");
+                IntList p = preds.get(blk);
+                for (int k = 0; k < p.size(); k++) sb.append(k > 0 ? ", " : "").append('b').append(p.get(k));
+                sb.append('\n');
+                IntList insns = blocks.get(blk);
+                for (int k = 0; k < insns.size(); k++) sb.append("    ").append(format(insns.get(k))).append('\n');
+            }
+            return sb.toString();
+        }
+
+        String format(int i) {
+            StringBuilder sb = new StringBuilder();
+            if (!isTerminator(op[i]) && op[i] != GSTORE) sb.append('v').append(i).append(" = ");
+            sb.append(NAMES[op[i]]);
+            switch (op[i]) {
+                case CONST, PARAM, GLOAD -> sb.append(' ').append(a[i]);
+                case SCONST -> sb.append(" \"").append(strings.get(a[i])).append('"');
+                case GSTORE -> sb.append(' ').append(a[i]).append(", v").append(b[i]);
+                case I2S, B2S -> sb.append(" v").append(a[i]);
+                case JMP -> sb.append(" b").append(a[i]);
+                case BR -> sb.append(" v").append(a[i]).append(", b").append(b[i]).append(", b").append(c[i]);
+                case RET -> { if (a[i] >= 0) sb.append(" v").append(a[i]); }
+                case CALL, BUILTIN, PHI -> {
+                    if (op[i] == CALL) sb.append(" #").append(a[i]);
+                    if (op[i] == BUILTIN) sb.append(' ').append(Builtins.Builtin.values()[a[i]].name);
+                    for (int k = 0; k < argLen[i]; k++) sb.append(k > 0 || op[i] != PHI ? ", " : " ").append('v').append(arg(i, k));
+                }
+                default -> sb.append(" v").append(a[i]).append(", v").append(b[i]);
+            }
+            return sb.toString();
+        }
+    }
+
+    /** Alle Funktionen eines Programms; functions.get(i) entspricht Resolver.functions().get(i). */
+    static final class Module {
+        final Resolver resolver;
+        final Function main;
+        final List<Function> functions;
+        final List<String> strings;
+
+        Module(Resolver resolver, Function main, List<Function> functions, List<String> strings) {
+            this.resolver = resolver;
+            this.main = main;
+            this.functions = functions;
+            this.strings = strings;
+        }
+
+        List<Function> all() {
+            List<Function> out = new ArrayList<>(functions.size() + 1);
+            out.add(main);
+            out.addAll(functions);
+            return out;
+        }
+
+        int liveInstructions() {
+            int n = 0;
+            for (Function f : all()) n += f.liveInstructions();
+            return n;
+        }
+
+        String dump() {
+            StringBuilder sb = new StringBuilder();
+            for (Function f : all()) sb.append(f.dump());
+            return sb.toString();
+        }
+    }
+}
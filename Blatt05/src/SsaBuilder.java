@@ -0,0 +1,362 @@
+import java.util.*;
+
+/**
+ * Baut aus einem (vom {@link Resolver} annotierten) Programm die {@link Ssa}-Form.
+ *
+ * Die SSA-Konstruktion folgt Braun et al. ("Simple and Efficient Construction of SSA Form"):
+ * Variablen werden direkt beim Durchlaufen des AST über Blockgrenzen hinweg aufgelöst, Phis
+ * entstehen nur an Blöcken mit mehreren Vorgängern bzw. an noch nicht versiegelten
+ * Schleifenköpfen. Triviale Phis werden sofort über eine Ersetzungstabelle entfernt.
+ *
+ * Eine lokale Variable ist durch (Slot, Typ) identifiziert, da der Resolver Slots in
+ * Geschwisterblöcken wiederverwendet. Code nach einem return ist unerreichbar und wird ausgelassen.
+ */
+public final class SsaBuilder {
+
+    private final Ssa.Function f;
+    private final Map<MiniCCompiler.FnDecl, Integer> fnIndex;
+    private final Map<String, Integer> strings;
+
+    private final List<Map<Integer, Integer>> defs = new ArrayList<>();     // Block -> Variable -> Wert
+    private final List<Map<Integer, Integer>> incomplete = new ArrayList<>(); // Block -> Variable -> Phi
+    private final List<Boolean> sealed = new ArrayList<>();
+    private int[] replacement = new int[64];                              // Wert -> Ersatz (oder sich selbst)
+    private int current;
+
+    private SsaBuilder(Ssa.Function f, Map<MiniCCompiler.FnDecl, Integer> fnIndex, Map<String, Integer> strings) {
+        this.f = f;
+        this.fnIndex = fnIndex;
+        this.strings = strings;
+    }
+
+    /** Übersetzt das Programm; ruft dazu den Resolver auf. */
+    public static Ssa.Module build(List<MiniCCompiler.Stmt> program) {
+        Resolver r = Resolver.resolve(program);
+        for (MiniCCompiler.Stmt s : program) rejectArrays(s);
+        List<String> pool = new ArrayList<>();
+        Map<String, Integer> strings = new HashMap<>();
+        Map<MiniCCompiler.FnDecl, Integer> fnIndex = new IdentityHashMap<>();
+        for (MiniCCompiler.FnDecl fd : r.functions()) fnIndex.put(fd, fnIndex.size());
+
+        Ssa.Function main = new Ssa.Function("<main>", 0, null, true, pool);
+        new SsaBuilder(main, fnIndex, strings).lower(program);
+
+        List<Ssa.Function> functions = new ArrayList<>();
+        for (MiniCCompiler.FnDecl fd : r.functions()) {
+            Ssa.Function fn = new Ssa.Function(fd.name, fd.params.size(), fd.returnType, false, pool);
+            new SsaBuilder(fn, fnIndex, strings).lower(fd);
+            functions.add(fn);
+        }
+        return new Ssa.Module(r, main, functions, pool);
+    }
+
+    /** int[] hat keinen SSA-Typ (Ssa kennt nur int, bool, string). */
+    private static void rejectArrays(MiniCCompiler.Stmt stmt) {
+        for (MiniCCompiler.Node n : AstHash.preorder(stmt)) {
+            boolean array = n instanceof MiniCCompiler.IndexAssign || n instanceof MiniCCompiler.Index
+                    || n instanceof MiniCCompiler.Expr e && e.type == MiniCCompiler.PrimType.INT_ARRAY
+                    || n instanceof MiniCCompiler.VarDecl vd && vd.type == MiniCCompiler.PrimType.INT_ARRAY
+                    || n instanceof MiniCCompiler.FnDecl fd && (fd.returnType == MiniCCompiler.PrimType.INT_ARRAY
+                            || fd.params.stream().anyMatch(p -> p.type == MiniCCompiler.PrimType.INT_ARRAY));
+            if (array) throw new RuntimeException("int[] wird im SSA-Pfad nicht unterstützt (" + n.pos() + ")");
+        }
+    }
+
+    // ---------------- Funktionen ----------------
+
+    private void lower(List<MiniCCompiler.Stmt> program) {
+        f.entry = block();
+        seal(f.entry);
+        current = f.entry;
+        for (MiniCCompiler.Stmt s : program) {
+            if (unreachable()) break;
+            stmt(s);
+        }
+        if (!unreachable()) emit(Ssa.RET, Ssa.VOID, -1, 0, 0);
+        finish();
+    }
+
+    private void lower(MiniCCompiler.FnDecl fd) {
+        f.entry = block();
+        seal(f.entry);
+        current = f.entry;
+        for (int i = 0; i < fd.params.size(); i++) {
+            MiniCCompiler.PrimType t = fd.params.get(i).type;
+            write(var(i, t), current, emit(Ssa.PARAM, Ssa.typeCode(t), i, 0, 0));
+        }
+        stmt(fd.body);
+        if (!unreachable()) emit(Ssa.RET, Ssa.VOID, defaultValue(fd.returnType), 0, 0);
+        finish();
+    }
+
+    /** Setzt alle Operanden auf ihre endgültigen Werte und entfernt ersetzte Phis aus den Blöcken. */
+    private void finish() {
+        for (int i = 0; i < f.count; i++) {
+            for (int k = 0, n = f.operandCount(i); k < n; k++) f.setOperand(i, k, resolve(f.operand(i, k)));
+        }
+        for (Ssa.IntList insns : f.blocks) insns.retain(i -> resolve(i) == i);
+        for (int i = 0; i < f.count; i++) if (resolve(i) != i) f.op[i] = Ssa.NOP;
+    }
+
+    // ---------------- Anweisungen ----------------
+
+    private void stmt(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.VarDecl vd) {
+            int v = vd.initializer != null ? expr(vd.initializer) : defaultValue(vd.type);
+            assign(vd.type, vd.global, vd.slot, v);
+
+        } else if (stmt instanceof MiniCCompiler.Assign as) {
+            assign(as.value.type, as.global, as.slot, expr(as.value));
+
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            for (MiniCCompiler.Stmt s : bl.statements) {
+                if (unreachable()) return;
+                stmt(s);
+            }
+
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            int header = block(), body = block(), exit = block();
+            jump(header);
+            current = header;
+            int cond = expr(ws.condition);
+            branch(cond, body, exit);
+            seal(body);
+            current = body;
+            stmt(ws.body);
+            if (!unreachable()) jump(header);
+            seal(header);
+            seal(exit);
+            current = exit;
+
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            int then = block(), merge = block();
+            int otherwise = ifs.elseBranch != null ? block() : merge;
+            branch(expr(ifs.condition), then, otherwise);
+            seal(then);
+            current = then;
+            stmt(ifs.thenBranch);
+            if (!unreachable()) jump(merge);
+            if (ifs.elseBranch != null) {
+                seal(otherwise);
+                current = otherwise;
+                stmt(ifs.elseBranch);
+                if (!unreachable()) jump(merge);
+            }
+            seal(merge);
+            current = merge;
+
+        } else if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            emit(Ssa.RET, Ssa.VOID, rs.value != null ? expr(rs.value) : -1, 0, 0);
+
+        } else if (stmt instanceof MiniCCompiler.ExprStmt es) {
+            expr(es.expr);
+
+        } else if (!(stmt instanceof MiniCCompiler.FnDecl)) { // Funktionen werden separat übersetzt
+            throw new RuntimeException("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+        }
+    }
+
+    private void assign(MiniCCompiler.PrimType type, boolean global, int slot, int value) {
+        if (global) emit(Ssa.GSTORE, Ssa.VOID, slot, value, 0);
+        else write(var(slot, type), current, value);
+    }
+
+    // ---------------- Ausdrücke ----------------
+
+    private int expr(MiniCCompiler.Expr e) {
+        if (e instanceof MiniCCompiler.IntLiteral il) {
+            return emit(Ssa.CONST, Ssa.typeCode(MiniCCompiler.PrimType.INT), il.value, 0, 0);
+        } else if (e instanceof MiniCCompiler.BoolLiteral bl) {
+            return emit(Ssa.CONST, Ssa.typeCode(MiniCCompiler.PrimType.BOOL), bl.value ? 1 : 0, 0, 0);
+        } else if (e instanceof MiniCCompiler.StringLiteral sl) {
+            return emit(Ssa.SCONST, Ssa.typeCode(MiniCCompiler.PrimType.STRING), string(sl.value), 0, 0);
+        } else if (e instanceof MiniCCompiler.Variable v) {
+            if (v.global) return emit(Ssa.GLOAD, Ssa.typeCode(v.type), v.slot, 0, 0);
+            return read(var(v.slot, v.type), current);
+        } else if (e instanceof MiniCCompiler.Binary b) {
+            if (b.type == MiniCCompiler.PrimType.STRING) { // Verkettung
+                int l = toStr(b.left), r = toStr(b.right);
+                return emit(Ssa.CONCAT, b.type.ordinal(), l, r, 0);
+            }
+            int l = expr(b.left), r = expr(b.right);
+            boolean ref = b.left.type == MiniCCompiler.PrimType.STRING;
+            int op = switch (b.op) {
+                case PLUS -> Ssa.ADD;
+                case MINUS -> Ssa.SUB;
+                case MUL -> Ssa.MUL;
+                case DIV -> Ssa.DIV;
+                case LT -> Ssa.LT;
+                case GT -> Ssa.GT;
+                case EQ -> ref ? Ssa.SEQ : Ssa.EQ;
+                case NEQ -> ref ? Ssa.SNEQ : Ssa.NEQ;
+            };
+            return emit(op, b.type.ordinal(), l, r, 0);
+        } else if (e instanceof MiniCCompiler.Call c) {
+            if (c instanceof MiniCCompiler.Spawn || c instanceof MiniCCompiler.Join) {
+                throw new RuntimeException(c.name + " wird im SSA-Pfad nicht unterstützt (" + c.pos() + ")");
+            }
+            int[] args = new int[c.args.size()];
+            for (int i = 0; i < args.length; i++) args[i] = expr(c.args.get(i));
+            int call = c.builtin != null
+                    ? emit(Ssa.BUILTIN, Ssa.typeCode(c.type), c.builtin.ordinal(), 0, 0)
+                    : emit(Ssa.CALL, Ssa.typeCode(c.type), fnIndex.get(c.target), 0, 0);
+            f.setArgs(call, args);
+            return call;
+        }
+        throw new RuntimeException("Unbekannter Expression-Typ: " + e.getClass().getSimpleName());
+    }
+
+    private int toStr(MiniCCompiler.Expr e) {
+        int v = expr(e);
+        if (e.type == MiniCCompiler.PrimType.INT) return emit(Ssa.I2S, Ssa.typeCode(MiniCCompiler.PrimType.STRING), v, 0, 0);
+        if (e.type == MiniCCompiler.PrimType.BOOL) return emit(Ssa.B2S, Ssa.typeCode(MiniCCompiler.PrimType.STRING), v, 0, 0);
+        return v;
+    }
+
+    private int defaultValue(MiniCCompiler.PrimType t) {
+        if (t == MiniCCompiler.PrimType.STRING) return emit(Ssa.SCONST, t.ordinal(), string(""), 0, 0);
+        return emit(Ssa.CONST, Ssa.typeCode(t), 0, 0, 0);
+    }
+
+    private int string(String s) {
+        return strings.computeIfAbsent(s, k -> {
+            f.strings.add(k);
+            return f.strings.size() - 1;
+        });
+    }
+
+    // ---------------- Blöcke ----------------
+
+    private int block() {
+        int b = f.newBlock();
+        defs.add(new HashMap<>());
+        incomplete.add(new HashMap<>());
+        sealed.add(false);
+        return b;
+    }
+
+    private boolean unreachable() {
+        Ssa.IntList insns = f.blocks.get(current);
+        return (!insns.isEmpty() && Ssa.isTerminator(f.op[insns.last()]))
+                || (current != f.entry && f.preds.get(current).isEmpty() && sealed.get(current));
+    }
+
+    private void jump(int target) {
+        emit(Ssa.JMP, Ssa.VOID, target, 0, 0);
+        f.preds.get(target).add(current);
+    }
+
+    private void branch(int cond, int then, int otherwise) {
+        emit(Ssa.BR, Ssa.VOID, cond, then, otherwise);
+        f.preds.get(then).add(current);
+        f.preds.get(otherwise).add(current);
+    }
+
+    private int emit(int op, int type, int a, int b, int c) {
+        int i = f.emit(current, op, type, a, b, c);
+        if (i >= replacement.length) replacement = Arrays.copyOf(replacement, replacement.length * 2);
+        replacement[i] = i;
+        return i;
+    }
+
+    // ---------------- SSA-Konstruktion ----------------
+
+    private static int var(int slot, MiniCCompiler.PrimType type) { return slot * 3 + type.ordinal(); }
+
+    private void write(int var, int blk, int value) { defs.get(blk).put(var, value); }
+
+    private int read(int var, int blk) {
+        Integer v = defs.get(blk).get(var);
+        return v != null ? resolve(v) : readRecursive(var, blk);
+    }
+
+    private int readRecursive(int var, int blk) {
+        Ssa.IntList p = f.preds.get(blk);
+        int v;
+        if (!sealed.get(blk)) {
+            v = phi(var, blk);
+            incomplete.get(blk).put(var, v);
+        } else if (p.size() == 1) {
+            v = read(var, p.get(0));
+        } else if (p.isEmpty()) {
+            v = undefined(var, blk); // nur in unerreichbarem Code oder bei Slots ohne Definition
+        } else {
+            v = phi(var, blk);
+            write(var, blk, v);
+            v = addOperands(var, v);
+        }
+        write(var, blk, v);
+        return v;
+    }
+
+    private int phi(int var, int blk) {
+        int saved = current;
+        current = -1;
+        int phi = emit(Ssa.PHI, var % 3, 0, 0, 0);
+        current = saved;
+        f.block[phi] = blk;
+        // Phis stehen am Blockanfang
+        Ssa.IntList insns = f.blocks.get(blk);
+        insns.add(phi);
+        for (int k = insns.size() - 1; k > 0 && f.op[insns.get(k - 1)] != Ssa.PHI; k--) {
+            insns.set(k, insns.get(k - 1));
+            insns.set(k - 1, phi);
+        }
+        return phi;
+    }
+
+    private int undefined(int var, int blk) {
+        int saved = current;
+        current = blk;
+        int v = var % 3 == MiniCCompiler.PrimType.STRING.ordinal()
+                ? emit(Ssa.SCONST, var % 3, string(""), 0, 0) : emit(Ssa.CONST, var % 3, 0, 0, 0);
+        current = saved;
+        // vor den Terminator ziehen, falls der Block schon abgeschlossen ist
+        Ssa.IntList insns = f.blocks.get(blk);
+        int k = insns.size() - 1;
+        if (k > 0 && Ssa.isTerminator(f.op[insns.get(k - 1)])) {
+            insns.set(k, insns.get(k - 1));
+            insns.set(k - 1, v);
+        }
+        return v;
+    }
+
+    private int addOperands(int var, int phi) {
+        Ssa.IntList p = f.preds.get(f.block[phi]);
+        int[] ops = new int[p.size()];
+        for (int k = 0; k < ops.length; k++) ops[k] = read(var, p.get(k));
+        f.setArgs(phi, ops);
+        return removeTrivial(phi);
+    }
+
+    /** Phi mit nur einem (von sich selbst verschiedenen) Operanden wird durch diesen ersetzt. */
+    private int removeTrivial(int phi) {
+        int same = -1;
+        for (int k = 0; k < f.argLen[phi]; k++) {
+            int op = resolve(f.arg(phi, k));
+            if (op == same || op == phi) continue;
+            if (same >= 0) return phi;
+            same = op;
+        }
+        if (same < 0) same = undefined(var(0, MiniCCompiler.PrimType.values()[f.type[phi]]), f.block[phi]);
+        replacement[phi] = same;
+        return same;
+    }
+
+    private void seal(int blk) {
+        for (Map.Entry<Integer, Integer> e : incomplete.get(blk).entrySet()) addOperands(e.getKey(), e.getValue());
+        incomplete.get(blk).clear();
+        sealed.set(blk, true);
+    }
+
+    private int resolve(int v) {
+        int r = v;
+        while (replacement[r] != r) r = replacement[r];
+        while (replacement[v] != r) { // Pfadkompression
+            int next = replacement[v];
+            replacement[v] = r;
+            v = next;
+        }
+        return r;
+    }
+}
@@ -0,0 +1,390 @@
+import java.util.*;
+
+/**
+ * Optimierungen auf der {@link Ssa}-Form.
+ *
+ * <ul>
+ *   <li>GVN/CSE: Durchlauf über den Dominatorbaum mit einer gescopten Wertetabelle; gleiche reine
+ *       Ausdrücke über denselben Operanden werden auf die dominierende Instruktion abgebildet.
+ *       Dabei werden Konstanten gefaltet und triviale Phis entfernt.</li>
+ *   <li>Globale Variablen: innerhalb eines Blocks werden Lesezugriffe aus vorangehenden
+ *       Lese-/Schreibzugriffen weitergereicht und überschriebene Stores entfernt (Dead Stores).</li>
+ *   <li>Konstante Verzweigungen werden zu Sprüngen, unerreichbare Blöcke entfallen.</li>
+ *   <li>DCE: alles, was nicht von einem Seiteneffekt (Store, Call, eingebaute Funktion,
+ *       Division mit möglichem Fehler, Terminator) erreicht wird, wird gelöscht.</li>
+ * </ul>
+ */
+public final class SsaOptimizer {
+
+    private int cse, folded, phis, deadStores, forwardedLoads, branches, deadBlocks, deadCode;
+    private long gvnNanos, cfgNanos, dceNanos;
+
+    public SsaOptimizer optimize(Ssa.Module m) {
+        for (Ssa.Function f : m.all()) optimize(f);
+        return this;
+    }
+
+    public SsaOptimizer optimize(Ssa.Function f) {
+        for (int round = 0; round < 4; round++) {
+            long t0 = System.nanoTime();
+            gvn(f);
+            long t1 = System.nanoTime();
+            boolean changed = simplifyBranches(f);
+            long t2 = System.nanoTime();
+            gvnNanos += t1 - t0;
+            cfgNanos += t2 - t1;
+            if (!changed) break;
+        }
+        long t0 = System.nanoTime();
+        dce(f);
+        dceNanos += System.nanoTime() - t0;
+        return this;
+    }
+
+    public int eliminatedExpressions() { return cse; }
+    public int foldedConstants() { return folded; }
+    public int removedPhis() { return phis; }
+    public int deadStores() { return deadStores; }
+    public int forwardedLoads() { return forwardedLoads; }
+    public int foldedBranches() { return branches; }
+    public int deadBlocks() { return deadBlocks; }
+    public int deadInstructions() { return deadCode; }
+    public double gvnMillis() { return gvnNanos / 1e6; }
+    public double cfgMillis() { return cfgNanos / 1e6; }
+    public double dceMillis() { return dceNanos / 1e6; }
+
+    @Override public String toString() {
+        return String.format("CSE %d, gefaltet %d, Phis %d, Loads weitergereicht %d, tote Stores %d, "
+                        + "Verzweigungen %d, tote Blöcke %d, toter Code %d",
+                cse, folded, phis, forwardedLoads, deadStores, branches, deadBlocks, deadCode);
+    }
+
+    // ---------------- Dominatoren ----------------
+
+    /** Unmittelbare Dominatoren (Cooper/Harvey/Kennedy) für die Blöcke in rpo; -1 für unerreichbare. */
+    static int[] dominators(Ssa.Function f, int[] rpo) {
+        int n = f.blockCount();
+        int[] order = new int[n];
+        Arrays.fill(order, -1);
+        for (int i = 0; i < rpo.length; i++) order[rpo[i]] = i;
+        int[] idom = new int[n];
+        Arrays.fill(idom, -1);
+        idom[f.entry] = f.entry;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i < rpo.length; i++) {
+                int b = rpo[i], d = -1;
+                Ssa.IntList p = f.preds.get(b);
+                for (int k = 0; k < p.size(); k++) {
+                    int q = p.get(k);
+                    if (order[q] < 0 || idom[q] < 0) continue;
+                    d = d < 0 ? q : intersect(idom, order, q, d);
+                }
+                if (d != idom[b]) {
+                    idom[b] = d;
+                    changed = true;
+                }
+            }
+        }
+        return idom;
+    }
+
+    private static int intersect(int[] idom, int[] order, int a, int b) {
+        while (a != b) {
+            while (order[a] > order[b]) a = idom[a];
+            while (order[b] > order[a]) b = idom[b];
+        }
+        return a;
+    }
+
+    // ---------------- GVN ----------------
+
+    private int[] repl;
+
+    private int resolve(int v) {
+        while (repl[v] != v) v = repl[v] = repl[repl[v]];
+        return v;
+    }
+
+    private void replace(int i, int by) { repl[i] = by; }
+
+    private void gvn(Ssa.Function f) {
+        repl = new int[f.count + 16];
+        for (int i = 0; i < repl.length; i++) repl[i] = i;
+        int[] rpo = f.reversePostorder();
+        int[] idom = dominators(f, rpo);
+        // Kinder im Dominatorbaum
+        int n = f.blockCount();
+        int[] childCount = new int[n + 1];
+        for (int b : rpo) if (b != f.entry) childCount[idom[b] + 1]++;
+        for (int i = 0; i < n; i++) childCount[i + 1] += childCount[i];
+        int[] children = new int[rpo.length];
+        int[] fill = Arrays.copyOf(childCount, n + 1);
+        for (int b : rpo) if (b != f.entry) children[fill[idom[b]]++] = b;
+
+        Map<Long, Integer> exprs = new HashMap<>(), consts = new HashMap<>();
+        List<Long> undoExprs = new ArrayList<>(), undoConsts = new ArrayList<>();
+        // iterativer Preorder-Durchlauf; negativer Eintrag = Scope verlassen
+        int[] stack = new int[2 * rpo.length + 2];
+        int[] markE = new int[n], markC = new int[n];
+        int sp = 0;
+        stack[sp++] = f.entry;
+        while (sp > 0) {
+            int b = stack[--sp];
+            if (b < 0) {
+                b = -b - 1;
+                while (undoExprs.size() > markE[b]) exprs.remove(undoExprs.remove(undoExprs.size() - 1));
+                while (undoConsts.size() > markC[b]) consts.remove(undoConsts.remove(undoConsts.size() - 1));
+                continue;
+            }
+            markE[b] = undoExprs.size();
+            markC[b] = undoConsts.size();
+            block(f, b, exprs, consts, undoExprs, undoConsts);
+            stack[sp++] = -b - 1;
+            for (int k = childCount[b]; k < childCount[b + 1]; k++) stack[sp++] = children[k];
+        }
+        // Ersetzungen übernehmen; auch Phis in später besuchten Blöcken (Rückkanten)
+        for (int i = 0; i < f.count; i++) {
+            if (f.op[i] == Ssa.NOP) continue;
+            for (int k = 0, c = f.operandCount(i); k < c; k++) f.setOperand(i, k, resolve(f.operand(i, k)));
+        }
+        for (Ssa.IntList insns : f.blocks) insns.retain(i -> repl[i] == i && f.op[i] != Ssa.NOP);
+        for (int i = 0; i < f.count; i++) if (repl[i] != i) f.op[i] = Ssa.NOP;
+    }
+
+    private void block(Ssa.Function f, int b, Map<Long, Integer> exprs, Map<Long, Integer> consts,
+                       List<Long> undoExprs, List<Long> undoConsts) {
+        Map<Integer, Integer> loaded = new HashMap<>();   // globaler Slot -> aktueller Wert
+        Map<Integer, Integer> pending = new HashMap<>();  // globaler Slot -> noch ungelesener Store
+        Ssa.IntList insns = f.blocks.get(b);
+        for (int k = 0; k < insns.size(); k++) {
+            int i = insns.get(k);
+            int op = f.op[i];
+            for (int j = 0, c = f.operandCount(i); j < c; j++) f.setOperand(i, j, resolve(f.operand(i, j)));
+
+            if (op == Ssa.PHI) {
+                int same = -1;
+                boolean trivial = true;
+                for (int j = 0; j < f.argLen[i] && trivial; j++) {
+                    int v = f.arg(i, j);
+                    if (v == i || v == same) continue;
+                    if (same >= 0) trivial = false;
+                    same = v;
+                }
+                if (trivial && same >= 0) {
+                    replace(i, same);
+                    phis++;
+                }
+                continue;
+            }
+            if (op == Ssa.GLOAD) {
+                Integer v = loaded.get(f.a[i]);
+                if (v != null) {
+                    replace(i, v);
+                    forwardedLoads++;
+                } else {
+                    loaded.put(f.a[i], i);
+                    pending.remove(f.a[i]); // liest den vorigen Store
+                }
+                continue;
+            }
+            if (op == Ssa.GSTORE) {
+                Integer prev = pending.put(f.a[i], i);
+                if (prev != null) {
+                    f.op[prev] = Ssa.NOP;
+                    deadStores++;
+                }
+                loaded.put(f.a[i], f.b[i]);
+                continue;
+            }
+            if (op == Ssa.CALL) { // kann globale Variablen lesen und schreiben
+                loaded.clear();
+                pending.clear();
+                continue;
+            }
+            if (Ssa.isTerminator(op)) continue;
+            if (fold(f, i)) folded++;
+            int same = identity(f, i);
+            if (same >= 0) {
+                replace(i, same);
+                folded++;
+                continue;
+            }
+            op = f.op[i];
+            if (!Ssa.isPure(f, i) || op == Ssa.PARAM) continue;
+
+            Map<Long, Integer> table;
+            long key;
+            if (op == Ssa.CONST || op == Ssa.SCONST) {
+                table = consts;
+                key = ((long) (op * 4 + f.type[i] + 1) << 32) | (f.a[i] & 0xffffffffL);
+            } else {
+                int x = f.a[i], y = op == Ssa.I2S || op == Ssa.B2S ? 0 : f.b[i];
+                if (commutative(op) && x > y) { int t = x; x = y; y = t; }
+                table = exprs;
+                key = ((long) op << 56) | ((long) x << 28) | y;
+            }
+            Integer prev = table.get(key);
+            if (prev != null) {
+                replace(i, prev);
+                cse++;
+            } else {
+                table.put(key, i);
+                (table == consts ? undoConsts : undoExprs).add(key);
+            }
+        }
+        insns.retain(i -> f.op[i] != Ssa.NOP);
+    }
+
+    private static boolean commutative(int op) {
+        return op == Ssa.ADD || op == Ssa.MUL || op == Ssa.EQ || op == Ssa.NEQ || op == Ssa.SEQ || op == Ssa.SNEQ;
+    }
+
+    /** Faltet Instruktion i, wenn alle Operanden Konstanten sind; ersetzt sie dann in place. */
+    private boolean fold(Ssa.Function f, int i) {
+        int op = f.op[i];
+        if (op == Ssa.I2S || op == Ssa.B2S) {
+            int x = f.a[i];
+            if (f.op[x] != Ssa.CONST) return false;
+            String s = op == Ssa.I2S ? Integer.toString(f.a[x]) : f.a[x] != 0 ? "true" : "false";
+            return toString(f, i, s);
+        }
+        if (op < Ssa.ADD || op > Ssa.CONCAT) return false;
+        int x = f.a[i], y = f.b[i];
+        if (op == Ssa.SEQ || op == Ssa.SNEQ || op == Ssa.CONCAT) {
+            if (f.op[x] != Ssa.SCONST || f.op[y] != Ssa.SCONST) return false;
+            String l = f.strings.get(f.a[x]), r = f.strings.get(f.a[y]);
+            if (op == Ssa.CONCAT) return toString(f, i, l.concat(r));
+            return toConst(f, i, l.equals(r) == (op == Ssa.SEQ) ? 1 : 0);
+        }
+        if (f.op[x] != Ssa.CONST || f.op[y] != Ssa.CONST) return false;
+        int l = f.a[x], r = f.a[y];
+        return switch (op) {
+            case Ssa.ADD -> toConst(f, i, l + r);
+            case Ssa.SUB -> toConst(f, i, l - r);
+            case Ssa.MUL -> toConst(f, i, l * r);
+            case Ssa.DIV -> r != 0 && toConst(f, i, l / r); // Division durch Null bleibt Laufzeitfehler
+            case Ssa.LT -> toConst(f, i, l < r ? 1 : 0);
+            case Ssa.GT -> toConst(f, i, l > r ? 1 : 0);
+            case Ssa.EQ -> toConst(f, i, l == r ? 1 : 0);
+            case Ssa.NEQ -> toConst(f, i, l != r ? 1 : 0);
+            default -> false;
+        };
+    }
+
+    /** Algebraische Identitäten: x+0, x-0, x*1, x/1 liefern x; x-x, x<x, x>x, x!=x werden Konstanten. */
+    private static int identity(Ssa.Function f, int i) {
+        int op = f.op[i];
+        if (op < Ssa.ADD || op > Ssa.NEQ) return -1;
+        int x = f.a[i], y = f.b[i];
+        boolean yConst = f.op[y] == Ssa.CONST, xConst = f.op[x] == Ssa.CONST;
+        if ((op == Ssa.ADD || op == Ssa.SUB) && yConst && f.a[y] == 0) return x;
+        if (op == Ssa.ADD && xConst && f.a[x] == 0) return y;
+        if ((op == Ssa.MUL || op == Ssa.DIV) && yConst && f.a[y] == 1) return x;
+        if (op == Ssa.MUL && xConst && f.a[x] == 1) return y;
+        if (x == y && (op == Ssa.SUB || op == Ssa.LT || op == Ssa.GT || op == Ssa.NEQ)) toConst(f, i, 0);
+        else if (x == y && op == Ssa.EQ) toConst(f, i, 1);
+        return -1;
+    }
+
+    private static boolean toConst(Ssa.Function f, int i, int value) {
+        f.op[i] = Ssa.CONST;
+        f.a[i] = value;
+        f.b[i] = 0;
+        return true;
+    }
+
+    private static boolean toString(Ssa.Function f, int i, String s) {
+        int idx = f.strings.indexOf(s);
+        if (idx < 0) {
+            f.strings.add(s);
+            idx = f.strings.size() - 1;
+        }
+        f.op[i] = Ssa.SCONST;
+        f.a[i] = idx;
+        f.b[i] = 0;
+        return true;
+    }
+
+    // ---------------- Kontrollfluss ----------------
+
+    /** Macht Verzweigungen auf Konstanten zu Sprüngen und entfernt unerreichbare Blöcke. */
+    private boolean simplifyBranches(Ssa.Function f) {
+        boolean changed = false;
+        for (int b = 0; b < f.blockCount(); b++) {
+            Ssa.IntList insns = f.blocks.get(b);
+            if (insns.isEmpty()) continue;
+            int t = insns.last();
+            if (f.op[t] != Ssa.BR || f.op[f.a[t]] != Ssa.CONST) continue;
+            int taken = f.a[f.a[t]] != 0 ? f.b[t] : f.c[t];
+            int dropped = taken == f.b[t] ? f.c[t] : f.b[t];
+            f.op[t] = Ssa.JMP;
+            f.a[t] = taken;
+            if (dropped != taken) removeEdge(f, b, dropped);
+            branches++;
+            changed = true;
+        }
+        if (!changed) return false;
+        boolean[] reachable = new boolean[f.blockCount()];
+        for (int b : f.reversePostorder()) reachable[b] = true;
+        for (int b = 0; b < f.blockCount(); b++) {
+            if (!reachable[b]) {
+                Ssa.IntList insns = f.blocks.get(b);
+                if (insns.isEmpty() && f.preds.get(b).isEmpty()) continue;
+                for (int k = 0; k < insns.size(); k++) f.op[insns.get(k)] = Ssa.NOP;
+                insns.size = 0;
+                f.preds.get(b).size = 0;
+                deadBlocks++;
+                continue;
+            }
+            Ssa.IntList p = f.preds.get(b);
+            for (int k = p.size() - 1; k >= 0; k--) if (!reachable[p.get(k)]) removeEdge(f, p.get(k), b);
+        }
+        return true;
+    }
+
+    /** Entfernt die Kante from -> to samt der zugehörigen Phi-Operanden. */
+    private static void removeEdge(Ssa.Function f, int from, int to) {
+        Ssa.IntList p = f.preds.get(to);
+        int idx = p.indexOf(from);
+        if (idx < 0) return;
+        for (int k = idx; k < p.size() - 1; k++) p.set(k, p.get(k + 1));
+        p.size--;
+        Ssa.IntList insns = f.blocks.get(to);
+        for (int k = 0; k < insns.size() && f.op[insns.get(k)] == Ssa.PHI; k++) f.removeArg(insns.get(k), idx);
+    }
+
+    // ---------------- DCE ----------------
+
+    private void dce(Ssa.Function f) {
+        boolean[] live = new boolean[f.count];
+        Ssa.IntList work = new Ssa.IntList(f.count);
+        for (Ssa.IntList insns : f.blocks) {
+            for (int k = 0; k < insns.size(); k++) {
+                int i = insns.get(k);
+                int op = f.op[i];
+                if (op == Ssa.GSTORE || op == Ssa.CALL || op == Ssa.BUILTIN || Ssa.isTerminator(op) || (op == Ssa.DIV && !Ssa.isPure(f, i))) {
+                    live[i] = true;
+                    work.add(i);
+                }
+            }
+        }
+        while (!work.isEmpty()) {
+            int i = work.data[--work.size];
+            for (int k = 0, c = f.operandCount(i); k < c; k++) {
+                int v = f.operand(i, k);
+                if (!live[v]) {
+                    live[v] = true;
+                    work.add(v);
+                }
+            }
+        }
+        for (Ssa.IntList insns : f.blocks) {
+            int before = insns.size();
+            insns.retain(i -> live[i]);
+            deadCode += before - insns.size();
+        }
+        for (int i = 0; i < f.count; i++) if (!live[i]) f.op[i] = Ssa.NOP;
+    }
+}
@@ -0,0 +1,164 @@
+import java.util.*;
+
+/**
+ * Backend: übersetzt ein {@link Ssa.Module} in {@link Bytecode} für die {@link VM}.
+ *
+ * Jeder verwendete SSA-Wert bekommt einen eigenen lokalen Slot (hinter den Parametern). Phis
+ * werden aufgelöst, indem der Vorgänger an seiner ausgehenden Kante alle Phi-Operanden des
+ * Zielblocks auf den Operandenstack legt und sie danach in umgekehrter Reihenfolge in die
+ * Phi-Slots schreibt; damit sind die Kopien parallel und Zyklen (Vertauschungen) unkritisch.
+ * Bei BR bekommt jede Kante ihren eigenen Kopierblock.
+ */
+public final class SsaToBytecode {
+
+    private static final int STRING = MiniCCompiler.PrimType.STRING.ordinal();
+
+    private final Ssa.IntList code = new Ssa.IntList(1024);
+    private final List<Object> pool = new ArrayList<>();
+    private final Map<Integer, Integer> strings = new HashMap<>();   // Index in Module.strings -> Pool
+    private final Ssa.IntList fixups = new Ssa.IntList();            // Codeposition, deren Wert ein Block ist
+    private int[] blockAddress;
+    private int[] slot;
+    private Ssa.Function f;
+
+    private SsaToBytecode() {}
+
+    public static Bytecode compile(Ssa.Module m) { return new SsaToBytecode().compileModule(m); }
+
+    private Bytecode compileModule(Ssa.Module m) {
+        List<Bytecode.Function> entries = new ArrayList<>();
+        // Poolindizes der Funktionen vorab vergeben, Framegrößen erst nach der Übersetzung bekannt
+        for (int i = 0; i < m.functions.size(); i++) pool.add(null);
+        int mainFrame = function(m.main);
+        for (Ssa.Function fn : m.functions) {
+            int entry = code.size();
+            Bytecode.Function e = new Bytecode.Function(fn.name, fn.params, function(fn));
+            e.entry = entry;
+            entries.add(e);
+        }
+        for (int i = 0; i < entries.size(); i++) pool.set(i, entries.get(i));
+        Map<String, Integer> globals = new HashMap<>();
+        for (MiniCCompiler.VarDecl vd : m.resolver.globals()) globals.putIfAbsent(vd.name, vd.slot);
+        return new Bytecode(Arrays.copyOf(code.data, code.size()), pool.toArray(), m.resolver.globalCount(), mainFrame, globals);
+    }
+
+    /** Übersetzt eine Funktion ab der aktuellen Codeposition; liefert die Framegröße. */
+    private int function(Ssa.Function fn) {
+        f = fn;
+        slot = new int[fn.count];
+        Arrays.fill(slot, -1);
+        int next = fn.params;
+        for (Ssa.IntList insns : fn.blocks) {
+            for (int k = 0; k < insns.size(); k++) {
+                int i = insns.get(k);
+                if (fn.type[i] != Ssa.VOID && !Ssa.isTerminator(fn.op[i]) && fn.op[i] != Ssa.GSTORE) slot[i] = next++;
+            }
+        }
+        blockAddress = new int[fn.blockCount()];
+        fixups.size = 0;
+        for (int b : fn.reversePostorder()) {
+            blockAddress[b] = code.size();
+            Ssa.IntList insns = fn.blocks.get(b);
+            for (int k = 0; k < insns.size(); k++) insn(b, insns.get(k));
+        }
+        for (int k = 0; k < fixups.size(); k++) code.set(fixups.get(k), blockAddress[code.get(fixups.get(k))]);
+        return next;
+    }
+
+    private void insn(int blk, int i) {
+        int op = f.op[i];
+        switch (op) {
+            case Ssa.PHI -> { } // Werte kommen über die Kanten
+            case Ssa.CONST -> { emit(Bytecode.CONST, f.a[i]); store(i); }
+            case Ssa.SCONST -> { emit(Bytecode.SCONST, string(f.a[i])); store(i); }
+            case Ssa.PARAM -> { emit(f.type[i] == STRING ? Bytecode.RLOAD : Bytecode.LOAD, f.a[i]); store(i); }
+            case Ssa.GLOAD -> { emit(f.type[i] == STRING ? Bytecode.RGLOAD : Bytecode.GLOAD, f.a[i]); store(i); }
+            case Ssa.GSTORE -> { load(f.b[i]); emit(f.type[f.b[i]] == STRING ? Bytecode.RGSTORE : Bytecode.GSTORE, f.a[i]); }
+            case Ssa.I2S, Ssa.B2S -> { load(f.a[i]); emit(op == Ssa.I2S ? Bytecode.I2S : Bytecode.B2S); store(i); }
+            case Ssa.CALL -> {
+                for (int k = 0; k < f.argLen[i]; k++) load(f.arg(i, k));
+                emit(Bytecode.CALL, f.a[i]);
+                store(i);
+            }
+            case Ssa.BUILTIN -> {
+                for (int k = 0; k < f.argLen[i]; k++) load(f.arg(i, k));
+                emit(switch (Builtins.Builtin.values()[f.a[i]]) {
+                    case PRINT -> Bytecode.PRINT;
+                    case PRINT_INT -> Bytecode.PRINTI;
+                    case STRLEN -> Bytecode.STRLEN;
+                    case READ_INT -> Bytecode.READI;
+                    case JOIN -> throw new RuntimeException("join wird im SSA-Pfad nicht unterstützt");
+                });
+                store(i);
+            }
+            case Ssa.JMP -> { edge(blk, f.a[i]); jump(f.a[i]); }
+            case Ssa.BR -> {
+                load(f.a[i]);
+                emit(Bytecode.JZ, 0);
+                int patch = code.size() - 1;
+                edge(blk, f.b[i]);
+                jump(f.b[i]);
+                code.set(patch, code.size());
+                edge(blk, f.c[i]);
+                jump(f.c[i]);
+            }
+            case Ssa.RET -> {
+                if (f.main) {
+                    emit(Bytecode.HALT);
+                } else {
+                    load(f.a[i]);
+                    emit(f.type[f.a[i]] == STRING ? Bytecode.RRET : Bytecode.RET);
+                }
+            }
+            default -> {
+                load(f.a[i]);
+                load(f.b[i]);
+                emit(switch (op) {
+                    case Ssa.ADD -> Bytecode.ADD;
+                    case Ssa.SUB -> Bytecode.SUB;
+                    case Ssa.MUL -> Bytecode.MUL;
+                    case Ssa.DIV -> Bytecode.DIV;
+                    case Ssa.LT -> Bytecode.LT;
+                    case Ssa.GT -> Bytecode.GT;
+                    case Ssa.EQ -> Bytecode.EQ;
+                    case Ssa.NEQ -> Bytecode.NEQ;
+                    case Ssa.SEQ -> Bytecode.SEQ;
+                    case Ssa.SNEQ -> Bytecode.SNEQ;
+                    case Ssa.CONCAT -> Bytecode.CONCAT;
+                    default -> throw new RuntimeException("Unbekannter SSA-Opcode: " + Ssa.NAMES[op]);
+                });
+                store(i);
+            }
+        }
+    }
+
+    /** Parallele Kopie der Phi-Operanden des Zielblocks für die Kante from -> to. */
+    private void edge(int from, int to) {
+        int idx = f.preds.get(to).indexOf(from);
+        Ssa.IntList insns = f.blocks.get(to);
+        int n = 0;
+        while (n < insns.size() && f.op[insns.get(n)] == Ssa.PHI) load(f.arg(insns.get(n++), idx));
+        for (int k = n - 1; k >= 0; k--) store(insns.get(k));
+    }
+
+    private void jump(int target) {
+        emit(Bytecode.JMP, target);
+        fixups.add(code.size() - 1);
+    }
+
+    private void load(int v) { emit(f.type[v] == STRING ? Bytecode.RLOAD : Bytecode.LOAD, slot[v]); }
+
+    private void store(int v) { emit(f.type[v] == STRING ? Bytecode.RSTORE : Bytecode.STORE, slot[v]); }
+
+    private int string(int idx) {
+        return strings.computeIfAbsent(idx, k -> {
+            pool.add(f.strings.get(k));
+            return pool.size() - 1;
+        });
+    }
+
+    private void emit(int op, int... operands) {
+        code.add(op);
+        for (int x : operands) code.add(x);
+    }
+}
@@ -36,56 +36,125 @@ public class SymbolTableBuilder {
         }
     }
 
+    /** Wird bei jeder Deklaration und jeder erfolgreichen Namensauflösung (Variable, Assign, Call) benachrichtigt. */
+    public interface ResolveListener {
+        void resolved(MiniCCompiler.Node use, Symbol sym);
+        default void declared(Symbol sym) {}
+    }
+
     private Scope currentScope;
-    private List<String> errors = new ArrayList<>();
+    private final boolean wholeProgram;
+    private boolean spawns; // Programm enthält spawn, erst dann lohnt die spawn-Prüfung
+    private final DiagnosticSink sink;
+    private ResolveListener listener;
+    private Symbol currentFunction; // umschließende Funktion, null auf Top-Level
 
     public SymbolTableBuilder() {
-        currentScope = new Scope(null); // globaler Scope
+        this(DiagnosticSink.unlimited());
+    }
+
+    public SymbolTableBuilder(DiagnosticSink sink) {
+        this(new Scope(Builtins.prelude()), sink, true); // globaler Scope über den eingebauten Funktionen
+    }
+
+    /**
+     * Analyse gegen einen vorgegebenen globalen Scope (z.B. für die inkrementelle Analyse).
+     * Die spawn-Prüfung braucht das ganze Programm, sie übernimmt dann der Aufrufer
+     * ({@link GlobalDependencies#checkSpawns}).
+     */
+    SymbolTableBuilder(Scope globalScope, DiagnosticSink sink) {
+        this(globalScope, sink, false);
     }
 
-    public List<String> getErrors() { return errors; }
+    private SymbolTableBuilder(Scope globalScope, DiagnosticSink sink, boolean wholeProgram) {
+        currentScope = globalScope;
+        this.sink = sink;
+        this.wholeProgram = wholeProgram;
+    }
+
+    public DiagnosticSink getSink() { return sink; }
+
+    public void setResolveListener(ResolveListener listener) { this.listener = listener; }
+
+    /** Funktion, deren Rumpf gerade analysiert wird (null auf Top-Level). */
+    public Symbol currentFunction() { return currentFunction; }
+
+    /** Gerenderte Fehlermeldungen; nur verfügbar, wenn der Sink ein Collector ist. */
+    public List<String> getErrors() {
+        return sink instanceof DiagnosticSink.Collector c ? c.render() : List.of();
+    }
 
 
     public void build(List<MiniCCompiler.Stmt> program) {
-        for (MiniCCompiler.Stmt s : program) visitStmt(s);
+        for (MiniCCompiler.Stmt s : program) {
+            if (sink.shouldStop()) return;
+            visitStmt(s);
+        }
+        if (wholeProgram && spawns) GlobalDependencies.checkSpawns(program.stream().map(GlobalDependencies::of).toList(), sink);
+    }
+
+    private void declare(Symbol sym) {
+        currentScope.addSymbol(sym);
+        if (listener != null) listener.declared(currentScope.resolve(sym.name));
+    }
+
+    private void resolved(MiniCCompiler.Node use, Symbol sym) {
+        if (listener != null && sym != null) listener.resolved(use, sym);
+    }
+
+    private void error(Diagnostic.Code code, MiniCCompiler.Node node, Object... args) {
+        sink.report(Diagnostic.error(code, node, args));
     }
 
     private void visitStmt(MiniCCompiler.Stmt stmt) {
+        if (sink.shouldStop()) return;
         if (stmt instanceof MiniCCompiler.VarDecl vd) {
             if (currentScope.containsInCurrent(vd.name)) {
-                errors.add("Fehler: Variable '" + vd.name + "' bereits im aktuellen Scope definiert (" + vd.pos() + ")");
+                error(Diagnostic.Code.VAR_ALREADY_DEFINED, vd, vd.name);
             } else {
-                currentScope.addSymbol(new Symbol(vd.name, vd.type, false, null, vd));
+                declare(new Symbol(vd.name, vd.type, false, null, vd));
             }
             if (vd.initializer != null) visitExpr(vd.initializer);
 
         } else if (stmt instanceof MiniCCompiler.Assign as) {
             Symbol sym = currentScope.resolve(as.name);
-            if (sym == null) errors.add("Fehler: Variable '" + as.name + "' nicht definiert (" + as.pos() + ")");
-            else if (sym.isFunction) errors.add("Fehler: '" + as.name + "' ist eine Funktion, keine Variable (" + as.pos() + ")");
+            resolved(as, sym);
+            if (sym == null) error(Diagnostic.Code.VAR_UNDEFINED, as, as.name);
+            else if (sym.isFunction) error(Diagnostic.Code.NOT_A_VARIABLE, as, as.name);
             visitExpr(as.value);
 
+        } else if (stmt instanceof MiniCCompiler.IndexAssign ia) {
+            visitExpr(ia.array);
+            visitExpr(ia.index);
+            visitExpr(ia.value);
+
         } else if (stmt instanceof MiniCCompiler.FnDecl fd) {
             if (currentScope.containsInCurrent(fd.name)) {
-                errors.add("Fehler: Funktion '" + fd.name + "' bereits im aktuellen Scope definiert (" + fd.pos() + ")");
+                error(Diagnostic.Code.FN_ALREADY_DEFINED, fd, fd.name);
             } else {
-                currentScope.addSymbol(new Symbol(fd.name, fd.returnType, true, fd.params, fd));
+                declare(new Symbol(fd.name, fd.returnType, true, fd.params, fd));
             }
+            Symbol outerFunction = currentFunction;
+            currentFunction = currentScope.resolve(fd.name);
             // Scope für Funktionskörper
             enterScope();
             for (MiniCCompiler.Param p : fd.params) {
                 if (currentScope.containsInCurrent(p.name)) {
-                    errors.add("Fehler: Parameter '" + p.name + "' mehrfach definiert (" + fd.pos() + ")");
+                    error(Diagnostic.Code.PARAM_DUPLICATE, fd, p.name);
                 } else {
-                    currentScope.addSymbol(new Symbol(p.name, p.type, false, null, fd));
+                    declare(new Symbol(p.name, p.type, false, null, fd));
                 }
             }
             visitStmt(fd.body);
             exitScope();
+            currentFunction = outerFunction;
 
         } else if (stmt instanceof MiniCCompiler.Block bl) {
             enterScope();
-            for (MiniCCompiler.Stmt s : bl.statements) visitStmt(s);
+            for (MiniCCompiler.Stmt s : bl.statements) {
+                if (sink.shouldStop()) break;
+                visitStmt(s);
+            }
             exitScope();
 
         } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
@@ -104,29 +173,43 @@ public class SymbolTableBuilder {
             visitExpr(es.expr);
 
         } else {
-            errors.add("Unbekannter Statement-Typ: " + stmt.getClass().getSimpleName());
+            error(Diagnostic.Code.UNKNOWN_STMT, stmt, stmt.getClass().getSimpleName());
         }
     }
 
     private void visitExpr(MiniCCompiler.Expr expr) {
+        if (sink.shouldStop()) return;
         if (expr instanceof MiniCCompiler.Binary b) {
             visitExpr(b.left);
             visitExpr(b.right);
 
+        } else if (expr instanceof MiniCCompiler.NewArray na) {
+            visitExpr(na.length);
+
+        } else if (expr instanceof MiniCCompiler.Index ix) {
+            visitExpr(ix.array);
+            visitExpr(ix.index);
+
+        } else if (expr instanceof MiniCCompiler.Join j) { // Schlüsselwort, kein Name im Scope
+            for (MiniCCompiler.Expr e : j.args) visitExpr(e);
+
         } else if (expr instanceof MiniCCompiler.Call c) {
+            if (c instanceof MiniCCompiler.Spawn) spawns = true;
             Symbol sym = currentScope.resolve(c.name);
-            if (sym == null) errors.add("Fehler: Funktion '" + c.name + "' nicht definiert (" + c.pos() + ")");
-            else if (!sym.isFunction) errors.add("Fehler: '" + c.name + "' ist keine Funktion (" + c.pos() + ")");
+            resolved(c, sym);
+            if (sym == null) error(Diagnostic.Code.FN_UNDEFINED, c, c.name);
+            else if (!sym.isFunction) error(Diagnostic.Code.NOT_A_FUNCTION, c, c.name);
             for (MiniCCompiler.Expr e : c.args) visitExpr(e);
 
         } else if (expr instanceof MiniCCompiler.Variable v) {
             Symbol sym = currentScope.resolve(v.name);
-            if (sym == null) errors.add("Fehler: Variable '" + v.name + "' nicht definiert (" + v.pos() + ")");
+            resolved(v, sym);
+            if (sym == null) error(Diagnostic.Code.VAR_UNDEFINED, v, v.name);
 
         } else if (expr instanceof MiniCCompiler.IntLiteral || expr instanceof MiniCCompiler.StringLiteral || expr instanceof MiniCCompiler.BoolLiteral) {
 
         } else {
-            errors.add("Unbekannter Expression-Typ: " + expr.getClass().getSimpleName());
+            error(Diagnostic.Code.UNKNOWN_EXPR, expr, expr.getClass().getSimpleName());
         }
     }
 
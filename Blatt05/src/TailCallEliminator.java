@@ -0,0 +1,221 @@
+import java.util.*;
+
+/**
+ * AST-zu-AST-Optimierung: Endrekursion wird zur Schleife.
+ *
+ * Betroffen sind Funktionen mit mindestens einem {@code return f(...);}, das die Funktion selbst
+ * aufruft. Da MiniC weder break noch logische Operatoren kennt, steuert eine Zustandsvariable die
+ * Schleife (0 = läuft, 1 = zurückgekehrt, 2 = Endaufruf):
+ * <pre>
+ *   int fact(int n, int acc) {            int fact(int n, int acc) {
+ *     if (n == 0) { return acc; }           int state$1 = 2; int result$2 = 0;
+ *     return fact(n - 1, acc * n);    =>    while (state$1 == 2) {
+ *   }                                         state$1 = 0;
+ *                                             if (n == 0) { result$2 = acc; state$1 = 1; }
+ *                                             if (state$1 == 0) {
+ *                                               int a$3 = n - 1; int a$4 = acc * n;
+ *                                               n = a$3; acc = a$4; state$1 = 2;
+ *                                             }
+ *                                           }
+ *                                           return result$2;
+ *                                         }
+ * </pre>
+ * Anweisungen nach einer Anweisung, die zurückkehren kann, werden mit {@code state == 0}
+ * geschützt; Schleifen, die ein return enthalten, werten ihre Bedingung nur im Zustand 0 aus.
+ * Die neuen Argumente werden zuerst in Temporäre ausgewertet, dann den Parametern zugewiesen.
+ * Funktionen, die einen Parameternamen lokal neu deklarieren, bleiben unverändert.
+ */
+public class TailCallEliminator {
+
+    private static final MiniCCompiler.PrimType INT = MiniCCompiler.PrimType.INT, BOOL = MiniCCompiler.PrimType.BOOL;
+
+    private MiniCCompiler.FnDecl fn;
+    private String state, result;
+    private int nextId;
+    private int transformedFunctions, eliminatedCalls;
+
+    public List<MiniCCompiler.Stmt> optimize(List<MiniCCompiler.Stmt> program) {
+        Resolver.resolve(program);
+        List<MiniCCompiler.Stmt> out = new ArrayList<>(program.size());
+        for (MiniCCompiler.Stmt s : program) out.add(copy(s));
+        return out;
+    }
+
+    public int transformedFunctions() { return transformedFunctions; }
+    public int eliminatedCalls() { return eliminatedCalls; }
+
+    @Override public String toString() {
+        return "Funktionen umgebaut " + transformedFunctions + ", Endaufrufe ersetzt " + eliminatedCalls;
+    }
+
+    // ---------------- Kopie, Funktionen umbauen ----------------
+
+    /** Tiefe Kopie; FnDecls mit Endrekursion werden dabei umgebaut. */
+    private MiniCCompiler.Stmt copy(MiniCCompiler.Stmt stmt) {
+        if (stmt instanceof MiniCCompiler.FnDecl fd && hasSelfTailCall(fd) && !redeclaresParam(fd)) return transform(fd);
+        return ConstantFolder.copy(stmt, this::copyBlock);
+    }
+
+    private MiniCCompiler.Block copyBlock(MiniCCompiler.Block bl) {
+        List<MiniCCompiler.Stmt> out = new ArrayList<>(bl.statements.size());
+        for (MiniCCompiler.Stmt s : bl.statements) out.add(copy(s));
+        return new MiniCCompiler.Block(out, bl.line, bl.col);
+    }
+
+    private MiniCCompiler.FnDecl transform(MiniCCompiler.FnDecl fd) {
+        MiniCCompiler.FnDecl outer = fn;
+        String outerState = state, outerResult = result;
+        fn = fd;
+        state = fresh("state");
+        result = fresh("result");
+        transformedFunctions++;
+        List<MiniCCompiler.Stmt> loopBody = new ArrayList<>();
+        loopBody.add(new MiniCCompiler.Assign(state, num(0, fd), fd.line, fd.col));
+        loopBody.addAll(statements(fd.body.statements));
+        List<MiniCCompiler.Stmt> body = new ArrayList<>();
+        body.add(new MiniCCompiler.VarDecl(INT, state, num(2, fd), fd.line, fd.col));
+        body.add(new MiniCCompiler.VarDecl(fd.returnType, result, defaultValue(fd.returnType, fd), fd.line, fd.col));
+        body.add(new MiniCCompiler.WhileStmt(stateIs(2, fd), new MiniCCompiler.Block(loopBody, fd.line, fd.col), fd.line, fd.col));
+        body.add(new MiniCCompiler.ReturnStmt(new MiniCCompiler.Variable(result, fd.line, fd.col), fd.line, fd.col));
+        MiniCCompiler.FnDecl out = new MiniCCompiler.FnDecl(fd.returnType, fd.name, new ArrayList<>(fd.params),
+                new MiniCCompiler.Block(body, fd.body.line, fd.body.col), fd.line, fd.col);
+        fn = outer;
+        state = outerState;
+        result = outerResult;
+        return out;
+    }
+
+    // ---------------- Rumpf der umgebauten Funktion ----------------
+
+    /** Baut eine Anweisungsliste um; alles nach einer Anweisung, die zurückkehren kann, wird geschützt. */
+    private List<MiniCCompiler.Stmt> statements(List<MiniCCompiler.Stmt> in) {
+        List<MiniCCompiler.Stmt> out = new ArrayList<>();
+        for (int i = 0; i < in.size(); i++) {
+            MiniCCompiler.Stmt s = in.get(i);
+            stmt(s, out);
+            if (returns(s) && i + 1 < in.size()) {
+                MiniCCompiler.Stmt next = in.get(i + 1);
+                if (s instanceof MiniCCompiler.ReturnStmt) break; // Rest ist unerreichbar
+                MiniCCompiler.Block rest = new MiniCCompiler.Block(statements(in.subList(i + 1, in.size())), next.line, next.col);
+                out.add(new MiniCCompiler.IfStmt(stateIs(0, next), rest, null, next.line, next.col));
+                break;
+            }
+        }
+        return out;
+    }
+
+    private MiniCCompiler.Block block(MiniCCompiler.Block bl) {
+        return new MiniCCompiler.Block(statements(bl.statements), bl.line, bl.col);
+    }
+
+    private void stmt(MiniCCompiler.Stmt stmt, List<MiniCCompiler.Stmt> out) {
+        if (stmt instanceof MiniCCompiler.ReturnStmt rs) {
+            if (isSelfCall(rs.value)) {
+                // Argumente auswerten, dann Parameter neu setzen und von vorn beginnen
+                MiniCCompiler.Call c = (MiniCCompiler.Call) rs.value;
+                List<String> temps = new ArrayList<>();
+                for (int i = 0; i < c.args.size(); i++) {
+                    String t = fresh("a");
+                    out.add(new MiniCCompiler.VarDecl(fn.params.get(i).type, t, ConstantFolder.copy(c.args.get(i)), rs.line, rs.col));
+                    temps.add(t);
+                }
+                for (int i = 0; i < temps.size(); i++) {
+                    out.add(new MiniCCompiler.Assign(fn.params.get(i).name, new MiniCCompiler.Variable(temps.get(i), rs.line, rs.col), rs.line, rs.col));
+                }
+                out.add(new MiniCCompiler.Assign(state, num(2, rs), rs.line, rs.col));
+                eliminatedCalls++;
+            } else {
+                if (rs.value != null) out.add(new MiniCCompiler.Assign(result, ConstantFolder.copy(rs.value), rs.line, rs.col));
+                out.add(new MiniCCompiler.Assign(state, num(1, rs), rs.line, rs.col));
+            }
+
+        } else if (stmt instanceof MiniCCompiler.Block bl) {
+            out.add(block(bl));
+
+        } else if (stmt instanceof MiniCCompiler.IfStmt ifs) {
+            out.add(new MiniCCompiler.IfStmt(ConstantFolder.copy(ifs.condition), block(ifs.thenBranch),
+                    ifs.elseBranch != null ? block(ifs.elseBranch) : null, ifs.line, ifs.col));
+
+        } else if (stmt instanceof MiniCCompiler.WhileStmt ws) {
+            if (!returns(ws)) {
+                out.add(copy(ws));
+                return;
+            }
+            // while (c) { b }  =>  bool w = c; while (w) { b'; if (state == 0) { w = c; } else { w = false; } }
+            String w = fresh("w");
+            out.add(new MiniCCompiler.VarDecl(BOOL, w, ConstantFolder.copy(ws.condition), ws.line, ws.col));
+            List<MiniCCompiler.Stmt> body = new ArrayList<>(statements(ws.body.statements));
+            body.add(new MiniCCompiler.IfStmt(stateIs(0, ws),
+                    new MiniCCompiler.Block(List.of(new MiniCCompiler.Assign(w, ConstantFolder.copy(ws.condition), ws.line, ws.col)), ws.line, ws.col),
+                    new MiniCCompiler.Block(List.of(new MiniCCompiler.Assign(w, new MiniCCompiler.BoolLiteral(false, ws.line, ws.col), ws.line, ws.col)), ws.line, ws.col),
+                    ws.line, ws.col));
+            out.add(new MiniCCompiler.WhileStmt(new MiniCCompiler.Variable(w, ws.line, ws.col),
+                    new MiniCCompiler.Block(body, ws.body.line, ws.body.col), ws.line, ws.col));
+
+        } else {
+            out.add(copy(stmt)); // enthält kein return (geschachtelte FnDecls werden eigenständig behandelt)
+        }
+    }
+
+    // ---------------- Hilfen ----------------
+
+    private boolean isSelfCall(MiniCCompiler.Expr e) {
+        return e instanceof MiniCCompiler.Call c && c.target == fn && !(c instanceof MiniCCompiler.Spawn);
+    }
+
+    private static boolean hasSelfTailCall(MiniCCompiler.FnDecl fd) {
+        for (MiniCCompiler.Node n : ownNodes(fd.body)) {
+            if (n instanceof MiniCCompiler.ReturnStmt rs && rs.value instanceof MiniCCompiler.Call c && c.target == fd
+                    && !(c instanceof MiniCCompiler.Spawn)) return true;
+        }
+        return false;
+    }
+
+    private static boolean redeclaresParam(MiniCCompiler.FnDecl fd) {
+        Set<String> params = new HashSet<>();
+        for (MiniCCompiler.Param p : fd.params) params.add(p.name);
+        for (MiniCCompiler.Node n : ownNodes(fd.body)) {
+            if (n instanceof MiniCCompiler.VarDecl vd && params.contains(vd.name)) return true;
+        }
+        return false;
+    }
+
+    /** Kann die Anweisung (ohne geschachtelte Funktionen) die Funktion verlassen? */
+    private static boolean returns(MiniCCompiler.Stmt s) {
+        if (s instanceof MiniCCompiler.FnDecl) return false;
+        for (MiniCCompiler.Node n : ownNodes(s)) if (n instanceof MiniCCompiler.ReturnStmt) return true;
+        return false;
+    }
+
+    /** Knoten in Preorder, ohne in geschachtelte Funktionen abzusteigen. */
+    private static List<MiniCCompiler.Node> ownNodes(MiniCCompiler.Node root) {
+        List<MiniCCompiler.Node> out = new ArrayList<>();
+        Deque<MiniCCompiler.Node> work = new ArrayDeque<>();
+        work.push(root);
+        while (!work.isEmpty()) {
+            MiniCCompiler.Node n = work.pop();
+            out.add(n);
+            if (n instanceof MiniCCompiler.FnDecl && n != root) continue;
+            List<MiniCCompiler.Node> cs = AstHash.children(n);
+            for (int i = cs.size() - 1; i >= 0; i--) work.push(cs.get(i));
+        }
+        return out;
+    }
+
+    private MiniCCompiler.Expr stateIs(int v, MiniCCompiler.Node at) {
+        return new MiniCCompiler.Binary(new MiniCCompiler.Variable(state, at.line, at.col), MiniCCompiler.Operator.EQ, num(v, at), at.line, at.col);
+    }
+
+    private static MiniCCompiler.IntLiteral num(int v, MiniCCompiler.Node at) { return new MiniCCompiler.IntLiteral(v, at.line, at.col); }
+
+    private static MiniCCompiler.Expr defaultValue(MiniCCompiler.PrimType type, MiniCCompiler.Node at) {
+        return switch (type) {
+            case INT -> new MiniCCompiler.IntLiteral(0, at.line, at.col);
+            case BOOL -> new MiniCCompiler.BoolLiteral(false, at.line, at.col);
+            case STRING -> new MiniCCompiler.StringLiteral("", at.line, at.col);
+            case INT_ARRAY -> new MiniCCompiler.NewArray(num(0, at), at.line, at.col);
+        };
+    }
+
+    private String fresh(String name) { return name + "$" + (++nextId); }
+}
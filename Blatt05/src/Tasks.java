@@ -0,0 +1,72 @@
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Laufzeitunterstützung für spawn/join: Tabelle der offenen Aufrufe eines Programmlaufs,
+ * adressiert über int-Handles (ab 1).
+ *
+ * Parallel läuft jeder gestartete Aufruf auf einem eigenen virtuellen Thread; sequentiell
+ * (VM, Profilmodus, gestufte Ausführung) wird er sofort im aufrufenden Thread ausgeführt.
+ * Da gestartete Funktionen keine globalen Variablen schreiben (siehe {@link SymbolTableBuilder},
+ * {@link Resolver}), liefern beide Modi dieselben Ergebnisse. Jedes Handle wird genau einmal
+ * mit join eingelöst; am Programmende wartet {@link #joinAll()} auf alle übrigen Aufrufe.
+ */
+public final class Tasks {
+
+    private final boolean parallel;
+    private final Map<Integer, Future<Integer>> open = new ConcurrentHashMap<>();
+    private final AtomicInteger nextHandle = new AtomicInteger();
+
+    Tasks(boolean parallel) { this.parallel = parallel; }
+
+    /** Startet call und liefert das Handle. */
+    int spawn(IntSupplier call) {
+        FutureTask<Integer> task = new FutureTask<>(call::getAsInt);
+        int h = nextHandle.incrementAndGet();
+        open.put(h, task);
+        if (parallel) Thread.ofVirtual().start(task);
+        else task.run();
+        return h;
+    }
+
+    /** Handle für ein bereits berechnetes Ergebnis (sequentielle Ausführung). */
+    int completed(int value) {
+        int h = nextHandle.incrementAndGet();
+        open.put(h, CompletableFuture.completedFuture(value));
+        return h;
+    }
+
+    /** Wartet auf den Aufruf hinter h und liefert sein Ergebnis. */
+    int join(int h) {
+        Future<Integer> task = open.remove(h);
+        if (task == null) throw new RuntimeException("join: ungültiges oder bereits eingelöstes Handle " + h);
+        return result(task);
+    }
+
+    /** Wartet auf alle nicht eingelösten Aufrufe; deren Fehler werden weitergeworfen. */
+    void joinAll() {
+        while (!open.isEmpty()) {
+            for (Integer h : open.keySet()) {
+                Future<Integer> task = open.remove(h);
+                if (task != null) result(task);
+            }
+        }
+    }
+
+    public int openTasks() { return open.size(); }
+
+    private static int result(Future<Integer> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException r) throw r;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("join unterbrochen", e);
+        }
+    }
+}
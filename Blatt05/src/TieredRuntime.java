@@ -0,0 +1,217 @@
+import java.lang.invoke.MethodHandle;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Gestufte Ausführung: Funktionen laufen zuerst im {@link Interpreter}, heiße Funktionen werden
+ * im Hintergrund mit dem {@link JvmCompiler} übersetzt.
+ *
+ * Jede Funktion zählt Aufrufe, jede Schleife ihre Rücksprünge. Überschreitet eine Funktion die
+ * Aufrufschwelle, wird sie (samt ihrer Callees) übersetzt und der Aufrufeinstieg per volatile-Feld
+ * ausgetauscht. Überschreitet eine Schleife die Rücksprungschwelle, wird die umgebende Funktion bzw.
+ * das Hauptprogramm mit einem Einsprung in diese Schleife übersetzt (OSR); der Interpreter wechselt
+ * am nächsten Rücksprung (Safepoint) in den kompilierten Code, der dann den Rest der Funktion ausführt.
+ *
+ * Aufrufe innerhalb von kompiliertem Code sind direkte invokestatics und werden nicht mehr gezählt.
+ */
+public final class TieredRuntime extends Interpreter {
+
+    public static final int DEFAULT_INVOCATION_THRESHOLD = 1_000;
+    public static final int DEFAULT_BACKEDGE_THRESHOLD = 10_000;
+
+    private static final ExecutorService COMPILER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "minic-compiler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Statistik einer Funktion (bzw. des Hauptprogramms); failed: Meldung der letzten gescheiterten Übersetzung oder null. */
+    public record TierStats(String function, int invocations, long backEdges, boolean compiled, int osrEntries,
+                            double compileMillis, String failed) {
+        @Override public String toString() {
+            return String.format("%-12s Aufrufe %8d  Rücksprünge %10d  %-13s OSR-Einstiege %d  Übersetzung %.1f ms",
+                    function, invocations, backEdges, compiled ? "kompiliert" : "interpretiert", osrEntries, compileMillis)
+                    + (failed != null ? "  fehlgeschlagen: " + failed : "");
+        }
+    }
+
+    /** Zustand einer Funktion; fn == null steht für das Hauptprogramm. */
+    private static final class State {
+        final MiniCCompiler.FnDecl fn;
+        int invocations;
+        long backEdges;
+        int osrEntries;
+        boolean requested;
+        volatile MethodHandle entry;   // (Frame)void, null solange interpretiert
+        volatile long compileNanos;
+        volatile String failed;        // Meldung der letzten gescheiterten Übersetzung
+
+        State(MiniCCompiler.FnDecl fn) { this.fn = fn; }
+    }
+
+    /** Zustand einer Schleife für OSR. */
+    private static final class Loop {
+        final State owner;
+        int backEdges;
+        boolean requested;
+        volatile MethodHandle osr;     // (Frame)void, führt den Rest der Funktion aus
+
+        Loop(State owner) { this.owner = owner; }
+    }
+
+    private final List<MiniCCompiler.Stmt> program;
+    private final int invocationThreshold, backEdgeThreshold;
+    private final Map<MiniCCompiler.FnDecl, State> states = new IdentityHashMap<>();
+    private final Map<MiniCCompiler.WhileStmt, Loop> loops = new IdentityHashMap<>();
+    private final State main = new State(null);
+    private State current = main;
+
+    public TieredRuntime(List<MiniCCompiler.Stmt> program) {
+        this(program, DEFAULT_INVOCATION_THRESHOLD, DEFAULT_BACKEDGE_THRESHOLD);
+    }
+
+    public TieredRuntime(List<MiniCCompiler.Stmt> program, int invocationThreshold, int backEdgeThreshold) {
+        super(program);
+        this.program = program;
+        this.invocationThreshold = invocationThreshold;
+        this.backEdgeThreshold = backEdgeThreshold;
+        for (MiniCCompiler.FnDecl fd : getResolver().functions()) states.put(fd, new State(fd));
+        sequentialTasks(); // Zähler und Übersetzungsanforderungen sind nicht threadsicher
+    }
+
+    @Override
+    public void run() {
+        Frame f = new Frame(getResolver().mainFrameSize());
+        current = main;
+        try {
+            for (MiniCCompiler.Stmt s : program) {
+                if (exec(s, f)) break; // Rest des Programms lief kompiliert (OSR)
+            }
+            joinTasks();
+        } finally {
+            Builtins.flush();
+        }
+    }
+
+    /** Statistik je Funktion, das Hauptprogramm zuerst. */
+    public List<TierStats> statistics() {
+        List<TierStats> out = new ArrayList<>();
+        out.add(stats("<main>", main));
+        for (MiniCCompiler.FnDecl fd : getResolver().functions()) out.add(stats(fd.name, states.get(fd)));
+        return out;
+    }
+
+    private static TierStats stats(String name, State s) {
+        return new TierStats(name, s.invocations, s.backEdges, s.entry != null, s.osrEntries, s.compileNanos / 1e6, s.failed);
+    }
+
+    // ---------------- Interpreter mit Zählern ----------------
+
+    @Override
+    boolean exec(MiniCCompiler.Stmt stmt, Frame f) {
+        if (stmt instanceof MiniCCompiler.WhileStmt ws) return loop(ws, f);
+        return super.exec(stmt, f);
+    }
+
+    @Override
+    int evalInt(MiniCCompiler.Expr e, Frame f) {
+        if (e instanceof MiniCCompiler.Call c && c.builtin == null && !(c instanceof MiniCCompiler.Spawn)) return call(c, f).retInt;
+        return super.evalInt(e, f);
+    }
+
+    @Override
+    Object evalRef(MiniCCompiler.Expr e, Frame f) {
+        if (e instanceof MiniCCompiler.Call c) return call(c, f).retRef;
+        return super.evalRef(e, f);
+    }
+
+    private boolean loop(MiniCCompiler.WhileStmt ws, Frame f) {
+        State owner = current;
+        Loop l = loops.computeIfAbsent(ws, k -> new Loop(owner));
+        while (evalBool(ws.condition, f)) {
+            if (exec(ws.body, f)) return RETURNED;
+            // Safepoint am Rücksprung
+            owner.backEdges++;
+            if (++l.backEdges == backEdgeThreshold && !l.requested) requestOsr(ws, l);
+            MethodHandle osr = l.osr;
+            if (osr != null) {
+                owner.osrEntries++;
+                invoke(osr, f);
+                return RETURNED;
+            }
+        }
+        return NORMAL;
+    }
+
+    private Frame call(MiniCCompiler.Call c, Frame caller) {
+        MiniCCompiler.FnDecl fd = c.target;
+        State s = states.get(fd);
+        Frame callee = new Frame(fd.frameSize);
+        List<MiniCCompiler.Expr> args = c.args;
+        for (int i = 0, n = args.size(); i < n; i++) {
+            MiniCCompiler.Expr a = args.get(i);
+            if (a.type.ref()) callee.refs[i] = evalRef(a, caller);
+            else callee.ints[i] = evalInt(a, caller);
+        }
+        s.invocations++;
+        MethodHandle entry = s.entry;
+        if (entry != null) {
+            invoke(entry, callee);
+            return callee;
+        }
+        if (s.invocations >= invocationThreshold && !s.requested) requestEntry(s);
+        State outer = current;
+        current = s;
+        try {
+            exec(fd.body, callee);
+        } finally {
+            current = outer;
+        }
+        return callee;
+    }
+
+    private static void invoke(MethodHandle h, Frame f) {
+        try {
+            h.invokeExact(f);
+        } catch (ArithmeticException e) {
+            throw new RuntimeException("Division durch Null", e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    // ---------------- Hintergrundübersetzung ----------------
+
+    private void requestEntry(State s) {
+        s.requested = true;
+        COMPILER.execute(() -> {
+            long t0 = System.nanoTime();
+            try {
+                MethodHandle h = JvmCompiler.compileEntry(s.fn, globals);
+                s.compileNanos += System.nanoTime() - t0;
+                s.entry = h;
+            } catch (RuntimeException e) {
+                s.failed = e.getMessage();
+            }
+        });
+    }
+
+    private void requestOsr(MiniCCompiler.WhileStmt ws, Loop l) {
+        l.requested = true;
+        State s = l.owner;
+        int frameSize = s.fn != null ? s.fn.frameSize : getResolver().mainFrameSize();
+        COMPILER.execute(() -> {
+            long t0 = System.nanoTime();
+            try {
+                MethodHandle h = JvmCompiler.compileOsr(s.fn, program, ws, frameSize, globals);
+                s.compileNanos += System.nanoTime() - t0;
+                l.osr = h;
+            } catch (RuntimeException e) {
+                s.failed = "OSR: " + e.getMessage();
+            }
+        });
+    }
+}
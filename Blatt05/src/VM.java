@@ -0,0 +1,184 @@
+/**
+ * Stackmaschine für {@link Bytecode}: eine einzige Dispatch-Schleife über dem int[]-Code,
+ * Operanden auf einem long[]-Stack (Strings und int[] parallel im Object[]). Frames liegen im selben
+ * Stack: die Argumente werden zu den ersten lokalen Slots des aufgerufenen Frames.
+ */
+public class VM {
+
+    private static final int STACK_SIZE = 1 << 20;
+    private static final int MAX_CALL_DEPTH = 1 << 16;
+    private static final int STACK_RESERVE = 1 << 10; // Operanden über dem obersten Frame
+
+    private final Bytecode program;
+    private final long[] globals;
+    private final Object[] rglobals;
+    private long[][] pairCounts; // Profil: Häufigkeit aufeinanderfolgender Opcodes
+    private int previousOp = Bytecode.HALT;
+    private final Tasks tasks = new Tasks(false); // spawn läuft sequentiell: ein Operandenstack
+
+    public VM(Bytecode program) {
+        this.program = program;
+        this.globals = new long[program.globalCount];
+        this.rglobals = new Object[program.globalCount];
+    }
+
+    /** Schaltet das Zählen von Opcode-Paaren ein (langsamer, nur zum Finden von Superinstruktionen). */
+    public void enableProfiling() { pairCounts = new long[Bytecode.OPCODE_COUNT][Bytecode.OPCODE_COUNT]; }
+
+    public long[][] pairCounts() { return pairCounts; }
+
+    /** Die n häufigsten Opcode-Paare als lesbarer Text. */
+    public String topPairs(int n) {
+        StringBuilder sb = new StringBuilder();
+        long[][] c = pairCounts;
+        boolean[][] used = new boolean[c.length][c.length];
+        for (int k = 0; k < n; k++) {
+            int bi = -1, bj = -1;
+            for (int i = 0; i < c.length; i++) {
+                for (int j = 0; j < c.length; j++) {
+                    if (!used[i][j] && c[i][j] > 0 && (bi < 0 || c[i][j] > c[bi][bj])) { bi = i; bj = j; }
+                }
+            }
+            if (bi < 0) break;
+            used[bi][bj] = true;
+            sb.append(String.format("  %-16s %-16s %,d%n", Bytecode.NAMES[bi], Bytecode.NAMES[bj], c[bi][bj]));
+        }
+        return sb.toString();
+    }
+
+    public Object global(String name) {
+        Integer slot = program.globalSlots.get(name);
+        if (slot == null) throw new RuntimeException("Keine globale Variable '" + name + "'");
+        return rglobals[slot] != null ? Rope.flat(rglobals[slot]) : (Object) globals[slot];
+    }
+
+    public void run() {
+        try {
+            execute();
+            tasks.joinAll();
+        } finally {
+            Builtins.flush();
+        }
+    }
+
+    private void countPair(long[][] pairs, int op) {
+        pairs[previousOp][op]++;
+        previousOp = op;
+    }
+
+    /**
+     * Die Dispatch-Schleife. Mit eingeschaltetem Profil zählt sie vor jedem Befehl das Paar
+     * (vorheriger, aktueller Opcode); ohne Profil kostet das einen Test auf eine finale Lokale,
+     * der vorherige Opcode liegt im Feld und belegt in der Schleife kein Register.
+     */
+    private void execute() {
+        final long[][] pairs = pairCounts;
+        final int[] code = program.code;
+        final Object[] pool = program.pool;
+        final long[] g = globals;
+        final Object[] rg = rglobals;
+        final long[] st = new long[STACK_SIZE + STACK_RESERVE];
+        final Object[] rs = new Object[STACK_SIZE + STACK_RESERVE];
+        final int[] retPc = new int[MAX_CALL_DEPTH];
+        final int[] savedFp = new int[MAX_CALL_DEPTH];
+        int pc = 0, fp = 0, sp = program.mainFrameSize, csp = 0;
+
+        for (;;) {
+            int op = code[pc++];
+            if (pairs != null) countPair(pairs, op);
+            switch (op) {
+                case Bytecode.CONST: st[sp++] = code[pc++]; break;
+                case Bytecode.SCONST: rs[sp++] = pool[code[pc++]]; break;
+                case Bytecode.LOAD: st[sp++] = st[fp + code[pc++]]; break;
+                case Bytecode.STORE: st[fp + code[pc++]] = st[--sp]; break;
+                case Bytecode.RLOAD: rs[sp++] = rs[fp + code[pc++]]; break;
+                case Bytecode.RSTORE: rs[fp + code[pc++]] = rs[--sp]; rs[sp] = null; break;
+                case Bytecode.GLOAD: st[sp++] = g[code[pc++]]; break;
+                case Bytecode.GSTORE: g[code[pc++]] = st[--sp]; break;
+                case Bytecode.RGLOAD: rs[sp++] = rg[code[pc++]]; break;
+                case Bytecode.RGSTORE: rg[code[pc++]] = rs[--sp]; rs[sp] = null; break;
+                case Bytecode.ADD: sp--; st[sp - 1] = (int) (st[sp - 1] + st[sp]); break;
+                case Bytecode.SUB: sp--; st[sp - 1] = (int) (st[sp - 1] - st[sp]); break;
+                case Bytecode.MUL: sp--; st[sp - 1] = (int) (st[sp - 1] * st[sp]); break;
+                case Bytecode.DIV:
+                    sp--;
+                    if (st[sp] == 0) throw new RuntimeException("Division durch Null");
+                    st[sp - 1] = (int) st[sp - 1] / (int) st[sp];
+                    break;
+                case Bytecode.UDIV: sp--; st[sp - 1] = (int) st[sp - 1] / (int) st[sp]; break;
+                case Bytecode.LT: sp--; st[sp - 1] = st[sp - 1] < st[sp] ? 1 : 0; break;
+                case Bytecode.GT: sp--; st[sp - 1] = st[sp - 1] > st[sp] ? 1 : 0; break;
+                case Bytecode.EQ: sp--; st[sp - 1] = st[sp - 1] == st[sp] ? 1 : 0; break;
+                case Bytecode.NEQ: sp--; st[sp - 1] = st[sp - 1] != st[sp] ? 1 : 0; break;
+                case Bytecode.SEQ: sp--; st[sp - 1] = Rope.equal(rs[sp - 1], rs[sp]) ? 1 : 0; rs[sp - 1] = rs[sp] = null; break;
+                case Bytecode.SNEQ: sp--; st[sp - 1] = Rope.equal(rs[sp - 1], rs[sp]) ? 0 : 1; rs[sp - 1] = rs[sp] = null; break;
+                case Bytecode.CONCAT: sp--; rs[sp - 1] = Rope.concat(rs[sp - 1], rs[sp]); rs[sp] = null; break;
+                case Bytecode.I2S: rs[sp - 1] = Integer.toString((int) st[sp - 1]); break;
+                case Bytecode.B2S: rs[sp - 1] = st[sp - 1] != 0 ? "true" : "false"; break;
+                case Bytecode.JMP: pc = code[pc]; break;
+                case Bytecode.JZ: pc = st[--sp] == 0 ? code[pc] : pc + 1; break;
+                case Bytecode.CALL: {
+                    Bytecode.Function fn = (Bytecode.Function) pool[code[pc++]];
+                    if (csp == MAX_CALL_DEPTH || sp - fn.params + fn.frameSize > STACK_SIZE) {
+                        throw new RuntimeException("Stack-Überlauf in " + fn.name);
+                    }
+                    retPc[csp] = pc;
+                    savedFp[csp++] = fp;
+                    fp = sp - fn.params;
+                    sp = fp + fn.frameSize;
+                    pc = fn.entry;
+                    break;
+                }
+                case Bytecode.RET: {
+                    long v = st[sp - 1];
+                    for (int i = fp; i < sp; i++) rs[i] = null; // Strings und Arrays des Frames freigeben
+                    sp = fp;
+                    fp = savedFp[--csp];
+                    pc = retPc[csp];
+                    st[sp++] = v;
+                    break;
+                }
+                case Bytecode.RRET: {
+                    Object v = rs[sp - 1];
+                    for (int i = fp; i < sp; i++) rs[i] = null;
+                    sp = fp;
+                    fp = savedFp[--csp];
+                    pc = retPc[csp];
+                    rs[sp++] = v;
+                    break;
+                }
+                case Bytecode.POP: rs[--sp] = null; break;
+                case Bytecode.HALT: return;
+
+                // Superinstruktionen
+                case Bytecode.LOAD_LOAD: st[sp] = st[fp + code[pc]]; st[sp + 1] = st[fp + code[pc + 1]]; sp += 2; pc += 2; break;
+                case Bytecode.LOAD_CONST: st[sp] = st[fp + code[pc]]; st[sp + 1] = code[pc + 1]; sp += 2; pc += 2; break;
+                case Bytecode.ADD_CONST: st[sp - 1] = (int) (st[sp - 1] + code[pc++]); break;
+                case Bytecode.SUB_CONST: st[sp - 1] = (int) (st[sp - 1] - code[pc++]); break;
+                case Bytecode.JNLT: sp -= 2; pc = st[sp] < st[sp + 1] ? pc + 1 : code[pc]; break;
+                case Bytecode.JNGT: sp -= 2; pc = st[sp] > st[sp + 1] ? pc + 1 : code[pc]; break;
+                case Bytecode.INC: st[fp + code[pc]] = (int) (st[fp + code[pc]] + code[pc + 1]); pc += 2; break;
+                case Bytecode.LOAD_CONST_JNLT: pc = st[fp + code[pc]] < code[pc + 1] ? pc + 3 : code[pc + 2]; break;
+                case Bytecode.ADD_STORE: sp -= 2; st[fp + code[pc++]] = (int) (st[sp] + st[sp + 1]); break;
+                case Bytecode.JNZ: pc = st[--sp] != 0 ? code[pc] : pc + 1; break;
+                case Bytecode.JLT: sp -= 2; pc = st[sp] < st[sp + 1] ? code[pc] : pc + 1; break;
+                case Bytecode.JGT: sp -= 2; pc = st[sp] > st[sp + 1] ? code[pc] : pc + 1; break;
+                case Bytecode.LOAD_CONST_JLT: pc = st[fp + code[pc]] < code[pc + 1] ? code[pc + 2] : pc + 3; break;
+
+                // eingebaute Funktionen: direkter statischer Aufruf
+                case Bytecode.PRINT: st[sp - 1] = Builtins.print(Rope.flat(rs[sp - 1])); rs[sp - 1] = null; break;
+                case Bytecode.PRINTI: st[sp - 1] = Builtins.printInt((int) st[sp - 1]); break;
+                case Bytecode.STRLEN: st[sp - 1] = Rope.length(rs[sp - 1]); rs[sp - 1] = null; break;
+                case Bytecode.READI: st[sp++] = Builtins.readInt(); break;
+                case Bytecode.TASK: st[sp - 1] = tasks.completed((int) st[sp - 1]); break;
+                case Bytecode.JOIN: st[sp - 1] = tasks.join((int) st[sp - 1]); break;
+                case Bytecode.NEWARR: rs[sp - 1] = IntArrays.allocate((int) st[sp - 1], (String) pool[code[pc++]]); break;
+                case Bytecode.ALOAD: sp--; st[sp - 1] = IntArrays.get((int[]) rs[sp - 1], (int) st[sp], (String) pool[code[pc++]]); rs[sp - 1] = null; break;
+                case Bytecode.ASTORE: sp -= 3; IntArrays.set((int[]) rs[sp], (int) st[sp + 1], (int) st[sp + 2], (String) pool[code[pc++]]); rs[sp] = null; break;
+                case Bytecode.UALOAD: sp--; st[sp - 1] = ((int[]) rs[sp - 1])[(int) st[sp]]; rs[sp - 1] = null; break;
+                case Bytecode.UASTORE: sp -= 3; ((int[]) rs[sp])[(int) st[sp + 1]] = (int) st[sp + 2]; rs[sp] = null; break;
+                default: throw new RuntimeException("Unbekannter Opcode " + op + " bei " + (pc - 1));
+            }
+        }
+    }
+}